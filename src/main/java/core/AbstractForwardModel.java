@@ -3,6 +3,7 @@ package core;
 import core.actions.AbstractAction;
 import core.actions.ActionSpace;
 import core.actions.DoNothing;
+import core.actions.LazyActionList;
 import core.interfaces.IPlayerDecorator;
 import utilities.ActionTreeNode;
 import utilities.ElapsedCpuChessTimer;
@@ -93,6 +94,18 @@ public abstract class AbstractForwardModel {
         return _computeAvailableActions(gameState);
     }
 
+    /**
+     * Optionally lists the available actions lazily, so that a caller that only needs a few of them (a random
+     * rollout, or progressive widening) does not pay to construct and check them all.
+     * The legal actions in the returned list must be the same, and in the same order, as _computeAvailableActions().
+     * This is never called if there is an action in progress.
+     *
+     * @return null if not supported (the default), in which case the full list of actions is used instead.
+     */
+    protected LazyActionList _lazyAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
+        return null;
+    }
+
     protected abstract void endPlayerTurn(AbstractGameState state);
 
     /**
@@ -186,6 +199,36 @@ public abstract class AbstractForwardModel {
         return retValue;
     }
 
+    /**
+     * Lists the available actions lazily (see LazyActionList), if the game supports this.
+     * Otherwise (or if there is an action in progress, or any decorator applies) this wraps the full list
+     * from computeAvailableActions().
+     */
+    public final LazyActionList lazyAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
+        LazyActionList retValue = null;
+        if (!gameState.isActionInProgress() && !decoratorsApply(gameState))
+            retValue = _lazyAvailableActions(gameState, actionSpace == null ? ActionSpace.Default : actionSpace);
+        if (retValue == null)
+            retValue = new LazyActionList().addAll(computeAvailableActions(gameState, actionSpace));
+        return retValue;
+    }
+
+    /**
+     * @return a legal action chosen uniformly at random, without generating all the actions if the game
+     * supports lazy generation; or null if there are no actions available.
+     */
+    public final AbstractAction sampleAvailableAction(AbstractGameState gameState, ActionSpace actionSpace, Random rnd) {
+        return lazyAvailableActions(gameState, actionSpace).sample(rnd);
+    }
+
+    private boolean decoratorsApply(AbstractGameState gameState) {
+        for (IPlayerDecorator decorator : decorators) {
+            if (!decorator.decisionPlayerOnly() || gameState.getCurrentPlayer() == decisionPlayerID)
+                return true;
+        }
+        return false;
+    }
+
     /**
      * Performs any end of game computations, as needed.
      * This should not normally need to be overriden - but can be. For example if a game is purely co-operative
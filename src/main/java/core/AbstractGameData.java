@@ -17,7 +17,25 @@ public class AbstractGameData {
     private List<Counter> counters = new ArrayList<>();
     private List<Token> tokens = new ArrayList<>();
 
+    /**
+     * Loads all components in the given directory. The files are only read the first time a directory is loaded:
+     * after that the components come from the GameDataCache, shared with all other games loading the same directory
+     * (which is safe, as they are only ever handed out as copies by the find methods).
+     */
     public void load(String dataPath) {
+        AbstractGameData template = GameDataCache.getTemplate(Arrays.asList(AbstractGameData.class, new File(dataPath).getAbsolutePath()), () -> {
+            AbstractGameData data = new AbstractGameData();
+            data.loadFiles(dataPath);
+            return data;
+        });
+        graphBoards = template.graphBoards;
+        gridBoards = template.gridBoards;
+        decks = template.decks;
+        counters = template.counters;
+        tokens = template.tokens;
+    }
+
+    private void loadFiles(String dataPath) {
         File dir = new File(dataPath);
         if (dir.isDirectory()) {
             List<String> files = Arrays.asList(Objects.requireNonNull(dir.list()));
@@ -14,6 +14,7 @@ import evaluation.metrics.Event;
 import games.GameType;
 import utilities.ElapsedCpuChessTimer;
 import utilities.Pair;
+import utilities.Zobrist;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -222,6 +223,15 @@ public abstract class AbstractGameState {
     public Random getRnd() {
         return rnd;
     }
+
+    /**
+     * redeterminisationRnd is not normally seeded (see above). Seed it to make the copies of this state (and so the
+     * decisions of an agent that copies it) reproducible, for example to compare two ways of running the same agent.
+     */
+    public void setRedeterminisationSeed(long seed) {
+        redeterminisationRnd.setSeed(seed);
+    }
+
     public void addListener(IGameListener listener) {
         if (!listeners.contains(listener))
             listeners.add(listener);
@@ -296,6 +306,31 @@ public abstract class AbstractGameState {
      */
     public final AbstractGameState copy(int playerId) {
         AbstractGameState s = _copy(playerId);
+        // We always branch the RNG on a copy() so that the master RNG
+        // is not called an arbitrary number of times. This is to ensure that all shuffles in the main game are
+        // the same if we start with the same seed
+        return copySuperClass(s, redeterminisationRnd.nextLong());
+    }
+
+    /**
+     * As copy(playerId), but the copy's rnd is seeded with seed, rather than with a seed drawn from this state.
+     * Agents that copy the same state on several threads use this with seeds from nextCopySeed(), drawn in a fixed
+     * order beforehand, so that the copies do not depend on the order in which the threads get to them.
+     */
+    public final AbstractGameState copy(int playerId, long seed) {
+        return copySuperClass(_copy(playerId), seed);
+    }
+
+    /**
+     * @return the seed for the rnd of the next copy of this state, as copy() and copyInto() would draw it. Drawing
+     * the seeds for several copies in turn, and passing them to copy(playerId, seed), gives the same copies as calling
+     * copy() that many times (for full copies, with playerId -1).
+     */
+    public final long nextCopySeed() {
+        return redeterminisationRnd.nextLong();
+    }
+
+    private AbstractGameState copySuperClass(AbstractGameState s, long seed) {
         // Copy super class things
         s.allComponents = allComponents.emptyCopy();
         s.gameStatus = gameStatus;
@@ -308,10 +343,7 @@ public abstract class AbstractGameState {
         s.turnCounter = turnCounter;
         s.turnOwner = turnOwner;
         s.firstPlayer = firstPlayer;
-        // We always branch the RNG on a copy() so that the master RNG
-        // is not called an arbitrary number of times. This is to ensure that all shuffles in the main game are
-        // the same if we start with the same seed
-        s.rnd = new Random(redeterminisationRnd.nextLong());
+        s.rnd = new Random(seed);
 
         if (!coreGameParameters.competitionMode) {
             s.history = new ArrayList<>(history);
@@ -339,6 +371,63 @@ public abstract class AbstractGameState {
         return s;
     }
 
+    /**
+     * Copies this state into target, which is overwritten, rather than into a new state. This lets an agent keep a
+     * scratch state and reuse it (for example, to try each available action in turn) without creating a new state
+     * each time. The target must be an earlier copy of a state from the same game.
+     * <p>
+     * Only games that implement _copyInto() can reuse the target; for all others (or if target is null) this is the
+     * same as copy(playerId).
+     *
+     * @return the copy - this is target if it could be reused, and a new state otherwise
+     */
+    public final AbstractGameState copyInto(AbstractGameState target, int playerId) {
+        return copyInto(target, playerId, redeterminisationRnd.nextLong());
+    }
+
+    /**
+     * As copyInto(target, playerId), but the copy's rnd is seeded with seed (see copy(playerId, seed)).
+     */
+    public final AbstractGameState copyInto(AbstractGameState target, int playerId, long seed) {
+        if (target == null || target == this || target.getClass() != getClass() || target.nPlayers != nPlayers
+                || !_copyInto(target, playerId))
+            return copy(playerId, seed);
+        // Copy super class things, as copy() does
+        target.gameStatus = gameStatus;
+        System.arraycopy(playerResults, 0, target.playerResults, 0, playerResults.length);
+        target.gamePhase = gamePhase;
+        target.coreGameParameters = coreGameParameters;
+        target.tick = tick;
+        target.roundCounter = roundCounter;
+        target.turnCounter = turnCounter;
+        target.turnOwner = turnOwner;
+        target.firstPlayer = firstPlayer;
+        target.rnd = new Random(seed);
+
+        target.history.clear();
+        target.historyText.clear();
+        if (!coreGameParameters.competitionMode) {
+            target.history.addAll(history);
+            target.historyText.addAll(historyText);
+        }
+
+        target.actionsInProgress.clear();
+        actionsInProgress.forEach(
+                a -> target.actionsInProgress.push(a.copy())
+        );
+
+        for (int i = 0; i < getNPlayers(); i++) {
+            target.playerTimer[i] = playerTimer[i].copy();
+        }
+
+        target.addAllComponents();
+        return target;
+    }
+
+    public final AbstractGameState copyInto(AbstractGameState target) {
+        return copyInto(target, -1);
+    }
+
     /**
      * Used by ForwardModel.next() to log history (very useful for debugging)
      *
@@ -465,6 +554,19 @@ public abstract class AbstractGameState {
      */
     protected abstract AbstractGameState _copy(int playerId);
 
+    /**
+     * Override this to support copyInto(): copy all the game-specific state into target (which is of the same class
+     * and has the same number of players), just as _copy(playerId) would into a new state, and return true.
+     * Nothing held by target may be shared with this state afterwards, unless _copy() shares it too.
+     * The default does nothing, and returns false so that copyInto() falls back to copy().
+     *
+     * @param target   - an earlier copy of a state from this game, to be overwritten
+     * @param playerId - player observing this game state.
+     */
+    protected boolean _copyInto(AbstractGameState target, int playerId) {
+        return false;
+    }
+
     /**
      * Provide a simple numerical assessment of the current game state, the bigger the better.
      * Subjective heuristic function definition.
@@ -682,6 +784,20 @@ public abstract class AbstractGameState {
         return result;
     }
 
+    /**
+     * The Zobrist key of the information held at this level: current player, game phase, game status and any
+     * actions in progress. Games that implement IZobristHashable should combine (XOR) this with the hashes of
+     * their own components. Turn and round counters are deliberately excluded, so that transpositions are detected.
+     */
+    protected long coreZobristHash() {
+        long retValue = Zobrist.key(-1, getCurrentPlayer(), gameStatus.ordinal());
+        if (gamePhase != null)
+            retValue ^= Zobrist.key(-2, gamePhase.toString().hashCode());
+        if (!actionsInProgress.isEmpty())
+            retValue ^= Zobrist.key(-3, actionsInProgress.hashCode());
+        return retValue;
+    }
+
     /**
      * HashCodeArray compiles all necessary hash codes for each individual game state.
      * Override as necessary for each game state.
@@ -17,6 +17,8 @@ import evaluation.listeners.IGameListener;
 public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
 
     protected TurnOrder turnOrder;
+    // Index of the next rule to execute, for games using a compiled rule graph (see core.rules.CompiledRuleGraph)
+    protected int ruleCursor;
 
     /**
      * Constructor. Initialises some generic game state variables.
@@ -39,6 +41,7 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     protected void reset() {
         super.reset();
         turnOrder.reset();
+        ruleCursor = 0;
     }
 
     public final TurnOrder getTurnOrder() {
@@ -62,6 +65,8 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     public final void setTurnOrder(TurnOrder turnOrder) {
         this.turnOrder = turnOrder;
     }
+    public int getRuleCursor() {return ruleCursor;}
+    public void setRuleCursor(int ruleCursor) {this.ruleCursor = ruleCursor;}
 
 
     public void addListener(IGameListener listener) {
@@ -81,6 +86,7 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     protected  AbstractGameStateWithTurnOrder _copy(int playerId) {
         AbstractGameStateWithTurnOrder retValue = __copy(playerId);
         retValue.turnOrder = turnOrder.copy();
+        retValue.ruleCursor = ruleCursor;
         return retValue;
     }
 
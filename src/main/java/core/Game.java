@@ -23,6 +23,7 @@ import utilities.Utils;
 import javax.swing.Timer;
 import javax.swing.*;
 import java.awt.*;
+import java.lang.management.ManagementFactory;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -47,6 +48,11 @@ public class Game {
     private JFrame frame;
     // Timers for various function calls
     private double nextTime, copyTime, agentTime, actionComputeTime;
+    // Bytes allocated by the same function calls (only recorded if profileAllocations is set)
+    private long nextAllocated, copyAllocated, agentAllocated, actionComputeAllocated;
+    private boolean profileAllocations;
+    private static final com.sun.management.ThreadMXBean allocationBean =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported() ? bean : null;
     // Keeps track of action spaces for each game tick, pairs of (player ID, #actions)
     private ArrayList<Pair<Integer, Integer>> actionSpaceSize;
     // Number of times an agent is asked for decisions
@@ -253,6 +259,10 @@ public class Game {
         copyTime = 0;
         agentTime = 0;
         actionComputeTime = 0;
+        nextAllocated = 0;
+        copyAllocated = 0;
+        agentAllocated = 0;
+        actionComputeAllocated = 0;
         nDecisions = 0;
         actionSpaceSize = new ArrayList<>();
         nActionsPerTurnSum = 0;
@@ -371,14 +381,17 @@ public class Game {
 
         // Get player observation, and time how long it takes
         double s = System.nanoTime();
+        long a = allocatedBytes();
         // copying the gamestate also copies the game parameters and resets the random seed (so agents cannot use this
         // to reconstruct the starting hands etc.)
         AbstractGameState observation = gameState.copy(activePlayer);
         copyTime = (System.nanoTime() - s);
+        copyAllocated = allocatedBytes() - a;
         //      System.out.printf("Total copyTime in ms = %.2f at tick %d (Avg %.3f) %n", copyTime / 1e6, tick, copyTime / (tick +1.0) / 1e6);
 
         // Get actions for the player
         s = System.nanoTime();
+        a = allocatedBytes();
         List<AbstractAction> observedActions = forwardModel.computeAvailableActions(observation, currentPlayer.getParameters().actionSpace);
         if (observedActions.isEmpty()) {
             Stack<IExtendedSequence> actionsInProgress = gameState.getActionsInProgress();
@@ -408,6 +421,7 @@ public class Game {
 
         }
         actionComputeTime = (System.nanoTime() - s);
+        actionComputeAllocated = allocatedBytes() - a;
         actionSpaceSize.add(new Pair<>(activePlayer, observedActions.size()));
 
         if (gameState.coreGameParameters.verbose) {
@@ -431,6 +445,7 @@ public class Game {
             } else {
                 // Get action from player, and time it
                 s = System.nanoTime();
+                a = allocatedBytes();
                 if (debug)
                     System.out.printf("About to get action for player %d%n", gameState.getCurrentPlayer());
                 action = currentPlayer.getAction(observation, observedActions);
@@ -442,6 +457,7 @@ public class Game {
                     System.out.printf("Game: %2d Tick: %3d\t%s%n", gameState.getGameID(), getTick(), action.getString(gameState));
 
                 agentTime = (System.nanoTime() - s);
+                agentAllocated = allocatedBytes() - a;
                 nDecisions++;
             }
             if (gameState.coreGameParameters.competitionMode && action != null && !observedActions.contains(action)) {
@@ -472,9 +488,11 @@ public class Game {
         } else {
             // Resolve action and game rules, time it
             s = System.nanoTime();
+            a = allocatedBytes();
             // we copy the action before using it..so that the action returned by oneAction() does not have a state link
             forwardModel.next(gameState, action.copy());
             nextTime = (System.nanoTime() - s);
+            nextAllocated = allocatedBytes() - a;
         }
 
         lastPlayer = activePlayer;
@@ -572,6 +590,43 @@ public class Game {
         return actionComputeTime;
     }
 
+    /**
+     * Switches on (or off) recording of the bytes allocated by the current thread during each of the timed calls
+     * (copy, computeAvailableActions, agent decision and next). This uses the JVM's per-thread allocation counter,
+     * so is cheap, but is off by default.
+     */
+    public void setProfileAllocations(boolean profileAllocations) {
+        this.profileAllocations = profileAllocations;
+    }
+
+    public boolean isProfilingAllocations() {
+        return profileAllocations && allocationBean != null;
+    }
+
+    private long allocatedBytes() {
+        return profileAllocations && allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Bytes allocated by the last call timed by getAgentTime(), getCopyTime(), getNextTime() and
+     * getActionComputeTime() respectively (always 0 unless setProfileAllocations(true) has been called).
+     */
+    public long getAgentAllocatedBytes() {
+        return agentAllocated;
+    }
+
+    public long getCopyAllocatedBytes() {
+        return copyAllocated;
+    }
+
+    public long getNextAllocatedBytes() {
+        return nextAllocated;
+    }
+
+    public long getActionComputeAllocatedBytes() {
+        return actionComputeAllocated;
+    }
+
     /**
      * Retrieves the number of game loop repetitions performed in this game.
      *
@@ -0,0 +1,89 @@
+package core;
+
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A process-wide cache of game data read from disk, so that setting up a game again (e.g. for each of the thousands
+ * of games in a tournament) does not read and parse the same JSON files each time. It holds two kinds of entry:
+ * <ul>
+ *     <li>Parsed JSON files, keyed by file path (see parseJSON()). These are shared, so must only be read.</li>
+ *     <li>Templates built from the data (e.g. the decks and boards of an AbstractGameData), keyed by anything that
+ *     identifies them, such as the data path and expansion (see getTemplate()). Templates must never be changed or
+ *     handed out: each game takes copies of them.</li>
+ * </ul>
+ * The cache can be turned off (and emptied) with setEnabled(false), when data files are changed while running.
+ */
+public final class GameDataCache {
+
+    private static final Map<String, Object> parsedFiles = new ConcurrentHashMap<>();
+    private static final Map<Object, Object> templates = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = true;
+
+    private GameDataCache() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        GameDataCache.enabled = enabled;
+        if (!enabled) clear();
+    }
+
+    public static void clear() {
+        parsedFiles.clear();
+        templates.clear();
+    }
+
+    /**
+     * @param path - path of a JSON file
+     * @return the parsed JSON in the file (a JSONObject or a JSONArray), which must not be modified
+     */
+    public static Object parseJSON(String path) throws IOException, ParseException {
+        if (!enabled) return parse(path);
+        String key = new File(path).getAbsolutePath();
+        Object parsed = parsedFiles.get(key);
+        if (parsed == null) {
+            // parsed outside of the map, so parsing two files at once does not block
+            parsed = parse(path);
+            Object existing = parsedFiles.putIfAbsent(key, parsed);
+            if (existing != null) parsed = existing;
+        }
+        return parsed;
+    }
+
+    private static Object parse(String path) throws IOException, ParseException {
+        try (FileReader reader = new FileReader(path)) {
+            return new JSONParser().parse(reader);
+        }
+    }
+
+    /**
+     * Returns the template for the given key, building it with the given loader the first time it is asked for (or
+     * every time, if the cache is disabled).
+     *
+     * @param key    - identifies the template, e.g. a list of the data path and expansion it is loaded from
+     * @param loader - builds the template
+     * @return the template, which must not be modified
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getTemplate(Object key, Supplier<T> loader) {
+        if (!enabled) return loader.get();
+        Object template = templates.get(key);
+        if (template == null) {
+            template = loader.get();
+            Object existing = templates.putIfAbsent(key, template);
+            if (existing != null) template = existing;
+        }
+        return (T) template;
+    }
+}
@@ -18,6 +18,8 @@ import players.python.PythonAgent;
 import players.simple.RandomPlayer;
 import utilities.ActionTreeNode;
 
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -238,8 +240,16 @@ public class PyTAG {
         // Compute the updated available actions and the action tree
         AbstractGameState observation = gameState.copy(gameState.getCurrentPlayer());
         this.availableActions = forwardModel.computeAvailableActions(observation);
-        this.root = ((ITreeActionSpace)this.forwardModel).updateActionTree(this.root, this.gameState);
-        this.leaves = root.getLeafNodes();
+        updateActionTree();
+    }
+
+    // The structure of the action tree is fixed once initialised, so we only need to find the leaves again if the
+    // root changes
+    private void updateActionTree() {
+        ActionTreeNode newRoot = ((ITreeActionSpace)this.forwardModel).updateActionTree(this.root, this.gameState);
+        if (newRoot != this.root || this.leaves == null)
+            this.leaves = newRoot.getLeafNodes();
+        this.root = newRoot;
     }
 
     public int getPlayerID(){
@@ -339,12 +349,41 @@ public class PyTAG {
 
         // Compute the updated available actions and the action tree
         this.availableActions = forwardModel.computeAvailableActions(observation);
-        this.root = ((ITreeActionSpace)this.forwardModel).updateActionTree(this.root, this.gameState);
-        this.leaves = root.getLeafNodes();
+        updateActionTree();
 
         return observation;
     }
 
+    /**
+     * As step(), but without copying the state for an observation, or computing the list of available actions
+     * (which are only needed by getActions()). Used by PyTAGVectorEnv.
+     *
+     * @return the game score of the player who took the action, after it (and any other players' actions) are applied
+     */
+    double advance(int actionId) throws Exception {
+        if (this.gameState == null){
+            throw new Exception("Need to reset the environment before calling step");
+        } else if (isDone()){
+            throw new Exception("Need to reset the environment after each finished episode");
+        }
+        int actingPlayer = gameState.getCurrentPlayer();
+        executeAction(actionId);
+        if (!isDone() && !nextDecision())
+            updateActionTree();
+        return gameState.getGameScore(actingPlayer);
+    }
+
+    // Writes the observation vector (as from getObservationVector()) into buffer, starting at offset
+    void writeObservation(DoubleBuffer buffer, int offset) throws Exception {
+        buffer.put(offset, getObservationVector());
+    }
+
+    // Writes the action mask (as from getActionMask()) into buffer, starting at offset
+    void writeActionMask(IntBuffer buffer, int offset) {
+        for (int i = 0; i < leaves.size(); i++)
+            buffer.put(offset + i, leaves.get(i).getValue());
+    }
+
     public int getTick(){
         return this.tick;
     }
@@ -0,0 +1,190 @@
+package core;
+
+import games.GameType;
+import players.python.PythonAgent;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * A batch of PyTAG environments, all playing the same game, that are stepped together.
+ * <p>
+ * Rather than the Python side calling into Java once per environment and per piece of data, a single call to step()
+ * takes one action id per environment, and writes the results for all of them into flat buffers:
+ * - observations: nEnvs x getObservationSpace() doubles
+ * - actionMasks: nEnvs x getActionSpace() ints (1 if the action is legal)
+ * - rewards: nEnvs doubles, the game score of the player who acted
+ * - dones: nEnvs bytes, 1 if the episode has just finished
+ * - playerIDs: nEnvs ints, the player to act next
+ * <p>
+ * The buffers are direct and in native byte order, so that they can be wrapped by numpy without copying
+ * (e.g. numpy.frombuffer(memoryview(env.getObservations()), dtype=numpy.float64)). They are rewritten in place on
+ * each call to reset() and step().
+ * <p>
+ * An environment whose episode finishes is reset immediately, so that its observation and mask are those of the
+ * first decision of the next episode, while its reward and done flag refer to the episode just finished (as in gym
+ * vector environments).
+ * <p>
+ * If parallel is true then the environments are stepped in parallel; each has its own copy of the players.
+ */
+public class PyTAGVectorEnv {
+
+    private final PyTAG[] envs;
+    private final boolean parallel;
+    private final int observationSize;
+    private final int actionSize;
+
+    private final ByteBuffer observations;
+    private final ByteBuffer actionMasks;
+    private final ByteBuffer rewards;
+    private final ByteBuffer dones;
+    private final ByteBuffer playerIDs;
+    private final DoubleBuffer observationView;
+    private final IntBuffer actionMaskView;
+    private final DoubleBuffer rewardView;
+    private final IntBuffer playerIDView;
+
+    /**
+     * @param players the players for the first environment; the others get copies of these. At least one of them
+     *                should be a PythonAgent (the player(s) that step() provides actions for).
+     */
+    public PyTAGVectorEnv(GameType gameToPlay, String parameterConfigFile, List<AbstractPlayer> players,
+                          int nEnvs, long seed, boolean isNormalized, boolean parallel) throws Exception {
+        if (nEnvs < 1)
+            throw new IllegalArgumentException("Need at least one environment");
+        if (players.stream().noneMatch(p -> p instanceof PythonAgent))
+            throw new IllegalArgumentException("At least one player must be a PythonAgent");
+        this.parallel = parallel;
+        Random seedRandom = new Random(seed);
+        envs = new PyTAG[nEnvs];
+        for (int i = 0; i < nEnvs; i++) {
+            List<AbstractPlayer> envPlayers = new ArrayList<>();
+            for (AbstractPlayer player : players)
+                envPlayers.add(i == 0 ? player : player.copy());
+            envs[i] = new PyTAG(gameToPlay, parameterConfigFile, envPlayers, seedRandom.nextLong(), isNormalized);
+        }
+
+        // the action space is only known once the action tree has been initialised
+        envs[0].reset();
+        observationSize = envs[0].getObservationSpace();
+        actionSize = envs[0].getActionSpace();
+
+        observations = allocate(nEnvs * observationSize * Double.BYTES);
+        actionMasks = allocate(nEnvs * actionSize * Integer.BYTES);
+        rewards = allocate(nEnvs * Double.BYTES);
+        dones = allocate(nEnvs);
+        playerIDs = allocate(nEnvs * Integer.BYTES);
+        observationView = observations.asDoubleBuffer();
+        actionMaskView = actionMasks.asIntBuffer();
+        rewardView = rewards.asDoubleBuffer();
+        playerIDView = playerIDs.asIntBuffer();
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Resets all environments, and writes their first observations and masks (rewards and dones are zeroed).
+     */
+    public void reset() throws Exception {
+        forEachEnv(i -> {
+            envs[i].reset();
+            rewardView.put(i, 0.0);
+            dones.put(i, (byte) 0);
+            writeState(i);
+        });
+    }
+
+    /**
+     * Applies one action per environment (an index into that environment's action mask), and writes the results.
+     */
+    public void step(int[] actionIds) throws Exception {
+        if (actionIds.length != envs.length)
+            throw new IllegalArgumentException("Expected " + envs.length + " actions, but got " + actionIds.length);
+        forEachEnv(i -> {
+            PyTAG env = envs[i];
+            rewardView.put(i, env.advance(actionIds[i]));
+            boolean done = env.isDone();
+            dones.put(i, (byte) (done ? 1 : 0));
+            if (done)
+                env.reset();
+            writeState(i);
+        });
+    }
+
+    private void writeState(int i) throws Exception {
+        PyTAG env = envs[i];
+        env.writeObservation(observationView, i * observationSize);
+        env.writeActionMask(actionMaskView, i * actionSize);
+        playerIDView.put(i, env.getPlayerID());
+    }
+
+    private interface EnvTask {
+        void run(int envIndex) throws Exception;
+    }
+
+    private void forEachEnv(EnvTask task) throws Exception {
+        IntStream indices = IntStream.range(0, envs.length);
+        if (parallel)
+            indices = indices.parallel();
+        try {
+            indices.forEach(i -> {
+                try {
+                    task.run(i);
+                } catch (Exception e) {
+                    throw new RuntimeException("Environment " + i + ": " + e.getMessage(), e);
+                }
+            });
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof Exception cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    public int getNumEnvs() {
+        return envs.length;
+    }
+
+    public int getObservationSpace() {
+        return observationSize;
+    }
+
+    public int getActionSpace() {
+        return actionSize;
+    }
+
+    public ByteBuffer getObservations() {
+        return observations;
+    }
+
+    public ByteBuffer getActionMasks() {
+        return actionMasks;
+    }
+
+    public ByteBuffer getRewards() {
+        return rewards;
+    }
+
+    public ByteBuffer getDones() {
+        return dones;
+    }
+
+    public ByteBuffer getPlayerIDs() {
+        return playerIDs;
+    }
+
+    /**
+     * @return the underlying environment, e.g. for getObservationJson() or getPlayerResults()
+     */
+    public PyTAG getEnv(int index) {
+        return envs[index];
+    }
+}
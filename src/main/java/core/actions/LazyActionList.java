@@ -0,0 +1,215 @@
+package core.actions;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A list of available actions that is only generated as far as it is needed.
+ * <p>
+ * The actions are split into groups. Each group is either materialised up-front (add(), addAll()), or is generated
+ * on demand by a Supplier, with an estimate of how many actions it will produce (addGroup()). An optional filter
+ * maps each candidate action to the legal action to play (possibly a wrapper around it), or to null if the candidate
+ * is not legal in the current state. This allows a forward model to list cheap candidates, and only pay for the
+ * legality check of those that are actually looked at.
+ * <p>
+ * sample() picks a legal action at random, materialising only the group it falls into, and only checking the legality
+ * of the candidates it draws. Once all groups are materialised this is uniform over the legal actions; before that
+ * groups are weighted by their estimates, so these should be reasonably accurate (an estimate of zero is treated as
+ * one, so that no group is ever ignored).
+ * iterator() and toList() give all the legal actions, in the order in which they were added.
+ * <p>
+ * A LazyActionList is a snapshot of one state: it must be discarded once that state changes.
+ */
+public class LazyActionList implements Iterable<AbstractAction> {
+
+    protected final List<Group> groups = new ArrayList<>();
+    protected Function<AbstractAction, AbstractAction> filter;
+
+    public LazyActionList add(AbstractAction action) {
+        return addAll(Collections.singletonList(action));
+    }
+
+    public LazyActionList addAll(List<AbstractAction> actions) {
+        if (!actions.isEmpty())
+            groups.add(new Group(actions));
+        return this;
+    }
+
+    /**
+     * @param estimatedSize the number of actions the generator is expected to produce
+     * @param generator     called at most once, when the group is first needed
+     */
+    public LazyActionList addGroup(int estimatedSize, Supplier<List<AbstractAction>> generator) {
+        groups.add(new Group(estimatedSize, generator));
+        return this;
+    }
+
+    /**
+     * @param filter maps a candidate to the action to play, or to null if the candidate is not legal.
+     *               It is applied at most once to each candidate.
+     */
+    public LazyActionList withFilter(Function<AbstractAction, AbstractAction> filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * @return an upper bound on the number of legal actions (if the group estimates are themselves upper bounds).
+     * This becomes exact once the list has been fully iterated.
+     */
+    public int estimatedSize() {
+        int retValue = 0;
+        for (Group group : groups)
+            retValue += group.weight();
+        return retValue;
+    }
+
+    /**
+     * @return a legal action chosen at random, or null if there are none
+     */
+    public AbstractAction sample(Random rnd) {
+        while (true) {
+            Group group;
+            if (groups.size() == 1) {
+                group = groups.get(0);
+            } else {
+                int total = estimatedSize();
+                if (total == 0) return null;
+                int r = rnd.nextInt(total);
+                int g = 0;
+                while (r >= groups.get(g).weight()) {
+                    r -= groups.get(g).weight();
+                    g++;
+                }
+                group = groups.get(g);
+            }
+            if (group.candidates == null) {
+                // the estimate was only used to get this far, so we re-draw with the real size
+                group.materialise();
+                continue;
+            }
+            if (group.remaining == 0) {
+                if (groups.size() == 1) return null;
+                continue;
+            }
+            // with a single candidate left there is no need to use up a random number
+            int index = group.remaining == 1 ? 0 : rnd.nextInt(group.remaining);
+            AbstractAction retValue = group.resolve(group.order[index]);
+            if (retValue != null)
+                return retValue;
+            // not legal, so we swap it out of the live section and try again
+            int last = --group.remaining;
+            int swap = group.order[index];
+            group.order[index] = group.order[last];
+            group.order[last] = swap;
+        }
+    }
+
+    @Override
+    public Iterator<AbstractAction> iterator() {
+        return new Iterator<>() {
+            int g = 0, i = 0;
+            AbstractAction next = advance();
+
+            private AbstractAction advance() {
+                while (g < groups.size()) {
+                    Group group = groups.get(g);
+                    if (group.candidates == null)
+                        group.materialise();
+                    while (i < group.candidates.size()) {
+                        AbstractAction action = group.resolve(i++);
+                        if (action != null)
+                            return action;
+                    }
+                    g++;
+                    i = 0;
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public AbstractAction next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                AbstractAction retValue = next;
+                next = advance();
+                return retValue;
+            }
+        };
+    }
+
+    /**
+     * @return all legal actions, in the order in which they were added
+     */
+    public List<AbstractAction> toList() {
+        if (filter == null && groups.size() == 1) {
+            Group group = groups.get(0);
+            if (group.candidates == null)
+                group.materialise();
+            return new ArrayList<>(group.candidates);
+        }
+        List<AbstractAction> retValue = new ArrayList<>(estimatedSize());
+        for (AbstractAction action : this)
+            retValue.add(action);
+        return retValue;
+    }
+
+    protected class Group {
+        final int estimate;
+        Supplier<List<AbstractAction>> generator;
+        List<AbstractAction> candidates;
+        AbstractAction[] resolved;  // the filtered action for each candidate, once checked
+        boolean[] checked;
+        // indices into candidates; those before remaining have not (yet) been found to be illegal
+        int[] order;
+        int remaining;
+
+        Group(List<AbstractAction> actions) {
+            this.estimate = actions.size();
+            setCandidates(actions);
+        }
+
+        Group(int estimate, Supplier<List<AbstractAction>> generator) {
+            this.estimate = estimate;
+            this.generator = generator;
+        }
+
+        int weight() {
+            return candidates == null ? Math.max(estimate, 1) : remaining;
+        }
+
+        void materialise() {
+            setCandidates(generator.get());
+            generator = null;
+        }
+
+        private void setCandidates(List<AbstractAction> actions) {
+            candidates = actions instanceof RandomAccess ? actions : new ArrayList<>(actions);
+            remaining = candidates.size();
+            order = new int[remaining];
+            for (int i = 0; i < remaining; i++)
+                order[i] = i;
+        }
+
+        AbstractAction resolve(int index) {
+            AbstractAction candidate = candidates.get(index);
+            if (filter == null)
+                return candidate;
+            if (resolved == null) {
+                resolved = new AbstractAction[candidates.size()];
+                checked = new boolean[candidates.size()];
+            }
+            if (!checked[index]) {
+                resolved[index] = candidate == null ? null : filter.apply(candidate);
+                checked[index] = true;
+            }
+            return resolved[index];
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package core.components;
+
+import core.CoreConstants;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A pile of cards in which cards of the same type are interchangeable, such as a shuffled draw pile whose order no
+ * player knows. Rather than a list of Card objects this holds only the number of cards of each type, so:
+ * <ul>
+ *     <li>copy() is a single array copy, O(number of types) however many cards are in the pile.</li>
+ *     <li>There is no order to shuffle: draw() takes a card at random, with each type weighted by how many of it are
+ *     left (i.e. sampling without replacement).</li>
+ *     <li>Redeterminising hidden hands is just adding the unseen cards back with add() and dealing new ones with
+ *     draw(), with no shuffle of the whole pile.</li>
+ * </ul>
+ * Card types are numbered 0 to nTypes - 1, usually as the ordinal of an enum (which the Enum versions of the methods
+ * use). A game that needs Card objects creates them from the type drawn.
+ */
+public class CardMultiset extends Component {
+
+    private final int[] counts;
+    private int size;
+
+    public CardMultiset(String name, int nTypes) {
+        super(CoreConstants.ComponentType.DECK, name);
+        counts = new int[nTypes];
+    }
+
+    /**
+     * @return an empty multiset with one type for each value of the enum
+     */
+    public static CardMultiset of(String name, Class<? extends Enum<?>> cardTypes) {
+        return new CardMultiset(name, cardTypes.getEnumConstants().length);
+    }
+
+    protected CardMultiset(String name, int[] counts, int size, int ID) {
+        super(CoreConstants.ComponentType.DECK, name, ID);
+        this.counts = counts;
+        this.size = size;
+    }
+
+    @Override
+    public CardMultiset copy() {
+        CardMultiset copy = new CardMultiset(componentName, counts.clone(), size, componentID);
+        copyComponentTo(copy);
+        return copy;
+    }
+
+    /**
+     * @return the number of card types (not cards)
+     */
+    public int getNTypes() {
+        return counts.length;
+    }
+
+    /**
+     * @return the number of cards
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int count(int type) {
+        return counts[type];
+    }
+
+    public int count(Enum<?> type) {
+        return counts[type.ordinal()];
+    }
+
+    public void add(int type) {
+        add(type, 1);
+    }
+
+    public void add(Enum<?> type) {
+        add(type.ordinal(), 1);
+    }
+
+    public void add(Enum<?> type, int n) {
+        add(type.ordinal(), n);
+    }
+
+    public void add(int type, int n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Cannot add " + n + " cards");
+        counts[type] += n;
+        size += n;
+    }
+
+    /**
+     * Adds all the cards in another multiset (which must have the same number of types), leaving it unchanged
+     */
+    public void addAll(CardMultiset other) {
+        if (other.counts.length != counts.length)
+            throw new IllegalArgumentException("Cannot add " + other.counts.length + " types of card to " + counts.length);
+        for (int i = 0; i < counts.length; i++)
+            counts[i] += other.counts[i];
+        size += other.size;
+    }
+
+    /**
+     * Removes one card of the given type
+     *
+     * @return false (and nothing is removed) if there are none of that type
+     */
+    public boolean remove(int type) {
+        if (counts[type] == 0)
+            return false;
+        counts[type]--;
+        size--;
+        return true;
+    }
+
+    public boolean remove(Enum<?> type) {
+        return remove(type.ordinal());
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    /**
+     * Removes a card at random; each card is equally likely, so each type is drawn in proportion to its count.
+     *
+     * @return the type of the card drawn, or -1 if there are none
+     */
+    public int draw(Random rnd) {
+        if (size == 0)
+            return -1;
+        int r = rnd.nextInt(size);
+        int type = 0;
+        while (r >= counts[type]) {
+            r -= counts[type];
+            type++;
+        }
+        counts[type]--;
+        size--;
+        return type;
+    }
+
+    /**
+     * As draw(), but gives the enum value of the card drawn (or null if there are none)
+     */
+    public <E extends Enum<E>> E draw(Random rnd, E[] types) {
+        int type = draw(rnd);
+        return type == -1 ? null : types[type];
+    }
+
+    /**
+     * @return a copy of the count of each type
+     */
+    public int[] getCounts() {
+        return counts.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CardMultiset that)) return false;
+        if (!super.equals(o)) return false;
+        return size == that.size && Arrays.equals(counts, that.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * componentID + Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        return componentName + Arrays.toString(counts);
+    }
+}
@@ -7,42 +7,43 @@ import utilities.Hash;
 import core.CoreConstants.ComponentType;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class Component {
-    private static int ID = 0;  // All components receive a unique and final ID from this always increasing counter
+    // All components receive a unique and final ID from this always increasing counter (atomic, as games may be run in parallel)
+    private static final AtomicInteger ID = new AtomicInteger();
 
     protected transient final int componentID;  // Unique ID of this component
     protected final ComponentType type;  // Type of this component
-    protected HashMap<Integer, Property> properties;  // Maps between integer key for the property and the property object
+    // Properties of this component, with the slot of each (by integer key of the property) given by the layout
+    protected PropertyLayout propertyLayout = PropertyLayout.EMPTY;
+    protected Property[] propertyValues = NO_PROPERTIES;
+    private static final Property[] NO_PROPERTIES = new Property[0];
     protected transient int ownerId = -1;  // By default belongs to the game
     protected String componentName;  // Name of this component
 
     public Component(ComponentType type, String name) {
-        this.componentID = ID++;
+        this.componentID = ID.getAndIncrement();
         this.type = type;
         this.componentName = name;
-        this.properties = new HashMap<>();
     }
 
     public Component(ComponentType type) {
-        this.componentID = ID++;
+        this.componentID = ID.getAndIncrement();
         this.type = type;
         this.componentName = type.toString();
-        this.properties = new HashMap<>();
     }
 
     protected Component(ComponentType type, String name, int componentID) {
         this.componentID = componentID;
         this.type = type;
         this.componentName = name;
-        this.properties = new HashMap<>();
     }
 
     protected Component(ComponentType type, int componentID) {
         this.componentID = componentID;
         this.type = type;
         this.componentName = type.toString();
-        this.properties = new HashMap<>();
     }
 
     /**
@@ -65,7 +66,7 @@ public abstract class Component {
      */
     public int getNumProperties()
     {
-        return properties.size();
+        return propertyLayout.size();
     }
 
     /**
@@ -103,11 +104,14 @@ public abstract class Component {
     }
 
     /**
-     * Get the full map of properties.
-     * @return - mapping from property integer key to property objects.
+     * Get the full map of properties. This is a snapshot; use setProperty() to change them.
+     * @return - mapping from property integer key to property objects, in the order they were added.
      */
     public Map<Integer, Property> getProperties() {
-        return properties;
+        Map<Integer, Property> properties = new LinkedHashMap<>();
+        for (int i = 0; i < propertyValues.length; i++)
+            properties.put(propertyLayout.keys[i], propertyValues[i]);
+        return Collections.unmodifiableMap(properties);
     }
 
     /**
@@ -117,20 +121,27 @@ public abstract class Component {
      */
     public Property getProperty(int propId)
     {
-        return properties.get(propId);
+        int slot = propertyLayout.slot(propId);
+        return slot == -1 ? null : propertyValues[slot];
     }
 
     public Property getProperty(String hashString) {
-        return properties.get(Hash.GetInstance().hash(hashString));
+        return getProperty(Hash.GetInstance().hash(hashString));
     }
 
     /**
-     * Adds a property with an id and a Property object
+     * Adds a property with an id and a Property object (replacing any existing property with the same id)
      * @param prop property to add
      */
     public void setProperty(Property prop)
     {
-        properties.put(prop.getHashKey(), prop);
+        int slot = propertyLayout.slot(prop.getHashKey());
+        if (slot == -1) {
+            propertyLayout = propertyLayout.with(prop.getHashKey());
+            propertyValues = Arrays.copyOf(propertyValues, propertyValues.length + 1);
+            slot = propertyValues.length - 1;
+        }
+        propertyValues[slot] = prop;
     }
 
     public void setProperties(Map<Integer, Property> props) {
@@ -210,11 +221,11 @@ public abstract class Component {
      */
     public void copyComponentTo(Component copyTo)
     {
-        copyTo.properties.clear();
-        for (int prop_key : this.properties.keySet()) {
-            Property newProp = this.properties.get(prop_key).copy();
-            copyTo.setProperty(newProp);
-        }
+        // the copy shares the (immutable) layout, so only the property values need copying
+        copyTo.propertyLayout = propertyLayout;
+        copyTo.propertyValues = new Property[propertyValues.length];
+        for (int i = 0; i < propertyValues.length; i++)
+            copyTo.propertyValues[i] = propertyValues[i].copy();
         copyTo.ownerId = ownerId;
         copyTo.componentName = componentName;
     }
@@ -226,7 +237,7 @@ public abstract class Component {
                 ", type=" + type +
                 ", ownerId=" + ownerId +
                 ", componentName='" + componentName + '\'' +
-                ", properties=" + properties +
+                ", properties=" + getProperties() +
                 '}';
     }
 
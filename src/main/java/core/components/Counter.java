@@ -1,19 +1,20 @@
 package core.components;
 
 import core.CoreConstants;
+import core.GameDataCache;
+import core.interfaces.IZobristHashable;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import utilities.Zobrist;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
-public class Counter extends Component {
+public class Counter extends Component implements IZobristHashable {
     protected int[] values;
 
     protected int valueIdx;  // Current value of this counter
@@ -185,12 +186,11 @@ public class Counter extends Component {
      */
     public static List<Counter> loadCounters(String filename)
     {
-        JSONParser jsonParser = new JSONParser();
         ArrayList<Counter> counters = new ArrayList<>();
 
-        try (FileReader reader = new FileReader(filename)) {
+        try {
 
-            JSONArray data = (JSONArray) jsonParser.parse(reader);
+            JSONArray data = (JSONArray) GameDataCache.parseJSON(filename);
             for(Object o : data) {
 
                 Counter newCounter = new Counter();
@@ -239,6 +239,15 @@ public class Counter extends Component {
         return result;
     }
 
+    /**
+     * The Zobrist key of the current value index of this counter (a single feature, so no update is needed as the
+     * value changes).
+     */
+    @Override
+    public long getZobristHash() {
+        return Zobrist.key(componentID, valueIdx);
+    }
+
     @Override
     public String toString() {
         return "" + getValue();
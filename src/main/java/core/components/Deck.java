@@ -1,14 +1,14 @@
 package core.components;
 
 import core.CoreConstants;
+import core.GameDataCache;
 import core.interfaces.IComponentContainer;
 import org.jetbrains.annotations.NotNull;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import utilities.SharedList;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
 
@@ -27,6 +27,19 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     protected int capacity;  // Capacity of the deck (maximum number of elements)
     protected List<T> components;  // List of components in this deck
     protected VisibilityMode visibility;
+    // If true, components are immutable and shared between copies of this deck (see setSharedComponents())
+    protected boolean sharedComponents;
+    // Whether a type of component overrides copy(int), and so cannot be shared between copies of a deck
+    private static final ClassValue<Boolean> HAS_PLAYER_VIEW = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("copy", int.class).getDeclaringClass() != Component.class;
+            } catch (NoSuchMethodException e) {
+                throw new AssertionError(e);
+            }
+        }
+    };
 
     public Deck(String name, VisibilityMode visibility) {
         this(name, -1, visibility);
@@ -78,12 +91,11 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @return List of Deck objects.
      */
     public static List<Deck<Card>> loadDecksOfCards(String filename) {
-        JSONParser jsonParser = new JSONParser();
         ArrayList<Deck<Card>> decks = new ArrayList<>();
 
-        try (FileReader reader = new FileReader(filename)) {
+        try {
 
-            JSONArray data = (JSONArray) jsonParser.parse(reader);
+            JSONArray data = (JSONArray) GameDataCache.parseJSON(filename);
             for (Object o : data) {
                 Deck<Card> newDeck = loadDeckOfCards((JSONObject) o);
                 decks.add(newDeck);
@@ -135,16 +147,18 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     }
 
     /**
-     * Picks the component in position idx from the deck
+     * Picks the component in position idx from the deck. If the deck shares its components between copies, then a
+     * copy of the component is returned, so that it can be changed (or added to a deck that does not share them).
      *
      * @param idx the index of the component in the deck
      * @return the component in position idx from the deck
      */
+    @SuppressWarnings("unchecked")
     public T pick(int idx) {
         if (!components.isEmpty() && idx < components.size() && idx >= 0) {
             T c = components.get(idx);
             components.remove(idx);
-            return c;
+            return sharedComponents ? (T) c.copy() : c;
         }
         return null;
     }
@@ -204,7 +218,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @return true if within capacity, false otherwise.
      */
     public boolean add(T c) {
-        if (c != null) {
+        if (c != null && !sharedComponents) {
             c.setOwnerId(ownerId);
         }
         return add(c, 0);
@@ -220,8 +234,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     public boolean add(T c, int index) {
         if (c == null)
             throw new IllegalArgumentException("null cannot be added to a Deck");
-        c.setOwnerId(ownerId);
-        components.add(index, c);
+        components.add(index, owned(c));
         return capacity == -1 || components.size() <= capacity;
     }
 
@@ -255,11 +268,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @return true if not over capacity, false otherwise.
      */
     public boolean add(Deck<T> d, int index) {
-        components.addAll(index, d.components);
-        for (T comp : d.components) {
-            comp.setOwnerId(ownerId);
-        }
-        return capacity == -1 || components.size() <= capacity;
+        return addAll(d.components, index);
     }
 
     public boolean add(Collection<T> d) {
@@ -267,13 +276,36 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     }
 
     public boolean add(Collection<T> d, int index) {
-        components.addAll(index, d);
+        return addAll(d, index);
+    }
+
+    private boolean addAll(Collection<T> d, int index) {
+        List<T> toAdd = new ArrayList<>(d.size());
         for (T comp : d) {
-            comp.setOwnerId(ownerId);
+            toAdd.add(owned(comp));
         }
+        components.addAll(index, toAdd);
         return capacity == -1 || components.size() <= capacity;
     }
 
+    /**
+     * Sets the owner of a component joining this deck. Components shared between copies of the deck are never
+     * modified, so instead a copy is taken if the owner needs to change.
+     */
+    @SuppressWarnings("unchecked")
+    private T owned(T c) {
+        if (!sharedComponents) {
+            c.setOwnerId(ownerId);
+            return c;
+        }
+        if (HAS_PLAYER_VIEW.get(c.getClass()))
+            throw new IllegalArgumentException(c + " has a different copy for each player, so cannot be shared between copies of a deck");
+        if (c.getOwnerId() == ownerId) return c;
+        T copy = (T) c.copy();
+        copy.setOwnerId(ownerId);
+        return copy;
+    }
+
     /**
      * Remove the given component.
      *
@@ -284,7 +316,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
         // because for PartialObservableDecks we need to remove the element visibility at the correct index
         // hence we *always* only remove from a deck by index
         int index = components.indexOf(component);
-        component.setOwnerId(-1);
+        if (!sharedComponents) component.setOwnerId(-1);
         if (index != -1) {
             remove(index);
             return;
@@ -300,7 +332,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public void remove(int idx) {
         if (idx >= 0 && idx < components.size()) {
-            components.get(idx).setOwnerId(-1);
+            if (!sharedComponents) components.get(idx).setOwnerId(-1);
             components.remove(idx);
         } else {
             throw new IndexOutOfBoundsException("Index " + idx + " is out of bounds for deck of size " + components.size());
@@ -320,8 +352,10 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * Removes all the components from the deck.
      */
     public void clear() {
-        for (T comp : components) {
-            comp.setOwnerId(-1);
+        if (!sharedComponents) {
+            for (T comp : components) {
+                comp.setOwnerId(-1);
+            }
         }
         components.clear();
     }
@@ -332,7 +366,14 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * Shuffles the deck with a specific random object.
      */
     public void shuffle(Random rnd) {
-        Collections.shuffle(components, rnd);
+        if (components instanceof SharedList<T> shared) {
+            // shuffle outside, so the shared list is rebuilt once rather than changed one swap at a time
+            List<T> shuffled = new ArrayList<>(shared);
+            Collections.shuffle(shuffled, rnd);
+            shared.setAll(shuffled);
+        } else {
+            Collections.shuffle(components, rnd);
+        }
     }
 
     /**
@@ -366,12 +407,52 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @param components - new components for the deck, overrides old content.
      */
     public void setComponents(List<T> components) {
+        if (sharedComponents) {
+            this.components = new SharedList<>();
+            addAll(components, 0);
+            return;
+        }
         this.components = components;
         for (T comp : components) {
             comp.setOwnerId(ownerId);
         }
     }
 
+    /**
+     * Declares that the components in this deck are never modified while they are in it (other than by the deck
+     * setting their owner), so that copies of the deck can share them rather than copying each one. Copying the deck
+     * is then O(1), and changes to a copy only copy the part of the list of components they touch.
+     * <p>
+     * A component added to the deck with a different owner is copied rather than changed (the same component ID is
+     * kept, so it is still found by ID and equal to the original). Components taken from the deck with pick() or
+     * draw() are copies; any others (from peek() or getComponents()) must likewise be copied before being modified,
+     * or added to a deck that does not share its components.
+     * <p>
+     * Components that override Component.copy(int) to hide information from a player cannot be shared, as a copy
+     * of the deck for one player would then see the same components as every other.
+     *
+     * @param shared - true to share components between copies of this deck.
+     */
+    @SuppressWarnings("unchecked")
+    public void setSharedComponents(boolean shared) {
+        if (shared == sharedComponents) return;
+        List<T> current = components;
+        sharedComponents = shared;
+        if (shared) {
+            components = new SharedList<>();
+            addAll(current, 0);
+        } else {
+            components = new LinkedList<>();
+            for (T c : current) {
+                components.add((T) c.copy());
+            }
+        }
+    }
+
+    public boolean hasSharedComponents() {
+        return sharedComponents;
+    }
+
     /**
      * Maximum number of components this deck may contain.
      */
@@ -402,8 +483,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @param component - new component.
      */
     public void setComponent(int idx, T component) {
-        component.setOwnerId(ownerId);
-        components.set(idx, component);
+        components.set(idx, owned(component));
     }
 
     /**
@@ -438,6 +518,10 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     @SuppressWarnings("unchecked")
     protected void copyTo(Deck<T> deck) {
+        if (sharedComponents) {
+            copySharedTo(deck);
+            return;
+        }
         List<T> newComponents = new LinkedList<>();
         for (T c : components) {
             newComponents.add((T) c.copy());
@@ -449,9 +533,24 @@ public class Deck<T extends Component> extends Component implements IComponentCo
         copyComponentTo(deck);
     }
 
+    private void copySharedTo(Deck<T> deck) {
+        // a subclass may have replaced the list; if so it is wrapped again, at the cost of one full copy
+        if (!(components instanceof SharedList<T>))
+            components = new SharedList<>(components);
+        deck.components = ((SharedList<T>) components).copy();
+        deck.sharedComponents = true;
+        deck.capacity = capacity;
+        copyComponentTo(deck);
+    }
+
 
     @SuppressWarnings("unchecked")
     protected void copyTo(Deck<T> deck, int playerId) {
+        if (sharedComponents) {
+            // shared components have no per-player copy (see owned()), so all players see the same ones
+            copySharedTo(deck);
+            return;
+        }
         List<T> newComponents = new LinkedList<>();
         for (T c : components) {
             newComponents.add((T) c.copy(playerId));
@@ -2,15 +2,14 @@ package core.components;
 
 import core.AbstractGameState;
 import core.CoreConstants;
+import core.GameDataCache;
 import core.interfaces.IComponentContainer;
 import core.properties.*;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import utilities.Hash;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
 
@@ -209,12 +208,11 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
      */
     public static List<GraphBoard> loadBoards(String filename)
     {
-        JSONParser jsonParser = new JSONParser();
         ArrayList<GraphBoard> graphBoards = new ArrayList<>();
 
-        try (FileReader reader = new FileReader(filename)) {
+        try {
 
-            JSONArray data = (JSONArray) jsonParser.parse(reader);
+            JSONArray data = (JSONArray) GameDataCache.parseJSON(filename);
             for(Object o : data) {
                 GraphBoard newGraphBoard = new GraphBoard();
                 newGraphBoard.loadBoard((JSONObject) o);
@@ -239,9 +237,9 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
         String neighboursKey = (String) board.get("neighboursKey");
         int maxNeighbours = (int) (long) board.get("maxNeighbours");
 
-        properties.put(Hash.GetInstance().hash("boardType"), new PropertyString("boardType", boardType));
+        setProperty(new PropertyString("boardType", boardType));
         if (board.get("img") != null) {
-            properties.put(imgHash, new PropertyString("img", (String) board.get("img")));
+            setProperty(new PropertyString("img", (String) board.get("img")));
         }
 
         JSONArray nodeList = (JSONArray) board.get("nodes");
@@ -1,17 +1,18 @@
 package core.components;
 
 import core.CoreConstants;
+import core.GameDataCache;
 import core.interfaces.IComponentContainer;
+import core.interfaces.IZobristHashable;
 import core.properties.PropertyString;
 import core.properties.PropertyVector2D;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import utilities.Pair;
 import utilities.Vector2D;
+import utilities.Zobrist;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -24,13 +25,17 @@ import static utilities.Utils.getNeighbourhood;
  * GridBoard is a 2D grid of Components. It can be used to represent a board in a game, a map, or any other 2D grid.
  * Each cell on the grid can contain a Component of any type.
  */
-public class GridBoard extends Component implements IComponentContainer<BoardNode> {
+public class GridBoard extends Component implements IComponentContainer<BoardNode>, IZobristHashable {
 
     private int width;  // Width of the board
     private int height;  // Height of the board
 
     private BoardNode[][] grid;  // 2D grid representation of this board
 
+    // Zobrist hash of the contents of the grid, maintained by setElement(); recomputed on demand if not valid
+    private long zobristHash;
+    private boolean zobristValid;
+
     protected GridBoard() {
         super(CoreConstants.ComponentType.BOARD);
     }
@@ -132,6 +137,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
             if (w >= 0) System.arraycopy(this.grid[i], 0, grid[i + offsetY], offsetX, w);
         }
         this.grid = grid;
+        zobristValid = false;
     }
 
     /**
@@ -144,6 +150,8 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
      */
     public boolean setElement(int x, int y, BoardNode value) {
         if (x >= 0 && x < width && y >= 0 && y < height) {
+            if (zobristValid)
+                zobristHash ^= cellKey(x, y, grid[y][x]) ^ cellKey(x, y, value);
             grid[y][x] = value;
             return true;
         } else
@@ -173,13 +181,40 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
 
     /**
      * Retrieves the grid.
+     * As the caller may then change the grid directly, this means the Zobrist hash will be recomputed the next time
+     * it is needed. Use setElement() to make changes if possible.
      *
      * @return - 2D grid.
      */
     public BoardNode[][] getGridValues() {
+        zobristValid = false;
         return grid;
     }
 
+    /**
+     * The Zobrist hash of the contents of the grid: the component ID of the element in each cell.
+     * This is updated incrementally by setElement(), so is cheap to call after each move.
+     * Note that changes to the properties of the elements themselves are not included.
+     */
+    @Override
+    public long getZobristHash() {
+        if (!zobristValid) {
+            long hash = 0;
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    hash ^= cellKey(x, y, grid[y][x]);
+                }
+            }
+            zobristHash = hash;
+            zobristValid = true;
+        }
+        return zobristHash;
+    }
+
+    private long cellKey(int x, int y, BoardNode value) {
+        return value == null ? 0 : Zobrist.key(componentID, y * width + x, value.getComponentID());
+    }
+
     public List<Vector2D> getEmptyCells(BoardNode defaultElement) {
         List<Vector2D> emptyCells = new ArrayList<>();
         for (int i = 0; i < height; i++) {
@@ -265,6 +300,8 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         }
         GridBoard g = new GridBoard(gridCopy, componentID);
         copyComponentTo(g);
+        g.zobristHash = zobristHash;
+        g.zobristValid = zobristValid;
         return g;
     }
 
@@ -322,12 +359,11 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
      * @return - List of Board objects.
      */
     public static List<GridBoard> loadBoards(String filename) {
-        JSONParser jsonParser = new JSONParser();
         ArrayList<GridBoard> gridBoards = new ArrayList<>();
 
-        try (FileReader reader = new FileReader(filename)) {
+        try {
 
-            JSONArray data = (JSONArray) jsonParser.parse(reader);
+            JSONArray data = (JSONArray) GameDataCache.parseJSON(filename);
             for (Object o : data) {
                 GridBoard newGridBoard = new GridBoard();
                 newGridBoard.loadBoard((JSONObject) o);
@@ -354,10 +390,11 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         this.height = (int) (long) size.get(1);
 
         if (board.get("img") != null) {
-            properties.put(imgHash, new PropertyString((String) board.get("img")));
+            setProperty(new PropertyString("img", (String) board.get("img")));
         }
 
         this.grid = new BoardNode[height][width];
+        zobristValid = false;
 
         JSONArray grids = (JSONArray) board.get("grid");
         int y = 0;
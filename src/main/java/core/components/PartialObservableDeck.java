@@ -5,6 +5,7 @@ import core.CoreConstants.VisibilityMode;
 import org.jetbrains.annotations.NotNull;
 import utilities.DeterminisationUtilities;
 import utilities.Pair;
+import utilities.SharedList;
 
 import java.util.*;
 
@@ -301,7 +302,10 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     public void shuffleAndKeepVisibility(Random rnd) {
         Pair<List<T>, List<boolean[]>> shuffled = shuffleLists(components, elementVisibility, rnd);
-        components = shuffled.a;
+        if (components instanceof SharedList<T> shared)
+            shared.setAll(shuffled.a);  // shared components must stay in a SharedList (see setSharedComponents())
+        else
+            components = shuffled.a;
         elementVisibility = shuffled.b;
         applyVisibilityMode();
     }
@@ -0,0 +1,52 @@
+package core.components;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The layout of the properties of a component: which property (by hash key) is held in which slot of the component's
+ * property array.
+ * <p>
+ * Layouts are immutable and shared. Components that have the same properties, added in the same order (all the cards
+ * loaded from the same file, or all the nodes of a board), end up with the same layout object, as adding a property
+ * to a layout always gives the same next layout. Copying a component then only needs to copy its array of values,
+ * and looking up a property is a short scan of an int[] rather than a HashMap lookup with a boxed key.
+ */
+public final class PropertyLayout {
+
+    static final PropertyLayout EMPTY = new PropertyLayout(new int[0]);
+
+    // hash key of the property in each slot
+    final int[] keys;
+    // layout after adding a property not already in this one
+    private final transient Map<Integer, PropertyLayout> transitions = new ConcurrentHashMap<>();
+
+    private PropertyLayout(int[] keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * @return the slot for the property with this hash key, or -1 if there is none
+     */
+    int slot(int key) {
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] == key) return i;
+        return -1;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return the layout with the given property added in a new, final, slot
+     */
+    PropertyLayout with(int key) {
+        return transitions.computeIfAbsent(key, k -> {
+            int[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+            newKeys[keys.length] = k;
+            return new PropertyLayout(newKeys);
+        });
+    }
+}
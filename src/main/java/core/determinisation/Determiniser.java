@@ -0,0 +1,188 @@
+package core.determinisation;
+
+import core.AbstractGameState;
+import core.components.Component;
+import core.components.Deck;
+import core.interfaces.IComponentContainer;
+import core.interfaces.IDeterminiser;
+
+import java.util.*;
+
+/**
+ * Generates many determinisations from a single observation of the game state.
+ * <p>
+ * The game-specific copy(playerId) is called once, in the constructor. Every later determinisation is a
+ * full-information copy() of that observation, in which only the components reported by getUnknownComponentsIds()
+ * are re-sampled. Hidden components are permuted across all the Deck positions that hold hidden components, so
+ * deck sizes are maintained, and a hidden component is only ever swapped with another of the same class.
+ * <p>
+ * This relies on the game using Deck, PartialObservableDeck and IComponentContainer consistently (which is the same
+ * assumption made by the default getUnknownComponentsIds()). Any hidden information that is not held in a Deck
+ * keeps the value it had in the original observation - which is still a valid determinisation, just a less
+ * diverse one. Games whose hidden Deck positions are not exchangeable (for example, where a player is known to be
+ * void in a suit) should stick with the game's own copy(playerId).
+ */
+public class Determiniser implements IDeterminiser {
+
+    protected final AbstractGameState observation;
+    protected final int playerId;
+    protected final Random rnd;
+    protected final Set<Integer> unknownIds;
+    // For each Deck (in traversal order), the positions of hidden components (null if there are none)
+    protected final int[][] hiddenSlots;
+    // For each Deck (in traversal order), the component ID at each position, or -1 if hidden from playerId
+    protected final int[][] knownIds;
+    protected final boolean anythingHidden;
+
+    public Determiniser(AbstractGameState state, int playerId, Random rnd) {
+        this.observation = state.copy(playerId);
+        this.playerId = playerId;
+        this.rnd = rnd;
+        this.unknownIds = new HashSet<>(observation.getUnknownComponentsIds(playerId));
+        List<Deck<?>> decks = decksOf(observation);
+        hiddenSlots = new int[decks.size()][];
+        knownIds = new int[decks.size()][];
+        boolean hidden = false;
+        for (int d = 0; d < decks.size(); d++) {
+            List<?> contents = decks.get(d).getComponents();
+            int[] ids = new int[contents.size()];
+            int[] slots = new int[contents.size()];
+            int nHidden = 0;
+            int i = 0;
+            for (Object o : contents) {
+                int id = ((Component) o).getComponentID();
+                if (unknownIds.contains(id)) {
+                    ids[i] = -1;
+                    slots[nHidden++] = i;
+                } else {
+                    ids[i] = id;
+                }
+                i++;
+            }
+            knownIds[d] = ids;
+            if (nHidden > 0) {
+                hiddenSlots[d] = Arrays.copyOf(slots, nHidden);
+                hidden = true;
+            }
+        }
+        anythingHidden = hidden;
+    }
+
+    @Override
+    public AbstractGameState determinise() {
+        AbstractGameState retValue = observation.copy();
+        if (anythingHidden)
+            resample(retValue);
+        return retValue;
+    }
+
+    @Override
+    public int getPlayerID() {
+        return playerId;
+    }
+
+    public AbstractGameState getObservation() {
+        return observation;
+    }
+
+    /**
+     * Re-samples the hidden components of state in situ.
+     * The state must have the same Deck structure as the observation used to construct this Determiniser
+     * (which is always true for the output of determinise()).
+     */
+    @SuppressWarnings("unchecked")
+    public void resample(AbstractGameState state) {
+        List<Deck<?>> decks = decksOf(state);
+        if (decks.size() != hiddenSlots.length)
+            throw new AssertionError("Deck structure does not match the observation : " + decks.size() + " vs " + hiddenSlots.length);
+
+        // Gather up the hidden components, grouped by class, in slot order
+        Map<Class<?>, List<Component>> hiddenByClass = new HashMap<>();
+        for (int d = 0; d < hiddenSlots.length; d++) {
+            if (hiddenSlots[d] == null) continue;
+            int[] slots = hiddenSlots[d];
+            int next = 0, position = 0;
+            // Decks are generally LinkedLists, so we iterate rather than use get(slot)
+            for (Object o : decks.get(d).getComponents()) {
+                if (position++ != slots[next]) continue;
+                Component c = (Component) o;
+                hiddenByClass.computeIfAbsent(c.getClass(), k -> new ArrayList<>()).add(c);
+                if (++next == slots.length) break;
+            }
+        }
+        for (List<Component> group : hiddenByClass.values())
+            Collections.shuffle(group, rnd);
+
+        // and then put them back, in the same slot order
+        Map<Class<?>, Integer> nextIndex = new HashMap<>();
+        for (int d = 0; d < hiddenSlots.length; d++) {
+            if (hiddenSlots[d] == null) continue;
+            Deck<?> deck = decks.get(d);
+            ListIterator<Component> iterator = ((List<Component>) deck.getComponents()).listIterator();
+            int position = 0;
+            for (int slot : hiddenSlots[d]) {
+                Component current = null;
+                while (position <= slot) {
+                    current = iterator.next();
+                    position++;
+                }
+                List<Component> group = hiddenByClass.get(current.getClass());
+                int index = nextIndex.merge(current.getClass(), 1, Integer::sum) - 1;
+                Component replacement = group.get(index);
+                replacement.setOwnerId(deck.getOwnerId());
+                iterator.set(replacement);
+            }
+        }
+    }
+
+    /**
+     * Checks that a full-information state agrees with everything that is visible in the observation.
+     * That is: the same turn, round, phase and current player; the same Deck structure and sizes; and the same
+     * component at every Deck position that is visible to the player.
+     */
+    public boolean isConsistent(AbstractGameState state) {
+        if (state.getCurrentPlayer() != observation.getCurrentPlayer() ||
+                state.getTurnCounter() != observation.getTurnCounter() ||
+                state.getRoundCounter() != observation.getRoundCounter() ||
+                state.getGameStatus() != observation.getGameStatus() ||
+                !Objects.equals(state.getGamePhase(), observation.getGamePhase()))
+            return false;
+        List<Deck<?>> decks = decksOf(state);
+        if (decks.size() != knownIds.length)
+            return false;
+        for (int d = 0; d < knownIds.length; d++) {
+            List<?> contents = decks.get(d).getComponents();
+            int[] ids = knownIds[d];
+            if (contents.size() != ids.length)
+                return false;
+            int i = 0;
+            for (Object o : contents) {
+                if (ids[i] != -1 && ids[i] != ((Component) o).getComponentID())
+                    return false;
+                i++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * All Decks in the state, including those nested inside other containers, in a deterministic order
+     * (depth-first over getAllTopLevelComponents()).
+     */
+    protected static List<Deck<?>> decksOf(AbstractGameState state) {
+        List<Deck<?>> retValue = new ArrayList<>();
+        Set<Component> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Component c : state.getAllTopLevelComponents())
+            collectDecks(c, retValue, seen);
+        return retValue;
+    }
+
+    private static void collectDecks(Component c, List<Deck<?>> decks, Set<Component> seen) {
+        if (!(c instanceof IComponentContainer<?> container) || !seen.add(c))
+            return;
+        if (c instanceof Deck<?> deck)
+            decks.add(deck);
+        for (Component child : container.getComponents())
+            collectDecks(child, decks, seen);
+    }
+}
@@ -0,0 +1,124 @@
+package core.determinisation;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+import core.interfaces.IDeterminiser;
+import utilities.Pair;
+
+import java.util.*;
+
+/**
+ * A pool of determinisations (particles) that is maintained across search iterations and across decisions.
+ * <p>
+ * At each decision update() is called with the new observation. Every surviving particle from the previous decision
+ * has the actions taken since then (as recorded in the game history) applied to it. A particle is discarded if any of
+ * those actions is not legal in it, or if the result is not consistent with the new observation. The pool is then
+ * topped up with fresh determinisations from a Determiniser. This means that, over time, the particles are
+ * filtered towards the hidden states that are consistent with the actions the other players have actually taken.
+ * <p>
+ * If history is not available (for example in competition mode), then the pool is simply refreshed at each decision.
+ */
+public class ParticleFilter implements IDeterminiser {
+
+    protected final int capacity;
+    protected final AbstractForwardModel forwardModel;
+    protected final Random rnd;
+    protected List<AbstractGameState> particles = new ArrayList<>();
+    protected Determiniser determiniser;
+    protected int historyCursor = -1;
+    protected int playerId = -1;
+    // statistics on the last update; useful for tuning capacity
+    protected int survivors, replacements;
+
+    public ParticleFilter(int capacity, AbstractForwardModel forwardModel, Random rnd) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Particle capacity must be at least 1 : " + capacity);
+        this.capacity = capacity;
+        this.forwardModel = forwardModel;
+        this.rnd = rnd;
+    }
+
+    /**
+     * Brings the particles up to date with a new observation of the game.
+     *
+     * @param state    the current state, as observed by player
+     * @param playerId the player from whose perspective we are determinising
+     */
+    public void update(AbstractGameState state, int playerId) {
+        determiniser = new Determiniser(state, playerId, rnd);
+        List<Pair<Integer, AbstractAction>> history = state.getHistory();
+        if (playerId != this.playerId || historyCursor < 0 || history.size() < historyCursor) {
+            // a new game, a different perspective, or no history; so nothing to filter
+            particles.clear();
+        }
+        List<Pair<Integer, AbstractAction>> newActions = historyCursor < 0 || history.size() < historyCursor
+                ? Collections.emptyList()
+                : history.subList(historyCursor, history.size());
+
+        List<AbstractGameState> filtered = new ArrayList<>(capacity);
+        for (AbstractGameState particle : particles) {
+            if (advance(particle, newActions) && determiniser.isConsistent(particle))
+                filtered.add(particle);
+        }
+        survivors = filtered.size();
+        replacements = capacity - survivors;
+        while (filtered.size() < capacity)
+            filtered.add(determiniser.determinise());
+
+        particles = filtered;
+        historyCursor = history.size();
+        this.playerId = playerId;
+    }
+
+    /**
+     * Applies the observed actions to a particle, in situ.
+     *
+     * @return false if any action was not legal in the particle (which is then inconsistent with the observed play)
+     */
+    protected boolean advance(AbstractGameState particle, List<Pair<Integer, AbstractAction>> actions) {
+        for (Pair<Integer, AbstractAction> step : actions) {
+            if (!particle.isNotTerminal() || particle.getCurrentPlayer() != step.a)
+                return false;
+            List<AbstractAction> available = forwardModel.computeAvailableActions(particle);
+            if (!available.contains(step.b))
+                return false;
+            forwardModel.next(particle, step.b.copy());
+        }
+        return true;
+    }
+
+    /**
+     * @return a copy of one of the particles, chosen uniformly at random
+     */
+    @Override
+    public AbstractGameState determinise() {
+        if (particles.isEmpty())
+            throw new AssertionError("update() must be called before determinise()");
+        return particles.get(rnd.nextInt(particles.size())).copy();
+    }
+
+    @Override
+    public int getPlayerID() {
+        return playerId;
+    }
+
+    public void reset() {
+        particles.clear();
+        determiniser = null;
+        historyCursor = -1;
+        playerId = -1;
+    }
+
+    public int size() {
+        return particles.size();
+    }
+
+    public int getSurvivors() {
+        return survivors;
+    }
+
+    public int getReplacements() {
+        return replacements;
+    }
+}
@@ -0,0 +1,22 @@
+package core.interfaces;
+
+import core.AbstractGameState;
+
+/**
+ * A source of determinisations of a game state from the perspective of a single player.
+ * This is an alternative to calling state.copy(playerId) on every search iteration, which
+ * re-runs all the game-specific hiding and shuffling logic each time.
+ */
+public interface IDeterminiser {
+
+    /**
+     * @return a new full-information state that is consistent with everything the player can observe.
+     * The returned state is owned by the caller, and can be freely modified.
+     */
+    AbstractGameState determinise();
+
+    /**
+     * @return the player from whose perspective determinisations are generated
+     */
+    int getPlayerID();
+}
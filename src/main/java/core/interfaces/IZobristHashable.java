@@ -0,0 +1,15 @@
+package core.interfaces;
+
+/**
+ * Implemented by components and game states that can provide a 64-bit Zobrist-style hash of their contents.
+ * <p>
+ * The hash is the XOR of pseudo-random keys (see utilities.Zobrist), one for each feature of the current position
+ * (for example, one per occupied cell on a board). This means it can be kept up to date incrementally as the
+ * position changes, rather than being recomputed from scratch each time it is needed.
+ * Equal positions must have equal hashes, in every copy of the state and every run of the JVM; different positions
+ * will have different hashes with very high probability.
+ */
+public interface IZobristHashable {
+
+    long getZobristHash();
+}
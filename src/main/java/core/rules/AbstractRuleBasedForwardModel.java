@@ -15,6 +15,9 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
 
     // Rule executed last, rule to be executed next, and first rule to be executed in a turn (root)
     protected Node lastRule, nextRule, root;
+    // Immutable table form of the rule graph, if compiled. When set, progress through the rules is kept in the game
+    // state instead of in lastRule / nextRule, and the graph is shared by all copies of the forward model.
+    protected CompiledRuleGraph compiled;
 
     /**
      * Default constructor. Any classes extending this should initialise the root node variable to the first rule
@@ -43,14 +46,35 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
         this.nextRule = root;
     }
 
+    /**
+     * Copy constructor from a compiled rule graph, which is shared rather than copied.
+     * @param compiled - compiled rule graph.
+     */
+    protected AbstractRuleBasedForwardModel(CompiledRuleGraph compiled) {
+        this.compiled = compiled;
+        this.root = compiled.getNode(CompiledRuleGraph.ROOT);
+        this.nextRule = root;
+    }
+
+    /**
+     * Freezes the rule graph starting at the root node into a CompiledRuleGraph, which is then used to execute the
+     * rules. The graph must not be modified after this is called.
+     */
+    protected void compile() {
+        compiled = new CompiledRuleGraph(root);
+    }
+
     /**
      * Combines both super class and sub class setup methods. Called from the game loop.
      * @param firstState - initial state.
      */
+    @SuppressWarnings("deprecation")  // the rule cursor is kept with the turn order, which rule-based games all use
     protected void abstractSetup(AbstractGameState firstState) {
         super.abstractSetup(firstState);
         nextRule = root;
         lastRule = null;
+        if (compiled != null && firstState instanceof AbstractGameStateWithTurnOrder)
+            ((AbstractGameStateWithTurnOrder) firstState).setRuleCursor(CompiledRuleGraph.ROOT);
     }
 
     /**
@@ -65,6 +89,10 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
             throw new AssertionError("Rules Based Forward Model is only usable with AbstractGameStateWithTurnOrder");
 
         AbstractGameStateWithTurnOrder currentState = (AbstractGameStateWithTurnOrder) state;
+        if (compiled != null) {
+            _nextCompiled(currentState, action);
+            return;
+        }
         if (nextRule == null) {
             nextRule = lastRule.getNext();  // Go back to parent, skip it and go to next rule
             if (nextRule == null) nextRule = root;
@@ -87,6 +115,32 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
         nextRule = lastRule.getNext();  // Go back to parent, skip it and go to next rule
     }
 
+    /**
+     * As _next(), but walking the compiled rule graph, with the index of the next rule kept in the game state.
+     */
+    @SuppressWarnings("deprecation")  // as in _next(), rules can only be run on an AbstractGameStateWithTurnOrder
+    private void _nextCompiled(AbstractGameStateWithTurnOrder state, AbstractAction action) {
+        int cursor = state.getRuleCursor();
+        int last = CompiledRuleGraph.ROOT;
+        do {
+            AbstractAction ruleAction = null;
+            if (compiled.requiresAction(cursor)) {
+                if (action != null) {
+                    ruleAction = action;
+                    action = null;
+                } else {
+                    state.setRuleCursor(cursor);  // Wait for action to be sent to execute this rule requiring action
+                    return;
+                }
+            }
+            last = cursor;
+            cursor = compiled.execute(cursor, state, ruleAction);
+        } while (cursor != CompiledRuleGraph.NONE);
+
+        cursor = compiled.resumeAfter(last);  // Go back to parent, skip it and go to next rule
+        state.setRuleCursor(cursor == CompiledRuleGraph.NONE ? CompiledRuleGraph.ROOT : cursor);
+    }
+
     /**
      * Copy root node with rule graph.
      * @return - New copy of root
@@ -0,0 +1,105 @@
+package core.rules;
+
+import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
+import core.rules.nodetypes.ConditionNode;
+import core.rules.nodetypes.RuleNode;
+
+import java.util.*;
+
+/**
+ * A rule graph frozen into a table: each node reachable from the root gets an index (the root is 0), and the
+ * transitions between them are held in int arrays. The graph is never modified once compiled, and executing a node
+ * does not change any node (conditions report their result, rule nodes are given their action), so one compiled
+ * graph can be shared by all copies of a forward model, across threads.
+ * <p>
+ * All progress through the graph is the index of the next node to execute, which is kept in the game state
+ * (see AbstractGameStateWithTurnOrder.getRuleCursor()).
+ * <p>
+ * Nodes whose own fields change as they are executed are not safe to share like this; any such information needs to
+ * be kept in the game state instead.
+ */
+public final class CompiledRuleGraph {
+
+    public static final int NONE = -1;
+    public static final int ROOT = 0;
+
+    private final Node[] nodes;
+    private final boolean[] requiresAction;
+    // next node for rule nodes; yes and no branches for condition nodes (NONE where not relevant, or not set)
+    private final int[] next, yes, no;
+
+    public CompiledRuleGraph(Node root) {
+        if (root == null)
+            throw new IllegalArgumentException("Can't compile a rule graph without a root");
+        // number the nodes in the order they are found from the root
+        Map<Node, Integer> index = new LinkedHashMap<>();
+        Deque<Node> toVisit = new ArrayDeque<>();
+        toVisit.add(root);
+        while (!toVisit.isEmpty()) {
+            Node node = toVisit.poll();
+            if (index.containsKey(node)) continue;
+            index.put(node, index.size());
+            for (Node child : successors(node))
+                if (child != null) toVisit.add(child);
+        }
+
+        int n = index.size();
+        nodes = index.keySet().toArray(new Node[0]);
+        requiresAction = new boolean[n];
+        next = new int[n];
+        yes = new int[n];
+        no = new int[n];
+        for (int i = 0; i < n; i++) {
+            Node node = nodes[i];
+            requiresAction[i] = node.requireAction();
+            next[i] = yes[i] = no[i] = NONE;
+            if (node instanceof ConditionNode c) {
+                yes[i] = index.getOrDefault(c.getYesNo()[0], NONE);
+                no[i] = index.getOrDefault(c.getYesNo()[1], NONE);
+            } else {
+                next[i] = node.getNext() == null ? NONE : index.get(node.getNext());
+            }
+        }
+    }
+
+    private static List<Node> successors(Node node) {
+        if (node instanceof ConditionNode c)
+            return Arrays.asList(c.getYesNo());
+        return Collections.singletonList(node.getNext());
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public Node getNode(int index) {
+        return nodes[index];
+    }
+
+    public boolean requiresAction(int index) {
+        return requiresAction[index];
+    }
+
+    /**
+     * Executes one node.
+     *
+     * @param action - the action for this node, if it requires one
+     * @return the index of the next node to execute, or NONE if the game loop should be interrupted
+     */
+    @SuppressWarnings("deprecation")  // the nodes themselves are defined on AbstractGameStateWithTurnOrder
+    public int execute(int index, AbstractGameStateWithTurnOrder gs, AbstractAction action) {
+        Node node = nodes[index];
+        if (node instanceof ConditionNode c)
+            return c.evaluate(gs) ? yes[index] : no[index];
+        return ((RuleNode) node).executeRule(gs, action) ? next[index] : NONE;
+    }
+
+    /**
+     * Where to carry on from after the game loop was interrupted at the given node, which skips that node.
+     * The equivalent of Node.getNext() for a node that has just been executed.
+     */
+    public int resumeAfter(int index) {
+        return nodes[index] instanceof ConditionNode ? NONE : next[index];
+    }
+}
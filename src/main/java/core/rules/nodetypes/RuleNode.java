@@ -2,6 +2,7 @@ package core.rules.nodetypes;
 
 import core.AbstractGameStateWithTurnOrder;
 import core.CoreConstants;
+import core.actions.AbstractAction;
 import core.rules.GameOverCondition;
 import core.rules.Node;
 
@@ -52,6 +53,18 @@ public abstract class RuleNode extends Node {
      */
     protected abstract boolean run(AbstractGameStateWithTurnOrder gs);
 
+    /**
+     * Apply the functionality of the rule in the given game state, with the given action (for rules that require
+     * one). By default the action is ignored.
+     * @param gs - game state to modify.
+     * @param action - action to execute.
+     * @return - true if successfully executed, false if not and game loop should be interrupted after the execution.
+     */
+    @SuppressWarnings("deprecation")  // same state type as run(gs), which this delegates to
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
+        return run(gs);
+    }
+
     /**
      * Adds a new game over condition to this node.
      * @param condition - game over condition to add.
@@ -68,9 +81,22 @@ public abstract class RuleNode extends Node {
      * requirements for execution are not met, or the game is over).
      */
     public final Node execute(AbstractGameStateWithTurnOrder gs) {
-        if (requireAction() && action == null) return null;
+        if (executeRule(gs, action)) return childNext;
+        return null;
+    }
+
+    /**
+     * Executes the rule with the given action, and tests any game over conditions, as execute() does. This does not
+     * change the node itself, so can be used when the node is shared (see core.rules.CompiledRuleGraph).
+     * @param gs - game state to apply functionality in.
+     * @param action - action for this rule, if it requires one.
+     * @return - true if the rule executed and did not request an interruption, false otherwise.
+     */
+    @SuppressWarnings("deprecation")  // same state type as execute(gs), which this replaces for shared nodes
+    public final boolean executeRule(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
+        if (requireAction() && action == null) return false;
 
-        boolean interrupted = !run(gs);
+        boolean interrupted = !run(gs, action);
         if (gameOverConditions != null && gameOverConditions.size() > 0) {
             for (GameOverCondition goc: gameOverConditions) {  // TODO: this triggers first condition, maybe order matters/loss first
                 CoreConstants.GameResult result = goc.test(gs);
@@ -80,8 +106,7 @@ public abstract class RuleNode extends Node {
                 }
             }
         }
-        if (!interrupted) return childNext;
-        return null;
+        return !interrupted;
     }
 
     // Getters & Setters
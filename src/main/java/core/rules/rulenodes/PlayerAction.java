@@ -1,6 +1,7 @@
 package core.rules.rulenodes;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.rules.Node;
 import core.rules.nodetypes.RuleNode;
 
@@ -23,7 +24,13 @@ public class PlayerAction extends RuleNode {
     }
 
     @Override
-    protected boolean run(AbstractGameStateWithTurnOrder gs) {
+    protected final boolean run(AbstractGameStateWithTurnOrder gs) {
+        return run(gs, action);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")  // overrides RuleNode.run(gs, action)
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         if (action != null) {
             action.execute(gs);
             return true;
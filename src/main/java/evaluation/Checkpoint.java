@@ -0,0 +1,149 @@
+package evaluation;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only checkpoint of a long-running process (a tournament, or an NTBEA run), so that it can be resumed
+ * after a crash without repeating the work already done.
+ * <p>
+ * The file holds one JSON record per line (the first is usually a header that describes the run), and each record
+ * is written and flushed as soon as it is complete, so that a checkpoint costs one short write per game (or per
+ * NTBEA evaluation). Nothing is ever rewritten during normal running.
+ * <p>
+ * When resuming, the records already in the file are read back in order with hasNext()/peek()/next(). The process
+ * is expected to repeat its work in the same order (random seeds and schedules are regenerated from the seed in the
+ * header), taking each result from the checkpoint rather than recomputing it. If the process reaches a point where
+ * it no longer matches the checkpoint, then discardRemaining() drops the rest of it.
+ * A final record that was only partly written when the process died is ignored.
+ */
+public class Checkpoint implements Closeable {
+
+    protected final File file;
+    protected final List<JSONObject> records = new ArrayList<>();
+    protected int cursor;
+    protected Writer writer;
+
+    /**
+     * @param resume if true then any existing records in the file are read, and will be added to. If false then the
+     *               file is started afresh.
+     */
+    public Checkpoint(String filename, boolean resume) {
+        this.file = new File(filename);
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs())
+            throw new AssertionError("Unable to create directory for checkpoint " + filename);
+        try {
+            if (resume && file.exists()) {
+                List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+                JSONParser parser = new JSONParser();
+                for (String line : lines) {
+                    if (line.isBlank())
+                        continue;
+                    try {
+                        records.add((JSONObject) parser.parse(line));
+                    } catch (ParseException | ClassCastException e) {
+                        // an incomplete last record; everything after it is discarded
+                        System.out.printf("Ignoring incomplete record %d in checkpoint %s%n", records.size(), filename);
+                        break;
+                    }
+                }
+                if (records.size() < lines.stream().filter(l -> !l.isBlank()).count())
+                    rewrite(records);
+                System.out.printf("Resuming from %d records in checkpoint %s%n", records.size(), filename);
+            } else {
+                rewrite(records);
+            }
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new AssertionError("Unable to open checkpoint " + filename + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return a checkpoint, or null if checkpointing is switched off (filename is null or empty)
+     */
+    public static Checkpoint open(String filename, boolean resume) {
+        if (filename == null || filename.isEmpty())
+            return null;
+        return new Checkpoint(filename, resume);
+    }
+
+    protected void rewrite(List<JSONObject> toKeep) throws IOException {
+        try (Writer w = new OutputStreamWriter(new FileOutputStream(file, false), StandardCharsets.UTF_8)) {
+            for (JSONObject record : toKeep)
+                w.write(record.toJSONString() + "\n");
+        }
+    }
+
+    /**
+     * @return all records read from the file when this checkpoint was opened (whether consumed or not)
+     */
+    public List<JSONObject> getRecords() {
+        return records;
+    }
+
+    public boolean hasNext() {
+        return cursor < records.size();
+    }
+
+    public JSONObject peek() {
+        return records.get(cursor);
+    }
+
+    public JSONObject next() {
+        return records.get(cursor++);
+    }
+
+    /**
+     * Drops all records not yet consumed with next(), both here and in the file. This is used if the process
+     * no longer matches the checkpoint (for example because the configuration has been changed).
+     */
+    public synchronized void discardRemaining() {
+        if (!hasNext())
+            return;
+        System.out.printf("Checkpoint %s does not match this run after record %d; discarding the remaining %d records%n",
+                file, cursor, records.size() - cursor);
+        try {
+            writer.close();
+            records.subList(cursor, records.size()).clear();
+            rewrite(records);
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new AssertionError("Unable to rewrite checkpoint " + file + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends a record to the file, and flushes it.
+     */
+    public synchronized void append(JSONObject record) {
+        try {
+            writer.write(record.toJSONString());
+            writer.write("\n");
+            writer.flush();
+        } catch (IOException e) {
+            throw new AssertionError("Unable to write to checkpoint " + file + " : " + e.getMessage());
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // nothing more we can do
+        }
+    }
+}
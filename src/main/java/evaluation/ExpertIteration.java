@@ -228,6 +228,7 @@ public class ExpertIteration {
     private boolean gatherDataAndCheckConvergence() {
         RGConfig.put(RunArg.mode, "random");  // we are most interested in a wide range of data, so do not want to reuse random seeds
         RGConfig.put(RunArg.verbose, false);
+        RGConfig.put(RunArg.resultCache, "");  // these games are played for the data the listeners gather, so must not be skipped
         String expert = ((String) config.get(RunArg.expert)).toUpperCase();
 
         // we need to set the listener to record the required data for the Learner processes
@@ -0,0 +1,463 @@
+package evaluation;
+
+import core.AbstractGameState;
+import core.AbstractParameters;
+import core.AbstractPlayer;
+import core.Game;
+import core.interfaces.ITunableParameters;
+import games.GameType;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static core.CoreConstants.GameResult;
+
+/**
+ * An on-disk cache of the outcomes of games, so that a game that has already been played (the same game type and
+ * parameters, the same players with the same parameters in the same seats, and the same random seed) does not need
+ * to be played again. This is useful in iterative tuning workflows (NTBEA, OneStepDeviations, SkillLadder), which
+ * otherwise re-run many identical games across the tournaments they create.
+ * <p>
+ * The key is a SHA-256 hash of a canonical description of the game. Tunable parameters are described by the value of
+ * each parameter, and anything else field by field. The randomSeed of the parameters is ignored: copying parameters
+ * gives them a new seed from the clock, so this would otherwise never match. The cache therefore treats two games
+ * with the same settings and game seed as the same sample; a player whose play depends on its own seed, on wall-clock
+ * time, or on state carried over between games, will have its first result for each key re-used.
+ * <p>
+ * If any part of a game's settings cannot be described fully (a lambda that is not held in a constant, say, or
+ * objects nested too deeply), then there is no key for it, and the game is always played and never cached: two
+ * different settings must never share an entry.
+ * <p>
+ * Each entry is one JSON file in the cache directory. Games that are retrieved from the cache are not replayed, so
+ * any listeners will not see them.
+ */
+public class GameResultCache {
+
+    private static final Map<String, GameResultCache> caches = new ConcurrentHashMap<>();
+    private static final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private static final int MAX_DEPTH = 8;
+
+    protected final File directory;
+    protected final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    protected int hits, misses;
+
+    /**
+     * The outcome of a single game, indexed by player.
+     * values is optional, and holds any extra per-player evaluation (such as a heuristic value) that was part of
+     * the key.
+     */
+    public static class Entry {
+        public final GameResult[] results;
+        public final double[] scores;
+        public final int[] ordinals;
+        public final int[] teams;
+        public final double[] values;
+
+        public Entry(GameResult[] results, double[] scores, int[] ordinals, int[] teams, double[] values) {
+            this.results = results;
+            this.scores = scores;
+            this.ordinals = ordinals;
+            this.teams = teams;
+            this.values = values;
+        }
+
+        public static Entry fromGame(Game game) {
+            return fromGame(game, null);
+        }
+
+        public static Entry fromGame(Game game, double[] values) {
+            AbstractGameState state = game.getGameState();
+            int n = state.getNPlayers();
+            double[] scores = new double[n];
+            int[] ordinals = new int[n];
+            int[] teams = new int[n];
+            for (int p = 0; p < n; p++) {
+                scores[p] = state.getGameScore(p);
+                ordinals[p] = state.getOrdinalPosition(p);
+                teams[p] = state.getTeam(p);
+            }
+            return new Entry(state.getPlayerResults().clone(), scores, ordinals, teams, values);
+        }
+
+        public int nPlayers() {
+            return results.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        public JSONObject toJSON() {
+            JSONObject json = new JSONObject();
+            JSONArray resultArray = new JSONArray(), scoreArray = new JSONArray(), ordinalArray = new JSONArray(), teamArray = new JSONArray();
+            for (int p = 0; p < results.length; p++) {
+                resultArray.add(results[p].name());
+                scoreArray.add(scores[p]);
+                ordinalArray.add(ordinals[p]);
+                teamArray.add(teams[p]);
+            }
+            json.put("results", resultArray);
+            json.put("scores", scoreArray);
+            json.put("ordinals", ordinalArray);
+            json.put("teams", teamArray);
+            if (values != null) {
+                JSONArray valueArray = new JSONArray();
+                for (double v : values)
+                    valueArray.add(v);
+                json.put("values", valueArray);
+            }
+            return json;
+        }
+
+        public static Entry fromJSON(JSONObject json) {
+            JSONArray resultArray = (JSONArray) json.get("results");
+            JSONArray scoreArray = (JSONArray) json.get("scores");
+            JSONArray ordinalArray = (JSONArray) json.get("ordinals");
+            JSONArray teamArray = (JSONArray) json.get("teams");
+            JSONArray valueArray = (JSONArray) json.get("values");
+            int n = resultArray.size();
+            GameResult[] results = new GameResult[n];
+            double[] scores = new double[n];
+            int[] ordinals = new int[n];
+            int[] teams = new int[n];
+            for (int p = 0; p < n; p++) {
+                results[p] = GameResult.valueOf((String) resultArray.get(p));
+                scores[p] = ((Number) scoreArray.get(p)).doubleValue();
+                ordinals[p] = ((Number) ordinalArray.get(p)).intValue();
+                teams[p] = ((Number) teamArray.get(p)).intValue();
+            }
+            double[] values = null;
+            if (valueArray != null) {
+                values = new double[valueArray.size()];
+                for (int i = 0; i < values.length; i++)
+                    values[i] = ((Number) valueArray.get(i)).doubleValue();
+            }
+            return new Entry(results, scores, ordinals, teams, values);
+        }
+    }
+
+    public GameResultCache(String directory) {
+        this.directory = new File(directory);
+        if (!this.directory.exists() && !this.directory.mkdirs())
+            throw new AssertionError("Unable to create result cache directory " + directory);
+    }
+
+    /**
+     * @return the cache for the given directory (shared by everything in this process that uses it), or null if
+     * the directory is null or empty (i.e. caching is switched off)
+     */
+    public static GameResultCache forDirectory(String directory) {
+        if (directory == null || directory.isEmpty())
+            return null;
+        return caches.computeIfAbsent(new File(directory).getAbsolutePath(), GameResultCache::new);
+    }
+
+    /**
+     * @return the cached outcome, or null if this game has not been played
+     */
+    public Entry get(String key) {
+        Entry retValue = entries.get(key);
+        if (retValue == null) {
+            File file = fileFor(key);
+            if (file.exists()) {
+                try (FileReader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+                    retValue = Entry.fromJSON((JSONObject) new JSONParser().parse(reader));
+                    entries.put(key, retValue);
+                } catch (IOException | ParseException | RuntimeException e) {
+                    // a corrupt (e.g. partially written) entry is treated as a miss, and will be overwritten
+                    System.out.println("Ignoring unreadable result cache entry " + file + " : " + e.getMessage());
+                }
+            }
+        }
+        synchronized (this) {
+            if (retValue == null) misses++;
+            else hits++;
+        }
+        return retValue;
+    }
+
+    public void put(String key, Entry entry) {
+        entries.put(key, entry);
+        File file = fileFor(key);
+        try {
+            // write to a temporary file and then move, so that a concurrent reader never sees a partial entry
+            File temp = File.createTempFile(key, ".tmp", directory);
+            try (FileWriter writer = new FileWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(entry.toJSON().toJSONString());
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Unable to write result cache entry " + file + " : " + e.getMessage());
+        }
+    }
+
+    protected File fileFor(String key) {
+        return new File(directory, key + ".json");
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    /**
+     * @param gameParams the parameters of the game (the random seeds in these and in the players' parameters are
+     *                   ignored in favour of seed)
+     * @param players    the players in seat order
+     * @param extra      anything else that affects the outcome being cached (for example the heuristic used to
+     *                   calculate Entry.values)
+     * @return the key for this game, or null if the game cannot be described fully (so must not be cached)
+     */
+    public static String key(GameType gameType, AbstractParameters gameParams, List<? extends AbstractPlayer> players,
+                             long seed, String... extra) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(gameType.name()).append("|");
+        String description = describe(gameParams, true);
+        if (description == null)
+            return null;
+        sb.append(description).append("|");
+        for (AbstractPlayer player : players) {
+            description = describe(player.getParameters(), true);
+            if (description == null)
+                return null;
+            sb.append(player.getClass().getName()).append(":").append(description).append("|");
+        }
+        sb.append(seed);
+        for (String s : extra)
+            sb.append("|").append(s);
+        return sha256(sb.toString());
+    }
+
+    /**
+     * @return a canonical description of the object (the same for equal parameter settings, across runs), or null if
+     * it cannot be described fully (the first time this happens for each reason, it is reported on the console)
+     */
+    public static String describe(Object object, boolean ignoreSeed) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            describeFields(object, sb, ignoreSeed, Collections.newSetFromMap(new IdentityHashMap<>()), 0);
+        } catch (IndescribableException e) {
+            if (reported.add(e.getMessage()))
+                System.out.println("Games are not being cached, as their settings include " + e.getMessage() +
+                        ", which cannot be described fully");
+            return null;
+        }
+        return sb.toString();
+    }
+
+    private static class IndescribableException extends RuntimeException {
+        IndescribableException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private static void describeFields(Object object, StringBuilder sb, boolean ignoreSeed, Set<Object> visited, int depth) {
+        if (object == null) {
+            sb.append("null");
+            return;
+        }
+        Class<?> clazz = object.getClass();
+        if (object instanceof Number || object instanceof Boolean || object instanceof Character || object instanceof String) {
+            sb.append(object);
+            return;
+        }
+        if (object instanceof Enum<?> e) {
+            sb.append(e.name());
+            return;
+        }
+        if (object instanceof Class<?> c && !c.isHidden()) {
+            sb.append("class:").append(c.getName());
+            return;
+        }
+        if (object instanceof File || object instanceof java.nio.file.Path || object instanceof java.net.URI) {
+            sb.append(clazz.getName()).append(":").append(object);
+            return;
+        }
+        if (depth > MAX_DEPTH)
+            throw new IndescribableException("objects nested more than " + MAX_DEPTH + " deep (" + clazz.getName() + ")");
+        if (clazz.isArray()) {
+            sb.append("[");
+            int length = java.lang.reflect.Array.getLength(object);
+            for (int i = 0; i < length; i++) {
+                describeFields(java.lang.reflect.Array.get(object, i), sb, ignoreSeed, visited, depth + 1);
+                sb.append(",");
+            }
+            sb.append("]");
+            return;
+        }
+        if (object instanceof Collection<?> collection) {
+            List<String> elements = new ArrayList<>();
+            for (Object o : collection) {
+                StringBuilder element = new StringBuilder();
+                describeFields(o, element, ignoreSeed, visited, depth + 1);
+                elements.add(element.toString());
+            }
+            // the iteration order of a Set may vary from run to run
+            if (collection instanceof Set)
+                Collections.sort(elements);
+            sb.append("[");
+            for (String element : elements)
+                sb.append(element).append(",");
+            sb.append("]");
+            return;
+        }
+        if (object instanceof Map<?, ?> map) {
+            TreeMap<String, Object> sorted = new TreeMap<>();
+            for (Map.Entry<?, ?> e : map.entrySet())
+                if (!(ignoreSeed && "randomSeed".equals(e.getKey())))
+                    sorted.put(String.valueOf(e.getKey()), e.getValue());
+            sb.append("{");
+            for (Map.Entry<String, Object> e : sorted.entrySet()) {
+                sb.append(e.getKey()).append("=");
+                describeFields(e.getValue(), sb, ignoreSeed, visited, depth + 1);
+                sb.append(",");
+            }
+            sb.append("}");
+            return;
+        }
+        if (object instanceof AbstractPlayer player) {
+            // a player is determined by its parameters, not the state it builds up while playing
+            sb.append(clazz.getName()).append(":");
+            describeFields(player.getParameters(), sb, ignoreSeed, visited, depth + 1);
+            return;
+        }
+        if (object instanceof ITunableParameters<?> tunable) {
+            // only the parameters themselves; any other fields may hold state built up during play
+            sb.append(clazz.getName());
+            if (!visited.add(object))
+                return;
+            sb.append("{");
+            for (String name : new TreeSet<>(tunable.getParameterNames())) {
+                if (ignoreSeed && name.equals("randomSeed"))
+                    continue;
+                sb.append(name).append("=");
+                describeFields(parameterValue(tunable, name), sb, ignoreSeed, visited, depth + 1);
+                sb.append(",");
+            }
+            sb.append("}");
+            return;
+        }
+        // anything else we describe by its class and its fields (for a lambda, these are the values it captured)
+        String className = stableClassName(object);
+        // other library classes may hold their values in ways we do not know how to read
+        if (className.startsWith("java.") || className.startsWith("javax.") || className.startsWith("jdk.") ||
+                className.startsWith("sun."))
+            throw new IndescribableException("an instance of " + className);
+        sb.append(className);
+        if (!visited.add(object))
+            return;
+        sb.append("{");
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            Field[] fields = c.getDeclaredFields();
+            Arrays.sort(fields, Comparator.comparing(Field::getName));
+            for (Field field : fields) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))
+                    continue;
+                if (ignoreSeed && field.getName().equals("randomSeed"))
+                    continue;
+                try {
+                    field.setAccessible(true);
+                    sb.append(field.getName()).append("=");
+                    describeFields(field.get(object), sb, ignoreSeed, visited, depth + 1);
+                    sb.append(",");
+                } catch (IndescribableException e) {
+                    throw e;
+                } catch (RuntimeException | IllegalAccessException e) {
+                    throw new IndescribableException("the inaccessible field " + c.getName() + "." + field.getName());
+                }
+            }
+        }
+        sb.append("}");
+    }
+
+    /**
+     * The class of a lambda or method reference is generated at run time, with a name that includes a counter (and an
+     * address), so will differ from one run to the next. We describe it instead by the interfaces it implements and the
+     * class in which it was created, plus the name of the constant that holds it (such as IActionHeuristic.nullReturn).
+     * Nothing at run time tells apart two lambdas of the same type created in the same class, so one that is not held in
+     * a constant cannot be described.
+     */
+    private static String stableClassName(Object object) {
+        Class<?> clazz = object.getClass();
+        if (!clazz.isHidden() && !clazz.isSynthetic())
+            return clazz.getName();
+        StringBuilder sb = new StringBuilder("lambda:");
+        for (Class<?> i : clazz.getInterfaces())
+            sb.append(i.getName()).append(",");
+        Class<?> host = clazz.getNestHost();
+        sb.append("@").append(host.getName());
+        List<Class<?>> owners = new ArrayList<>();
+        owners.add(host);
+        owners.addAll(Arrays.asList(clazz.getInterfaces()));
+        for (Class<?> owner : owners) {
+            for (Field field : owner.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) || !Modifier.isFinal(field.getModifiers()))
+                    continue;
+                try {
+                    field.setAccessible(true);
+                    if (field.get(null) == object)
+                        return sb.append(":").append(owner.getName()).append(".").append(field.getName()).toString();
+                } catch (RuntimeException | IllegalAccessException e) {
+                    // not accessible, so cannot be the constant we are looking for
+                }
+            }
+        }
+        throw new IndescribableException("a lambda or method reference (" + sb + ") that is not held in a constant");
+    }
+
+    /**
+     * Parameters are often set directly on the fields that hold them (params.budget = 100), which does not update the
+     * value held for the tunable parameter, so we use a field of the same name if there is one.
+     */
+    private static Object parameterValue(ITunableParameters<?> tunable, String name) {
+        for (Class<?> c = tunable.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(name);
+                if (Modifier.isStatic(field.getModifiers()))
+                    break;
+                field.setAccessible(true);
+                Object value = field.get(tunable);
+                // some fields are only set from the parameters when first used
+                return value == null ? tunable.getParameterValue(name) : value;
+            } catch (NoSuchFieldException e) {
+                // try the superclass
+            } catch (RuntimeException | IllegalAccessException e) {
+                break;
+            }
+        }
+        return tunable.getParameterValue(name);
+    }
+
+    private static String sha256(String s) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(s.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : hash)
+                sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 not available", e);
+        }
+    }
+}
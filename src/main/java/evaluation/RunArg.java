@@ -35,6 +35,10 @@ public enum RunArg {
             "\t If false, then each player will be assigned a player type independently.",
             true,
             new Usage[]{Usage.RunGames, Usage.ParameterSearch, Usage.ExpertIteration}),
+    checkpoint("If true, then each completed game of a tournament (and for NTBEA each evaluated setting) is appended\n" +
+            "\t to a checkpoint file in destDir, so that a run that fails part way through can be continued with 'resume'.",
+            false,
+            new Usage[]{Usage.RunGames, Usage.ParameterSearch}),
     config("The location of a JSON file from which to read the configuration. \n" +
             "\t If this is specified, then all other arguments are ignored.",
             "",
@@ -118,7 +122,7 @@ public enum RunArg {
             "\tFor NTBEA/SkillLadder this will be used as a final tournament between the recommended agents from each run.",
             100,
             new Usage[]{Usage.RunGames, Usage.ParameterSearch, Usage.SkillLadder, Usage.ExpertIteration}),
-    mode("exhaustive|exhaustiveSP|random|sequential|fixed\n" +
+    mode("exhaustive|exhaustiveSP|random|racing|sequential|fixed\n" +
             "\t 'exhaustive' will iterate exhaustively through every possible permutation: \n" +
             "\t every possible player in every possible position, and run an equal number of games'\n" +
             "\t for each. This can be unworkable for a given matchup budget for a large number of players.\n" +
@@ -126,6 +130,9 @@ public enum RunArg {
             "\t 'random' will have a random matchup, while ensuring no duplicates, and that all players get the\n" +
             "\t the same number of games in total. (Unless the number of agents is less than the number of players, \n" +
             "\t in which case self-play will be allowed.)\n" +
+            "\t 'racing' plays random matchups in rounds, and after each round drops any agent that is significantly\n" +
+            "\t worse than the current leader (see racingAlpha). The remaining budget goes to the agents still in the race,\n" +
+            "\t and the tournament stops early once only one is left.\n" +
             "\t 'sequential' will run tournaments on a ONE_VS_ALL basis between each pair of agents.\n" +
             "\t 'fixed' will run a fixed tournament, where the same agents occupy the same position for all games.\n" +
             "\t In this mode the playerDirectory must contain exactly one json file for each position. These will be sorted alphabetically.\n" +
@@ -159,6 +166,14 @@ public enum RunArg {
             "\t Exception: if no player directory is set, then maximum number of players per game will be 5.",
             "all",
             new Usage[]{Usage.RunGames}),
+    racingAlpha("The significance level used to drop an agent from a 'racing' mode tournament. Default is 0.05.\n" +
+            "\t This is adjusted for the number of agents still in the race.",
+            0.05,
+            new Usage[]{Usage.RunGames}),
+    racingMinGames("The minimum number of games every agent still in a 'racing' mode tournament must have played\n" +
+            "\t before any of them can be dropped. Default is 10.",
+            10,
+            new Usage[]{Usage.RunGames}),
     randomGameParams("(Optional) If specified, parameters for the game will be randomized for each game, and printed before the run.",
             false,
             new Usage[]{Usage.RunGames}),
@@ -169,6 +184,16 @@ public enum RunArg {
             "\t Defaults to the end of the tournament (-1)",
             -1,
             new Usage[]{Usage.RunGames}),
+    resultCache("(Optional) A directory in which to cache the results of games. If specified, then a game that has\n" +
+            "\t already been played with the same game parameters, players (and their parameters) in the same seats, and\n" +
+            "\t random seed is not played again. This is useful for repeated tuning runs. Cached games are not replayed,\n" +
+            "\t so any listeners will not see them.",
+            "",
+            new Usage[]{Usage.RunGames, Usage.ParameterSearch, Usage.SkillLadder}),
+    resume("If true (and checkpoint is true), then continue from the checkpoint file left by a previous run with the\n" +
+            "\t same settings, rather than starting again. The random seed of the previous run is re-used.",
+            false,
+            new Usage[]{Usage.RunGames, Usage.ParameterSearch}),
     searchSpace("The json-format file of the search space to use. No default.",
             "",
             new Usage[]{Usage.ParameterSearch}),
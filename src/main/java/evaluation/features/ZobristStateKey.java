@@ -0,0 +1,34 @@
+package evaluation.features;
+
+import core.AbstractGameState;
+import core.interfaces.IStateKey;
+import core.interfaces.IZobristHashable;
+import utilities.Zobrist;
+
+/**
+ * A state key for MCGS and transposition tables, for games whose state implements IZobristHashable.
+ * This is the (incrementally maintained) 64-bit Zobrist hash, combined with the perspective player, so is very cheap
+ * to compute.
+ * <p>
+ * Other games fall back to the state's 32-bit hashCode(). This is much weaker: unrelated states will clash, and it
+ * includes the turn and round counters, so will rarely find a transposition. A game-specific IStateKey should be used
+ * for these, which is why this is not the default MCTSParams.MCGSStateKey.
+ */
+public class ZobristStateKey implements IStateKey {
+
+    @Override
+    public Long getKey(AbstractGameState state, int playerId) {
+        long hash = state instanceof IZobristHashable hashable ? hashable.getZobristHash() : state.hashCode();
+        return hash ^ Zobrist.key(-6, playerId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ZobristStateKey;
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().getName().hashCode();
+    }
+}
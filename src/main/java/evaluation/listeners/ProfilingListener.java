@@ -0,0 +1,178 @@
+package evaluation.listeners;
+
+import core.Game;
+import core.interfaces.IGameEvent;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.Event;
+import evaluation.metrics.IDataLogger;
+import org.json.simple.JSONObject;
+import utilities.LatencyHistogram;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.*;
+
+import static evaluation.metrics.Event.GameEvent.*;
+
+/**
+ * An opt-in profiler, to find out where the time (and memory) goes when a game is run. Add it as a listener, for
+ * example with listener=evaluation.listeners.ProfilingListener.
+ * <p>
+ * It keeps a latency histogram (see {@link LatencyHistogram}), along with bytes allocated per call, for:
+ * - forward model next(), for each class of action
+ * - forward model computeAvailableActions(), for each game phase
+ * - game state copy(playerId), for the game
+ * - agent decisions, for each player
+ * <p>
+ * At the end of each game the histograms for that game are written as rows of the Profile metric (one row per
+ * histogram) through the usual data logger, so they are reported as CSV files (or to console) like any other metric.
+ * The histograms accumulated over all games are also written to Profile.json when reporting to file.
+ */
+public class ProfilingListener extends MetricsGameListener {
+
+    public static final String NEXT = "next", COMPUTE_ACTIONS = "computeAvailableActions", COPY = "copy", AGENT = "agent";
+
+    // category -> key -> histogram, for the current game, and for all games so far
+    final Map<String, Map<String, LatencyHistogram>> gameHistograms = new TreeMap<>();
+    final Map<String, Map<String, LatencyHistogram>> allHistograms = new TreeMap<>();
+    private String phaseAtDecision;
+    private int decisionsSeen;
+    // the histogram being written as a row of data
+    String[] currentKey;
+    LatencyHistogram currentRow;
+
+    public ProfilingListener() {
+        this(IDataLogger.ReportDestination.ToFile);
+    }
+
+    public ProfilingListener(IDataLogger.ReportDestination logTo) {
+        super(logTo, new IDataLogger.ReportType[]{IDataLogger.ReportType.RawData}, new AbstractMetric[]{new Profile()});
+    }
+
+    @Override
+    public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+        super.init(game, nPlayersPerGame, playerNames);
+        game.setProfileAllocations(true);
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        if (event.type == ABOUT_TO_START) {
+            game.setProfileAllocations(true);
+            gameHistograms.clear();
+            decisionsSeen = game.getNDecisions();
+        } else if (event.type == ACTION_CHOSEN) {
+            // the phase in which the actions were computed (by ACTION_TAKEN the state has moved on)
+            phaseAtDecision = String.valueOf(event.state.getGamePhase());
+        } else if (event.type == ACTION_TAKEN) {
+            record(COPY, event.state.getGameType().name(), game.getCopyTime(), game.getCopyAllocatedBytes());
+            record(COMPUTE_ACTIONS, phaseAtDecision, game.getActionComputeTime(), game.getActionComputeAllocatedBytes());
+            if (game.getNDecisions() > decisionsSeen) {
+                // the agent was only asked if there was more than one action to choose from
+                decisionsSeen = game.getNDecisions();
+                record(AGENT, "P" + event.playerID + " " + game.getPlayers().get(event.playerID), game.getAgentTime(), game.getAgentAllocatedBytes());
+            }
+            record(NEXT, event.action.getClass().getSimpleName(), game.getNextTime(), game.getNextAllocatedBytes());
+        } else if (event.type == GAME_OVER) {
+            for (Map.Entry<String, Map<String, LatencyHistogram>> category : gameHistograms.entrySet()) {
+                for (Map.Entry<String, LatencyHistogram> e : category.getValue().entrySet()) {
+                    currentKey = new String[]{category.getKey(), e.getKey()};
+                    currentRow = e.getValue();
+                    metrics.get(Profile.class.getSimpleName()).run(this, event);
+                    allHistograms.computeIfAbsent(category.getKey(), k -> new TreeMap<>())
+                            .computeIfAbsent(e.getKey(), k -> new LatencyHistogram()).add(e.getValue());
+                }
+            }
+            currentRow = null;
+            super.onEvent(event);
+        }
+    }
+
+    private void record(String category, String key, double nanos, long allocatedBytes) {
+        gameHistograms.computeIfAbsent(category, k -> new TreeMap<>())
+                .computeIfAbsent(key, k -> new LatencyHistogram()).record((long) nanos, allocatedBytes);
+    }
+
+    /**
+     * @return the histograms over all completed games, by category (NEXT, COMPUTE_ACTIONS, COPY, AGENT) and then by
+     * action class, game phase, game or player respectively
+     */
+    public Map<String, Map<String, LatencyHistogram>> getHistograms() {
+        return allHistograms;
+    }
+
+    @SuppressWarnings("unchecked")
+    public JSONObject toJSON() {
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, Map<String, LatencyHistogram>> category : allHistograms.entrySet()) {
+            JSONObject byKey = new JSONObject();
+            category.getValue().forEach((key, histogram) -> byKey.put(key, histogram.toJSON()));
+            json.put(category.getKey(), byKey);
+        }
+        return json;
+    }
+
+    @Override
+    public void report() {
+        super.report();
+        if (reportDestinations.contains(IDataLogger.ReportDestination.ToFile) || reportDestinations.contains(IDataLogger.ReportDestination.ToBoth)) {
+            try (FileWriter writer = new FileWriter(destDir + File.separator + "Profile.json")) {
+                writer.write(toJSON().toJSONString());
+            } catch (IOException e) {
+                throw new AssertionError("Unable to write profile to " + destDir + " : " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        gameHistograms.clear();
+        allHistograms.clear();
+    }
+
+    /**
+     * One row per histogram, written at the end of each game; only used by ProfilingListener.
+     */
+    public static class Profile extends AbstractMetric {
+
+        @Override
+        public Map<String, Class<?>> getColumns(int nPlayersPerGame, Set<String> playerNames) {
+            return new LinkedHashMap<>() {{
+                put("Category", String.class);
+                put("Key", String.class);
+                put("Calls", Integer.class);
+                put("Mean (ms)", Double.class);
+                put("P50 (ms)", Double.class);
+                put("P90 (ms)", Double.class);
+                put("P99 (ms)", Double.class);
+                put("Max (ms)", Double.class);
+                put("Mean Allocated (KB)", Double.class);
+            }};
+        }
+
+        @Override
+        protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
+            ProfilingListener profiler = (ProfilingListener) listener;
+            LatencyHistogram h = profiler.currentRow;
+            if (h == null)
+                return false;
+            records.put("Category", profiler.currentKey[0]);
+            records.put("Key", profiler.currentKey[1]);
+            records.put("Calls", (int) h.getCount());
+            records.put("Mean (ms)", h.getMean() / 1e6);
+            records.put("P50 (ms)", h.getValueAtPercentile(50) / 1e6);
+            records.put("P90 (ms)", h.getValueAtPercentile(90) / 1e6);
+            records.put("P99 (ms)", h.getValueAtPercentile(99) / 1e6);
+            records.put("Max (ms)", h.getMax() / 1e6);
+            records.put("Mean Allocated (KB)", h.getMeanAllocatedBytes() / 1024.0);
+            return true;
+        }
+
+        @Override
+        public Set<IGameEvent> getDefaultEventTypes() {
+            return Collections.singleton(Event.GameEvent.GAME_OVER);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import core.AbstractPlayer;
 import core.Game;
 import core.interfaces.IGameHeuristic;
 import core.interfaces.IStateHeuristic;
+import evaluation.GameResultCache;
 import evaluation.listeners.IGameListener;
 import evaluation.optimisation.ntbea.AgentSearchSpace;
 import evaluation.optimisation.ntbea.SearchSpace;
@@ -40,6 +41,7 @@ public class GameEvaluator implements SolutionEvaluator {
     IStateHeuristic stateHeuristic;
     IGameHeuristic gameHeuristic;
     List<IGameListener> listeners = new ArrayList<>();
+    GameResultCache resultCache;
 
     /**
      * GameEvaluator
@@ -72,6 +74,7 @@ public class GameEvaluator implements SolutionEvaluator {
         this.avoidOppDupes = avoidOpponentDuplicates && opponents.size() > 1;
         if (avoidOppDupes && opponents.size() < nPlayers - 1)
             throw new AssertionError("Insufficient Opponents to avoid duplicates");
+        this.resultCache = GameResultCache.forDirectory(params.resultCache);
     }
 
     @Override
@@ -79,6 +82,18 @@ public class GameEvaluator implements SolutionEvaluator {
         nEvals = 0;
     }
 
+    @Override
+    public void setSeed(long seed) {
+        rnd = new Random(seed);
+    }
+
+    @Override
+    public void skip(int evaluations) {
+        for (int i = 0; i < evaluations; i++)
+            rnd.nextLong();
+        nEvals += evaluations;
+    }
+
     /**
      * There should never be a need to call this method directly. It is called by the NTBEA framework as needed.
      *
@@ -111,11 +126,27 @@ public class GameEvaluator implements SolutionEvaluator {
         if (params.mode == StableNTBEA && !tuningPlayer)
             throw new AssertionError("StableNTBEA mode requires tuning of player");
         int gamesToRun = params.mode == StableNTBEA ? nTeams : 1;
-        long seed = rnd.nextLong();
+        // each evaluation makes a single draw from rnd, so that skip() can move past it without running the games
+        Random evaluationRnd = new Random(rnd.nextLong());
+        long seed = evaluationRnd.nextLong();
         double retValue = 0.0;
         for (int loop = 0; loop < gamesToRun; loop++) {
             int thisTeamIndex = teamIndex == -99 ? -99 : (teamIndex + loop) % nTeams;
-            List<AbstractPlayer> allPlayers = setupPlayers(thisTeamIndex, nTeams, settings);
+            List<AbstractPlayer> allPlayers = setupPlayers(thisTeamIndex, nTeams, settings, evaluationRnd);
+
+            // a tuned player is scored by the heuristic, so that is part of what determines the cached value
+            String cacheKey = null;
+            String heuristic = resultCache != null && tuningPlayer ? GameResultCache.describe(stateHeuristic, false) : null;
+            if (heuristic != null)
+                cacheKey = GameResultCache.key(game, newGame.getGameState().getGameParameters(), allPlayers, seed,
+                        "heuristic:" + heuristic);
+            if (cacheKey != null) {
+                GameResultCache.Entry cached = resultCache.get(cacheKey);
+                if (cached != null && cached.values != null) {
+                    retValue += cached.values[playerOnTeam(cached.teams, thisTeamIndex)] / gamesToRun;
+                    continue;
+                }
+            }
 
             // always reset the random seed for each new game
             newGame.reset(allPlayers, seed);
@@ -129,23 +160,42 @@ public class GameEvaluator implements SolutionEvaluator {
             }
             if (tuningPlayer && playerOnTeam == -1)
                 throw new AssertionError("No Player found on team " + thisTeamIndex);
-            retValue += (tuningGame ? gameHeuristic.evaluateGame(newGame) : stateHeuristic.evaluateState(newGame.getGameState(), playerOnTeam)) / gamesToRun;
+            if (cacheKey != null) {
+                double[] values = new double[newGame.getGameState().getNPlayers()];
+                for (int p = 0; p < values.length; p++)
+                    values[p] = stateHeuristic.evaluateState(newGame.getGameState(), p);
+                resultCache.put(cacheKey, GameResultCache.Entry.fromGame(newGame, values));
+                retValue += values[playerOnTeam] / gamesToRun;
+            } else {
+                retValue += (tuningGame ? gameHeuristic.evaluateGame(newGame) : stateHeuristic.evaluateState(newGame.getGameState(), playerOnTeam)) / gamesToRun;
+            }
         }
 
         nEvals++;
         return retValue;
     }
 
-    private List<AbstractPlayer> setupPlayers(int teamIndex, int nTeams, int[] settings) {
+    private int playerOnTeam(int[] teams, int teamIndex) {
+        int retValue = -1;
+        for (int p = 0; p < teams.length; p++) {
+            if (teams[p] == teamIndex)
+                retValue = p;
+        }
+        if (retValue == -1)
+            throw new AssertionError("No Player found on team " + teamIndex);
+        return retValue;
+    }
+
+    private List<AbstractPlayer> setupPlayers(int teamIndex, int nTeams, int[] settings, Random evaluationRnd) {
         List<AbstractPlayer> allPlayers = new ArrayList<>(nPlayers);
         // create a random permutation of opponents - this is used if we want to avoid opponent duplicates
         // if we allow duplicates, then we randomise them all independently
         List<Integer> opponentOrdering = IntStream.range(0, opponents.size()).boxed().collect(toList());
-        Collections.shuffle(opponentOrdering);
+        Collections.shuffle(opponentOrdering, evaluationRnd);
         int count = 0;
         for (int i = 0; i < nTeams; i++) {
             if (params.mode != CoopNTBEA && i != teamIndex) {
-                int oppIndex = (avoidOppDupes) ? count : rnd.nextInt(opponents.size());
+                int oppIndex = (avoidOppDupes) ? count : evaluationRnd.nextInt(opponents.size());
                 count = (count + 1) % nTeams;
                 allPlayers.add(opponents.get(oppIndex).copy());
             } else {
@@ -1,9 +1,9 @@
 package evaluation.optimisation;
 
-import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.interfaces.IGameHeuristic;
 import core.interfaces.IStateHeuristic;
+import evaluation.Checkpoint;
 import evaluation.RunArg;
 import evaluation.listeners.IGameListener;
 import evaluation.optimisation.ntbea.functions.FunctionEvaluator;
@@ -11,7 +11,10 @@ import evaluation.optimisation.ntbea.functions.NTBEAFunction;
 import evaluation.tournaments.RoundRobinTournament;
 import games.GameType;
 import evaluation.optimisation.ntbea.*;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
 import players.PlayerFactory;
+import players.heuristics.GameDefaultHeuristic;
 import players.heuristics.OrdinalPosition;
 import players.heuristics.PureScoreHeuristic;
 import players.heuristics.WinOnlyHeuristic;
@@ -48,11 +51,13 @@ public class NTBEA {
     int currentIteration = 0;
     IStateHeuristic stateHeuristic;
     IGameHeuristic gameHeuristic;
+    Checkpoint trialCheckpoint;
 
     protected NTBEA(NTBEAParameters parameters) {
         this.params = parameters;
         landscapeModel = new NTupleSystem(params);
         searchFramework = new NTupleBanditEA(landscapeModel, params);
+        searchFramework.setPointListener(this::checkpointTrial);
     }
 
     public NTBEA(NTBEAParameters parameters, NTBEAFunction function, int discretisationLevel) {
@@ -90,7 +95,7 @@ public class NTBEA {
             if (params.evalMethod.equals("Score"))
                 stateHeuristic = new PureScoreHeuristic();
             if (params.evalMethod.equals("Heuristic"))
-                stateHeuristic = AbstractGameState::getHeuristicScore;
+                stateHeuristic = new GameDefaultHeuristic();
             if (params.evalMethod.equals("Ordinal")) // we maximise, so the lowest ordinal position of 1 is best
                 stateHeuristic = new OrdinalPosition();
             if (stateHeuristic == null)
@@ -158,6 +163,8 @@ public class NTBEA {
      */
     public Pair<Object, int[]> run() {
 
+        if (params.checkpoint)
+            openCheckpoint();
         for (currentIteration = 0; currentIteration < params.repeats; currentIteration++) {
             // Check for existence of the output file. If it already exists, then we
             // load the file, convert it to add to winnerSettings. Then skip this iteration
@@ -175,6 +182,11 @@ public class NTBEA {
             }
         }
 
+        if (trialCheckpoint != null) {
+            trialCheckpoint.close();
+            trialCheckpoint = null;
+        }
+
         // After all runs are complete, if tournamentGames are specified, then we allow all the
         // winners from each iteration to play in a tournament and pick the winner of this tournament
         if (params.tournamentGames > 0 && winnersPerRun.get(0) instanceof AbstractPlayer) {
@@ -213,6 +225,9 @@ public class NTBEA {
                 config.put(RunArg.budget, params.budget);
                 config.put(RunArg.verbose, false);
                 config.put(RunArg.destDir, params.destDir);
+                config.put(RunArg.resultCache, params.resultCache);
+                config.put(RunArg.checkpoint, params.checkpoint);
+                config.put(RunArg.resume, params.resume);
                 RoundRobinTournament tournament = new RoundRobinTournament(players, game, nPlayers, params.gameParams, config);
                 createListeners().forEach(tournament::addListener);
                 tournament.run();
@@ -329,8 +344,72 @@ public class NTBEA {
     }
 
     protected void runTrials() {
+        // each iteration is seeded on its own, so that it runs the same way when earlier ones are skipped on resumption
+        long iterationSeed = params.seed + currentIteration;
+        searchFramework.setSeed(iterationSeed);
+        evaluator.setSeed(iterationSeed);
         evaluator.reset();
-        searchFramework.runTrial(evaluator, params.iterationsPerRun);
+        searchFramework.runTrial(evaluator, params.iterationsPerRun, checkpointedTrials(currentIteration));
+    }
+
+    /**
+     * The checkpoint holds every trial (the settings and the resulting fitness) of the NTBEA iteration in progress.
+     * Completed iterations do not need it, as they are skipped if their Recommended_N.json file exists. On resumption
+     * the trials of the interrupted iteration are added back into the landscape model, and the search carries on.
+     * The header records the random seed, and on resumption this seed is used (as in RoundRobinTournament), so that
+     * the search and the games continue as they would have done without the interruption.
+     */
+    @SuppressWarnings("unchecked")
+    protected void openCheckpoint() {
+        trialCheckpoint = new Checkpoint(params.destDir + File.separator + "NTBEA_Checkpoint.jsonl", params.resume);
+        JSONObject header = new JSONObject();
+        JSONArray dimensions = new JSONArray();
+        for (int i = 0; i < params.searchSpace.nDims(); i++)
+            dimensions.add(params.searchSpace.name(i) + ":" + params.searchSpace.nValues(i));
+        header.put("searchSpace", dimensions);
+        if (trialCheckpoint.hasNext()) {
+            JSONObject previous = trialCheckpoint.next();
+            if (!dimensions.toString().equals(String.valueOf(previous.get("searchSpace"))))
+                throw new IllegalArgumentException("Checkpoint " + trialCheckpoint.getFile() + " is for a different search space");
+            if (!(previous.get("seed") instanceof Number seed))
+                throw new IllegalArgumentException("Checkpoint " + trialCheckpoint.getFile() + " does not record its random seed");
+            params.seed = seed.intValue();
+        } else {
+            header.put("seed", params.seed);
+            trialCheckpoint.append(header);
+        }
+    }
+
+    protected List<Pair<int[], Double>> checkpointedTrials(int iteration) {
+        List<Pair<int[], Double>> retValue = new ArrayList<>();
+        if (trialCheckpoint == null)
+            return retValue;
+        for (JSONObject record : trialCheckpoint.getRecords()) {
+            if (record.containsKey("settings") && ((Number) record.get("iteration")).intValue() == iteration) {
+                JSONArray settings = (JSONArray) record.get("settings");
+                int[] point = new int[settings.size()];
+                for (int i = 0; i < point.length; i++)
+                    point[i] = ((Number) settings.get(i)).intValue();
+                retValue.add(new Pair<>(point, ((Number) record.get("value")).doubleValue()));
+            }
+        }
+        if (!retValue.isEmpty())
+            System.out.printf("Resuming NTBEA iteration %d after %d trials%n", iteration, retValue.size());
+        return retValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void checkpointTrial(int[] settings, double value) {
+        if (trialCheckpoint == null)
+            return;
+        JSONObject record = new JSONObject();
+        record.put("iteration", currentIteration);
+        JSONArray settingsArray = new JSONArray();
+        for (int s : settings)
+            settingsArray.add(s);
+        record.put("settings", settingsArray);
+        record.put("value", value);
+        trialCheckpoint.append(record);
     }
 
     protected void runIteration() {
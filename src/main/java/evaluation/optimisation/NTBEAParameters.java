@@ -54,6 +54,9 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
     public String logFile = "NTBEA.log";
     public List<String> listenerClasses = Collections.emptyList();
     public String destDir = "NTBEA";
+    public String resultCache = "";  // directory of the GameResultCache; empty for no caching
+    public boolean checkpoint = false;  // record each evaluation in destDir, so that a failed run can be resumed
+    public boolean resume = false;
     public SearchSpace searchSpace;
     public AbstractParameters gameParams;
     public boolean byTeam = false;
@@ -152,6 +155,9 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
         listenerClasses = (List<String>) args.get(RunArg.listener);
         destDir = (String) args.get(RunArg.destDir);
         if (destDir.isEmpty()) destDir = "NTBEA";
+        resultCache = (String) args.getOrDefault(RunArg.resultCache, "");
+        checkpoint = (boolean) args.getOrDefault(RunArg.checkpoint, false);
+        resume = (boolean) args.getOrDefault(RunArg.resume, false);
         if (tuningGame && opponentDescriptor.isEmpty()) {
             throw new IllegalArgumentException("Must specify opponent descriptor when tuning a game");
         }
@@ -228,6 +234,9 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
         ntp.byTeam = byTeam;
         ntp.listenerClasses = listenerClasses;
         ntp.destDir = destDir;
+        ntp.resultCache = resultCache;
+        ntp.checkpoint = checkpoint;
+        ntp.resume = resume;
         ntp.gameType = gameType;
         ntp.nPlayers = nPlayers;
         ntp.logFile = logFile;
@@ -243,6 +252,9 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
                     byTeam == parameters.byTeam &&
                     listenerClasses.equals(parameters.listenerClasses) &&
                     destDir.equals(parameters.destDir) &&
+                    resultCache.equals(parameters.resultCache) &&
+                    checkpoint == parameters.checkpoint &&
+                    resume == parameters.resume &&
                     gameType.equals(parameters.gameType) &&
                     logFile.equals(parameters.logFile) &&
                     nPlayers == parameters.nPlayers;
@@ -131,6 +131,7 @@ public class OneStepDeviations {
                 tournamentConfig.put(RunArg.budget, params.budget);
                 tournamentConfig.put(RunArg.verbose, false);
                 tournamentConfig.put(RunArg.destDir, params.destDir);
+                tournamentConfig.put(RunArg.resultCache, params.resultCache);
                 List<AbstractPlayer> tournamentPlayers = players.stream().map(p -> p.b).map(o -> (AbstractPlayer) o).toList();
                 RoundRobinTournament tournament = new RoundRobinTournament(
                         tournamentPlayers,
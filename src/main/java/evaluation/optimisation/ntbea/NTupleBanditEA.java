@@ -1,10 +1,14 @@
 package evaluation.optimisation.ntbea;
 
 import evaluation.optimisation.NTBEAParameters;
+import utilities.Pair;
 import utilities.StatSummary;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * Created by sml on 09/01/2017.
@@ -36,8 +40,33 @@ public class NTupleBanditEA {
 
     Random rnd = new Random();
     SolutionEvaluator evaluator;
+    ObjDoubleConsumer<int[]> pointListener;
+
+    /**
+     * @param listener is told of each point evaluated, and its fitness (as added to the landscape model)
+     */
+    public void setPointListener(ObjDoubleConsumer<int[]> listener) {
+        this.pointListener = listener;
+    }
+
+    /**
+     * @param seed for the random choice of the starting point, and of the neighbours explored from each point
+     */
+    public void setSeed(long seed) {
+        rnd = new Random(seed);
+    }
 
     public void runTrial(SolutionEvaluator evaluator, int nEvals) {
+        runTrial(evaluator, nEvals, Collections.emptyList());
+    }
+
+    /**
+     * @param previous points (and their fitness) that have already been evaluated as part of this trial, for example
+     *                 when resuming from a checkpoint. These are added to the landscape model, and count towards
+     *                 nEvals; the search then continues from the last of them. The evaluator skips past the
+     *                 evaluations they took, so that the rest of the trial is the same as if it had not stopped.
+     */
+    public void runTrial(SolutionEvaluator evaluator, int nEvals, List<Pair<int[], Double>> previous) {
         this.evaluator = evaluator;
         // set  up some convenient reference
         SearchSpace searchSpace = landscapeModel.getSearchSpace();
@@ -48,9 +77,14 @@ public class NTupleBanditEA {
         // then each time around the loop try the following
         // create a neighbourhood set of points and pick the best one that combines its exploitation and evaluation scores
 
-        int[] p = SearchSpaceUtil.randomPoint(searchSpace);
+        int[] p = SearchSpaceUtil.randomPoint(searchSpace, rnd);
+        for (Pair<int[], Double> point : previous) {
+            landscapeModel.addPoint(point.a, point.b);
+            p = nextPoint(point.a);
+        }
+        evaluator.skip(previous.size() * nSamples);
 
-        for (int i = 0; i < nEvals; i++) {
+        for (int i = previous.size(); i < nEvals; i++) {
             // each time around the loop we make one fitness evaluation of p
             // and add this NEW information to the memory
             double fitness;
@@ -61,40 +95,48 @@ public class NTupleBanditEA {
             }
 
             landscapeModel.addPoint(p, fitness);
+            if (pointListener != null)
+                pointListener.accept(p, fitness);
 
-            // and then explore the neighbourhood around p, balancing exploration and exploitation
-            // we currently hardcode one mutation function to randomly change one setting at a time
-
-            int nDims = searchSpace.nDims();
-            double bestSoFar = Double.NEGATIVE_INFINITY;
-            int[] settingToTryNext = new int[0];
-            for (int n = 0; n < nNeighbours; n++) {
-                int[] pp = Arrays.copyOf(p, p.length);
-                boolean mutation = false;
-                for (int d = 0; d < nDims; d++) {
-                    if (rnd.nextDouble() < 1.0 / nDims) {
-                        pp[d] = rnd.nextInt(searchSpace.nValues(d) - 1);
-                        if (p[d] <= pp[d]) pp[d]++;
-                        mutation = true;
-                    }
-                }
-                // if no mutations made, then change one
-                if (!mutation) {
-                    int d = rnd.nextInt(searchSpace.nDims());
+            p = nextPoint(p);
+        }
+    }
+
+    /**
+     * Explores the neighbourhood around p, balancing exploration and exploitation
+     * We currently hardcode one mutation function to randomly change one setting at a time
+     */
+    protected int[] nextPoint(int[] p) {
+        SearchSpace searchSpace = landscapeModel.getSearchSpace();
+        int nDims = searchSpace.nDims();
+        double bestSoFar = Double.NEGATIVE_INFINITY;
+        int[] settingToTryNext = new int[0];
+        for (int n = 0; n < nNeighbours; n++) {
+            int[] pp = Arrays.copyOf(p, p.length);
+            boolean mutation = false;
+            for (int d = 0; d < nDims; d++) {
+                if (rnd.nextDouble() < 1.0 / nDims) {
                     pp[d] = rnd.nextInt(searchSpace.nValues(d) - 1);
                     if (p[d] <= pp[d]) pp[d]++;
+                    mutation = true;
                 }
-
-                double estimatedUpperBound = landscapeModel.getUpperBound(pp);
-                if (estimatedUpperBound > bestSoFar) {
-                    settingToTryNext = pp;
-                    bestSoFar = estimatedUpperBound;
-                }
+            }
+            // if no mutations made, then change one
+            if (!mutation) {
+                int d = rnd.nextInt(searchSpace.nDims());
+                pp[d] = rnd.nextInt(searchSpace.nValues(d) - 1);
+                if (p[d] <= pp[d]) pp[d]++;
             }
 
-            if (settingToTryNext.length == 0)
-                settingToTryNext = p;
-            p = settingToTryNext;
+            double estimatedUpperBound = landscapeModel.getUpperBound(pp);
+            if (estimatedUpperBound > bestSoFar) {
+                settingToTryNext = pp;
+                bestSoFar = estimatedUpperBound;
+            }
         }
+
+        if (settingToTryNext.length == 0)
+            settingToTryNext = p;
+        return settingToTryNext;
     }
 }
@@ -31,5 +31,23 @@ public interface SolutionEvaluator {
      */
     int nEvals();
 
+    /**
+     * Restarts any random number stream used by the evaluations, so that a sequence of evaluations can be repeated.
+     *
+     * @param seed The new random seed
+     */
+    default void setSeed(long seed) {
+    }
+
+    /**
+     * Moves past evaluations without running them (for example because their results were read from a checkpoint),
+     * so that the following evaluations are the same as if they had been run. Evaluators that make random draws
+     * must override this to make the same number of draws.
+     *
+     * @param evaluations The number of evaluations to skip
+     */
+    default void skip(int evaluations) {
+    }
+
 }
 
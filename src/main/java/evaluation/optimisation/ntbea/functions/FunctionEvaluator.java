@@ -29,6 +29,18 @@ public class FunctionEvaluator implements SolutionEvaluator {
         return rnd.nextDouble() < actualBaseValue(input) ? 1.0 : 0.0;
     }
 
+    @Override
+    public void setSeed(long seed) {
+        rnd = new Random(seed);
+    }
+
+    @Override
+    public void skip(int evaluations) {
+        for (int i = 0; i < evaluations; i++)
+            rnd.nextDouble();
+        nEvals += evaluations;
+    }
+
     public double actualBaseValue(int[] input) {
         // we now convert settings into the relevant values to feed to the function
         double[] settings = new double[fun.dimension()];
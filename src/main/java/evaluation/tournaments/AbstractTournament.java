@@ -18,13 +18,17 @@ public abstract class AbstractTournament implements IGameRunner {
      * EXHAUSTIVE - Play all agents against each other. With every permutation of agents to player positions.
      * EXHAUSTIVE_SELF_PLAY - Play all agents against each other, but allow for self-play.
      * ONE_VS_ALL - Play one agent against all others. The one (focus) agent will be the only agent of its type in each game.
+     * FIXED - The agents occupy the same positions in every game.
+     * RACING - As RANDOM, but played in rounds. After each round any agent significantly worse than the leader is dropped,
+     *          so that the remaining games are played between the agents still in contention.
      */
     public enum TournamentMode {
         RANDOM,
         EXHAUSTIVE,
         EXHAUSTIVE_SELF_PLAY,
         ONE_VS_ALL,
-        FIXED
+        FIXED,
+        RACING
     }
     // List of players taking part in the tournament
     protected List<? extends AbstractPlayer> agents;
@@ -2,6 +2,8 @@ package evaluation.tournaments;
 
 import core.AbstractParameters;
 import core.AbstractPlayer;
+import evaluation.Checkpoint;
+import evaluation.GameResultCache;
 import evaluation.RunArg;
 import evaluation.listeners.IGameListener;
 import evaluation.listeners.TournamentMetricsGameListener;
@@ -9,6 +11,8 @@ import games.GameType;
 import org.apache.commons.math3.linear.EigenDecomposition;
 import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.RealMatrix;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
 import players.IAnyTimePlayer;
 import utilities.*;
 
@@ -46,6 +50,7 @@ public class RoundRobinTournament extends AbstractTournament {
     LinkedList<Integer> allAgentIds;
     private int totalGamesRun;
     protected boolean randomGameParams;
+    protected GameResultCache resultCache;
     public String name;
     public boolean byTeam;
     protected String evalMethod;
@@ -55,6 +60,11 @@ public class RoundRobinTournament extends AbstractTournament {
     int tournamentSeeds;
     String seedFile;
     Random seedRnd;
+    // RACING mode: the agents not yet eliminated, and the significance level and minimum games for elimination
+    List<Integer> contenders = new ArrayList<>();
+    double racingAlpha;
+    int racingMinGames;
+    protected Checkpoint checkpoint;
 
     /**
      * Create a round robin tournament, which plays all agents against all others.
@@ -73,6 +83,7 @@ public class RoundRobinTournament extends AbstractTournament {
             case "EXHAUSTIVESP" -> EXHAUSTIVE_SELF_PLAY;
             case "ONEVSALL" -> ONE_VS_ALL;
             case "FIXED" -> FIXED;
+            case "RACING" -> RACING;
             default -> RANDOM;
         };
         if (tournamentMode == EXHAUSTIVE && nTeams > this.agents.size()) {
@@ -83,6 +94,8 @@ public class RoundRobinTournament extends AbstractTournament {
             throw new IllegalArgumentException("In FIXED mode, the number of agents must match the number of players per game.");
         }
         this.evalMethod = (String) config.getOrDefault(RunArg.evalMethod, "Win");
+        this.racingAlpha = ((Number) config.getOrDefault(RunArg.racingAlpha, 0.05)).doubleValue();
+        this.racingMinGames = (int) config.getOrDefault(RunArg.racingMinGames, 10);
 
         this.allAgentIds = new LinkedList<>();
         for (int i = 0; i < this.agents.size(); i++)
@@ -143,14 +156,22 @@ public class RoundRobinTournament extends AbstractTournament {
             case FIXED:
                 // we run the totalGameBudget number of games with no change to agent order
             case RANDOM:
+            case RACING:
                 this.gamesPerMatchup = totalGameBudget; // not actually used, we just run the totalGameBudget number of games
                 break;
             default:
                 throw new IllegalArgumentException("Unknown tournament mode " + config.get(RunArg.mode));
         }
         this.randomSeed = ((Number) config.getOrDefault(RunArg.seed, System.currentTimeMillis())).longValue();
+        if ((boolean) config.getOrDefault(RunArg.checkpoint, false)) {
+            String checkpointDir = (String) config.getOrDefault(RunArg.destDir, "");
+            String checkpointFile = String.format("Checkpoint_%s_%dp.jsonl", gameToPlay.name(), playersPerGame);
+            openCheckpoint(checkpointDir.isEmpty() ? checkpointFile : checkpointDir + File.separator + checkpointFile,
+                    (boolean) config.getOrDefault(RunArg.resume, false));
+        }
         this.seedRnd = new Random(randomSeed);
         this.randomGameParams = (boolean) config.getOrDefault(RunArg.randomGameParams, false);
+        this.resultCache = GameResultCache.forDirectory((String) config.getOrDefault(RunArg.resultCache, ""));
 
         this.name = String.format("Game: %s, Players: %d, Mode: %s, TotalGames: %d, GamesPerMatchup: %d",
                 gameToPlay.name(), playersPerGame, tournamentMode, actualGames, gamesPerMatchup);
@@ -160,6 +181,36 @@ public class RoundRobinTournament extends AbstractTournament {
             this.resultsFile = destDir + File.separator + resultsFile;
     }
 
+    /**
+     * The checkpoint records every completed game. It starts with a header that identifies the tournament, and
+     * records the random seed; on resumption this seed is used, so that the same schedule of matchups and game seeds
+     * is generated, and the games already in the checkpoint are read from it instead of being played.
+     */
+    @SuppressWarnings("unchecked")
+    protected void openCheckpoint(String filename, boolean resume) {
+        checkpoint = new Checkpoint(filename, resume);
+        JSONObject header = new JSONObject();
+        header.put("game", game.getGameType().name());
+        header.put("nPlayers", nPlayers);
+        header.put("mode", tournamentMode.name());
+        header.put("matchups", totalGameBudget);
+        JSONArray agentNames = new JSONArray();
+        agents.forEach(a -> agentNames.add(a.toString()));
+        header.put("agents", agentNames);
+        if (checkpoint.hasNext()) {
+            JSONObject previous = checkpoint.next();
+            for (Object key : header.keySet()) {
+                if (!String.valueOf(header.get(key)).equals(String.valueOf(previous.get(key))))
+                    throw new IllegalArgumentException(String.format("Checkpoint %s is for a different tournament (%s is %s, not %s)",
+                            filename, key, previous.get(key), header.get(key)));
+            }
+            randomSeed = ((Number) previous.get("randomSeed")).longValue();
+        } else {
+            header.put("randomSeed", randomSeed);
+            checkpoint.append(header);
+        }
+    }
+
     /**
      * Runs the round robin tournament.
      */
@@ -193,6 +244,8 @@ public class RoundRobinTournament extends AbstractTournament {
             createAndRunMatchUp(matchUp);
         }
         reportResults();
+        if (checkpoint != null)
+            checkpoint.close();
 
         for (IGameListener listener : listeners)
             listener.report();
@@ -263,6 +316,9 @@ public class RoundRobinTournament extends AbstractTournament {
                     evaluateMatchUp(matchup, 1, Collections.singletonList(gameSeeds.get(i)));
                 }
                 break;
+            case RACING:
+                runRace(nTeams);
+                break;
             case ONE_VS_ALL:
                 // In this case agents.get(0) must always play
                 List<Integer> agentOrder = new ArrayList<>(this.allAgentIds);
@@ -315,6 +371,77 @@ public class RoundRobinTournament extends AbstractTournament {
         }
     }
 
+    /**
+     * Plays rounds of random matchups between the agents still in contention, eliminating after each round any that
+     * are significantly worse than the leader, until there is only one left or the totalGameBudget is used up.
+     * Each round has one game per contender, so each plays (about) nTeams games per round.
+     */
+    protected void runRace(int nTeams) {
+        contenders = new ArrayList<>(allAgentIds);
+        int gamesRun = 0;
+        while (gamesRun < totalGameBudget && contenders.size() > 1) {
+            PermutationCycler idStream = new PermutationCycler(contenders.size(), seedRnd, nTeams);
+            int roundGames = Math.min(contenders.size(), totalGameBudget - gamesRun);
+            for (int i = 0; i < roundGames; i++) {
+                List<Integer> matchup = new ArrayList<>(nTeams);
+                for (int j = 0; j < nTeams; j++)
+                    matchup.add(contenders.get(idStream.getAsInt()));
+                evaluateMatchUp(matchup, 1, Collections.singletonList(gameSeeds.get(gamesRun)));
+                gamesRun++;
+            }
+            eliminateFromRace();
+        }
+        if (verbose)
+            System.out.printf("Race finished after %d games with %s still in contention%n", gamesRun,
+                    contenders.stream().map(i -> agents.get(i).toString()).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * Removes from contenders every agent whose mean result is below that of the leader by more than the confidence
+     * bound on the difference (a t-test, with the significance level adjusted for the number of comparisons).
+     * Results are wins (with draws shared), or ordinal position if that is the evalMethod.
+     */
+    protected void eliminateFromRace() {
+        int minGames = contenders.stream().mapToInt(i -> nGamesPlayed[i]).min().orElse(0);
+        if (minGames < Math.max(2, racingMinGames))
+            return;
+        boolean ordinal = evalMethod.equals("Ordinal") || evalMethod.equals("Score");
+        double[] mean = new double[agents.size()];
+        double[] stdErr = new double[agents.size()];
+        int leader = contenders.get(0);
+        for (int i : contenders) {
+            int n = nGamesPlayed[i];
+            // a lower ordinal position is better, so we negate it
+            mean[i] = ordinal ? -rankPerPlayer[i] / n : pointsPerPlayer[i] / n;
+            double sumSq = ordinal ? rankPerPlayerSquared[i] : pointsPerPlayerSquared[i];
+            double variance = Math.max(0.0, sumSq / n - mean[i] * mean[i]) * n / (n - 1);
+            stdErr[i] = sqrt(variance / n);
+            if (mean[i] > mean[leader])
+                leader = i;
+        }
+        double tScore = Utils.standardTScore(racingAlpha, contenders.size() - 1, minGames - 1);
+        List<Integer> eliminated = new ArrayList<>();
+        for (int i : contenders) {
+            if (i == leader)
+                continue;
+            double stdErrDiff = sqrt(stdErr[i] * stdErr[i] + stdErr[leader] * stdErr[leader]);
+            if (mean[leader] - mean[i] > tScore * stdErrDiff)
+                eliminated.add(i);
+        }
+        contenders.removeAll(eliminated);
+        if (verbose)
+            for (int i : eliminated)
+                System.out.printf("%s eliminated after %d games (%.3f versus %.3f for %s)%n", agents.get(i),
+                        nGamesPlayed[i], mean[i], mean[leader], agents.get(leader));
+    }
+
+    /**
+     * @return the agents still in contention at the end of a RACING tournament (or all agents in any other mode)
+     */
+    public List<Integer> getContenders() {
+        return tournamentMode == RACING ? new ArrayList<>(contenders) : new ArrayList<>(allAgentIds);
+    }
+
     /**
      * Evaluates one combination of players.
      *
@@ -352,16 +479,42 @@ public class RoundRobinTournament extends AbstractTournament {
         for (int i = 0; i < nGames; i++) {
             // if tournamentSeeds > 0, then we are running this many tournaments, each with a different random seed fixed for the whole tournament
             // so we override the standard random seeds
-            game.reset(matchUpPlayers, seeds.get(i));
-
-            // Randomize parameters
-            if (randomGameParams) {
-                game.getGameState().getGameParameters().randomize();
-                System.out.println("Game parameters: " + game.getGameState().getGameParameters());
+            GameResultCache.Entry result = null;
+            if (checkpoint != null && checkpoint.hasNext()) {
+                JSONObject record = checkpoint.peek();
+                if (agentIDsInThisGame.toString().equals(String.valueOf(record.get("agents"))) &&
+                        seeds.get(i).longValue() == ((Number) record.get("seed")).longValue()) {
+                    checkpoint.next();
+                    result = GameResultCache.Entry.fromJSON((JSONObject) record.get("result"));
+                } else {
+                    checkpoint.discardRemaining();
+                }
             }
+            boolean fromCheckpoint = result != null;
+            String cacheKey = null;
+            if (result == null && resultCache != null && !randomGameParams) {
+                cacheKey = GameResultCache.key(game.getGameType(), game.getGameState().getGameParameters(),
+                        matchUpPlayers, seeds.get(i));
+                if (cacheKey != null)
+                    result = resultCache.get(cacheKey);
+            }
+            if (result == null) {
+                game.reset(matchUpPlayers, seeds.get(i));
+
+                // Randomize parameters
+                if (randomGameParams) {
+                    game.getGameState().getGameParameters().randomize();
+                    System.out.println("Game parameters: " + game.getGameState().getGameParameters());
+                }
 
-            game.run();  // Always running tournaments without visuals
-            GameResult[] results = game.getGameState().getPlayerResults();
+                game.run();  // Always running tournaments without visuals
+                result = GameResultCache.Entry.fromGame(game);
+                if (cacheKey != null)
+                    resultCache.put(cacheKey, result);
+            }
+            if (checkpoint != null && !fromCheckpoint)
+                checkpointGame(agentIDsInThisGame, seeds.get(i), result);
+            GameResult[] results = result.results;
 
             int numDraws = 0;
             for (int j = 0; j < matchUpPlayers.size(); j++) {
@@ -374,14 +527,14 @@ public class RoundRobinTournament extends AbstractTournament {
 
                 // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
                 if (byTeam) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
-                            numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
+                    for (int player = 0; player < result.nPlayers(); player++) {
+                        if (result.teams[player] == j) {
+                            numDraws += updatePoints(result, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
                             break; // we stop after one player on the team to avoid double counting
                         }
                     }
                 } else {
-                    numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
+                    numDraws += updatePoints(result, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
                 }
             }
 
@@ -398,8 +551,8 @@ public class RoundRobinTournament extends AbstractTournament {
                 StringBuffer sb = new StringBuffer();
                 sb.append("[");
                 for (int j = 0; j < matchUpPlayers.size(); j++) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
+                    for (int player = 0; player < result.nPlayers(); player++) {
+                        if (result.teams[player] == j) {
                             sb.append(results[player]).append(",");
                             break; // we stop after one player on the team to avoid double counting
                         }
@@ -413,20 +566,30 @@ public class RoundRobinTournament extends AbstractTournament {
         totalGamesRun += nGames;
     }
 
-    private int updatePoints(GameResult[] results, List<Integer> matchUpPlayers, int j, int player) {
+    @SuppressWarnings("unchecked")
+    private void checkpointGame(List<Integer> agentIDsInThisGame, int seed, GameResultCache.Entry result) {
+        JSONObject record = new JSONObject();
+        record.put("agents", agentIDsInThisGame.toString());
+        record.put("seed", seed);
+        record.put("result", result.toJSON());
+        checkpoint.append(record);
+    }
+
+    private int updatePoints(GameResultCache.Entry result, List<Integer> matchUpPlayers, int j, int player) {
         // j is the index of the agent in the matchup; player is the corresponding player number in the game
-        int ordinalPos = game.getGameState().getOrdinalPosition(player);
+        GameResult[] results = result.results;
+        int ordinalPos = result.ordinals[player];
         rankPerPlayer[j] += ordinalPos;
         rankPerPlayerSquared[j] += ordinalPos * ordinalPos;
 
-        for (int playerPos = 0; playerPos < game.getGameState().getNPlayers(); playerPos++) {
+        for (int playerPos = 0; playerPos < result.nPlayers(); playerPos++) {
             if (playerPos != player) {
-                int ordinalOther = game.getGameState().getOrdinalPosition(playerPos);
+                int ordinalOther = result.ordinals[playerPos];
                 ordinalDeltaPerOpponent[j][matchUpPlayers.get(playerPos)] += ordinalOther - ordinalPos;
             }
         }
 
-        scorePerPlayer[j] += game.getGameState().getGameScore(player);
+        scorePerPlayer[j] += result.scores[player];
 
         if (results[player] == GameResult.WIN_GAME) {
             pointsPerPlayer[j] += 1;
@@ -608,7 +771,9 @@ public class RoundRobinTournament extends AbstractTournament {
                     if (i == j) {
                         T[i][j] = Math.exp(0);
                     } else {
-                        double baseValue = values[i][j] / (double) nGamesPlayedPerOpponent[i][j];
+                        // agents dropped from a race (or unlucky in random mode) may never have met
+                        double baseValue = nGamesPlayedPerOpponent[i][j] == 0 ? 0.0 :
+                                values[i][j] / (double) nGamesPlayedPerOpponent[i][j];
                         T[i][j] = Math.exp(-alpha * baseValue);
                     }
                 }
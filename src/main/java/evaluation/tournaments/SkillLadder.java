@@ -78,6 +78,7 @@ public class SkillLadder {
         int startMinorGridBudget = (int) config.get(RunArg.gridMinorStart);
         boolean runNTBEA = (int) config.get(RunArg.tuningBudget) > 0;
         String destDir = (String) config.get(RunArg.destDir);
+        String resultCache = (String) config.get(RunArg.resultCache);
 
         String player = (String) config.get(RunArg.opponent);
         List<Pair<AbstractPlayer, int[]>> allAgents = new ArrayList<>(iterations);
@@ -164,7 +165,7 @@ public class SkillLadder {
                 } else {
                     long startTime = System.currentTimeMillis();
                     RoundRobinTournament RRT = runRoundRobinTournament(agents, 0, matchups, listenerClasses,
-                            gameType, nPlayers, params, "onevsall", outputDirectory);
+                            gameType, nPlayers, params, "onevsall", outputDirectory, resultCache);
                     long endTime = System.currentTimeMillis();
 
                     System.out.printf("%d games in %3d minutes\tBudget %5d win rate: %.1f%% +/- %.1f%%, mean rank %.1f +/- %.1f\tvs Budget %5d win rate: %.1f%% +/- %.1f%%, mean rank %.1f +/- %.1f%n",
@@ -216,7 +217,7 @@ public class SkillLadder {
             RoundRobinTournament RRT = runRoundRobinTournament(agents, newBudget, gamesToRun,
                     listenerClasses, gameType, nPlayers, params,
                     agents.size() >= nPlayers ? "exhaustive" : "exhaustiveSP",
-                    destDir + File.separator + "Final_Budget_" + newBudget);
+                    destDir + File.separator + "Final_Budget_" + newBudget, resultCache);
 
             // then write JSON of winner
             int winnerIndex = RRT.getWinnerIndex();
@@ -270,7 +271,7 @@ public class SkillLadder {
     private static RoundRobinTournament runRoundRobinTournament(List<AbstractPlayer> agents, int budget,
                                                                 int matchups, List<String> listenerClasses, GameType gameType,
                                                                 int nPlayers, AbstractParameters params, String mode,
-                                                                String destDir) {
+                                                                String destDir, String resultCache) {
         Map<RunArg, Object> finalConfig = new HashMap<>();
         finalConfig.put(RunArg.matchups, matchups);
         finalConfig.put(RunArg.destDir, destDir);
@@ -279,6 +280,7 @@ public class SkillLadder {
         finalConfig.put(RunArg.mode, mode);
         finalConfig.put(RunArg.verbose, false);
         finalConfig.put(RunArg.gameParams, params);
+        finalConfig.put(RunArg.resultCache, resultCache);
         RoundRobinTournament RRT = new RoundRobinTournament(agents, gameType, nPlayers, params, finalConfig);
         for (String listenerClass : listenerClasses) {
             if (listenerClass.isEmpty()) continue;
@@ -5,8 +5,7 @@ import core.CoreConstants;
 import core.StandardForwardModel;
 import core.actions.AbstractAction;
 import core.actions.DoNothing;
-import core.components.*;
-import gametemplate.actions.GTAction;
+import core.components.Dice;
 
 import java.util.*;
 
@@ -23,17 +22,18 @@ import static games.backgammon.BGParameters.EntryRule.*;
  */
 public class BGForwardModel extends StandardForwardModel {
 
+    // the moves available in recently seen positions, shared by all the states this forward model is used with
+    protected final BGMoveCache moveCache = new BGMoveCache(BGMoveCache.DEFAULT_SIZE);
+
     @Override
     protected void _setup(AbstractGameState firstState) {
         BGGameState gameState = (BGGameState) firstState;
         BGParameters bgp = (BGParameters) firstState.getGameParameters();
 
-        gameState.counters = new ArrayList<>(bgp.boardSize + 1);
-        for (int i = 0; i <= bgp.boardSize; i++) {
-            gameState.counters.add(new ArrayList<>());
-        }
+        gameState.pieces = new int[2][bgp.boardSize + 1];
+        gameState.movedThisTurn = new int[2][bgp.boardSize + 1];
         // we use the convention that 0 is the 'bar'. Once a piece is borne off it cannot reenter
-        // the game, and so is no longer tracked as a Token (just a count of the number borne off)
+        // the game, and so is no longer on the board (just a count of the number borne off)
         // Distribute counters based on starting positions
         for (int i = 0; i < bgp.startingAt24; i++) {
             tokensAt(gameState, 24, bgp);
@@ -84,7 +84,7 @@ public class BGForwardModel extends StandardForwardModel {
                 }
             }
         }
-        gameState.movedThisTurn = new ArrayList<>();
+        gameState.computeLogicalPositions();
         gameState.piecesBorneOff = new int[2];
         gameState.dice = new Dice[bgp.diceNumber];
         for (int i = 0; i < bgp.diceNumber; i++) {
@@ -99,16 +99,10 @@ public class BGForwardModel extends StandardForwardModel {
     }
 
     private void tokensAt(BGGameState state, int space, BGParameters params) {
-        BGParameters.Route route = params.route;
-        int boardSize = params.boardSize;
-        Token whiteToken = new Token("White");
-        whiteToken.setOwnerId(0);
-        Token blackToken = new Token("Black");
-        blackToken.setOwnerId(1);
-        state.counters.get(space).add(whiteToken);
-        switch (route) {
-            case Counter -> state.counters.get(boardSize - space + 1).add(blackToken);
-            case Common, CommonHalfA -> state.counters.get(space).add(blackToken);
+        state.pieces[0][space]++;
+        switch (params.route) {
+            case Counter -> state.pieces[1][params.boardSize - space + 1]++;
+            case Common, CommonHalfA -> state.pieces[1][space]++;
         }
     }
 
@@ -119,18 +113,22 @@ public class BGForwardModel extends StandardForwardModel {
      */
     @Override
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
-        List<AbstractAction> actions = new ArrayList<>();
-        // We create the set of possible actions
-        // For each available dice value we consider each point that has player tokens on
-        // and add the possible moves to the list of actions
-        // (removing any moves that would move to a point occupied by two or more opponent tokens)
         BGGameState bgs = (BGGameState) gameState;
-        BGParameters bgp = (BGParameters) gameState.getGameParameters();
-        int playerId = bgs.getCurrentPlayer();
         // just look at unique dice values
         int[] diceAvailable = Arrays.stream(bgs.getAvailableDiceValues())
                 .distinct()
                 .toArray();
+        return moveCache.get(bgs, diceAvailable, () -> computeMoves(bgs, diceAvailable));
+    }
+
+    private List<AbstractAction> computeMoves(BGGameState bgs, int[] diceAvailable) {
+        List<AbstractAction> actions = new ArrayList<>();
+        // We create the set of possible actions
+        // For each available dice value we consider each point that has player pieces on
+        // and add the possible moves to the list of actions
+        // (removing any moves that would move to a point occupied by two or more opponent pieces)
+        BGParameters bgp = (BGParameters) bgs.getGameParameters();
+        int playerId = bgs.getCurrentPlayer();
         int boardSize = bgp.route == BGParameters.Route.CommonHalfA ? bgp.boardSize - bgp.entryBoardSize : bgp.boardSize;
 
         // Moves off the bar first
@@ -145,8 +143,9 @@ public class BGForwardModel extends StandardForwardModel {
             if (bgp.entryRule == Entry) {
                 // player can move pieces already moved as long they stay within the entry board
                 // (or as per previous chunk of code, you can move from the bar onto the board)
-                for (Token t : bgs.movedThisTurn) {
-                    int fromSpace = bgs.locationOfToken(t);
+                for (int fromSpace = 1; fromSpace < bgs.getNSpaces(); fromSpace++) {
+                    if (bgs.getPiecesMovedThisTurn(playerId, fromSpace) == 0)
+                        continue;
                     int playerTrack = bgs.getLogicalPosition(playerId, fromSpace) - 1;
                     for (int die : diceAvailable) {
                         int targetIndex = playerTrack + die;
@@ -212,7 +211,7 @@ public class BGForwardModel extends StandardForwardModel {
             if (diceAvailable.length == 0 || computeAvailableActions(currentState).stream().noneMatch(c -> c instanceof MovePiece)) {
                 // end of turn: switch player
                 bgs.rollDice();
-                bgs.movedThisTurn = new ArrayList<>();
+                bgs.clearMovedThisTurn();
                 endPlayerTurn(bgs);  // default is to move to next player
                 if (bgs.getCurrentPlayer() == 0) {
                     // if we are back to player 0, we can end the round
@@ -2,7 +2,8 @@ package games.backgammon;
 
 import core.AbstractGameState;
 import core.AbstractParameters;
-import core.components.*;
+import core.components.Component;
+import core.components.Dice;
 import games.GameType;
 
 import java.util.*;
@@ -36,8 +37,10 @@ public class BGGameState extends AbstractGameState {
 //    Cannot Move: If a player cannot play all the numbers rolled, they must play as many as possible, starting with the larger number.
 //    Bouncing: If a player cannot move a checker because of the opponent's closed points, they cannot move any other checkers until the opponent's points become open.
 
-    protected List<List<Token>> counters; // the master list of counters, used to track the pieces on the board
-    protected int[][] playerTrackMapping; // maps player-specific track positions to counters indices
+    // the number of each player's pieces on each physical space of the board, where space 0 is the bar
+    protected int[][] pieces;
+    protected int[][] playerTrackMapping; // maps player-specific track positions to physical spaces
+    protected int[][] logicalPositions; // the reverse of playerTrackMapping (-1 for spaces not on the track)
     protected int[] piecesBorneOff;
 
     protected Dice[] dice;
@@ -46,7 +49,8 @@ public class BGGameState extends AbstractGameState {
 
     protected int[] blots;
 
-    protected List<Token> movedThisTurn;
+    // the number of each player's pieces on each physical space that have already moved this turn
+    protected int[][] movedThisTurn;
 
     public BGGameState(AbstractParameters gameParameters, int nPlayers) {
         super(gameParameters, nPlayers);
@@ -68,15 +72,28 @@ public class BGGameState extends AbstractGameState {
      */
     @Override
     protected List<Component> _getAllComponents() {
-        List<Component> components = new ArrayList<>();
-        for (int playerId = 0; playerId < getNPlayers(); playerId++) {
-            components.addAll(counters.get(playerId));
-        }
-        return components;
+        // the pieces are just counts, so the dice are the only components
+        return new ArrayList<>(Arrays.asList(dice));
     }
 
     public int getPiecesOnPoint(int playerId, int point) {
-        return (int) counters.get(point).stream().filter(token -> token.getOwnerId() == playerId).count();
+        return pieces[playerId][point];
+    }
+
+    /**
+     * @return the number of physical spaces on the board, including the bar at space 0
+     */
+    public int getNSpaces() {
+        return pieces[0].length;
+    }
+
+    public int getPiecesMovedThisTurn(int playerId, int point) {
+        return movedThisTurn[playerId][point];
+    }
+
+    public void clearMovedThisTurn() {
+        for (int[] moved : movedThisTurn)
+            Arrays.fill(moved, 0);
     }
 
     public int getPiecesOnBar(int playerId) {
@@ -98,33 +115,44 @@ public class BGGameState extends AbstractGameState {
     The reverse mapping from the physical space on the board to the logical position on the player's track.
      */
     public int getLogicalPosition(int playerId, int physicalPoint) {
-        if (physicalPoint == 0) return 0; // the bar is always just off the track point
-        for (int i = 0; i < playerTrackMapping[playerId].length; i++) {
-            if (playerTrackMapping[playerId][i] == physicalPoint) {
-                return i + 1;
+        int position = logicalPositions[playerId][physicalPoint];
+        if (position < 0)
+            throw new IllegalArgumentException("Physical point not found in player's track: " + physicalPoint);
+        return position;
+    }
+
+    /*
+    Builds logicalPositions from playerTrackMapping. Where a physical space appears more than once on a track, the
+    first position is used. The bar is always just off the track, at logical position 0.
+     */
+    protected void computeLogicalPositions() {
+        logicalPositions = new int[playerTrackMapping.length][pieces[0].length];
+        for (int p = 0; p < playerTrackMapping.length; p++) {
+            Arrays.fill(logicalPositions[p], -1);
+            logicalPositions[p][0] = 0;
+            for (int i = playerTrackMapping[p].length - 1; i >= 0; i--) {
+                logicalPositions[p][playerTrackMapping[p][i]] = i + 1;
             }
         }
-        throw new IllegalArgumentException("Physical point not found in player's track: " + physicalPoint);
     }
 
     public void movePiece(int playerId, int from, int to) {
         // Moving on the board
-        List<Token> fromList = counters.get(from);
-        Optional<Token> tokenOpt = fromList.stream()
-                .filter(t -> t.getOwnerId() == playerId)
-                .findFirst();
-        if (tokenOpt.isEmpty()) {
+        int[] playerPieces = pieces[playerId];
+        if (playerPieces[from] == 0) {
             throw new IllegalArgumentException("No pieces on the from point for player " + playerId);
         }
-        Token token = tokenOpt.get();
-        if (!movedThisTurn.contains(token)) {
-            movedThisTurn.add(token);
+        // a piece that has not yet moved this turn is moved in preference to one that has
+        int[] moved = movedThisTurn[playerId];
+        if (moved[from] == playerPieces[from]) {
+            moved[from]--;
         }
-        fromList.remove(token);
+        playerPieces[from]--;
         if (to == -1) {
             piecesBorneOff[playerId]++;
         } else {
-            counters.get(to).add(token);
+            playerPieces[to]++;
+            moved[to]++;
         }
     }
 
@@ -215,17 +243,6 @@ public class BGGameState extends AbstractGameState {
         return piecesOnHomeBoard(playerId) == params.piecesPerPlayer - piecesBorneOff[playerId];
     }
 
-    // returns the physical space on the board where the token is located
-    public int locationOfToken(Token t) {
-        for (int i = 0; i < counters.size(); i++) {
-            if (counters.get(i).contains(t)) {
-                // found the token, return the point
-                return i;
-            }
-        }
-        throw new IllegalArgumentException("Token not found in game state: " + t);
-    }
-
     @Override
     protected BGGameState _copy(int playerId) {
         BGGameState copy = new BGGameState(gameParameters, getNPlayers());
@@ -238,14 +255,15 @@ public class BGGameState extends AbstractGameState {
         copy.diceUsed = Arrays.copyOf(diceUsed, diceUsed.length);
         copy.availableDiceValues = Arrays.copyOf(availableDiceValues, availableDiceValues.length);
 
-        copy.counters = new ArrayList<>();
-        for (int i = 0; i < counters.size(); i++) {
-            // individual counters are immutable, so we can avoid the overhead of copying them
-            List<Token> playerCounters = new ArrayList<>(counters.get(i));
-            copy.counters.add(playerCounters);
+        copy.pieces = new int[pieces.length][];
+        copy.movedThisTurn = new int[movedThisTurn.length][];
+        for (int p = 0; p < pieces.length; p++) {
+            copy.pieces[p] = pieces[p].clone();
+            copy.movedThisTurn[p] = movedThisTurn[p].clone();
         }
-        copy.playerTrackMapping = playerTrackMapping; // this is immutable, so we can just copy the reference
-        copy.movedThisTurn = new ArrayList<>(movedThisTurn);
+        // these are immutable, so we can just copy the references
+        copy.playerTrackMapping = playerTrackMapping;
+        copy.logicalPositions = logicalPositions;
         return copy;
     }
 
@@ -299,8 +317,8 @@ public class BGGameState extends AbstractGameState {
                     Arrays.equals(diceUsed, bgs.diceUsed) &&
                     Arrays.equals(availableDiceValues, bgs.availableDiceValues) &&
                     Arrays.equals(dice, bgs.dice) &&
-                    counters.equals(bgs.counters) &&
-                    movedThisTurn.equals(bgs.movedThisTurn) &&
+                    Arrays.deepEquals(pieces, bgs.pieces) &&
+                    Arrays.deepEquals(movedThisTurn, bgs.movedThisTurn) &&
                     Arrays.deepEquals(playerTrackMapping, bgs.playerTrackMapping);
         }
         return false;
@@ -313,7 +331,7 @@ public class BGGameState extends AbstractGameState {
                 Arrays.hashCode(diceUsed) + 31 * 31 * 31 *
                 Arrays.hashCode(dice) + 31 * 31 * 31 * 31 *
                 Arrays.hashCode(availableDiceValues) - 31 * 255 *
-                Objects.hash(counters, movedThisTurn) + 31 * 31 * 31 * 31 * 31 *
+                (Arrays.deepHashCode(pieces) + 31 * Arrays.deepHashCode(movedThisTurn)) + 31 * 31 * 31 * 31 * 31 *
                 Arrays.deepHashCode(playerTrackMapping) +
                 super.hashCode();
     }
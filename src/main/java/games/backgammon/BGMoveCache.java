@@ -0,0 +1,92 @@
+package games.backgammon;
+
+import core.actions.AbstractAction;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of the full list of moves available in a position, keyed on the position of all the pieces, the
+ * player to move, and the (distinct, unused) dice values in the order they were rolled.
+ * <p>
+ * The same positions come up again and again in a search (the opening position, every re-roll of the dice in the
+ * same position, transpositions of the two dice), so this saves most of the move generation. The lists of moves
+ * are unmodifiable, and MovePiece is immutable, so one list can be returned to every caller.
+ * <p>
+ * The cache is shared by all the copies of a game that use the same forward model, and may be used by several threads
+ * at once. Once it holds maxSize positions it is simply cleared.
+ */
+class BGMoveCache {
+
+    static final int DEFAULT_SIZE = 1 << 16;
+
+    private record Key(BGParameters params, int[] position, int hash) {
+        Key(BGParameters params, int[] position) {
+            this(params, position, Arrays.hashCode(position));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            // states copied from the same game share their parameters, so identity is enough (and much cheaper)
+            return o instanceof Key other && params == other.params && hash == other.hash &&
+                    Arrays.equals(position, other.position);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final int maxSize;
+    private final Map<Key, List<AbstractAction>> moves = new ConcurrentHashMap<>();
+
+    BGMoveCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param state         the current state
+     * @param diceAvailable the distinct dice values that can still be used, in the order the moves are generated
+     * @param generator     generates the moves if they are not cached; this must depend only on the key
+     */
+    List<AbstractAction> get(BGGameState state, int[] diceAvailable, Supplier<List<AbstractAction>> generator) {
+        Key key = new Key((BGParameters) state.getGameParameters(), position(state, diceAvailable));
+        List<AbstractAction> retValue = moves.get(key);
+        if (retValue == null) {
+            retValue = generator.get();
+            if (moves.size() >= maxSize)
+                moves.clear();
+            moves.put(key, retValue);
+        }
+        return retValue;
+    }
+
+    int size() {
+        return moves.size();
+    }
+
+    private static int[] position(BGGameState state, int[] diceAvailable) {
+        BGParameters params = (BGParameters) state.getGameParameters();
+        int playerId = state.getCurrentPlayer();
+        int nSpaces = state.getNSpaces();
+        // the pieces moved this turn only matter when they can move again before all are off the bar
+        boolean withMoved = params.entryRule == BGParameters.EntryRule.Entry && state.getPiecesOnBar(playerId) > 0;
+        int[] position = new int[4 + diceAvailable.length + (withMoved ? 3 : 2) * nSpaces];
+        int i = 0;
+        position[i++] = playerId;
+        position[i++] = diceAvailable.length;
+        for (int die : diceAvailable)
+            position[i++] = die;
+        position[i++] = state.piecesBorneOff[0];
+        position[i++] = state.piecesBorneOff[1];
+        System.arraycopy(state.pieces[0], 0, position, i, nSpaces);
+        System.arraycopy(state.pieces[1], 0, position, i + nSpaces, nSpaces);
+        if (withMoved)
+            System.arraycopy(state.movedThisTurn[playerId], 0, position, i + 2 * nSpaces, nSpaces);
+        return position;
+    }
+}
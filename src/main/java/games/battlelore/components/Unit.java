@@ -1,13 +1,12 @@
 package games.battlelore.components;
 
  import core.CoreConstants;
+ import core.GameDataCache;
  import core.components.Component;
  import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
- import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -153,11 +152,10 @@ public class Unit extends Component {
     }
 
     public static List<Unit> loadUnits(String filename) {
-        JSONParser jsonParser = new JSONParser();
         ArrayList<Unit> units = new ArrayList<>();
 
-        try (FileReader reader = new FileReader(filename)) {
-            JSONArray data = (JSONArray) jsonParser.parse(reader);
+        try {
+            JSONArray data = (JSONArray) GameDataCache.parseJSON(filename);
             for(Object o : data) {
                 Unit newUnit = new Unit();
                 newUnit.loadUnit((JSONObject) o);
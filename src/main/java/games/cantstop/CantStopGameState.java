@@ -109,6 +109,20 @@ public class CantStopGameState extends AbstractGameState implements IPrintable {
         // substance dealt with in private constructor above
     }
 
+    @Override
+    protected boolean _copyInto(AbstractGameState target, int playerId) {
+        // the same substance as the private constructor, but into the arrays and dice that target already has
+        CantStopGameState copy = (CantStopGameState) target;
+        System.arraycopy(completedColumns, 0, copy.completedColumns, 0, completedColumns.length);
+        for (int p = 0; p < getNPlayers(); p++)
+            System.arraycopy(playerMarkerPositions[p], 0, copy.playerMarkerPositions[p], 0, playerMarkerPositions[p].length);
+        copy.temporaryMarkerPositions.clear();
+        copy.temporaryMarkerPositions.putAll(temporaryMarkerPositions);
+        for (int i = 0; i < dice.size(); i++)
+            copy.dice.set(i, dice.get(i).copy());  // a die may not have been rolled yet, which setValue() would refuse
+        return true;
+    }
+
     @Override
     protected double _getHeuristicScore(int playerId) {
         if (isNotTerminal()) {
@@ -103,6 +103,29 @@ public class CatanActionFactory {
         return actions;
     }
 
+    /**
+     * Counts the actions that getPlayerTradeActions() will generate when there is no current trade offer, without
+     * constructing them: one per (other player with resources, resource offered, quantity offered, resource requested,
+     * quantity requested).
+     */
+    static int estimatePlayerTradeActions(CatanGameState gs, ActionSpace actionSpace, int player) {
+        if (gs.getNResourcesInHand(player) == 0) return 0;
+        if (actionSpace.structure == ActionSpace.Structure.Deep) return 1;
+        int otherPlayers = 0;
+        for (int p = 0; p < gs.getNPlayers(); p++) {
+            if (p != player && gs.getNResourcesInHand(p) > 0) otherPlayers++;
+        }
+        int nOffered = 0, nResourceTypes = 0;
+        Map<CatanParameters.Resource, Counter> resources = gs.getPlayerResources(player);
+        for (CatanParameters.Resource res : CatanParameters.Resource.values()) {
+            if (res == CatanParameters.Resource.WILD) continue;
+            nResourceTypes++;
+            nOffered += resources.get(res).getValue();
+        }
+        int maxToRequest = ((CatanParameters) gs.getGameParameters()).max_resources_request_trade;
+        return otherPlayers * nOffered * (nResourceTypes - 1) * Math.max(maxToRequest, 0);
+    }
+
     /**
      * Generates PlayerTradeOffers relating to single type trades
      * i.e Lumber for Grain, Brick for Stone
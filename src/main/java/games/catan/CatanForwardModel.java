@@ -6,6 +6,7 @@ import core.StandardForwardModel;
 import core.actions.AbstractAction;
 import core.actions.ActionSpace;
 import core.actions.DoNothing;
+import core.actions.LazyActionList;
 import core.components.Counter;
 import core.components.Deck;
 import core.components.Edge;
@@ -246,19 +247,27 @@ public class CatanForwardModel extends StandardForwardModel {
 
     @Override
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
+        return _lazyAvailableActions(gameState, actionSpace).toList();
+    }
+
+    /**
+     * Trade offers to other players are by far the largest group of actions in the Main phase, so these are only
+     * generated if a sample falls into them (or all actions are requested).
+     */
+    @Override
+    protected LazyActionList _lazyAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
         CatanGameState cgs = (CatanGameState) gameState;
         CatanParameters cp = (CatanParameters) gameState.getGameParameters();
         int player = cgs.getCurrentPlayer();
+        LazyActionList mainActions = new LazyActionList();
 
         if (cgs.getGamePhase() == Setup) {
-            return CatanActionFactory.getSetupActions(cgs, actionSpace, player);
+            return mainActions.addAll(CatanActionFactory.getSetupActions(cgs, actionSpace, player));
         }
         if (cgs.getGamePhase() == Robber) {
-            return CatanActionFactory.getRobberActions(cgs, actionSpace, player, false);
+            return mainActions.addAll(CatanActionFactory.getRobberActions(cgs, actionSpace, player, false));
         }
         // Main phase: trade, build (road, city, dev card), or play dev card
-        List<AbstractAction> mainActions = new ArrayList<>();
-
         if (cgs.tradeOffer != null) {
             // Only replies allowed
             mainActions.addAll(CatanActionFactory.getPlayerTradeActions(cgs, actionSpace, player));
@@ -270,7 +279,8 @@ public class CatanForwardModel extends StandardForwardModel {
 
             // Trade With other players, unless already too many trades this turn
             if (cp.tradingAllowed && cgs.nTradesThisTurn < cp.max_trade_actions_allowed) {
-                mainActions.addAll(CatanActionFactory.getPlayerTradeActions(cgs, actionSpace, player));
+                mainActions.addGroup(CatanActionFactory.estimatePlayerTradeActions(cgs, actionSpace, player),
+                        () -> CatanActionFactory.getPlayerTradeActions(cgs, actionSpace, player));
             }
 
             // Build
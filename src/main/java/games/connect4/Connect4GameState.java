@@ -8,6 +8,7 @@ import core.components.GridBoard;
 import core.components.Token;
 import core.interfaces.IGridGameState;
 import core.interfaces.IPrintable;
+import core.interfaces.IZobristHashable;
 import games.GameType;
 import utilities.Pair;
 
@@ -16,7 +17,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 
-public class Connect4GameState extends AbstractGameState implements IPrintable, IGridGameState {
+public class Connect4GameState extends AbstractGameState implements IPrintable, IGridGameState, IZobristHashable {
 
     GridBoard gridBoard;
     LinkedList<Pair<Integer, Integer>> winnerCells;
@@ -105,6 +106,11 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
         return Objects.hash(super.hashCode(), gridBoard);
     }
 
+    @Override
+    public long getZobristHash() {
+        return coreZobristHash() ^ gridBoard.getZobristHash();
+    }
+
     @Override
     public GridBoard getGridBoard() {
         return gridBoard;
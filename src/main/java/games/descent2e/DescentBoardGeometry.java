@@ -0,0 +1,167 @@
+package games.descent2e;
+
+import core.components.BoardNode;
+import core.components.GridBoard;
+import core.properties.PropertyInt;
+import core.properties.PropertyVector2D;
+import utilities.LineOfSight;
+import utilities.Vector2D;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static core.CoreConstants.coordinateHash;
+import static core.CoreConstants.playersHash;
+
+/**
+ * The static geometry of the Descent master board: which cells exist, the movement graph between them and its costs,
+ * and (computed lazily, then memoised) the line of sight between any two cells over the terrain alone.
+ * <p>
+ * None of this changes once the master board has been built for a quest, so a single instance is created at setup
+ * and is shared by reference between all copies of the game state. Cells are referred to by an int index
+ * (y * width + x). Whether a cell is occupied is the only dynamic part of line of sight and movement; this is read
+ * from the "players" property of the nodes of the board in the state being queried.
+ */
+public class DescentBoardGeometry {
+
+    // Marks a pair of cells with no line of sight over the terrain
+    private static final int[] BLOCKED = new int[0];
+    private static final int[] NO_CELLS = new int[0];
+
+    final int width, height;
+    final boolean[] exists;
+    final boolean[] walkable;
+    final int[][] neighbours;
+    final double[][] neighbourCosts;
+
+    // start * nCells + end -> cells strictly between start and end on the line, or BLOCKED
+    private final Map<Long, int[]> lineOfSight = new ConcurrentHashMap<>();
+    // cell * 64 + range -> all cells within range steps of cell in the movement graph
+    private final Map<Long, int[]> withinRange = new ConcurrentHashMap<>();
+
+    public DescentBoardGeometry(GridBoard board) {
+        width = board.getWidth();
+        height = board.getHeight();
+        int nCells = width * height;
+        exists = new boolean[nCells];
+        walkable = new boolean[nCells];
+        neighbours = new int[nCells][];
+        neighbourCosts = new double[nCells][];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int cell = cell(x, y);
+                BoardNode node = board.getElement(x, y);
+                if (node == null) {
+                    neighbours[cell] = NO_CELLS;
+                    neighbourCosts[cell] = new double[0];
+                    continue;
+                }
+                exists[cell] = true;
+                walkable[cell] = DescentTypes.TerrainType.isWalkableTerrain(node.getComponentName());
+                List<Integer> cells = new ArrayList<>();
+                List<Double> costs = new ArrayList<>();
+                for (Map.Entry<BoardNode, Double> e : node.getNeighbours().entrySet()) {
+                    if (e.getKey() == null) continue;
+                    Vector2D loc = ((PropertyVector2D) e.getKey().getProperty(coordinateHash)).values;
+                    cells.add(cell(loc.getX(), loc.getY()));
+                    costs.add(e.getValue());
+                }
+                neighbours[cell] = cells.stream().mapToInt(Integer::intValue).toArray();
+                neighbourCosts[cell] = costs.stream().mapToDouble(Double::doubleValue).toArray();
+            }
+        }
+    }
+
+    public int cell(int x, int y) {
+        return y * width + x;
+    }
+
+    public int cell(Vector2D pos) {
+        return cell(pos.getX(), pos.getY());
+    }
+
+    public int x(int cell) {
+        return cell % width;
+    }
+
+    public int y(int cell) {
+        return cell / width;
+    }
+
+    public boolean inBounds(Vector2D pos) {
+        return pos.getX() >= 0 && pos.getX() < width && pos.getY() >= 0 && pos.getY() < height;
+    }
+
+    public boolean exists(int cell) {
+        return exists[cell];
+    }
+
+    public boolean isWalkable(int cell) {
+        return walkable[cell];
+    }
+
+    public int[] getNeighbours(int cell) {
+        return neighbours[cell];
+    }
+
+    public double[] getNeighbourCosts(int cell) {
+        return neighbourCosts[cell];
+    }
+
+    /**
+     * @return the figure occupying the cell on the given board, or -1 if it is empty
+     */
+    public int occupant(GridBoard board, int cell) {
+        return ((PropertyInt) board.getElement(x(cell), y(cell)).getProperty(playersHash)).value;
+    }
+
+    /**
+     * The terrain part of line of sight. The line between the two cells (from LineOfSight.bresenhamsLineAlgorithm)
+     * must pass only through cells that exist, with each step between neighbours in the movement graph.
+     *
+     * @return the cells strictly between start and end, which must also be unoccupied for there to be line of sight;
+     * or null if the terrain blocks line of sight.
+     */
+    public int[] lineOfSight(int start, int end) {
+        int[] between = lineOfSight.computeIfAbsent((long) start * exists.length + end, k -> computeLineOfSight(start, end));
+        return between == BLOCKED ? null : between;
+    }
+
+    private int[] computeLineOfSight(int start, int end) {
+        List<Vector2D> points = LineOfSight.bresenhamsLineAlgorithm(new Vector2D(x(start), y(start)), new Vector2D(x(end), y(end)));
+        int[] line = new int[points.size()];
+        for (int i = 0; i < line.length; i++)
+            line[i] = cell(points.get(i));
+        for (int i = 1; i < line.length; i++) {
+            if (!exists[line[i]] || !isNeighbour(line[i - 1], line[i]))
+                return BLOCKED;
+        }
+        return line.length <= 2 ? NO_CELLS : Arrays.copyOfRange(line, 1, line.length - 1);
+    }
+
+    private boolean isNeighbour(int from, int to) {
+        for (int n : neighbours[from])
+            if (n == to) return true;
+        return false;
+    }
+
+    /**
+     * @return all cells reachable from the given one in at most range steps of the movement graph (including the cell
+     * itself), regardless of terrain cost or occupancy.
+     */
+    public int[] cellsWithinRange(int cell, int range) {
+        return withinRange.computeIfAbsent((long) cell * 64 + range, k -> {
+            Set<Integer> found = new LinkedHashSet<>();
+            found.add(cell);
+            List<Integer> frontier = Collections.singletonList(cell);
+            for (int step = 0; step < range && !frontier.isEmpty(); step++) {
+                List<Integer> next = new ArrayList<>();
+                for (int c : frontier)
+                    for (int n : neighbours[c])
+                        if (found.add(n)) next.add(n);
+                frontier = next;
+            }
+            return found.stream().mapToInt(Integer::intValue).toArray();
+        });
+    }
+}
@@ -1273,6 +1273,7 @@ public class DescentForwardModel extends StandardForwardModel {
                     }
                 }
             }
+            dgs.boardGeometry = new DescentBoardGeometry(dgs.masterBoard);
         } else {
 //            System.out.println("Tiles for the map not found");
         }
@@ -1,6 +1,7 @@
 package games.descent2e;
 
 import core.AbstractGameData;
+import core.GameDataCache;
 import core.components.*;
 import core.properties.PropertyString;
 import games.descent2e.actions.tokens.TokenAction;
@@ -12,12 +13,10 @@ import games.descent2e.concepts.GameOverCondition;
 import games.descent2e.concepts.Quest;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import utilities.Vector2D;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
@@ -136,11 +135,10 @@ public class DescentGameData extends AbstractGameData {
 
     private static ArrayList<Quest> loadQuests(String dataPath) {
 
-        JSONParser jsonParser = new JSONParser();
         ArrayList<Quest> quests = new ArrayList<>();
 
-        try (FileReader reader = new FileReader(dataPath)) {
-            JSONArray data = (JSONArray) jsonParser.parse(reader);
+        try {
+            JSONArray data = (JSONArray) GameDataCache.parseJSON(dataPath);
 
             for (Object o : data) {
                 JSONObject obj = (JSONObject) o;
@@ -302,9 +300,8 @@ public class DescentGameData extends AbstractGameData {
     private static HashMap<String, HashMap<String, Monster>> loadMonsters(String dataPath) {
         HashMap<String, HashMap<String, Monster>> monsters = new HashMap<>();
 
-        JSONParser jsonParser = new JSONParser();
-        try (FileReader reader = new FileReader(dataPath)) {
-            JSONArray data = (JSONArray) jsonParser.parse(reader);
+        try {
+            JSONArray data = (JSONArray) GameDataCache.parseJSON(dataPath);
 
             for (Object o : data) {
                 JSONObject obj = (JSONObject) o;
@@ -35,6 +35,8 @@ public class DescentGameState extends AbstractGameState implements IPrintable {
 
     Deck<Card> searchCards;
     GridBoard masterBoard;
+    // Static geometry of the master board, shared by all copies of the state (see DescentBoardGeometry)
+    DescentBoardGeometry boardGeometry;
     DicePool attackDicePool;
     DicePool defenceDicePool;
     DicePool attributeDicePool;
@@ -127,6 +129,7 @@ public class DescentGameState extends AbstractGameState implements IPrintable {
             copy.tiles.put(e.getKey(), e.getValue().copy());
         }
         copy.masterBoard = masterBoard.copy();
+        copy.boardGeometry = boardGeometry;
         copy.attackDicePool = attackDicePool.copy();
         copy.defenceDicePool = defenceDicePool.copy();
         copy.attributeDicePool = attributeDicePool.copy();
@@ -304,6 +307,12 @@ public class DescentGameState extends AbstractGameState implements IPrintable {
         return masterBoard;
     }
 
+    public DescentBoardGeometry getBoardGeometry() {
+        if (boardGeometry == null)
+            boardGeometry = new DescentBoardGeometry(masterBoard);
+        return boardGeometry;
+    }
+
     public List<Hero> getHeroes() {
         return heroes;
     }
@@ -15,7 +15,6 @@ import games.descent2e.actions.items.RerollAttributeTest;
 import games.descent2e.actions.monsterfeats.MonsterAbilities;
 import games.descent2e.components.*;
 import games.descent2e.components.tokens.DToken;
-import utilities.LineOfSight;
 import utilities.Pair;
 import utilities.Vector2D;
 
@@ -120,27 +119,16 @@ public class DescentHelper {
         }
 
         // Find valid neighbours of neighbours in master graph - used for ranged attacks
+        DescentBoardGeometry geometry = dgs.getBoardGeometry();
         for (BoardNode currentTile : attackingTiles) {
-            Set<BoardNode> rangedTargets = currentTile.getNeighbours().keySet();
-
-            // Only finds neighbours up to a set maximum range
-            for (int i = 1; i < RangedAttack.MAX_RANGE; i++) {
-
-                Set<BoardNode> startTargets = rangedTargets;
-
-                for (BoardNode possibleTarget : startTargets) {
-                    // Collects all possible neighbours of neighbours, and adds them to the list of potential target locations
-                    Set<BoardNode> newTargets = new HashSet<>(possibleTarget.getNeighbours().keySet());
-                    newTargets.addAll(rangedTargets);
-                    rangedTargets = newTargets;
-                }
-            }
-
-            // Prevents the attacker from trying to shoot itself
-            attackingTiles.forEach(rangedTargets::remove);
-
-            for (BoardNode neighbour : rangedTargets) {
-                if (neighbour == null) continue;
+            // All nodes up to a set maximum range, in the master graph; these only depend on the board, so are cached
+            Vector2D currentPosition = ((PropertyVector2D) currentTile.getProperty(coordinateHash)).values;
+            int[] rangedTargets = geometry.cellsWithinRange(geometry.cell(currentPosition), RangedAttack.MAX_RANGE);
+
+            for (int targetCell : rangedTargets) {
+                BoardNode neighbour = dgs.masterBoard.getElement(geometry.x(targetCell), geometry.y(targetCell));
+                // Prevents the attacker from trying to shoot itself
+                if (neighbour == null || attackingTiles.contains(neighbour)) continue;
                 int neighbourID = ((PropertyInt) neighbour.getProperty(playersHash)).value;
                 if (neighbourID != -1) {
                     Figure other = (Figure) dgs.getComponentById(neighbourID);
@@ -190,55 +178,30 @@ public class DescentHelper {
     }
 
     public static boolean hasLineOfSight(DescentGameState dgs, Vector2D startPoint, Vector2D endPoint){
-        int counter = 0;
-        boolean hasLineOfSight = true;
-
-        ArrayList<Vector2D> containedPoints = LineOfSight.bresenhamsLineAlgorithm(startPoint, endPoint);
-
-        BoardNode startTile = dgs.masterBoard.getElement(startPoint.getX(), startPoint.getY());
-        int start = ((PropertyInt) startTile.getProperty(playersHash)).value;
-
-        BoardNode targetTile = dgs.masterBoard.getElement(endPoint.getX(), endPoint.getY());
-        int target = ((PropertyInt) targetTile.getProperty(playersHash)).value;
-
-        // For each coordinate in the line, check:
-        // 1) Does the coordinate have its board node
-        // 2) Is the board node empty (no character on location)
-        // 3) Is the board node connected to previously checked board node
-        // If any of these are false, then there is no LOS
-        for (int i = 1; i < containedPoints.size(); i++){
-
-            Vector2D previousPoint = containedPoints.get(i - 1);
-            Vector2D point = containedPoints.get(i);
-
-            // Check 1) Does the board node exist at this coordinate
-            BoardNode currentTile = dgs.masterBoard.getElement(point.getX(), point.getY());
-            if (currentTile == null){
-                hasLineOfSight = false;
-                break;
-            }
-
-            // Check 2) Is the board node empty (or, if either figure is large, not occupied by itself or the target)
-            int owner = ((PropertyInt) currentTile.getProperty(playersHash)).value;
-            if (owner != -1 && i != containedPoints.size() - 1){
-                if (owner != target && owner != start){
-                    hasLineOfSight = false;
-                    break;
-                }
-            }
-
-            // Check 3) Is the board node connected to previous board node
-            BoardNode previousTile = dgs.masterBoard.getElement(previousPoint.getX(), previousPoint.getY());
-            if (!previousTile.getNeighbours().containsKey(currentTile)){
-                hasLineOfSight = false;
-                break;
-            }
+        // The terrain part of the check (does each coordinate on the line have its board node, connected to the
+        // previous one) never changes during a quest, so is precomputed and shared by all copies of the state.
+        // All that is left is to check that nothing stands in the way.
+        DescentBoardGeometry geometry = dgs.getBoardGeometry();
+        if (!geometry.inBounds(startPoint) || !geometry.inBounds(endPoint))
+            return false;
+        int startCell = geometry.cell(startPoint);
+        int endCell = geometry.cell(endPoint);
+        if (!geometry.exists(startCell) || !geometry.exists(endCell))
+            return false;
+        int[] between = geometry.lineOfSight(startCell, endCell);
+        if (between == null)
+            return false;
+
+        int start = geometry.occupant(dgs.masterBoard, startCell);
+        int target = geometry.occupant(dgs.masterBoard, endCell);
+
+        // Each board node on the way must be empty (or, if either figure is large, only occupied by itself or the target)
+        for (int cell : between) {
+            int owner = geometry.occupant(dgs.masterBoard, cell);
+            if (owner != -1 && owner != target && owner != start)
+                return false;
         }
-
-        if (hasLineOfSight)
-            counter++;
-
-        return (counter > 0);
+        return true;
     }
 
     public static List<AbstractAction> moveActions(DescentGameState dgs, Figure f) {
@@ -311,41 +274,53 @@ public class DescentHelper {
     }
 
     private static HashMap<Vector2D, Pair<Double,List<Vector2D>>> getAllAdjacentNodes(DescentGameState dgs, Figure figure){
-        Vector2D figureLocation = figure.getPosition();
-        BoardNode figureNode = dgs.getMasterBoard().getElement(figureLocation.getX(), figureLocation.getY());
+        DescentBoardGeometry geometry = dgs.getBoardGeometry();
+        GridBoard board = dgs.getMasterBoard();
+        int figureCell = geometry.cell(figure.getPosition());
         String figureType = figure.getTokenType();
-
-        //<Board Node, Cost to get there>
-        HashMap<BoardNode, Pair<Double,List<Vector2D>>> expandedBoardNodes = new HashMap<>();
-        HashMap<BoardNode, Pair<Double,List<Vector2D>>> nodesToBeExpanded = new HashMap<>();
-        HashMap<BoardNode, Pair<Double,List<Vector2D>>> allAdjacentNodes = new HashMap<>();
-
-        nodesToBeExpanded.put(figureNode, new Pair<>(0.0, new ArrayList<>()));
-        while (!nodesToBeExpanded.isEmpty()){
-            // Pick a node to expand, and remove it from the map
-            Map.Entry<BoardNode,Pair<Double,List<Vector2D>>> entry = nodesToBeExpanded.entrySet().iterator().next();
-            BoardNode expandingNode = entry.getKey();
-            double expandingNodeCost = entry.getValue().a;
-            List<Vector2D> expandingNodePath = entry.getValue().b;
-            nodesToBeExpanded.remove(expandingNode);
+        boolean scamper = figure instanceof Monster && ((Monster) figure).hasPassive(MonsterAbilities.MonsterPassive.SCAMPER);
+
+        // Cheapest cost to reach each cell, and the cell it is reached from (-1 if not reached).
+        // Friendly cells can be moved through, so are expanded (cheapest first); empty cells are where the figure can stop.
+        int nCells = geometry.exists.length;
+        double[] cost = new double[nCells];
+        int[] cameFrom = new int[nCells];
+        boolean[] expanded = new boolean[nCells];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(cameFrom, -1);
+        double[] stopCost = new double[nCells];
+        int[] stopFrom = new int[nCells];
+        Arrays.fill(stopCost, Double.POSITIVE_INFINITY);
+        int[] stops = new int[nCells];
+        int nStops = 0;
+
+        int[] open = new int[nCells];
+        int nOpen = 0;
+        cost[figureCell] = 0.0;
+        open[nOpen++] = figureCell;
+        while (nOpen > 0) {
+            // Pick the cheapest node to expand (there are only ever a handful), and remove it from the open list
+            int best = 0;
+            for (int i = 1; i < nOpen; i++)
+                if (cost[open[i]] < cost[open[best]]) best = i;
+            int expandingCell = open[best];
+            open[best] = open[--nOpen];
+            if (expanded[expandingCell]) continue;
+            expanded[expandingCell] = true;
 
             // Go through all the neighbour nodes
-            HashMap<BoardNode, Double> neighbours = expandingNode.getNeighbours();
-            for (BoardNode neighbour : neighbours.keySet()){
-                Vector2D loc = ((PropertyVector2D) neighbour.getProperty(coordinateHash)).values;
-
-                double costToMoveToNeighbour = expandingNode.getNeighbourCost(neighbour);
-                double totalCost = expandingNodeCost + costToMoveToNeighbour;
-                List<Vector2D> totalPath = new ArrayList<>(expandingNodePath);
-                if (totalPath.contains(loc)) continue;
-                totalPath.add(loc);
+            int[] neighbours = geometry.getNeighbours(expandingCell);
+            double[] costs = geometry.getNeighbourCosts(expandingCell);
+            for (int n = 0; n < neighbours.length; n++) {
+                int neighbour = neighbours[n];
+                double totalCost = cost[expandingCell] + costs[n];
                 boolean isFriendly = false;
-                boolean isEmpty = DescentTypes.TerrainType.isWalkableTerrain(neighbour.getComponentName());
+                boolean isEmpty = geometry.isWalkable(neighbour);
 
-                PropertyInt figureOnLocation = (PropertyInt)neighbour.getProperty(playersHash);
-                if (figureOnLocation.value != -1) {
+                int figureOnLocation = geometry.occupant(board, neighbour);
+                if (figureOnLocation != -1) {
                     isEmpty = false;
-                    Figure neighbourFigure = (Figure) dgs.getComponentById(figureOnLocation.value);
+                    Figure neighbourFigure = (Figure) dgs.getComponentById(figureOnLocation);
 
                     if (neighbourFigure != null) {
                         // If our current figure is the same as our neighbour (in the case of large figures), we can move into the neighbour tile
@@ -357,9 +332,8 @@ public class DescentHelper {
                             isFriendly = true;
                         }
                         // If our current figure is a monster with the Scamper passive, we can move through Hero figures as if they were friendly
-                        else if (figureType == "Monster") {
-                            if ((((Monster) figure).hasPassive(MonsterAbilities.MonsterPassive.SCAMPER)) && neighbourFigure.getTokenType().equals("Hero"))
-                                isFriendly = true;
+                        else if (scamper && neighbourFigure.getTokenType().equals("Hero")) {
+                            isFriendly = true;
                         }
                     }
                     // If, for whatever reason, our Heroes are allowed to ignore enemies entirely when moving
@@ -370,30 +344,36 @@ public class DescentHelper {
                     }
                 }
 
-                if (isFriendly){
-                    //if the node is friendly and not expanded - add it to the expansion list
-                    if(!expandedBoardNodes.containsKey(neighbour)){
-                        nodesToBeExpanded.put(neighbour, new Pair<>(totalCost, totalPath));
-                        //if the node is friendly and expanded but the cost was higher - add it to the expansion list
-                    } else if (expandedBoardNodes.containsKey(neighbour) && expandedBoardNodes.get(neighbour).a > totalCost){
-                        expandedBoardNodes.remove(neighbour);
-                        nodesToBeExpanded.put(neighbour, new Pair<>(totalCost, totalPath));
+                if (isFriendly) {
+                    // Friendly node - expand it if this is the cheapest way found to get there
+                    if (!expanded[neighbour] && totalCost < cost[neighbour]) {
+                        cost[neighbour] = totalCost;
+                        cameFrom[neighbour] = expandingCell;
+                        if (nOpen == open.length)
+                            open = Arrays.copyOf(open, 2 * nOpen);
+                        open[nOpen++] = neighbour;
                     }
                 } else if (isEmpty) {
-                    //if the node is empty - add it to adjacentNodeList
-                    if (!allAdjacentNodes.containsKey(neighbour) || allAdjacentNodes.get(neighbour).a > totalCost){
-                        allAdjacentNodes.put(neighbour, new Pair<>(totalCost, totalPath));
+                    // Empty node - a place we can move to
+                    if (stopCost[neighbour] == Double.POSITIVE_INFINITY)
+                        stops[nStops++] = neighbour;
+                    if (totalCost < stopCost[neighbour]) {
+                        stopCost[neighbour] = totalCost;
+                        stopFrom[neighbour] = expandingCell;
                     }
                 }
-                expandedBoardNodes.put(neighbour, new Pair<>(totalCost, totalPath));
             }
         }
 
-        //Return list of coordinates
+        //Return list of coordinates, with the path through friendly nodes to get to each
         HashMap<Vector2D, Pair<Double,List<Vector2D>>> allAdjacentLocations = new HashMap<>();
-        for (BoardNode boardNode : allAdjacentNodes.keySet()){
-            Vector2D loc = ((PropertyVector2D) boardNode.getProperty(coordinateHash)).values;
-            allAdjacentLocations.put(loc, allAdjacentNodes.get(boardNode));
+        for (int i = 0; i < nStops; i++) {
+            int cell = stops[i];
+            LinkedList<Vector2D> path = new LinkedList<>();
+            path.add(new Vector2D(geometry.x(cell), geometry.y(cell)));
+            for (int c = stopFrom[cell]; c != figureCell; c = cameFrom[c])
+                path.addFirst(new Vector2D(geometry.x(c), geometry.y(c)));
+            allAdjacentLocations.put(path.getLast(), new Pair<>(stopCost[cell], new ArrayList<>(path)));
         }
 
         return allAdjacentLocations;
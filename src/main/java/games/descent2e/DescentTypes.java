@@ -1,16 +1,15 @@
 package games.descent2e;
 
+import core.GameDataCache;
 import core.components.GridBoard;
 import games.descent2e.components.Figure;
 import games.descent2e.concepts.Quest;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import utilities.Utils;
 
 import java.awt.*;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -32,11 +31,10 @@ public class DescentTypes {
         }
 
         public void load(DescentGameData _data, String filePath) {
-            JSONParser jsonParser = new JSONParser();
             ArrayList<GridBoard> gridBoards = new ArrayList<>();
 
-            try (FileReader reader = new FileReader(filePath + "campaigns/" + name() + ".json")) {
-                JSONObject data = (JSONObject) jsonParser.parse(reader);
+            try {
+                JSONObject data = (JSONObject) GameDataCache.parseJSON(filePath + "campaigns/" + name() + ".json");
                 JSONArray qs = (JSONArray) data.get("quests");
                 quests = new Quest[qs.size()];
                 int i = 0;
@@ -1,14 +1,13 @@
 package games.descent2e.components;
 
 import core.CoreConstants;
+import core.GameDataCache;
 import core.components.Component;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import utilities.Utils;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
 
@@ -51,12 +50,11 @@ public class DescentDice extends Component {
 
     public static void loadDice(String filename)
     {
-        JSONParser jsonParser = new JSONParser();
         masterDice = new ArrayList<>();
 
-        try (FileReader reader = new FileReader(filename)) {
+        try {
 
-            JSONArray data = (JSONArray) jsonParser.parse(reader);
+            JSONArray data = (JSONArray) GameDataCache.parseJSON(filename);
             for(Object o : data) {
                 DescentDice newDice = new DescentDice();
                 newDice.loadDie((JSONObject) o);
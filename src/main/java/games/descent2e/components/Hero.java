@@ -1,6 +1,7 @@
 package games.descent2e.components;
 
 import core.CoreConstants;
+import core.GameDataCache;
 import core.components.Counter;
 import core.components.Deck;
 import core.properties.Property;
@@ -12,10 +13,8 @@ import games.descent2e.actions.Move;
 import games.descent2e.concepts.HeroicFeat;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -327,12 +326,11 @@ public class Hero extends Figure {
      * @return - List of Figure objects.
      */
     public static List<Hero> loadHeroes(String filename) {
-        JSONParser jsonParser = new JSONParser();
         ArrayList<Hero> figures = new ArrayList<>();
 
-        try (FileReader reader = new FileReader(filename)) {
+        try {
 
-            JSONArray data = (JSONArray) jsonParser.parse(reader);
+            JSONArray data = (JSONArray) GameDataCache.parseJSON(filename);
             for (Object o : data) {
 
                 Hero newFigure = new Hero("", -1);
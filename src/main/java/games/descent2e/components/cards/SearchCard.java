@@ -1,16 +1,15 @@
 package games.descent2e.components.cards;
 
 import core.CoreConstants;
+import core.GameDataCache;
 import core.components.Card;
 import core.components.Deck;
 import core.components.Dice;
 import games.descent2e.actions.tokens.SearchAction;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.Objects;
 
@@ -28,12 +27,11 @@ public class SearchCard extends Card {
     }
 
     public static Deck<Card> loadCards(String filename) {
-        JSONParser jsonParser = new JSONParser();
         Deck<Card> cardDeck = new Deck<>("Search Card Deck", CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
 
-        try (FileReader reader = new FileReader(filename)) {
+        try {
 
-            JSONArray data = (JSONArray) jsonParser.parse(reader);
+            JSONArray data = (JSONArray) GameDataCache.parseJSON(filename);
             for(Object o : data) {
 
                 SearchCard card = new SearchCard();
@@ -20,7 +20,7 @@ public class AddGridCellEdge extends AbstractAction {
 
         int nCellsCompleteBefore = dbgs.cellToOwnerMap.size();
         // Mark this edge as complete by current player and check if connected cells are complete too
-        dbgs.edgeToOwnerMap.put(edge, gs.getCurrentPlayer());
+        dbgs.placeEdge(edge, gs.getCurrentPlayer());
 
         HashSet<DBCell> cells = dbgs.edgeToCellMap.get(edge);
         for (DBCell c : cells) {
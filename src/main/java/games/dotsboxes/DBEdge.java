@@ -3,6 +3,7 @@ package games.dotsboxes;
 import core.CoreConstants;
 import core.components.Component;
 import utilities.Vector2D;
+import utilities.Zobrist;
 
 import java.util.Objects;
 
@@ -33,6 +34,15 @@ public class DBEdge extends Component {
         return Objects.hash(from, to) + Objects.hash(to, from);
     }
 
+    /**
+     * @return a Zobrist key for this edge, which (as with equals) does not depend on its direction
+     */
+    public long getZobristKey() {
+        int a = from.getX() * 65536 + from.getY();
+        int b = to.getX() * 65536 + to.getY();
+        return Zobrist.key(-5, Math.min(a, b), Math.max(a, b));
+    }
+
     public DBEdge copy() {
         return this;  // Immutable
     }
@@ -20,6 +20,7 @@ public class DBForwardModel extends StandardForwardModel {
         dbgs.cellToEdgesMap = new HashMap<>();
         dbgs.cellToOwnerMap = new HashMap<>();
         dbgs.edgeToOwnerMap = new HashMap<>();
+        dbgs.edgeHash = 0;
         dbgs.edges = new HashSet<>();
         dbgs.cells = new HashSet<>();
         for (int i = 0; i < dbp.gridHeight; i++) {
@@ -4,11 +4,13 @@ import core.AbstractGameState;
 import core.AbstractParameters;
 import core.components.Component;
 import core.interfaces.IStateHeuristic;
+import core.interfaces.IZobristHashable;
 import games.GameType;
+import utilities.Zobrist;
 
 import java.util.*;
 
-public class DBGameState extends AbstractGameState {
+public class DBGameState extends AbstractGameState implements IZobristHashable {
 
     IStateHeuristic heuristic;
 
@@ -26,6 +28,7 @@ public class DBGameState extends AbstractGameState {
     HashMap<DBCell, Integer> cellToOwnerMap;  // Mapping from each cell to its owner, if complete
     HashMap<DBEdge, Integer> edgeToOwnerMap;  // Mapping from each edge to its owner, if placed
     boolean lastActionDidNotScore;
+    long edgeHash;  // Zobrist hash of the placed edges, maintained by placeEdge()
 
     /**
      * Constructor. Initialises some generic game state variables.
@@ -55,6 +58,7 @@ public class DBGameState extends AbstractGameState {
         dbgs.edgeToCellMap = edgeToCellMap;
         dbgs.cellToEdgesMap = cellToEdgesMap;
         dbgs.lastActionDidNotScore = lastActionDidNotScore;
+        dbgs.edgeHash = edgeHash;
 
         dbgs.nCellsPerPlayer = nCellsPerPlayer.clone();
         dbgs.cellToOwnerMap = (HashMap<DBCell, Integer>) cellToOwnerMap.clone();
@@ -63,6 +67,25 @@ public class DBGameState extends AbstractGameState {
         return dbgs;
     }
 
+    /**
+     * Marks the edge as placed by the player, and updates the Zobrist hash.
+     */
+    void placeEdge(DBEdge edge, int player) {
+        if (edgeToOwnerMap.put(edge, player) == null)
+            edgeHash ^= edge.getZobristKey();
+    }
+
+    /**
+     * As with DBEdgeAndScoreKey, this covers the placed edges (but not who placed them) and the scores.
+     */
+    @Override
+    public long getZobristHash() {
+        long retValue = coreZobristHash() ^ edgeHash;
+        for (int p = 0; p < nCellsPerPlayer.length; p++)
+            retValue ^= Zobrist.key(-4, p, nCellsPerPlayer[p]);
+        return retValue;
+    }
+
     @Override
     protected double _getHeuristicScore(int playerId) {
         if (heuristic == null) { // lazy initialization
@@ -3,6 +3,7 @@ package games.loveletter;
 import core.*;
 import core.actions.AbstractAction;
 import core.actions.ActionSpace;
+import core.components.CardMultiset;
 import core.components.Deck;
 import core.components.PartialObservableDeck;
 import core.interfaces.ITreeActionSpace;
@@ -32,7 +33,7 @@ public class LoveLetterForwardModel extends StandardForwardModel implements ITre
         llgs.effectProtection = new boolean[llgs.getNPlayers()];
         llgs.currentlyActive = new boolean[llgs.getNPlayers()];
         // Set up all variables
-        llgs.drawPile = new PartialObservableDeck<>("drawPile", -1, llgs.getNPlayers(), VisibilityMode.HIDDEN_TO_ALL);
+        llgs.drawPile = CardMultiset.of("drawPile", CardType.class);
         llgs.reserveCards = new Deck<>("reserveCards", VisibilityMode.VISIBLE_TO_ALL);
         llgs.affectionTokens = new int[llgs.getNPlayers()];
         llgs.playerHandCards = new ArrayList<>(llgs.getNPlayers());
@@ -59,21 +60,17 @@ public class LoveLetterForwardModel extends StandardForwardModel implements ITre
         // Add all cards to the draw pile
         llgs.drawPile.clear();
         for (HashMap.Entry<CardType, Integer> entry : llp.cardCounts.entrySet()) {
-            for (int i = 0; i < entry.getValue(); i++) {
-                LoveLetterCard card = new LoveLetterCard(entry.getKey());
-                llgs.drawPile.add(card);
-            }
+            llgs.drawPile.add(entry.getKey(), entry.getValue());
         }
 
-        // Remove one card from the game
-        llgs.drawPile.shuffle(llgs.getRnd());
-        llgs.removedCard = llgs.drawPile.draw();
+        // Remove one card from the game (cards are drawn at random, so the draw pile needs no shuffle)
+        llgs.removedCard = llgs.drawCard();
 
         // In min-player game, N more cards are on the side, but visible to all players at all times
         llgs.reserveCards.clear();
         if (llgs.getNPlayers() == GameType.LoveLetter.getMinPlayers()) {
             for (int i = 0; i < llp.nCardsVisibleReserve; i++) {
-                llgs.reserveCards.add(llgs.drawPile.draw());
+                llgs.reserveCards.add(llgs.drawCard());
             }
         }
 
@@ -91,7 +88,7 @@ public class LoveLetterForwardModel extends StandardForwardModel implements ITre
                 // add random cards to the player's hand
                 PartialObservableDeck<LoveLetterCard> playerCards = new PartialObservableDeck<>("playerHand" + i, i, visible);
                 for (int j = 0; j < llp.nCardsPerPlayer; j++) {
-                    playerCards.add(llgs.drawPile.draw());
+                    playerCards.add(llgs.drawCard());
                 }
                 llgs.playerHandCards.add(playerCards);
 
@@ -105,7 +102,7 @@ public class LoveLetterForwardModel extends StandardForwardModel implements ITre
             for (int i = 0; i < llgs.getNPlayers(); i++) {
                 // add random cards to the player's hand
                 for (int j = 0; j < llp.nCardsPerPlayer; j++) {
-                    llgs.playerHandCards.get(i).add(llgs.drawPile.draw());
+                    llgs.playerHandCards.get(i).add(llgs.drawCard());
                 }
             }
         }
@@ -122,7 +119,7 @@ public class LoveLetterForwardModel extends StandardForwardModel implements ITre
         }
 
         // Game starts with drawing cards
-        LoveLetterCard cardDrawn = llgs.getDrawPile().draw();
+        LoveLetterCard cardDrawn = llgs.drawCard();
         llgs.getPlayerHandCards().get(llgs.getCurrentPlayer()).add(cardDrawn);
 
         // Update components in the game state
@@ -148,7 +145,7 @@ public class LoveLetterForwardModel extends StandardForwardModel implements ITre
 
             // Next turn starts with drawing card and removing protection
             llgs.setProtection(llgs.getCurrentPlayer(), false);
-            LoveLetterCard cardDrawn = llgs.getDrawPile().draw();
+            LoveLetterCard cardDrawn = llgs.drawCard();
             llgs.getPlayerHandCards().get(llgs.getCurrentPlayer()).add(cardDrawn);
         }
     }
@@ -3,6 +3,7 @@ package games.loveletter;
 import core.AbstractParameters;
 import core.AbstractGameState;
 import core.CoreConstants;
+import core.components.CardMultiset;
 import core.components.Component;
 import core.components.Deck;
 import core.components.PartialObservableDeck;
@@ -23,13 +24,14 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
     // Discarded cards
     List<Deck<LoveLetterCard>> playerDiscardCards;
 
-    // Cards in draw pile
-    PartialObservableDeck<LoveLetterCard> drawPile;
+    // Cards in draw pile, of which only the number of each type matters, as they are hidden to all players
+    CardMultiset drawPile;
 
     // Cards in the reserve
     Deck<LoveLetterCard> reserveCards;
     LoveLetterCard removedCard;
     Random redeterminisationRnd = new Random(System.currentTimeMillis());
+    private static final CardType[] cardTypes = CardType.values();
 
     boolean[] currentlyActive; // If true: player is currently active in the game (not knocked out)
 
@@ -92,19 +94,18 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
                     for (int j = 0; j < deck.getSize(); j++) {
                         if (!deck.getVisibilityForPlayer(j, playerId)) {
                             // Hide!
-                            llgs.drawPile.add(deck.get(j));
+                            llgs.drawPile.add(deck.get(j).cardType);
                         }
                     }
                 }
             }
-            llgs.drawPile.shuffle(redeterminisationRnd);
             for (int i = 0; i < getNPlayers(); i++) {
                 if (i != playerId) {
                     // New random cards
                     PartialObservableDeck<LoveLetterCard> deck = llgs.playerHandCards.get(i);
                     for (int j = 0; j < deck.getSize(); j++) {
                         if (!deck.getVisibilityForPlayer(j, playerId)) {
-                            llgs.playerHandCards.get(i).setComponent(j, llgs.drawPile.draw());
+                            llgs.playerHandCards.get(i).setComponent(j, llgs.drawCard(redeterminisationRnd));
                         }
                     }
                     deck.shuffle(redeterminisationRnd);
@@ -226,6 +227,20 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
         return drawPile.getSize();
     }
 
+    /**
+     * Draws a card at random from the draw pile
+     *
+     * @return - the card drawn, or null if the draw pile is empty
+     */
+    public LoveLetterCard drawCard() {
+        return drawCard(getRnd());
+    }
+
+    LoveLetterCard drawCard(Random rnd) {
+        CardType type = drawPile.draw(rnd, cardTypes);
+        return type == null ? null : new LoveLetterCard(type);
+    }
+
     public List<PartialObservableDeck<LoveLetterCard>> getPlayerHandCards() {
         return playerHandCards;
     }
@@ -234,10 +249,25 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
         return playerDiscardCards;
     }
 
-    public PartialObservableDeck<LoveLetterCard> getDrawPile() {
+    public CardMultiset getDrawPile() {
         return drawPile;
     }
 
+    /**
+     * @return - the cards in the draw pile as a list of card names (in order of card type, as the pile has no order),
+     * or UNKNOWN for each card if the game is partially observable
+     */
+    private String drawPileToString() {
+        if (drawPile.isEmpty())
+            return "EmptyDeck";
+        StringJoiner sj = new StringJoiner(",");
+        for (CardType type : cardTypes) {
+            for (int i = 0; i < drawPile.count(type); i++)
+                sj.add(getCoreGameParameters().partialObservable ? "UNKNOWN" : type.toString());
+        }
+        return sj.toString();
+    }
+
     /**
      * Returns the affection tokens for each player in an array.
      * The index of the array corresponds to the player ID.
@@ -313,7 +343,7 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
             System.out.println(playerResults[i]);
         }
 
-        System.out.println("\nDrawPile" + ":" + drawPile.toString(this, getCurrentPlayer()));
+        System.out.println("\nDrawPile" + ":" + drawPileToString());
         if (reserveCards != null && reserveCards.getSize() > 0) {
             System.out.println("ReserveCards" + ":" + reserveCards);
         }
@@ -352,7 +382,7 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
 
         sb.append("],");
         sb.append("\"DrawPile\":[");
-        generateJsonTextList(sb, drawPile.toString(this, getCurrentPlayer()));
+        generateJsonTextList(sb, drawPileToString());
         sb.append("],");
         sb.append("\"ReserveCards\":[");
         generateJsonTextList(sb, reserveCards.toString());
@@ -21,7 +21,6 @@ public class PrinceAction extends PlayCard implements IPrintable {
     protected boolean _execute(LoveLetterGameState llgs) {
         Deck<LoveLetterCard> opponentDeck = llgs.getPlayerHandCards().get(targetPlayer);
         Deck<LoveLetterCard> opponentDiscardPile = llgs.getPlayerDiscardCards().get(targetPlayer);
-        Deck<LoveLetterCard> drawPile = llgs.getDrawPile();
 
         LoveLetterCard card = opponentDeck.draw();
         opponentDiscardPile.add(card);
@@ -40,7 +39,7 @@ public class PrinceAction extends PlayCard implements IPrintable {
 
             // draw a new card from the draw pile.
             // in case the draw pile is empty the targeted player receives the reserve card
-            LoveLetterCard cardDrawn = drawPile.draw();
+            LoveLetterCard cardDrawn = llgs.drawCard();
             if (cardDrawn == null)
                 cardDrawn = llgs.getRemovedCard();
             opponentDeck.add(cardDrawn);
@@ -11,6 +11,7 @@ import games.loveletter.LoveLetterGameState;
 import games.loveletter.LoveLetterParameters;
 import games.loveletter.actions.*;
 import games.loveletter.actions.deep.PlayCardDeep;
+import games.loveletter.cards.CardType;
 import games.loveletter.cards.LoveLetterCard;
 import gui.AbstractGUIManager;
 import gui.GamePanel;
@@ -161,7 +162,7 @@ public class LoveLetterGUIManager extends AbstractGUIManager {
                 JPanel centerArea = new JPanel();
                 centerArea.setOpaque(false);
                 centerArea.setLayout(new BoxLayout(centerArea, BoxLayout.Y_AXIS));
-                drawPile = new LoveLetterDeckView(-1, llgs.getDrawPile(), gameState.getCoreGameParameters().alwaysDisplayFullObservable, llp.getDataPath(),
+                drawPile = new LoveLetterDeckView(-1, drawPileDeck(llgs), gameState.getCoreGameParameters().alwaysDisplayFullObservable, llp.getDataPath(),
                         new Rectangle(0, 0, playerAreaWidth, llCardHeight));
                 centerArea.add(new JLabel("Draw pile:"));
                 centerArea.add(drawPile);
@@ -333,12 +334,24 @@ public class LoveLetterGUIManager extends AbstractGUIManager {
             }
             if (reserve != null)
                 reserve.updateComponent(llgs.getReserveCards());
-            drawPile.updateComponent(llgs.getDrawPile());
+            drawPile.updateComponent(drawPileDeck(llgs));
             drawPile.setFront(gameState.getCoreGameParameters().alwaysDisplayFullObservable);
 
         }
     }
 
+    /**
+     * The draw pile only counts the cards of each type, so this makes a deck of them (in order of type) to display.
+     */
+    private static Deck<LoveLetterCard> drawPileDeck(LoveLetterGameState llgs) {
+        Deck<LoveLetterCard> deck = new Deck<>("drawPile", CoreConstants.VisibilityMode.HIDDEN_TO_ALL);
+        for (CardType type : CardType.values()) {
+            for (int i = 0; i < llgs.getDrawPile().count(type); i++)
+                deck.add(new LoveLetterCard(type));
+        }
+        return deck;
+    }
+
     private String getRuleText() {
         String rules = "<html><center><h1>Love Letter</h1></center><br/><hr><br/>";
         rules += "<p>You try to earn the favour of the princess and get your love letter delivered to her. The closer you are (the higher your card number) at the end, the better. The closest player, or the only one left in the game, is the winner of the round. Win most rounds to win the game.</p><br/>";
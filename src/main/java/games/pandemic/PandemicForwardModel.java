@@ -11,6 +11,7 @@ import core.properties.Property;
 import core.properties.PropertyLong;
 import core.properties.PropertyString;
 import core.rules.AbstractRuleBasedForwardModel;
+import core.rules.CompiledRuleGraph;
 import core.rules.GameOverCondition;
 import core.rules.Node;
 import core.rules.nodetypes.ConditionNode;
@@ -121,6 +122,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
 
         // Next rule to execute is root
         nextRule = root;
+        compile();
 
         // Draw game tree from root
 //        new GameFlowDiagram(root);
@@ -134,6 +136,14 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         super(root);
     }
 
+    /**
+     * Copy constructor from a compiled rule graph, which is shared with the original.
+     * @param compiled - compiled rule graph.
+     */
+    public PandemicForwardModel(CompiledRuleGraph compiled) {
+        super(compiled);
+    }
+
     /**
      * Performs initial game setup according to game rules
      *  - sets up decks and shuffles
@@ -361,7 +371,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
     }
 
     public PandemicForwardModel copy() {
-        PandemicForwardModel retValue = new PandemicForwardModel(copyRoot());
+        PandemicForwardModel retValue = compiled != null ? new PandemicForwardModel(compiled) : new PandemicForwardModel(copyRoot());
         retValue.decisionPlayerID = decisionPlayerID;
         retValue.decorators = new ArrayList<>(decorators);
         return retValue;
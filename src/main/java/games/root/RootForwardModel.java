@@ -10,6 +10,8 @@ import games.root.components.cards.EyrieRulers;
 import games.root.components.cards.RootCard;
 import games.root.components.cards.RootQuestCard;
 import games.root.components.*;
+import utilities.SharedList;
+import utilities.SharedMap;
 
 import java.util.*;
 import java.util.stream.IntStream;
@@ -52,21 +54,24 @@ public class RootForwardModel extends StandardForwardModel {
         state.playersSetUp = 0;
         state.setGamePhase(RootGameState.RootGamePhase.Setup);
         //Create Root Draw and Discard Card Deck
+        // Root cards never change once created, so all decks of cards share them between copies of the game state
         Deck<RootCard> cards = new Deck<>("Draw Pile", -1, CoreConstants.VisibilityMode.HIDDEN_TO_ALL);
+        cards.setSharedComponents(true);
         addCards(cards, rp);
         //System.out.println("Deck initialized with " + cards.getSize() + " cards");
         Deck<RootCard> discardCards = new Deck<>("Discard Pile", -1, CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+        discardCards.setSharedComponents(true);
         cards.shuffle(0, cards.getSize(), state.getRnd());
         state.drawPile = cards;
         state.discardPile = discardCards;
         //Create player Hands and draw initial cards
         state.playerDecks = new ArrayList<>();
-        state.playerFactions = new ArrayList<>();
+        state.playerFactions = new SharedList<>();
         state.playerCraftedCards = new ArrayList<>();
         state.craftedItems = new ArrayList<>();
-        state.startingItems = new ArrayList<>();
-        state.ruinItems = new ArrayList<>();
-        state.craftableItems = new ArrayList<>();
+        state.startingItems = new SharedList<>();
+        state.ruinItems = new SharedList<>();
+        state.craftableItems = new SharedList<>();
         for (Item.ItemType itemType : rp.craftableItems.keySet()) {
             for (int i = 0; i < rp.craftableItems.get(itemType); i++) {
                 state.craftableItems.add(new Item(CoreConstants.ComponentType.TOKEN, itemType));
@@ -76,13 +81,16 @@ public class RootForwardModel extends StandardForwardModel {
             boolean[] visibility = new boolean[state.getNPlayers()];
             visibility[counter] = true;
             PartialObservableDeck<RootCard> playerCards = new PartialObservableDeck<>("Player " + counter + " Hand", counter, visibility);
+            playerCards.setSharedComponents(true);
             for (int e = 0; e < rp.handSize; e++) {
                 playerCards.add(cards.draw());
             }
             state.playerDecks.add(playerCards);
             state.playerFactions.add(rp.getPlayerFaction(counter));
-            state.playerCraftedCards.add(new Deck<>("Player" + counter + "Crafted Cards", CoreConstants.VisibilityMode.VISIBLE_TO_ALL));
-            state.craftedItems.add(new ArrayList<>());
+            Deck<RootCard> craftedCards = new Deck<>("Player" + counter + "Crafted Cards", CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+            craftedCards.setSharedComponents(true);
+            state.playerCraftedCards.add(craftedCards);
+            state.craftedItems.add(new SharedList<>());
         }
         //Create player pieces
         for (int counter = 0; counter < state.getNPlayers(); counter++) {
@@ -293,18 +301,22 @@ public class RootForwardModel extends StandardForwardModel {
         //Create Warriors
         state.eyrieWarriors = rp.maxWarriors.get(RootParameters.Factions.EyrieDynasties);
         state.eyrieDecree = new ArrayList<>();
-        state.playedSuits = new ArrayList<>();
+        state.playedSuits = new SharedList<>();
         for (int e = 0; e < 4; e++) {
-            state.eyrieDecree.add(new Deck<>(rp.decreeInitializer.get((Integer) e).toString() + "decree", playerID, CoreConstants.VisibilityMode.VISIBLE_TO_ALL));
+            Deck<RootCard> decree = new Deck<>(rp.decreeInitializer.get((Integer) e).toString() + "decree", playerID, CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+            decree.setSharedComponents(true);
+            state.eyrieDecree.add(decree);
         }
         state.roosts = rp.buildingCount.get(RootParameters.BuildingType.Roost);
         state.rulers = new Deck<>("Player " + playerID + "Rulers", playerID, CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+        state.rulers.setSharedComponents(true);
         state.activeRuler = null;
         for (HashMap.Entry<EyrieRulers.CardType, Boolean[]> entry : rp.eyrieRulers.entrySet()) {
             EyrieRulers ruler = new EyrieRulers(entry.getKey(), entry.getValue()[0], entry.getValue()[1], entry.getValue()[2], entry.getValue()[3]);
             state.addRulerToRulers(ruler);
         }
         state.viziers = new Deck<>("Player " + playerID + "viziers", playerID, CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+        state.viziers.setSharedComponents(true);
         for (int i = 0; i < rp.maxViziers; i++) {
             RootCard vizier = new RootCard(RootCard.CardType.Vizier,  RootParameters.ClearingTypes.Bird);
             state.viziers.add(vizier);
@@ -321,12 +333,15 @@ public class RootForwardModel extends StandardForwardModel {
         boolean[] visibility = new boolean[state.getNPlayers()];
         visibility[playerID] = true;
         state.supporters = new PartialObservableDeck<>("Player " + playerID + " Supporters", playerID, visibility);
+        state.supporters.setSharedComponents(true);
     }
 
     protected void createVagabondPieces(RootGameState state, RootParameters rp) {
         state.vagabond = rp.maxWarriors.get(RootParameters.Factions.Vagabond);
         state.questDrawPile = new Deck<>("Quest Draw Pile", CoreConstants.VisibilityMode.HIDDEN_TO_ALL);
         state.activeQuests = new Deck<>("Active Quests", CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+        state.questDrawPile.setSharedComponents(true);
+        state.activeQuests.setSharedComponents(true);
         for (Map.Entry<RootQuestCard.CardType, RootParameters.ClearingTypes[]> entry : rp.questCardInitializer.entrySet()) {
             for (RootParameters.ClearingTypes clearingType: entry.getValue()){
                 state.questDrawPile.add(new RootQuestCard(entry.getKey(), clearingType));
@@ -337,13 +352,13 @@ public class RootForwardModel extends StandardForwardModel {
             state.activeQuests.add(state.questDrawPile.draw());
         }
 
-        state.ruinItems = new ArrayList<>();
+        state.ruinItems = new SharedList<>();
         for (Item.ItemType itemType : rp.ruinItems.keySet()) {
             for (int i = 0; i < rp.ruinItems.get(itemType); i++) {
                 state.ruinItems.add(new Item(CoreConstants.ComponentType.TOKEN, itemType));
             }
         }
-        state.startingItems = new ArrayList<>();
+        state.startingItems = new SharedList<>();
         for (Item.ItemType itemType : rp.startingItems.keySet()) {
             for (int i = 0; i < rp.startingItems.get(itemType); i++) {
                 state.startingItems.add(new Item(CoreConstants.ComponentType.TOKEN, itemType));
@@ -357,13 +372,13 @@ public class RootForwardModel extends StandardForwardModel {
         state.mouseQuests = 0;
         state.rabbitQuests = 0;
 
-        state.relationships = new HashMap<>(){{
+        state.relationships = new SharedMap<>(){{
             put(RootParameters.Factions.MarquiseDeCat, RootParameters.Relationship.Neutral);
             put(RootParameters.Factions.EyrieDynasties, RootParameters.Relationship.Neutral);
             put(RootParameters.Factions.WoodlandAlliance, RootParameters.Relationship.Neutral);
         }};
 
-        state.aidNumbers = new HashMap<>(){{
+        state.aidNumbers = new SharedMap<>(){{
             put(RootParameters.Factions.MarquiseDeCat, 0);
             put(RootParameters.Factions.EyrieDynasties, 0);
             put(RootParameters.Factions.WoodlandAlliance, 0);
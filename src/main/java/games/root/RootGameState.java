@@ -15,6 +15,8 @@ import games.root.components.cards.VagabondCharacter;
 import games.root.components.Item;
 import games.root.components.RootBoardNodeWithRootEdges;
 import games.root.components.RootGraphBoard;
+import utilities.SharedList;
+import utilities.SharedMap;
 
 import java.util.*;
 
@@ -30,21 +32,23 @@ public class RootGameState extends AbstractGameState {
     protected int playerSubGamePhase = 0;
     protected int actionsPlayed = 0;
     protected int playersSetUp = 0;
-    protected List<RootParameters.Factions> playerFactions;
+    protected SharedList<RootParameters.Factions> playerFactions;
 
     /**
      * All game pieces
      */
     protected List<PartialObservableDeck<RootCard>> playerDecks;
     protected List<Deck<RootCard>> playerCraftedCards;
-    protected List<List<Item>> craftedItems;
+    protected List<SharedList<Item>> craftedItems;
     protected Deck<RootCard> drawPile;
     protected Deck<RootCard> discardPile;
     protected Deck<RootQuestCard> questDrawPile;
     protected Deck<RootQuestCard> activeQuests;
-    protected List<Item> craftableItems;
-    protected List<Item> ruinItems;
-    protected List<Item> startingItems;
+    // Items are only ever changed once held by the Vagabond, so these lists share them between copies: any item moved
+    // to the Vagabond is copied first
+    protected SharedList<Item> craftableItems;
+    protected SharedList<Item> ruinItems;
+    protected SharedList<Item> startingItems;
 
     //region Cats state variables
     //Keep can be only placed once that is why the game state is only keeping track of whether the keep was destroyed
@@ -59,7 +63,7 @@ public class RootGameState extends AbstractGameState {
     //region Eyrie state variables
     protected int eyrieWarriors;
     protected List<Deck<RootCard>> eyrieDecree;
-    protected List<RootParameters.ClearingTypes> playedSuits;
+    protected SharedList<RootParameters.ClearingTypes> playedSuits;
     protected Deck<EyrieRulers> rulers;
     protected Deck<RootCard> viziers;
     protected EyrieRulers activeRuler;
@@ -89,8 +93,8 @@ public class RootGameState extends AbstractGameState {
     protected List<Item> teas;
     protected List<Item> coins;
     protected List<Item> bags;
-    protected HashMap<RootParameters.Factions, RootParameters.Relationship> relationships;
-    protected HashMap<RootParameters.Factions, Integer> aidNumbers;
+    protected SharedMap<RootParameters.Factions, RootParameters.Relationship> relationships;
+    protected SharedMap<RootParameters.Factions, Integer> aidNumbers;
     //endregion
 
     public enum RootGamePhase implements IGamePhase {
@@ -174,7 +178,7 @@ public class RootGameState extends AbstractGameState {
         RootGameState copy = new RootGameState(gameParameters, getNPlayers());
         copy.gameMap = gameMap.copy();
         copy.mapType = mapType;
-        copy.playerFactions = new ArrayList<>(playerFactions);
+        copy.playerFactions = playerFactions.copy();
         copy.discardPile = discardPile.copy();
         copy.playerScores = playerScores.clone();
         copy.playerVictoryConditions = playerVictoryConditions.clone();
@@ -184,12 +188,9 @@ public class RootGameState extends AbstractGameState {
         copy.setPlayerSubGamePhase(playerSubGamePhase);
         copy.setActionsPlayed(actionsPlayed);
         
-        copy.craftableItems = new ArrayList<>();
-        for (int i = 0; i < craftableItems.size(); i++) {
-            copy.craftableItems.add(craftableItems.get(i).copy());
-        }
-        copy.ruinItems = new ArrayList<>();
-        copy.startingItems = new ArrayList<>();
+        copy.craftableItems = craftableItems.copy();
+        copy.ruinItems = ruinItems.copy();
+        copy.startingItems = startingItems.copy();
 
         copy.playerDecks = new ArrayList<>();
         copy.playerCraftedCards = new ArrayList<>();
@@ -197,11 +198,8 @@ public class RootGameState extends AbstractGameState {
             copy.playerCraftedCards.add(playerCraftedCards.get(e).copy());
         }
         copy.craftedItems = new ArrayList<>();
-        for (int e = 0; e < craftedItems.size(); e++) {
-            copy.craftedItems.add(new ArrayList<>());
-            for (int i = 0; i < craftedItems.get(e).size(); i++) {
-                copy.craftedItems.get(e).add(craftedItems.get(e).get(i).copy());
-            }
+        for (SharedList<Item> items : craftedItems) {
+            copy.craftedItems.add(items.copy());
         }
         copy.CatWarriors = CatWarriors;
         copy.Keep = Keep;
@@ -217,8 +215,7 @@ public class RootGameState extends AbstractGameState {
             for (int j = 0; j < eyrieDecree.size(); j++) {
                 copy.eyrieDecree.add(eyrieDecree.get(j).copy());
             }
-            copy.playedSuits = new ArrayList<>();
-            copy.playedSuits.addAll(playedSuits);
+            copy.playedSuits = playedSuits.copy();
             copy.rulers = rulers.copy();
             copy.viziers = viziers.copy();
             if (activeRuler != null) {
@@ -238,12 +235,6 @@ public class RootGameState extends AbstractGameState {
         }
 
         if (getNPlayers() > 3) {
-            for (int i = 0; i < ruinItems.size(); i++) {
-                copy.ruinItems.add(ruinItems.get(i).copy());
-            }
-            for (int i = 0; i < startingItems.size(); i++) {
-                copy.startingItems.add(startingItems.get(i).copy());
-            }
             copy.questDrawPile = questDrawPile.copy();
             if (playerId != -1) {
                 copy.questDrawPile.shuffle(redeterminisationRnd);
@@ -271,20 +262,8 @@ public class RootGameState extends AbstractGameState {
             copy.rabbitQuests = rabbitQuests;
             copy.mouseQuests = mouseQuests;
 
-            copy.relationships = new HashMap<>() {
-                {
-                    put(RootParameters.Factions.MarquiseDeCat, relationships.get(RootParameters.Factions.MarquiseDeCat));
-                    put(RootParameters.Factions.EyrieDynasties, relationships.get(RootParameters.Factions.EyrieDynasties));
-                    put(RootParameters.Factions.WoodlandAlliance, relationships.get(RootParameters.Factions.WoodlandAlliance));
-                }
-            };
-            copy.aidNumbers = new HashMap<>() {
-                {
-                    put(RootParameters.Factions.MarquiseDeCat, aidNumbers.get(RootParameters.Factions.MarquiseDeCat));
-                    put(RootParameters.Factions.EyrieDynasties, aidNumbers.get(RootParameters.Factions.EyrieDynasties));
-                    put(RootParameters.Factions.WoodlandAlliance, aidNumbers.get(RootParameters.Factions.WoodlandAlliance));
-                }
-            };
+            copy.relationships = relationships.copy();
+            copy.aidNumbers = aidNumbers.copy();
         }
 
         if (playerId != -1 && getCoreGameParameters().partialObservable) {
@@ -818,7 +797,7 @@ public class RootGameState extends AbstractGameState {
             int randomIndex = getRnd().nextInt(ruinItems.size());
             Item item = ruinItems.get(randomIndex);
             ruinItems.remove(randomIndex);
-            return item;
+            return item.copy();
         }
         return null;
     }
@@ -24,18 +24,20 @@ public class TakeItem extends AbstractAction {
         if (currentState.getCurrentPlayer() == playerID && currentState.getPlayerFaction(playerID) == RootParameters.Factions.Vagabond){
             for (Item craftedItem: currentState.getPlayerCraftedItems(targetID)){
                 if (craftedItem.itemType.equals(item)){
+                    // crafted items are shared between copies of the state, and the Vagabond's ones are changed
+                    Item taken = craftedItem.copy();
                     switch (item){
                         case tea:
-                            currentState.getTeas().add(craftedItem);
+                            currentState.getTeas().add(taken);
                             break;
                         case coin:
-                            currentState.getCoins().add(craftedItem);
+                            currentState.getCoins().add(taken);
                             break;
                         case bag:
-                            currentState.getBags().add(craftedItem);
+                            currentState.getBags().add(taken);
                             break;
                         default:
-                            currentState.getSatchel().add(craftedItem);
+                            currentState.getSatchel().add(taken);
                             break;
                     }
                     currentState.getPlayerCraftedItems(targetID).remove(craftedItem);
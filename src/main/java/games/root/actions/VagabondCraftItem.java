@@ -32,18 +32,20 @@ public class VagabondCraftItem extends AbstractAction {
             if (itemType == card.getCraftableItem()) {
                 for (Item item: currentState.getCraftableItems()){
                     if (item.itemType == itemType){
+                        // craftable items are shared between copies of the state, and the Vagabond's ones are changed
+                        Item crafted = item.copy();
                         switch (itemType){
                             case bag:
-                                currentState.getBags().add(item);
+                                currentState.getBags().add(crafted);
                                 break;
                             case coin:
-                                currentState.getCoins().add(item);
+                                currentState.getCoins().add(crafted);
                                 break;
                             case tea:
-                                currentState.getTeas().add(item);
+                                currentState.getTeas().add(crafted);
                                 break;
                             default:
-                                currentState.getSatchel().add(item);
+                                currentState.getSatchel().add(crafted);
                                 break;
                         }
                         currentState.addGameScorePlayer(playerID, rp.itemCraftPoints.get(item.itemType));
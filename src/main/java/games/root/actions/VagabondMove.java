@@ -23,7 +23,7 @@ public class VagabondMove extends AbstractAction {
         if (currentState.getCurrentPlayer() == playerID && currentState.getPlayerFaction(playerID) == RootParameters.Factions.Vagabond){
             RootBoardNodeWithRootEdges currentNode = currentState.getGameMap().getVagabondClearing();
             RootBoardNodeWithRootEdges targetNode = currentState.getGameMap().getNodeByID(targetNodeID);
-            if (targetNode.getNeighbours().contains(currentNode) && targetNode.getClearingType() != RootParameters.ClearingTypes.Forrest){
+            if (targetNode.isNeighbour(currentNode) && targetNode.getClearingType() != RootParameters.ClearingTypes.Forrest){
                 for (Item item: currentState.getSatchel()){
                     if (item.itemType == Item.ItemType.boot && item.refreshed && !item.damaged){
                         item.refreshed = false;
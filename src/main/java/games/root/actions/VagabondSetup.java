@@ -32,15 +32,15 @@ public class VagabondSetup extends AbstractAction {
             for (int i = state.getStartingItems().size()-1; i >= 0; i--){
                 if(character.startsWith(state.getStartingItems().get(i).itemType)){
                     if(state.getStartingItems().get(i).itemType == Item.ItemType.bag){
-                        state.getBags().add(state.getStartingItems().get(i));
+                        state.getBags().add(state.getStartingItems().get(i).copy());
                     }
                     else if(state.getStartingItems().get(i).itemType == Item.ItemType.coin){
-                        state.getCoins().add(state.getStartingItems().get(i));
+                        state.getCoins().add(state.getStartingItems().get(i).copy());
                     }
                     else if(state.getStartingItems().get(i).itemType == Item.ItemType.tea){
-                        state.getTeas().add(state.getStartingItems().get(i));
+                        state.getTeas().add(state.getStartingItems().get(i).copy());
                     } else {
-                        state.getSatchel().add(state.getStartingItems().get(i));
+                        state.getSatchel().add(state.getStartingItems().get(i).copy());
                     }
                     state.getStartingItems().remove(i);
                 }
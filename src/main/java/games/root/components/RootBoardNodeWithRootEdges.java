@@ -9,7 +9,13 @@ import java.util.*;
 @SuppressWarnings("unused")
 public class RootBoardNodeWithRootEdges extends Component {
     public final String identifier;
-    protected final Map<RootEdge, RootBoardNodeWithRootEdges> neighbourRootEdgeMapping;  // Neighbours mapping to RootEdge object encapsulating RootEdge information, connecting this node to the one in the map key
+    // Neighbours mapping to RootEdge object encapsulating RootEdge information, connecting this node to the one in the
+    // map key. Only used while the map is set up: once on a board with a fixed topology (and in all copies), the
+    // neighbours are taken from the topology shared by all copies of the board instead, and this is null
+    protected Map<RootEdge, RootBoardNodeWithRootEdges> neighbourRootEdgeMapping;
+    // The board this node is on, and its index there, once the board's topology is fixed
+    RootGraphBoard board;
+    int index = -1;
     protected final boolean corner;
     protected int catWarriors = 0;
     protected int eyrieWarriors = 0;
@@ -61,6 +67,52 @@ public class RootBoardNodeWithRootEdges extends Component {
         this.identifier = identifier;
     }
 
+    // For copies on a board with a fixed topology, which need no neighbour mapping of their own
+    private RootBoardNodeWithRootEdges(RootBoardNodeWithRootEdges other, RootGraphBoard board) {
+        super(CoreConstants.ComponentType.BOARD_NODE, other.identifier, other.componentID);
+        this.ownerId = other.ownerId;
+        this.corner = other.corner;
+        this.identifier = other.identifier;
+        this.board = board;
+        this.index = other.index;
+        this.clearingType = other.clearingType;
+        this.x = other.x;
+        this.y = other.y;
+        this.maxBuildings = other.maxBuildings;
+        this.currentBuildings = other.currentBuildings;
+        this.rulerID = other.rulerID;
+        this.ruins = other.ruins;
+        this.recruiter = other.recruiter;
+        this.workshops = other.workshops;
+        this.sawmill = other.sawmill;
+        this.wood = other.wood;
+        this.catWarriors = other.catWarriors;
+        this.keep = other.keep;
+        this.roost = other.roost;
+        this.eyrieWarriors = other.eyrieWarriors;
+        this.base = other.base;
+        this.sympathy = other.sympathy;
+        this.woodlandWarriors = other.woodlandWarriors;
+        this.vagabond = other.vagabond;
+        other.copyComponentTo(this);
+    }
+
+    /**
+     * @return a copy of this node for the given copy of its board, which must have the same topology
+     */
+    RootBoardNodeWithRootEdges copyTo(RootGraphBoard board) {
+        return new RootBoardNodeWithRootEdges(this, board);
+    }
+
+    private boolean onFixedBoard() {
+        return board != null;
+    }
+
+    private void checkNotFixed() {
+        if (onFixedBoard())
+            throw new IllegalStateException("Paths cannot be changed once the topology of the board is fixed");
+    }
+
     public boolean getCorner() {
         return corner;
     }
@@ -75,6 +127,8 @@ public class RootBoardNodeWithRootEdges extends Component {
      * @param neighbour - new neighbour of this node.
      */
     public void addNeighbour(RootBoardNodeWithRootEdges neighbour, RootEdge RootEdge) {
+        checkNotFixed();
+        neighbour.checkNotFixed();
         neighbourRootEdgeMapping.put(RootEdge, neighbour);
         neighbour.neighbourRootEdgeMapping.put(RootEdge, this);
     }
@@ -85,6 +139,8 @@ public class RootBoardNodeWithRootEdges extends Component {
      * @param neighbour - neighbour to remove.
      */
     public void removeNeighbour(RootBoardNodeWithRootEdges neighbour, RootEdge RootEdge) {
+        checkNotFixed();
+        neighbour.checkNotFixed();
         neighbourRootEdgeMapping.remove(RootEdge);
         neighbour.neighbourRootEdgeMapping.remove(RootEdge);
     }
@@ -92,16 +148,42 @@ public class RootBoardNodeWithRootEdges extends Component {
     /**
      * @return the neighbours of this node.
      */
-    public Set<RootBoardNodeWithRootEdges> getNeighbours() {
-        return new HashSet<>(neighbourRootEdgeMapping.values());
+    public List<RootBoardNodeWithRootEdges> getNeighbours() {
+        if (!onFixedBoard())
+            return new ArrayList<>(new LinkedHashSet<>(neighbourRootEdgeMapping.values()));
+        int[] neighbours = board.getTopology().getNeighbours(index);
+        List<RootBoardNodeWithRootEdges> result = new ArrayList<>(neighbours.length);
+        for (int n : neighbours) {
+            result.add(board.getNode(n));
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the given node is a neighbour of this one
+     */
+    public boolean isNeighbour(RootBoardNodeWithRootEdges other) {
+        if (onFixedBoard() && other.board != null)
+            return board.getTopology().areNeighbours(index, other.index);
+        return getNeighbours().contains(other);
     }
 
     public Map<RootEdge, RootBoardNodeWithRootEdges> getNeighbourRootEdgeMapping() {
-        return neighbourRootEdgeMapping;
+        if (!onFixedBoard())
+            return neighbourRootEdgeMapping;
+        Map<RootEdge, RootBoardNodeWithRootEdges> mapping = new LinkedHashMap<>();
+        int[] neighbours = board.getTopology().getNeighbours(index);
+        RootEdge[] edges = board.getTopology().getEdges(index);
+        for (int k = 0; k < neighbours.length; k++) {
+            mapping.put(edges[k], board.getNode(neighbours[k]));
+        }
+        return mapping;
     }
 
     public Set<RootEdge> getRootEdges() {
-        return new HashSet<>(neighbourRootEdgeMapping.keySet());
+        if (!onFixedBoard())
+            return new HashSet<>(neighbourRootEdgeMapping.keySet());
+        return new LinkedHashSet<>(Arrays.asList(board.getTopology().getEdges(index)));
     }
 
     public void setMaxBuildings(int setTo) {
@@ -143,7 +225,8 @@ public class RootBoardNodeWithRootEdges extends Component {
                 vagabond == that.vagabond &&
                 ruins == that.ruins &&
                 Objects.equals(identifier, that.identifier);
-        return Objects.equals(neighbourRootEdgeMapping, that.neighbourRootEdgeMapping) && tmp;
+        // the same node (and so the same neighbours) on both boards
+        return componentID == that.componentID && tmp;
     }
 
     @Override
@@ -152,11 +235,11 @@ public class RootBoardNodeWithRootEdges extends Component {
     }
 
     public RootBoardNodeWithRootEdges getNeighbour(RootEdge RootEdge) {
-        return neighbourRootEdgeMapping.get(RootEdge);
+        return getNeighbourRootEdgeMapping().get(RootEdge);
     }
 
     public RootEdge getRootEdge(RootBoardNodeWithRootEdges neighbour) {
-        for (Map.Entry<RootEdge, RootBoardNodeWithRootEdges> e : neighbourRootEdgeMapping.entrySet()) {
+        for (Map.Entry<RootEdge, RootBoardNodeWithRootEdges> e : getNeighbourRootEdgeMapping().entrySet()) {
             if (e.getValue().equals(neighbour)) return e.getKey();
         }
         return null;
@@ -505,6 +588,12 @@ public class RootBoardNodeWithRootEdges extends Component {
     }
 
     public boolean hasSympatheticNeighbour(){
+        if (onFixedBoard()) {
+            for (int n : board.getTopology().getNeighbours(index)) {
+                if (board.getNode(n).sympathy) return true;
+            }
+            return false;
+        }
         for (RootBoardNodeWithRootEdges neighbour: getNeighbours()){
             if (neighbour.sympathy){
                 return true;
@@ -573,6 +662,12 @@ public class RootBoardNodeWithRootEdges extends Component {
 
     public boolean canMove(int playerID){
         if (rulerID == playerID){return true;}
+        if (onFixedBoard()) {
+            for (int n : board.getTopology().getNeighbours(index)) {
+                if (board.getNode(n).rulerID == playerID) return true;
+            }
+            return false;
+        }
         return getNeighbours().stream().anyMatch(node -> node.rulerID == playerID);
     }
 }
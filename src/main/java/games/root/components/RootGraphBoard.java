@@ -6,13 +6,16 @@ import core.interfaces.IComponentContainer;
 import games.root.RootParameters;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @SuppressWarnings("unused")
 public class RootGraphBoard extends Component implements IComponentContainer<RootBoardNodeWithRootEdges> {
 
-    // List of nodes in the board graph, mapping component ID to object reference
+    // List of nodes in the board graph, mapping component ID to object reference. Only used while the map is set up:
+    // once its topology is fixed (see getTopology()), the nodes are held in an array indexed as in the topology
     protected Map<Integer, RootBoardNodeWithRootEdges> boardNodes;
+    // Shared by all copies of this board
+    protected RootMapTopology topology;
+    protected RootBoardNodeWithRootEdges[] nodes;
 
     public RootGraphBoard(String name) {
         super(CoreConstants.ComponentType.BOARD, name);
@@ -35,97 +38,119 @@ public class RootGraphBoard extends Component implements IComponentContainer<Roo
     }
 
     /**
-     * Copy method, to be implemented by all subclasses.
+     * Copy method, to be implemented by all subclasses. The topology of the map is shared with the copy, so only the
+     * state of each node (warriors, buildings, tokens and ruler) is copied.
      *
      * @return - a new instance of this Board, deep copy.
      */
     @Override
     public RootGraphBoard copy() {
         RootGraphBoard b = new RootGraphBoard(componentName, componentID);
-        HashMap<Integer, RootBoardNodeWithRootEdges> nodeCopies = new HashMap<>();
-        HashMap<Integer, RootEdge> RootEdgeCopies = new HashMap<>();
-        // Copy board nodes
-        for (RootBoardNodeWithRootEdges bn : boardNodes.values()) {
-            RootBoardNodeWithRootEdges bnCopy = bn.copy();
-            if (bnCopy == null)
-                bnCopy = new RootBoardNodeWithRootEdges(bn.getOwnerId(), bn.getComponentID(), bn.corner, bn.identifier);
-            bn.copyComponentTo(bnCopy);
-            bnCopy.setXY(bn.getX(), bn.getY());
-            bnCopy.setClearingType(bn.getClearingType());
-            bnCopy.maxBuildings = bn.maxBuildings;
-            bnCopy.currentBuildings = bn.currentBuildings;
-            bnCopy.rulerID = bn.rulerID;
-            bnCopy.ruins = bn.ruins;
-
-            //cat
-            bnCopy.recruiter = bn.recruiter;
-            bnCopy.workshops = bn.workshops;
-            bnCopy.sawmill = bn.sawmill;
-            bnCopy.wood = bn.wood;
-            bnCopy.catWarriors = bn.catWarriors;
-            bnCopy.keep = bn.keep;
-
-            bnCopy.roost = bn.roost;
-            bnCopy.eyrieWarriors = bn.eyrieWarriors;
-
-            bnCopy.base = bn.base;
-            bnCopy.sympathy = bn.sympathy;
-            bnCopy.woodlandWarriors = bn.woodlandWarriors;
-
-            bnCopy.vagabond = bn.vagabond;
-            nodeCopies.put(bn.getComponentID(), bnCopy);
-
-            // Copy RootEdges
-            for (RootEdge e : bn.neighbourRootEdgeMapping.keySet()) {
-                RootEdgeCopies.put(e.getComponentID(), e.copy());
-            }
-        }
-        // Assign neighbours and RootEdges
-        for (RootBoardNodeWithRootEdges bn : boardNodes.values()) {
-            RootBoardNodeWithRootEdges bnCopy = nodeCopies.get(bn.getComponentID());
-            for (Map.Entry<RootEdge, RootBoardNodeWithRootEdges> e : bn.neighbourRootEdgeMapping.entrySet()) {
-                bnCopy.addNeighbour(nodeCopies.get(e.getValue().getComponentID()), RootEdgeCopies.get(e.getKey().getComponentID()));
-            }
+        RootBoardNodeWithRootEdges[] nodes = nodes();
+        b.boardNodes = null;
+        b.topology = topology;
+        b.nodes = new RootBoardNodeWithRootEdges[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            b.nodes[i] = nodes[i].copyTo(b);
         }
 
-        // Assign new neighbours
-        b.setBoardNodes(nodeCopies);
-
         // Copy properties
         copyComponentTo(b);
         return b;
     }
 
+    /**
+     * Fixes the nodes and paths of this map, if not done already: after this they can no longer be changed, and
+     * all copies of the board share the same topology.
+     *
+     * @return the topology of this map
+     */
+    public RootMapTopology getTopology() {
+        if (topology == null) {
+            List<RootBoardNodeWithRootEdges> nodeList = new ArrayList<>(boardNodes.values());
+            topology = new RootMapTopology(nodeList);
+            nodes = nodeList.toArray(new RootBoardNodeWithRootEdges[0]);
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i].board = this;
+                nodes[i].index = i;
+                nodes[i].neighbourRootEdgeMapping = null;
+            }
+            boardNodes = null;
+        }
+        return topology;
+    }
+
+    private RootBoardNodeWithRootEdges[] nodes() {
+        getTopology();
+        return nodes;
+    }
+
+    /**
+     * @return the node with the given index in the topology of this map
+     */
+    public RootBoardNodeWithRootEdges getNode(int index) {
+        return nodes()[index];
+    }
+
+    private List<RootBoardNodeWithRootEdges> nodesAt(int[] indices) {
+        RootBoardNodeWithRootEdges[] nodes = nodes();
+        List<RootBoardNodeWithRootEdges> result = new ArrayList<>(indices.length);
+        for (int i : indices) {
+            result.add(nodes[i]);
+        }
+        return result;
+    }
+
+    private void checkNotFixed() {
+        if (topology != null)
+            throw new IllegalStateException("Nodes and paths cannot be changed once the topology of the board is fixed");
+    }
+
     /**
      * @return the list of board nodes
      */
     public Collection<RootBoardNodeWithRootEdges> getBoardNodes() {
-        return boardNodes.values();
+        return Collections.unmodifiableList(Arrays.asList(nodes()));
     }
 
     public Collection<RootBoardNodeWithRootEdges> getNonForrestBoardNodes() {
-        return boardNodes.values().stream()
-                .filter(node -> !node.getClearingType().equals(RootParameters.ClearingTypes.Forrest))
-                .collect(Collectors.toList());
+        return nodesAt(getTopology().getNonForest());
     }
 
     public Collection<RootBoardNodeWithRootEdges> getNonSympathyNodesAdjacentToSympathy(){
-        return boardNodes.values().stream().filter(node -> (!node.sympathy && !node.getClearingType().equals(RootParameters.ClearingTypes.Forrest) && node.hasSympatheticNeighbour())).collect(Collectors.toList());
+        List<RootBoardNodeWithRootEdges> result = new ArrayList<>();
+        for (int i : getTopology().getNonForest()) {
+            RootBoardNodeWithRootEdges node = nodes[i];
+            if (!node.sympathy && node.hasSympatheticNeighbour()) result.add(node);
+        }
+        return result;
     }
 
     public Collection<RootBoardNodeWithRootEdges> getBaseNodes(){
-        return boardNodes.values().stream().filter(node -> node.base).collect(Collectors.toList());
+        List<RootBoardNodeWithRootEdges> result = new ArrayList<>();
+        for (RootBoardNodeWithRootEdges node : nodes()) {
+            if (node.base) result.add(node);
+        }
+        return result;
     }
     public Collection<RootBoardNodeWithRootEdges> getSympatheticClearings() {
-        return boardNodes.values().stream().filter(RootBoardNodeWithRootEdges::getSympathy).collect(Collectors.toList());
+        List<RootBoardNodeWithRootEdges> result = new ArrayList<>();
+        for (RootBoardNodeWithRootEdges node : nodes()) {
+            if (node.sympathy) result.add(node);
+        }
+        return result;
     }
 
     public int getSympatheticClearingsOfTypeCount(RootParameters.ClearingTypes clearingType){
-        return boardNodes.values().stream().filter(node -> node.getSympathy() && node.getClearingType() == clearingType).toList().size();
+        int count = 0;
+        for (int i : getTopology().getNodesOfType(clearingType)) {
+            if (nodes[i].sympathy) count++;
+        }
+        return count;
     }
 
     public RootBoardNodeWithRootEdges getVagabondClearing(){
-        for (RootBoardNodeWithRootEdges node: boardNodes.values()){
+        for (RootBoardNodeWithRootEdges node: nodes()){
             if (node.vagabond == 1){
                 return node;
             }
@@ -133,7 +158,7 @@ public class RootGraphBoard extends Component implements IComponentContainer<Roo
         return null;
     }
     public RootBoardNodeWithRootEdges getKeepNode() {
-        for (RootBoardNodeWithRootEdges node : boardNodes.values()) {
+        for (RootBoardNodeWithRootEdges node : nodes()) {
             if (node.getKeep()) {
                 return node;
             }
@@ -151,7 +176,9 @@ public class RootGraphBoard extends Component implements IComponentContainer<Roo
      * @return - node matching ID.
      */
     public RootBoardNodeWithRootEdges getNodeByID(int id) {
-        return boardNodes.get(id);
+        if (topology == null) return boardNodes.get(id);
+        int idx = topology.indexOf(id);
+        return idx == -1 ? null : nodes[idx];
     }
 
     /**
@@ -160,24 +187,29 @@ public class RootGraphBoard extends Component implements IComponentContainer<Roo
      * @param boardNodes - new list of board nodes.
      */
     public void setBoardNodes(List<RootBoardNodeWithRootEdges> boardNodes) {
+        checkNotFixed();
         for (RootBoardNodeWithRootEdges bn : boardNodes) {
             this.boardNodes.put(bn.getComponentID(), bn);
         }
     }
 
     public void setBoardNodes(Map<Integer, RootBoardNodeWithRootEdges> boardNodes) {
+        checkNotFixed();
         this.boardNodes = boardNodes;
     }
 
     public void addBoardNode(RootBoardNodeWithRootEdges bn) {
+        checkNotFixed();
         this.boardNodes.put(bn.getComponentID(), bn);
     }
 
     public void removeBoardNode(RootBoardNodeWithRootEdges bn) {
+        checkNotFixed();
         this.boardNodes.remove(bn.getComponentID());
     }
 
     public void breakConnection(RootBoardNodeWithRootEdges bn1, RootBoardNodeWithRootEdges bn2, RootEdge RootEdge) {
+        checkNotFixed();
         bn1.removeNeighbour(bn2, RootEdge);
         bn2.removeNeighbour(bn1, RootEdge);
 
@@ -208,6 +240,7 @@ public class RootGraphBoard extends Component implements IComponentContainer<Roo
     }
 
     public void addConnection(int bn1id, int bn2id) {
+        checkNotFixed();
         RootBoardNodeWithRootEdges bn1 = boardNodes.get(bn1id);
         RootBoardNodeWithRootEdges bn2 = boardNodes.get(bn2id);
         RootEdge RootEdge = new RootEdge();
@@ -215,6 +248,7 @@ public class RootGraphBoard extends Component implements IComponentContainer<Roo
     }
 
     public void addConnection(RootBoardNodeWithRootEdges bn1, RootBoardNodeWithRootEdges bn2, RootEdge RootEdge) {
+        checkNotFixed();
         bn1.addNeighbour(bn2, RootEdge);
         bn2.addNeighbour(bn1, RootEdge);
     }
@@ -225,17 +259,17 @@ public class RootGraphBoard extends Component implements IComponentContainer<Roo
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         RootGraphBoard that = (RootGraphBoard) o;
-        return Objects.equals(boardNodes, that.boardNodes);
+        return Arrays.equals(nodes(), that.nodes());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), boardNodes);
+        return Objects.hash(super.hashCode(), Arrays.hashCode(nodes()));
     }
 
     @Override
     public List<RootBoardNodeWithRootEdges> getComponents() {
-        return new ArrayList<>(getBoardNodes());
+        return new ArrayList<>(Arrays.asList(nodes()));
     }
 
     @Override
@@ -245,7 +279,7 @@ public class RootGraphBoard extends Component implements IComponentContainer<Roo
 
     public int getNumberRoosts() {
         int amount = 0;
-        for (RootBoardNodeWithRootEdges node : boardNodes.values()) {
+        for (RootBoardNodeWithRootEdges node : nodes()) {
             amount += node.roost;
         }
         return amount;
@@ -254,7 +288,7 @@ public class RootGraphBoard extends Component implements IComponentContainer<Roo
     public RootBoardNodeWithRootEdges getFewestWarriorsNode() {
         int amount = Integer.MAX_VALUE;
         RootBoardNodeWithRootEdges tmp = null;
-        for (RootBoardNodeWithRootEdges node : boardNodes.values()) {
+        for (RootBoardNodeWithRootEdges node : nodes()) {
             int nodeAmount = node.catWarriors + node.eyrieWarriors + node.woodlandWarriors + node.vagabond;
             if (nodeAmount < amount && node.getClearingType() != RootParameters.ClearingTypes.Forrest && node.hasBuildingRoom() && !node.keep && node.hasBuildingRoom()) {
                 tmp = node;
@@ -266,21 +300,29 @@ public class RootGraphBoard extends Component implements IComponentContainer<Roo
 
     public List<RootBoardNodeWithRootEdges> getNodesOfType(RootParameters.ClearingTypes type) {
         if(type == RootParameters.ClearingTypes.Bird){
-            return boardNodes.values().stream().filter(node-> node.getClearingType()!= RootParameters.ClearingTypes.Forrest).collect(Collectors.toList());
+            return nodesAt(getTopology().getNonForest());
         }
-        return boardNodes.values().stream().filter(node -> node.getClearingType() == type).collect(Collectors.toList());
+        return nodesAt(getTopology().getNodesOfType(type));
     }
 
     public List<RootBoardNodeWithRootEdges> getRecruiters() {
-        return boardNodes.values().stream().filter(node -> node.recruiter > 0).collect(Collectors.toList());
+        List<RootBoardNodeWithRootEdges> result = new ArrayList<>();
+        for (RootBoardNodeWithRootEdges node : nodes()) {
+            if (node.recruiter > 0) result.add(node);
+        }
+        return result;
     }
 
     public List<RootBoardNodeWithRootEdges> getSawmills(){
-        return boardNodes.values().stream().filter(node -> node.sawmill > 0).collect(Collectors.toList());
+        List<RootBoardNodeWithRootEdges> result = new ArrayList<>();
+        for (RootBoardNodeWithRootEdges node : nodes()) {
+            if (node.sawmill > 0) result.add(node);
+        }
+        return result;
     }
 
     public void updateRulers(){
-        for (RootBoardNodeWithRootEdges node: boardNodes.values()){
+        for (RootBoardNodeWithRootEdges node: nodes()){
             node.updateOwner();
         }
     }
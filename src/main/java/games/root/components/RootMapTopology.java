@@ -0,0 +1,120 @@
+package games.root.components;
+
+import games.root.RootParameters;
+
+import java.util.*;
+
+/**
+ * The fixed part of a Root map: which clearings and forests there are, and the paths between them. This never changes
+ * once the map is set up, so is built once per game and shared by reference between all copies of the RootGraphBoard.
+ * <p>
+ * Nodes are referred to by their index (0 to size-1), which is also their position in RootGraphBoard's array of
+ * nodes; adjacency is held as arrays of neighbour indices.
+ */
+public final class RootMapTopology {
+
+    private final int[] componentIDs;
+    private final Map<Integer, Integer> indexOfID;
+    private final RootParameters.ClearingTypes[] clearingTypes;
+    // neighbours[i][k] is connected to i by the path edges[i][k]
+    private final int[][] neighbours;
+    private final RootEdge[][] edges;
+    private final int[] nonForest;
+    private final Map<RootParameters.ClearingTypes, int[]> byClearingType;
+
+    /**
+     * @param nodes - the nodes of the map, in the order they are to be indexed, with all their neighbours set.
+     */
+    RootMapTopology(List<RootBoardNodeWithRootEdges> nodes) {
+        int n = nodes.size();
+        componentIDs = new int[n];
+        indexOfID = new HashMap<>();
+        clearingTypes = new RootParameters.ClearingTypes[n];
+        for (int i = 0; i < n; i++) {
+            componentIDs[i] = nodes.get(i).getComponentID();
+            indexOfID.put(componentIDs[i], i);
+            clearingTypes[i] = nodes.get(i).getClearingType();
+        }
+        neighbours = new int[n][];
+        edges = new RootEdge[n][];
+        for (int i = 0; i < n; i++) {
+            Map<RootEdge, RootBoardNodeWithRootEdges> mapping = nodes.get(i).neighbourRootEdgeMapping;
+            neighbours[i] = new int[mapping.size()];
+            edges[i] = new RootEdge[mapping.size()];
+            int k = 0;
+            for (Map.Entry<RootEdge, RootBoardNodeWithRootEdges> e : mapping.entrySet()) {
+                Integer idx = indexOfID.get(e.getValue().getComponentID());
+                if (idx == null)
+                    throw new IllegalArgumentException("Node " + nodes.get(i).identifier + " has a neighbour not on the board");
+                neighbours[i][k] = idx;
+                edges[i][k] = e.getKey();
+                k++;
+            }
+        }
+        List<Integer> nonForestList = new ArrayList<>();
+        Map<RootParameters.ClearingTypes, List<Integer>> typeLists = new EnumMap<>(RootParameters.ClearingTypes.class);
+        for (int i = 0; i < n; i++) {
+            if (clearingTypes[i] != RootParameters.ClearingTypes.Forrest) nonForestList.add(i);
+            if (clearingTypes[i] != null)
+                typeLists.computeIfAbsent(clearingTypes[i], t -> new ArrayList<>()).add(i);
+        }
+        nonForest = nonForestList.stream().mapToInt(Integer::intValue).toArray();
+        byClearingType = new EnumMap<>(RootParameters.ClearingTypes.class);
+        for (RootParameters.ClearingTypes type : RootParameters.ClearingTypes.values())
+            byClearingType.put(type, typeLists.getOrDefault(type, Collections.emptyList()).stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public int size() {
+        return componentIDs.length;
+    }
+
+    /**
+     * @return the index of the node with the given component ID, or -1 if it is not on this map
+     */
+    public int indexOf(int componentID) {
+        Integer idx = indexOfID.get(componentID);
+        return idx == null ? -1 : idx;
+    }
+
+    public int getComponentID(int index) {
+        return componentIDs[index];
+    }
+
+    public RootParameters.ClearingTypes getClearingType(int index) {
+        return clearingTypes[index];
+    }
+
+    /**
+     * @return indices of the neighbours of the given node (not to be modified)
+     */
+    public int[] getNeighbours(int index) {
+        return neighbours[index];
+    }
+
+    /**
+     * @return the paths from the given node, in the same order as getNeighbours() (not to be modified)
+     */
+    public RootEdge[] getEdges(int index) {
+        return edges[index];
+    }
+
+    public boolean areNeighbours(int index, int other) {
+        for (int n : neighbours[index])
+            if (n == other) return true;
+        return false;
+    }
+
+    /**
+     * @return indices of all nodes that are not forests (not to be modified)
+     */
+    public int[] getNonForest() {
+        return nonForest;
+    }
+
+    /**
+     * @return indices of all nodes of the given clearing type (not to be modified)
+     */
+    public int[] getNodesOfType(RootParameters.ClearingTypes type) {
+        return byClearingType.get(type);
+    }
+}
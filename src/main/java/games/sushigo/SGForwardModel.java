@@ -4,6 +4,7 @@ import core.AbstractGameState;
 import core.CoreConstants;
 import core.StandardForwardModel;
 import core.actions.AbstractAction;
+import core.components.CardMultiset;
 import core.components.Counter;
 import core.components.Deck;
 import core.interfaces.ITreeActionSpace;
@@ -33,8 +34,8 @@ public class SGForwardModel extends StandardForwardModel implements ITreeActionS
         gs.playedCards = new ArrayList<>();
 
         // Setup draw & discard piles
-        gs.drawPile = new Deck<>("Draw pile", CoreConstants.VisibilityMode.HIDDEN_TO_ALL);
-        gs.discardPile = new Deck<>("Discard pile", CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
+        gs.drawPile = new CardMultiset("Draw pile", SGCard.nKinds());
+        gs.discardPile = new CardMultiset("Discard pile", SGCard.nKinds());
         setupDrawPile(gs);
 
         // Setup player-specific variables
@@ -56,7 +57,7 @@ public class SGForwardModel extends StandardForwardModel implements ITreeActionS
 
             // Draw initial hand of cards
             for (int j = 0; j < gs.nCardsInHand; j++) {
-                gs.playerHands.get(i).add(gs.drawPile.draw());
+                gs.playerHands.get(i).add(SGCard.ofKind(gs.drawPile.draw(gs.getRnd())));
             }
         }
 
@@ -67,17 +68,14 @@ public class SGForwardModel extends StandardForwardModel implements ITreeActionS
     /**
      * Adds to the draw pile all the cards in the game. How many of each type are added depends on game parameters.
      * Maki cards are special, those can have multiple Maki icons on them (1-3). Hardcoded and ugly, but no easy way around it.
+     * The draw pile only counts the cards of each kind, and cards are drawn from it at random, so it needs no shuffle.
      * @param gs - game state to add cards to
      */
     private void setupDrawPile(SGGameState gs) {
         SGParameters parameters = (SGParameters) gs.getGameParameters();
         for (Pair<SGCard.SGCardType, Integer> p: parameters.nCardsPerType.keySet()) {
-            int count = parameters.nCardsPerType.get(p);
-            for (int i = 0; i < count; i++) {
-                gs.drawPile.add(new SGCard(p.a, p.b));
-            }
+            gs.drawPile.add(new SGCard(p.a, p.b).kind(), parameters.nCardsPerType.get(p));
         }
-        gs.drawPile.shuffle(gs.getRnd());
     }
 
     @Override
@@ -149,7 +147,7 @@ public class SGForwardModel extends StandardForwardModel implements ITreeActionS
             cardsToKeep.clear();
             for (SGCard card : gs.playedCards.get(i).getComponents()) {
                 if (card.type.isDiscardedBetweenRounds()) {
-                    gs.discardPile.add(card);
+                    gs.discardPile.add(card.kind());
                     gs.playedCardTypes[i].get(card.type).setValue(0);
                 } else {
                     cardsToKeep.add(card);
@@ -165,13 +163,12 @@ public class SGForwardModel extends StandardForwardModel implements ITreeActionS
         for (int i = 0; i < gs.getNPlayers(); i++){
             for (int j = 0; j < gs.nCardsInHand; j++)
             {
-                if (gs.drawPile.getSize() == 0) {
+                if (gs.drawPile.isEmpty()) {
                     // Reshuffle discard into draw pile
-                    gs.drawPile.add(gs.discardPile);
+                    gs.drawPile.addAll(gs.discardPile);
                     gs.discardPile.clear();
-                    gs.drawPile.shuffle(gs.getRnd());
                 }
-                gs.playerHands.get(i).add(gs.drawPile.draw());
+                gs.playerHands.get(i).add(SGCard.ofKind(gs.drawPile.draw(gs.getRnd())));
             }
             gs.deckRotations = 0;
         }
@@ -12,8 +12,8 @@ import java.util.*;
 @SuppressWarnings("unchecked")
 public class SGGameState extends AbstractGameState {
     List<Deck<SGCard>> playerHands;
-    Deck<SGCard> drawPile;
-    Deck<SGCard> discardPile;
+    CardMultiset drawPile;  // of SGCard kinds
+    CardMultiset discardPile;
     int nCardsInHand = 0;
 
     List<List<ChooseCard>> cardChoices;  // one list per player, per turn, indicates the actions chosen by the player, saved for simultaneous execution
@@ -102,15 +102,16 @@ public class SGGameState extends AbstractGameState {
             }
         } else {
             // Now we need to redeterminise
-            // We need to shuffle the hands of other players with the draw deck and then redraw
+            // We need to mix the hands of other players with the draw deck and then redraw
 
             // Add player hands unseen back to the draw pile
             for (int p = 0; p < copy.playerHands.size(); p++) {
                 if (!isHandKnown(playerId, p)) {
-                    copy.drawPile.add(playerHands.get(p));
+                    for (SGCard card : playerHands.get(p).getComponents()) {
+                        copy.drawPile.add(card.kind());
+                    }
                 }
             }
-            copy.drawPile.shuffle(redeterminisationRnd);
 
             // Now we draw into the unknown player hands
             for (int p = 0; p < copy.playerHands.size(); p++) {
@@ -119,7 +120,7 @@ public class SGGameState extends AbstractGameState {
                     int handSize = hand.getSize();
                     hand.clear();
                     for (int i = 0; i < handSize; i++) {
-                        hand.add(copy.drawPile.draw());
+                        hand.add(SGCard.ofKind(copy.drawPile.draw(redeterminisationRnd)));
                     }
                 }
             }
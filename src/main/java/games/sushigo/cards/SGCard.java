@@ -6,6 +6,7 @@ import evaluation.metrics.Event;
 import games.sushigo.SGGameState;
 import games.sushigo.SGParameters;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.function.BiConsumer;
@@ -222,6 +223,33 @@ public class SGCard extends Card {
     public final SGCardType type;
     public final int count;  // Number of tokens of this type on the card. 1 by default, could be 1, 2, 3 for Makis
 
+    // Cards with the same type and count are interchangeable, so the draw and discard piles (CardMultisets) just count
+    // each kind of card. A card with a count of 1 has the ordinal of its type as its kind, and the other counts (for
+    // Maki) are numbered after those.
+    private static final SGCardType[] kindTypes;
+    private static final int[] kindCounts;
+    private static final int[][] kinds;  // by type ordinal, then count
+
+    static {
+        SGCardType[] types = SGCardType.values();
+        int nKinds = 0;
+        for (SGCardType t : types)
+            nKinds += t.iconCountVariation.length;
+        kindTypes = new SGCardType[nKinds];
+        kindCounts = new int[nKinds];
+        kinds = new int[types.length][];
+        int next = types.length;
+        for (SGCardType t : types) {
+            kinds[t.ordinal()] = new int[Arrays.stream(t.iconCountVariation).max().orElse(1) + 1];
+            for (int c : t.iconCountVariation) {
+                int kind = c == t.iconCountVariation[0] ? t.ordinal() : next++;
+                kinds[t.ordinal()][c] = kind;
+                kindTypes[kind] = t;
+                kindCounts[kind] = c;
+            }
+        }
+    }
+
     public SGCard(SGCardType type) {
         super(type.toString());
         this.type = type;
@@ -234,6 +262,27 @@ public class SGCard extends Card {
         this.count = count;
     }
 
+    /**
+     * @return the number of different kinds of card (types, and counts for those with more than one)
+     */
+    public static int nKinds() {
+        return kindTypes.length;
+    }
+
+    /**
+     * @return the kind of this card, as counted in a CardMultiset
+     */
+    public int kind() {
+        return kinds[type.ordinal()][count];
+    }
+
+    /**
+     * @return a new card of the given kind
+     */
+    public static SGCard ofKind(int kind) {
+        return new SGCard(kindTypes[kind], kindCounts[kind]);
+    }
+
     @Override
     public Card copy() {
         return this; // immutable
@@ -4,6 +4,8 @@ import core.AbstractGameState;
 import core.CoreConstants;
 import core.StandardForwardModelWithTurnOrder;
 import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import core.actions.LazyActionList;
 import core.components.Counter;
 import core.components.Deck;
 import core.components.GridBoard;
@@ -13,6 +15,7 @@ import games.terraformingmars.components.Milestone;
 import games.terraformingmars.components.TMCard;
 import games.terraformingmars.components.TMMapTile;
 import games.terraformingmars.rules.requirements.TagOnCardRequirement;
+import utilities.SharedMap;
 import utilities.Vector2D;
 
 import java.util.*;
@@ -33,13 +36,13 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
         gs.playerResources = new HashMap[gs.getNPlayers()];
         gs.playerProduction = new HashMap[gs.getNPlayers()];
         gs.playerResourceMap = new HashSet[gs.getNPlayers()];
-        gs.playerDiscountEffects = new HashMap[gs.getNPlayers()];
-        gs.playerResourceIncreaseGen = new HashMap[gs.getNPlayers()];
+        gs.playerDiscountEffects = new SharedMap[gs.getNPlayers()];
+        gs.playerResourceIncreaseGen = new SharedMap[gs.getNPlayers()];
 
         for (int i = 0; i < gs.getNPlayers(); i++) {
             gs.playerResources[i] = new HashMap<>();
             gs.playerProduction[i] = new HashMap<>();
-            gs.playerResourceIncreaseGen[i] = new HashMap<>();
+            gs.playerResourceIncreaseGen[i] = new SharedMap<>();
             for (TMTypes.Resource res : TMTypes.Resource.values()) {
                 int startingRes = params.startingResources.get(res);
                 if (res == TR && gs.getNPlayers() == 1) {
@@ -60,7 +63,7 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
             gs.playerResourceMap[i].add(new TMGameState.ResourceMapping(TMTypes.Resource.Titanium, TMTypes.Resource.MegaCredit, params.nTitaniumMC, new TagOnCardRequirement(new TMTypes.Tag[]{TMTypes.Tag.Space})));
 
             // Set up player discount maps
-            gs.playerDiscountEffects[i] = new HashMap<>();
+            gs.playerDiscountEffects[i] = new SharedMap<>();
         }
 
         gs.projectCards = new Deck<>("Projects", CoreConstants.VisibilityMode.HIDDEN_TO_ALL);
@@ -336,26 +339,24 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
         // play a card (if valid), standard projects, claim milestone, fund award, card actions, 8 plants -> greenery, 8 heat -> temperature, pass
         // event cards are face-down after played, tags don't apply!
-        ArrayList<AbstractAction> actions = new ArrayList<>();
+        return _lazyAvailableActions(gameState, ActionSpace.Default).toList();
+    }
+
+    /**
+     * All possible actions are cheap to list, but checking whether each can be played is not; so the check
+     * (and wrapping in PayForAction) is only done for those actions that are actually looked at.
+     */
+    @Override
+    protected LazyActionList _lazyAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
         TMGameState gs = (TMGameState) gameState;
-        TMGameParameters params = (TMGameParameters) gs.getGameParameters();
         int player = gs.getCurrentPlayer();
 
-        List<AbstractAction> possibleActions = getAllActions(gs);
-
         // Wrap actions that can actually be played and must be paid for
-        for (AbstractAction aa : possibleActions) {
+        return new LazyActionList().addAll(getAllActions(gs)).withFilter(aa -> {
             TMAction a = (TMAction) aa;
-            if (a != null && a.canBePlayed(gs)) {
-                if (a.getCost() != 0) {
-                    actions.add(new PayForAction(player, a));
-                } else {
-                    actions.add(a);
-                }
-            }
-        }
-
-        return actions;
+            if (!a.canBePlayed(gs)) return null;
+            return a.getCost() != 0 ? new PayForAction(player, a) : a;
+        });
     }
 
     /**
@@ -16,6 +16,7 @@ import games.terraformingmars.rules.requirements.ActionTypeRequirement;
 import games.terraformingmars.rules.requirements.Requirement;
 import games.terraformingmars.rules.requirements.TagsPlayedRequirement;
 import utilities.Pair;
+import utilities.SharedMap;
 import utilities.Utils;
 import utilities.Vector2D;
 
@@ -43,12 +44,12 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     // Effects and actions played
     HashSet<TMAction>[] playerExtraActions;
     HashSet<ResourceMapping>[] playerResourceMap;  // Effects for turning one resource into another
-    HashMap<Requirement, Integer>[] playerDiscountEffects;
+    SharedMap<Requirement, Integer>[] playerDiscountEffects;  // Keys are never changed, so shared between copies
     HashSet<Effect>[] playerPersistingEffects;
 
     // Player-specific counters
     HashMap<TMTypes.Resource, Counter>[] playerResources;
-    HashMap<TMTypes.Resource, Boolean>[] playerResourceIncreaseGen;  // True if this resource was increased this gen
+    SharedMap<TMTypes.Resource, Boolean>[] playerResourceIncreaseGen;  // True if this resource was increased this gen
     HashMap<TMTypes.Resource, Counter>[] playerProduction;
     HashMap<TMTypes.Tag, Counter>[] playerCardsPlayedTags;
     HashMap<TMTypes.CardType, Counter>[] playerCardsPlayedTypes;
@@ -165,9 +166,9 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         copy.playerExtraActions = new HashSet[getNPlayers()];
         copy.playerResourceMap = new HashSet[getNPlayers()];
         copy.playerPersistingEffects = new HashSet[getNPlayers()];
-        copy.playerDiscountEffects = new HashMap[getNPlayers()];
+        copy.playerDiscountEffects = new SharedMap[getNPlayers()];
         copy.playerResources = new HashMap[getNPlayers()];
-        copy.playerResourceIncreaseGen = new HashMap[getNPlayers()];
+        copy.playerResourceIncreaseGen = new SharedMap[getNPlayers()];
         copy.playerProduction = new HashMap[getNPlayers()];
         copy.playerCardsPlayedTags = new HashMap[getNPlayers()];
         copy.playerCardsPlayedTypes = new HashMap[getNPlayers()];
@@ -180,9 +181,9 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
             copy.playerExtraActions[i] = new HashSet<>();
             copy.playerResourceMap[i] = new HashSet<>();
             copy.playerPersistingEffects[i] = new HashSet<>();
-            copy.playerDiscountEffects[i] = new HashMap<>();
+            copy.playerDiscountEffects[i] = playerDiscountEffects[i].copy();
             copy.playerResources[i] = new HashMap<>();
-            copy.playerResourceIncreaseGen[i] = new HashMap<>();
+            copy.playerResourceIncreaseGen[i] = playerResourceIncreaseGen[i].copy();
             copy.playerProduction[i] = new HashMap<>();
             copy.playerCardsPlayedTags[i] = new HashMap<>();
             copy.playerCardsPlayedTypes[i] = new HashMap<>();
@@ -199,15 +200,11 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
             for (ResourceMapping rm : playerResourceMap[i]) {
                 copy.playerResourceMap[i].add(rm.copy());
             }
-            for (Requirement r : playerDiscountEffects[i].keySet()) {
-                copy.playerDiscountEffects[i].put(r.copy(), playerDiscountEffects[i].get(r));
-            }
             for (Effect e : playerPersistingEffects[i]) {
                 copy.playerPersistingEffects[i].add(e.copy());
             }
             for (TMTypes.Resource r : playerResources[i].keySet()) {
                 copy.playerResources[i].put(r, playerResources[i].get(r).copy());
-                copy.playerResourceIncreaseGen[i].put(r, playerResourceIncreaseGen[i].get(r));
             }
             for (TMTypes.Resource r : playerProduction[i].keySet()) {
                 copy.playerProduction[i].put(r, playerProduction[i].get(r).copy());
@@ -506,7 +503,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return generation;
     }
 
-    public HashMap<TMTypes.Resource, Boolean>[] getPlayerResourceIncreaseGen() {
+    public SharedMap<TMTypes.Resource, Boolean>[] getPlayerResourceIncreaseGen() {
         return playerResourceIncreaseGen;
     }
 
@@ -514,7 +511,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return playerPersistingEffects;
     }
 
-    public HashMap<Requirement, Integer>[] getPlayerDiscountEffects() {
+    public SharedMap<Requirement, Integer>[] getPlayerDiscountEffects() {
         return playerDiscountEffects;
     }
 
@@ -681,7 +681,10 @@ public class TMCard extends Card {
         copy.nResourcesOnCard = nResourcesOnCard;
         copy.canResourcesBeRemoved = canResourcesBeRemoved;
         copyComponentTo(copy);
-        if (properties.size() == 0) copy.properties = null;
+        if (getNumProperties() == 0) {
+            copy.propertyLayout = null;
+            copy.propertyValues = null;
+        }
         return copy;
     }
 }
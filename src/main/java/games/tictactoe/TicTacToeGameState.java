@@ -7,6 +7,7 @@ import core.components.Component;
 import core.components.GridBoard;
 import core.interfaces.IGridGameState;
 import core.interfaces.IPrintable;
+import core.interfaces.IZobristHashable;
 import games.GameType;
 
 import java.util.ArrayList;
@@ -14,7 +15,7 @@ import java.util.List;
 import java.util.Objects;
 
 
-public class TicTacToeGameState extends AbstractGameState implements IPrintable, IGridGameState {
+public class TicTacToeGameState extends AbstractGameState implements IPrintable, IGridGameState, IZobristHashable {
 
     GridBoard gridBoard;
 
@@ -86,6 +87,11 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
                 Objects.hash(gridBoard);
     }
 
+    @Override
+    public long getZobristHash() {
+        return coreZobristHash() ^ gridBoard.getZobristHash();
+    }
+
     @Override
     public GridBoard getGridBoard() {
         return gridBoard;
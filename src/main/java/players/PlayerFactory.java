@@ -5,6 +5,7 @@ import evaluation.optimisation.TunableParameters;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.ParseException;
 import players.basicMCTS.BasicMCTSPlayer;
+import players.ensemble.EnsembleMCTSPlayer;
 import players.rhea.RHEAParams;
 import players.rhea.RHEAPlayer;
 import players.rmhc.RMHCParams;
@@ -73,6 +74,7 @@ public class PlayerFactory {
             case "random" -> new RandomPlayer();
             case "osla" -> new OSLAPlayer();
             case "mcts" -> new BasicMCTSPlayer();
+            case "ensemble" -> new EnsembleMCTSPlayer();
             case "rmhc" -> new RMHCPlayer(new RMHCParams());
             case "rhea" -> new RHEAPlayer(new RHEAParams());
             default -> throw new AssertionError("Unknown file or player key : " + input);
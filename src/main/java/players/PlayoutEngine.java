@@ -0,0 +1,120 @@
+package players;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import players.simple.RandomPlayer;
+import utilities.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Applies the actions of a playout (an MCTS rollout, or an RHEA opponent fast-forward) to a state, with as little
+ * overhead per step as possible.
+ * <p>
+ * - Actions chosen by a RandomPlayer are sampled from the forward model (see AbstractForwardModel.sampleAvailableAction()),
+ * so that the full list of actions is not generated for games that support lazy generation.
+ * - Each action is copied before it is applied, as the framework expects (an action from computeAvailableActions() may
+ * belong to the state, and execute() may change it). Actions with no state that can change opt out of this by
+ * returning themselves from copy(), which is then free.
+ * - The record of (player, action) pairs is only kept if recordActions is set (for MAST, or for a listener that needs
+ * the actions), and its buffer is reused across playouts.
+ * <p>
+ * The engine also keeps a count of the steps taken, and the time spent, over all playouts, so that playout speed can
+ * be reported.
+ */
+public class PlayoutEngine {
+
+    protected final AbstractForwardModel forwardModel;
+    protected final ActionSpace actionSpace;
+    protected final boolean recordActions;
+    protected final List<Pair<Integer, AbstractAction>> actions = new ArrayList<>();
+    protected int length;
+    protected long steps;
+    protected long nanos;
+    private long startTime;
+
+    public PlayoutEngine(AbstractForwardModel forwardModel, ActionSpace actionSpace, boolean recordActions) {
+        this.forwardModel = forwardModel;
+        this.actionSpace = actionSpace;
+        this.recordActions = recordActions;
+    }
+
+    /**
+     * Starts a new playout. This clears the record of the previous one.
+     */
+    public void startPlayout() {
+        actions.clear();
+        length = 0;
+        startTime = System.nanoTime();
+    }
+
+    public void endPlayout() {
+        nanos += System.nanoTime() - startTime;
+    }
+
+    /**
+     * @return the action the policy chooses in this state, or null if there are no actions available
+     */
+    public AbstractAction chooseAction(AbstractPlayer policy, AbstractGameState state) {
+        if (policy instanceof RandomPlayer randomPlayer)
+            return randomPlayer.sampleAction(state, forwardModel, actionSpace);
+        List<AbstractAction> available = forwardModel.computeAvailableActions(state, actionSpace);
+        if (available.isEmpty())
+            return null;
+        return policy.getAction(state, available);
+    }
+
+    /**
+     * @return a legal action chosen uniformly at random (using rnd), or null if there are no actions available
+     */
+    public AbstractAction randomAction(AbstractGameState state, Random rnd) {
+        return forwardModel.sampleAvailableAction(state, actionSpace, rnd);
+    }
+
+    /**
+     * Applies an action that was generated for this state, and will not be used again by the caller.
+     */
+    public void apply(AbstractGameState state, AbstractAction action) {
+        if (recordActions)
+            actions.add(new Pair<>(state.getCurrentPlayer(), action));
+        forwardModel.next(state, action.copy());
+        length++;
+        steps++;
+    }
+
+    /**
+     * @return the number of actions applied in the current playout (whether or not these are recorded)
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return the (player, action) pairs of the current playout; empty unless recordActions is set.
+     * This list is reused by the next playout.
+     */
+    public List<Pair<Integer, AbstractAction>> getActions() {
+        return actions;
+    }
+
+    public boolean isRecording() {
+        return recordActions;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double stepsPerSecond() {
+        return nanos == 0 ? 0.0 : steps * 1e9 / nanos;
+    }
+}
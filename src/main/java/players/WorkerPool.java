@@ -0,0 +1,60 @@
+package players;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Worker threads for agents that spread each decision over several cores.
+ * <p>
+ * There is one pool for each number of threads asked for, shared by all agents in the process and kept for as long as
+ * the process runs (the threads are daemon threads). Agents are created and copied a great deal in tournaments, and
+ * this means none of them has to create or shut down threads of its own.
+ */
+public final class WorkerPool {
+
+    private static final Map<Integer, ForkJoinPool> pools = new ConcurrentHashMap<>();
+
+    private WorkerPool() {
+    }
+
+    /**
+     * @return the shared pool with the given number of threads
+     */
+    public static ForkJoinPool get(int threads) {
+        return pools.computeIfAbsent(threads, ForkJoinPool::new);
+    }
+
+    /**
+     * Runs task(0), ..., task(n - 1) on the pool with the given number of threads, and returns once they have all
+     * finished. With one thread (or only one task) they are simply run in order on the calling thread.
+     * Tasks should write their results into slots of their own (such as an array indexed by task), and an exception
+     * thrown by any of them is rethrown here.
+     */
+    public static void forEach(int threads, int n, IntConsumer task) {
+        if (threads <= 1 || n <= 1) {
+            for (int i = 0; i < n; i++)
+                task.accept(i);
+            return;
+        }
+        // a parallel stream started from within a pool runs on that pool's threads
+        get(threads).submit(() -> IntStream.range(0, n).parallel().forEach(task)).join();
+    }
+
+    public interface RangeTask {
+        void run(int from, int to);
+    }
+
+    /**
+     * As forEach(), but splits 0, ..., n - 1 into contiguous ranges, and runs task.run(from, to) once for each range
+     * (with to exclusive). This suits tasks that set something up once (such as a scratch game state) and then reuse
+     * it for each index in their range. There are a few ranges per thread, so that one slow range does not leave the
+     * other threads idle.
+     */
+    public static void forEachRange(int threads, int n, RangeTask task) {
+        int ranges = threads <= 1 ? Math.min(n, 1) : Math.min(n, 4 * threads);
+        forEach(threads, ranges, r -> task.run((int) ((long) r * n / ranges), (int) ((long) (r + 1) * n / ranges)));
+    }
+}
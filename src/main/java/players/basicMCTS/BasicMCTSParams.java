@@ -1,10 +1,10 @@
 package players.basicMCTS;
 
-import core.AbstractGameState;
 import core.interfaces.IStateHeuristic;
 import players.PlayerParameters;
 
 import java.util.Arrays;
+import players.heuristics.GameDefaultHeuristic;
 
 
 public class BasicMCTSParams extends PlayerParameters {
@@ -13,14 +13,14 @@ public class BasicMCTSParams extends PlayerParameters {
     public int rolloutLength = 10; // assuming we have a good heuristic
     public int maxTreeDepth = 100; // effectively no limit
     public double epsilon = 1e-6;
-    public IStateHeuristic heuristic = AbstractGameState::getHeuristicScore;
+    public IStateHeuristic heuristic = new GameDefaultHeuristic();
 
     public BasicMCTSParams() {
         addTunableParameter("K", Math.sqrt(2), Arrays.asList(0.0, 0.1, 1.0, Math.sqrt(2), 3.0, 10.0));
         addTunableParameter("rolloutLength", 10, Arrays.asList(0, 3, 10, 30, 100));
         addTunableParameter("maxTreeDepth", 100, Arrays.asList(1, 3, 10, 30, 100));
         addTunableParameter("epsilon", 1e-6);
-        addTunableParameter("heuristic", (IStateHeuristic) AbstractGameState::getHeuristicScore);
+        addTunableParameter("heuristic", IStateHeuristic.class, new GameDefaultHeuristic());
     }
 
     @Override
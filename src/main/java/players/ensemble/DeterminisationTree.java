@@ -0,0 +1,187 @@
+package players.ensemble;
+
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+import core.interfaces.IStateKey;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static utilities.Utils.noise;
+
+/**
+ * One determinisation searched by EnsembleMCTSPlayer: a closed loop MCTS tree (each node holds its state) grown from
+ * a single sample of the hidden information.
+ * <p>
+ * Each tree has its own Random and rollout player, so that different trees can be searched on different threads at
+ * the same time, and a tree is searched the same way whichever thread it is on.
+ */
+class DeterminisationTree {
+
+    static final class Node {
+        Node parent;
+        final AbstractGameState state;
+        final int depth;
+        // all the actions from this state; the child is null until the action is expanded
+        final Map<AbstractAction, Node> children = new LinkedHashMap<>();
+        final List<AbstractAction> unexpanded = new ArrayList<>();
+        double totValue;
+        int nVisits;
+
+        Node(Node parent, AbstractGameState state, DeterminisationTree tree) {
+            this.parent = parent;
+            this.state = state;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            if (state.isNotTerminal()) {
+                EnsembleMCTSParams params = tree.player.getParameters();
+                for (AbstractAction action : tree.player.getForwardModel().computeAvailableActions(state, params.actionSpace)) {
+                    children.put(action, null);
+                    unexpanded.add(action);
+                }
+            }
+        }
+    }
+
+    final EnsembleMCTSPlayer player;
+    final Random rnd;
+    final RandomPlayer rolloutPlayer;
+    Node root;
+    // counts since the search for the current decision started
+    int iterations;
+    int fmCalls;
+    int copyCalls;
+
+    DeterminisationTree(EnsembleMCTSPlayer player, AbstractGameState determinisation, long seed) {
+        this.player = player;
+        this.rnd = new Random(seed);
+        this.rolloutPlayer = new RandomPlayer(new Random(rnd.nextLong()));
+        rolloutPlayer.setForwardModel(player.getForwardModel());
+        root = new Node(null, determinisation, this);
+    }
+
+    /**
+     * Moves the root of the tree down the given actions (those taken in the game since the tree was last searched).
+     * This is only done if the tree has already expanded each of them, and the node reached is consistent with the
+     * decision now being made: the same player is to move, with the same actions available, and it observes the same
+     * there as in the game (see observesTheSame()).
+     *
+     * @return false if the tree could not be moved on (in which case it is unchanged)
+     */
+    boolean advance(List<AbstractAction> actionsTaken, AbstractGameState observation, List<AbstractAction> available) {
+        Node node = root;
+        for (AbstractAction action : actionsTaken) {
+            node = node.children.get(action);
+            if (node == null)
+                return false;
+        }
+        if (node.state.getCurrentPlayer() != observation.getCurrentPlayer() ||
+                !node.children.keySet().equals(new HashSet<>(available)) ||
+                !observesTheSame(node.state, observation, available))
+            return false;
+        node.parent = null;
+        root = node;
+        return true;
+    }
+
+    /**
+     * The actions in the tree only say what was done, not what this player could see when it was done, so a node
+     * reached by the actions taken in the game may hold a different sample of what this player has since been shown
+     * (in Sushi Go, for example, ChooseCard is an index into the hand, and the hand passed on is the sampled one).
+     * So the node is only used if this player would see the same there: the same params.observationKey (if one is set),
+     * and the same description of each available action from its point of view (which names the card, in Sushi Go).
+     */
+    private boolean observesTheSame(AbstractGameState state, AbstractGameState observation, List<AbstractAction> available) {
+        int playerId = player.getPlayerID();
+        IStateKey observationKey = player.getParameters().observationKey;
+        if (observationKey != null &&
+                !Objects.equals(observationKey.getKey(state, playerId), observationKey.getKey(observation, playerId)))
+            return false;
+        for (AbstractAction action : available) {
+            if (!action.getString(state, playerId).equals(action.getString(observation, playerId)))
+                return false;
+        }
+        return true;
+    }
+
+    void resetCounts() {
+        iterations = 0;
+        fmCalls = 0;
+        copyCalls = 0;
+    }
+
+    /**
+     * One iteration of MCTS: selection and expansion, a rollout, and back up of its value
+     */
+    void iterate() {
+        Node selected = treePolicy();
+        double value = rollOut(selected);
+        for (Node n = selected; n != null; n = n.parent) {
+            n.nVisits++;
+            n.totValue += value;
+        }
+        iterations++;
+    }
+
+    private Node treePolicy() {
+        EnsembleMCTSParams params = player.getParameters();
+        Node cur = root;
+        while (cur.state.isNotTerminal() && cur.depth - root.depth < params.maxTreeDepth) {
+            if (!cur.unexpanded.isEmpty())
+                return expand(cur);
+            cur = cur.children.get(ucb(cur));
+        }
+        return cur;
+    }
+
+    private Node expand(Node node) {
+        // pick a random action that has not been expanded
+        int index = rnd.nextInt(node.unexpanded.size());
+        AbstractAction chosen = node.unexpanded.get(index);
+        node.unexpanded.set(index, node.unexpanded.get(node.unexpanded.size() - 1));
+        node.unexpanded.remove(node.unexpanded.size() - 1);
+
+        // the action in the tree is kept unchanged, so that it can be matched against the game history later
+        AbstractGameState nextState = node.state.copy();
+        copyCalls++;
+        player.getForwardModel().next(nextState, chosen.copy());
+        fmCalls++;
+        Node child = new Node(node, nextState, this);
+        node.children.put(chosen, child);
+        return child;
+    }
+
+    private AbstractAction ucb(Node node) {
+        EnsembleMCTSParams params = player.getParameters();
+        // maximise the value for ourselves, and assume opponents minimise it
+        boolean iAmMoving = node.state.getCurrentPlayer() == player.getPlayerID();
+        AbstractAction bestAction = null;
+        double bestValue = -Double.MAX_VALUE;
+        for (Map.Entry<AbstractAction, Node> entry : node.children.entrySet()) {
+            Node child = entry.getValue();
+            double childValue = child.totValue / (child.nVisits + params.epsilon);
+            double uctValue = (iAmMoving ? childValue : -childValue) +
+                    params.K * Math.sqrt(Math.log(node.nVisits + 1) / (child.nVisits + params.epsilon));
+            uctValue = noise(uctValue, params.epsilon, rnd.nextDouble());
+            if (uctValue > bestValue) {
+                bestAction = entry.getKey();
+                bestValue = uctValue;
+            }
+        }
+        return bestAction;
+    }
+
+    private double rollOut(Node node) {
+        EnsembleMCTSParams params = player.getParameters();
+        AbstractGameState rolloutState = node.state.copy();
+        copyCalls++;
+        for (int depth = 0; depth < params.rolloutLength && rolloutState.isNotTerminal(); depth++) {
+            List<AbstractAction> actions = player.getForwardModel().computeAvailableActions(rolloutState, params.actionSpace);
+            player.getForwardModel().next(rolloutState, rolloutPlayer.getAction(rolloutState, actions));
+            fmCalls++;
+        }
+        double value = params.getStateHeuristic().evaluateState(rolloutState, player.getPlayerID());
+        if (Double.isNaN(value))
+            throw new AssertionError("Illegal heuristic value - should be a number");
+        return value;
+    }
+}
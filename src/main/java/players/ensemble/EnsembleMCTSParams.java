@@ -0,0 +1,67 @@
+package players.ensemble;
+
+import core.interfaces.IStateHeuristic;
+import core.interfaces.IStateKey;
+import players.PlayerParameters;
+
+import java.util.Arrays;
+import players.heuristics.GameDefaultHeuristic;
+
+
+@SuppressWarnings("unchecked")  // from instanceFromJSON(), inherited from TunableParameters
+public class EnsembleMCTSParams extends PlayerParameters {
+
+    public double K = Math.sqrt(2);
+    public int rolloutLength = 10;
+    public int maxTreeDepth = 100;
+    public double epsilon = 1e-6;
+    public IStateHeuristic heuristic = new GameDefaultHeuristic();
+    public int determinisations = 8;  // number of trees, each searching its own sample of the hidden information
+    public int threads = 1;  // the trees are searched on this many threads
+    public boolean reuseTrees = true;  // keep each tree for the next decision, if it is still consistent with the game
+    // if set, a kept tree must also give the same key for what the player observes (see DeterminisationTree.advance)
+    public IStateKey observationKey;
+
+    public EnsembleMCTSParams() {
+        addTunableParameter("K", Math.sqrt(2), Arrays.asList(0.0, 0.1, 1.0, Math.sqrt(2), 3.0, 10.0));
+        addTunableParameter("rolloutLength", 10, Arrays.asList(0, 3, 10, 30, 100));
+        addTunableParameter("maxTreeDepth", 100, Arrays.asList(1, 3, 10, 30, 100));
+        addTunableParameter("epsilon", 1e-6);
+        addTunableParameter("heuristic", IStateHeuristic.class, new GameDefaultHeuristic());
+        addTunableParameter("determinisations", 8, Arrays.asList(1, 2, 4, 8, 16, 32));
+        addTunableParameter("threads", 1, Arrays.asList(1, 2, 4, 8));
+        addTunableParameter("reuseTrees", true, Arrays.asList(false, true));
+        addTunableParameter("observationKey", IStateKey.class);
+    }
+
+    @Override
+    public void _reset() {
+        super._reset();
+        K = (double) getParameterValue("K");
+        rolloutLength = (int) getParameterValue("rolloutLength");
+        maxTreeDepth = (int) getParameterValue("maxTreeDepth");
+        epsilon = (double) getParameterValue("epsilon");
+        heuristic = (IStateHeuristic) getParameterValue("heuristic");
+        determinisations = (int) getParameterValue("determinisations");
+        threads = (int) getParameterValue("threads");
+        reuseTrees = (boolean) getParameterValue("reuseTrees");
+        observationKey = (IStateKey) getParameterValue("observationKey");
+    }
+
+    @Override
+    protected EnsembleMCTSParams _copy() {
+        // All the copying is done in TunableParameters.copy()
+        return new EnsembleMCTSParams();
+    }
+
+    @Override
+    public IStateHeuristic getStateHeuristic() {
+        return heuristic;
+    }
+
+    @Override
+    public EnsembleMCTSPlayer instantiate() {
+        return new EnsembleMCTSPlayer((EnsembleMCTSParams) this.copy());
+    }
+
+}
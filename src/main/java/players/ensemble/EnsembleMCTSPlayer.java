@@ -0,0 +1,177 @@
+package players.ensemble;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.actions.AbstractAction;
+import core.interfaces.IStateHeuristic;
+import players.WorkerPool;
+import utilities.ElapsedCpuTimer;
+import utilities.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static players.PlayerConstants.*;
+import static utilities.Utils.noise;
+
+
+/**
+ * Ensemble determinisation MCTS: each decision is made by searching several determinisations (samples of the hidden
+ * information, from the game's copy(playerId)) with a separate tree for each, and then choosing the root action with
+ * the most visits summed over all the trees.
+ * <ul>
+ *     <li>The trees are searched in parallel on params.threads threads. For a budget in iterations, FM calls or copy
+ *     calls (or both), each tree gets an equal share, and is searched the same way whatever the number of threads.
+ *     For a time budget, the trees are all searched until the (wall clock) time is up.</li>
+ *     <li>If params.reuseTrees is set, the trees are kept for the next decision. Each is moved down the actions taken
+ *     in the game since, and kept if it is still consistent with the new decision (see DeterminisationTree.advance);
+ *     only those that are not are replaced with new determinisations.</li>
+ *     <li>The root statistics of each tree are added to lock-free totals as soon as it has been searched.</li>
+ * </ul>
+ * The trees are closed loop (each node holds its state), with the same UCB and rollouts as BasicMCTSPlayer.
+ */
+public class EnsembleMCTSPlayer extends AbstractPlayer {
+
+    DeterminisationTree[] trees;
+    Pair<Integer, AbstractAction> lastAction;
+    int treesReused;  // at the last decision
+
+    public EnsembleMCTSPlayer() {
+        this(new EnsembleMCTSParams());
+    }
+
+    public EnsembleMCTSPlayer(EnsembleMCTSParams params) {
+        super(params, "Ensemble MCTS");
+        rnd = new Random(params.getRandomSeed());
+    }
+
+    @Override
+    public void initializePlayer(AbstractGameState state) {
+        trees = null;
+        lastAction = null;
+        treesReused = 0;
+    }
+
+    @Override
+    public AbstractAction _getAction(AbstractGameState gameState, List<AbstractAction> actions) {
+        EnsembleMCTSParams params = getParameters();
+        // the trees may be searched on several threads, so the time budget is measured on the wall clock
+        ElapsedCpuTimer timer = new ElapsedCpuTimer(true);
+        timer.setMaxTimeMillis(params.budget);
+
+        int n = Math.max(1, params.determinisations);
+        List<AbstractAction> actionsTaken = params.reuseTrees ? actionsSinceLastDecision(gameState) : null;
+        DeterminisationTree[] current = new DeterminisationTree[n];
+        treesReused = 0;
+        for (int i = 0; i < n; i++) {
+            long seed = rnd.nextLong();
+            if (actionsTaken != null && trees != null && i < trees.length && trees[i].advance(actionsTaken, gameState, actions)) {
+                current[i] = trees[i];
+                treesReused++;
+            } else {
+                current[i] = new DeterminisationTree(this, gameState.copy(getPlayerID()), seed);
+            }
+            current[i].resetCounts();
+        }
+        trees = current;
+
+        RootStatistics stats = new RootStatistics(actions);
+        if (params.budgetType == BUDGET_TIME) {
+            int ranges = Math.min(Math.max(params.threads, 1), n);
+            WorkerPool.forEach(params.threads, ranges, r -> searchUntil(timer, current, r * n / ranges, (r + 1) * n / ranges, stats));
+        } else {
+            int share = Math.max(1, params.budget / n);
+            WorkerPool.forEach(params.threads, n, i -> {
+                search(current[i], share);
+                stats.add(current[i]);
+            });
+        }
+
+        AbstractAction bestAction = bestAction(stats);
+        lastAction = new Pair<>(getPlayerID(), bestAction);
+        return bestAction;
+    }
+
+    /**
+     * @return the actions taken in the game since (and including) our last action, or null if it cannot be found in
+     * the history (as in competition mode, where the history is not copied)
+     */
+    private List<AbstractAction> actionsSinceLastDecision(AbstractGameState gameState) {
+        if (lastAction == null)
+            return null;
+        List<Pair<Integer, AbstractAction>> history = gameState.getHistory();
+        for (int i = history.size() - 1; i >= 0; i--) {
+            if (history.get(i).equals(lastAction)) {
+                List<AbstractAction> retValue = new ArrayList<>();
+                for (int j = i; j < history.size(); j++)
+                    retValue.add(history.get(j).b);
+                return retValue;
+            }
+        }
+        return null;
+    }
+
+    private void search(DeterminisationTree tree, int share) {
+        do {
+            tree.iterate();
+        } while (used(tree) < share);
+    }
+
+    /**
+     * @return how much of the budget (in the units of params.budgetType) the tree has used for this decision
+     */
+    private int used(DeterminisationTree tree) {
+        return switch (getParameters().budgetType) {
+            case BUDGET_ITERATIONS -> tree.iterations;
+            case BUDGET_FM_CALLS -> tree.fmCalls;
+            case BUDGET_COPY_CALLS -> tree.copyCalls;
+            case BUDGET_FMANDCOPY_CALLS -> tree.fmCalls + tree.copyCalls;
+            case BUDGET_TIME -> throw new AssertionError("A time budget is not shared out between the trees");
+        };
+    }
+
+    private void searchUntil(ElapsedCpuTimer timer, DeterminisationTree[] trees, int from, int to, RootStatistics stats) {
+        // the trees are searched in turn, an iteration at a time, so that each gets a share of the time
+        int rounds = 0;
+        boolean stop = false;
+        while (!stop) {
+            for (int i = from; i < to; i++)
+                trees[i].iterate();
+            rounds++;
+            double avgTimeTaken = timer.elapsedMillis() / (double) rounds;
+            long remaining = timer.remainingTimeMillis();
+            stop = remaining <= 2 * avgTimeTaken || remaining <= getParameters().breakMS;
+        }
+        for (int i = from; i < to; i++)
+            stats.add(trees[i]);
+    }
+
+    private AbstractAction bestAction(RootStatistics stats) {
+        AbstractAction bestAction = null;
+        double bestValue = -Double.MAX_VALUE;
+        for (int i = 0; i < stats.actions.size(); i++) {
+            // most visited, with small noise to break ties randomly
+            double value = noise(stats.visits(i), getParameters().epsilon, rnd.nextDouble());
+            if (value > bestValue) {
+                bestValue = value;
+                bestAction = stats.actions.get(i);
+            }
+        }
+        return bestAction;
+    }
+
+    @Override
+    public EnsembleMCTSParams getParameters() {
+        return (EnsembleMCTSParams) parameters;
+    }
+
+    public void setStateHeuristic(IStateHeuristic heuristic) {
+        getParameters().heuristic = heuristic;
+    }
+
+    @Override
+    public EnsembleMCTSPlayer copy() {
+        return new EnsembleMCTSPlayer((EnsembleMCTSParams) parameters.copy());
+    }
+}
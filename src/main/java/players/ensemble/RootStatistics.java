@@ -0,0 +1,56 @@
+package players.ensemble;
+
+import core.actions.AbstractAction;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The visits to, and total value of, each action available at the root, summed over all the determinisation trees.
+ * Each tree adds its statistics as soon as its search is finished, on whichever thread searched it, so these are kept
+ * in lock-free adders.
+ */
+class RootStatistics {
+
+    final List<AbstractAction> actions;
+    private final Map<AbstractAction, Integer> index = new HashMap<>();
+    private final LongAdder[] visits;
+    private final DoubleAdder[] values;
+
+    RootStatistics(List<AbstractAction> actions) {
+        this.actions = actions;
+        visits = new LongAdder[actions.size()];
+        values = new DoubleAdder[actions.size()];
+        for (int i = 0; i < actions.size(); i++) {
+            index.put(actions.get(i), i);
+            visits[i] = new LongAdder();
+            values[i] = new DoubleAdder();
+        }
+    }
+
+    void add(DeterminisationTree tree) {
+        for (Map.Entry<AbstractAction, DeterminisationTree.Node> entry : tree.root.children.entrySet()) {
+            Integer i = index.get(entry.getKey());
+            DeterminisationTree.Node child = entry.getValue();
+            if (i == null || child == null)
+                continue;
+            visits[i].add(child.nVisits);
+            values[i].add(child.totValue);
+        }
+    }
+
+    long visits(int action) {
+        return visits[action].sum();
+    }
+
+    /**
+     * @return the mean value of the action over all its visits, in all trees (0 if it has none)
+     */
+    double meanValue(int action) {
+        long n = visits[action].sum();
+        return n == 0 ? 0.0 : values[action].sum() / n;
+    }
+}
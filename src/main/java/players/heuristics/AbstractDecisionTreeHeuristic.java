@@ -4,32 +4,61 @@ import com.globalmentor.apache.hadoop.fs.BareLocalFileSystem;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.spark.ml.regression.DecisionTreeRegressionModel;
 import org.apache.spark.sql.SparkSession;
+import utilities.JSONUtils;
+
+import java.io.File;
 
 public abstract class AbstractDecisionTreeHeuristic {
 
-    static SparkSession spark = SparkSession
-            .builder()
-            .appName("Java Spark SQL basic example")
-            //     .config("spark.driver.memory", "1g")
-            .master("local").getOrCreate();
-    static {
+    public static final String FLAT_TREE_FILE = "FlatTree.json";
+
+    static SparkSession spark;
+
+    // The Spark session is only started if we need to load a Spark model
+    static synchronized void startSpark() {
+        if (spark != null) return;
+        spark = SparkSession
+                .builder()
+                .appName("Java Spark SQL basic example")
+                //     .config("spark.driver.memory", "1g")
+                .master("local").getOrCreate();
         // And the hack to get this to work on Windows (without the Winutils.exe and hadoop.dll nightmare)
         spark.sparkContext().hadoopConfiguration().setClass("fs.file.impl", BareLocalFileSystem.class, FileSystem.class);
     }
 
+    // only available if the tree was trained, or loaded from a Spark model
     protected DecisionTreeRegressionModel drModel;
+    // used for all predictions
+    protected FlatDecisionTree tree;
 
     public AbstractDecisionTreeHeuristic(DecisionTreeRegressionModel drModel) {
         this.drModel = drModel;
+        if (drModel != null)
+            tree = FlatDecisionTree.from(drModel);
     }
 
+    /**
+     * @param directory - either a JSON file of a FlatDecisionTree, or a directory with a saved Spark model (which
+     *                  is loaded from the FLAT_TREE_FILE in it if there is one, without needing Spark)
+     */
     public AbstractDecisionTreeHeuristic(String directory) {
         // load in the Decision Tree model from the directory
         if (directory == null || directory.isEmpty()) {
             System.out.println("No directory specified for Decision Tree model");
             return;
         }
-        drModel = DecisionTreeRegressionModel.load(directory);
+        File flatTreeFile = directory.endsWith(".json") ? new File(directory) : new File(directory, FLAT_TREE_FILE);
+        if (flatTreeFile.exists()) {
+            tree = new FlatDecisionTree(JSONUtils.loadJSONFile(flatTreeFile.getPath()));
+        } else {
+            startSpark();
+            drModel = DecisionTreeRegressionModel.load(directory);
+            tree = FlatDecisionTree.from(drModel);
+        }
+    }
+
+    public FlatDecisionTree getTree() {
+        return tree;
     }
 
     public static String prettifyDecisionTreeDescription(DecisionTreeRegressionModel model, String[] featureNames) {
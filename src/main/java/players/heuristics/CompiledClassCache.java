@@ -0,0 +1,323 @@
+package players.heuristics;
+
+import javax.tools.*;
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiles Java source held in a String (as used by StringHeuristic), and caches the result by a hash of the class name
+ * and source (and of the environment it is compiled in), so that the same heuristic is only ever compiled once:
+ * <ul>
+ *     <li>In memory, each distinct source is compiled once per process, and all heuristics with that source share
+ *     the same loaded Class. Only the most recently used classes (setMaxLoadedClasses()) are kept; once a class is
+ *     dropped, and no heuristic still uses it, it can be unloaded along with its class loader.</li>
+ *     <li>If a cache directory is set (with setCacheDirectory(), or the system property tag.heuristicCache), the
+ *     class files are also saved there, and are loaded from there by later processes instead of compiling again.</li>
+ * </ul>
+ * Each distinct source needs its own class loader, as many sources will declare a class of the same name. A single
+ * shared loader would also keep every class it had ever defined, so that the in-memory cache could never shrink; with
+ * one loader per source the disk cache is the durable layer, and memory only holds what is in use.
+ * <p>
+ * The source is compiled against TAG itself, so class files saved by one build of TAG (or one JDK) may not link
+ * against another. The key therefore also includes the JDK version and a fingerprint of the classpath (see
+ * environment()), and a new build simply compiles into a new entry of the cache directory.
+ */
+public final class CompiledClassCache {
+
+    public static final String CACHE_DIRECTORY_PROPERTY = "tag.heuristicCache";
+
+    public static final int DEFAULT_MAX_LOADED_CLASSES = 64;
+
+    private static volatile int maxLoadedClasses = DEFAULT_MAX_LOADED_CLASSES;
+    // in access order, so that the least recently used class is the one dropped
+    private static final Map<String, Class<?>> loadedClasses = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Class<?>> eldest) {
+                    return size() > maxLoadedClasses;
+                }
+            });
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private static volatile File cacheDirectory = System.getProperty(CACHE_DIRECTORY_PROPERTY) == null ?
+            null : new File(System.getProperty(CACHE_DIRECTORY_PROPERTY));
+    private static final AtomicInteger compilations = new AtomicInteger();
+    private static volatile String environment;
+
+    private CompiledClassCache() {
+    }
+
+    /**
+     * @param directory - where class files are kept between runs, or null to only cache them in memory
+     */
+    public static void setCacheDirectory(File directory) {
+        cacheDirectory = directory;
+    }
+
+    public static File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * @param max - the number of compiled classes to keep in memory; beyond this the least recently used is dropped,
+     *            and will be read from the cache directory (or compiled again) if it is needed later
+     */
+    public static void setMaxLoadedClasses(int max) {
+        if (max < 1)
+            throw new IllegalArgumentException("At least one class must be kept in memory, not " + max);
+        maxLoadedClasses = max;
+    }
+
+    /**
+     * Empties the in-memory cache (the cache directory is left as it is)
+     */
+    public static void clear() {
+        loadedClasses.clear();
+    }
+
+    /**
+     * @return the number of times source has actually been compiled in this process
+     */
+    public static int getCompilations() {
+        return compilations.get();
+    }
+
+    /**
+     * Returns the named class, compiled from the given source (or from the cache, if this source has been compiled
+     * before).
+     *
+     * @throws RuntimeException - with the compiler's messages, if the source does not compile
+     */
+    public static Class<?> loadClass(String className, String sourceCode) {
+        String key = hash(environment() + "\n" + className + "\n" + sourceCode);
+        Class<?> loaded = loadedClasses.get(key);
+        if (loaded != null)
+            return loaded;
+        // compiling is slow, so we only ever want one thread doing it for the same source (but different sources
+        // can be compiled at the same time)
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            loaded = loadedClasses.get(key);
+            if (loaded == null) {
+                Map<String, byte[]> classFiles = readFromDisk(key);
+                if (classFiles == null) {
+                    classFiles = compile(className, sourceCode);
+                    compilations.incrementAndGet();
+                    writeToDisk(key, classFiles);
+                }
+                try {
+                    loaded = new ByteArrayClassLoader(classFiles, CompiledClassCache.class.getClassLoader()).loadClass(className);
+                } catch (ClassNotFoundException e) {
+                    throw new RuntimeException(e);
+                }
+                loadedClasses.put(key, loaded);
+                locks.remove(key);
+            }
+            return loaded;
+        }
+    }
+
+    private static Map<String, byte[]> compile(String className, String sourceCode) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null)
+            throw new RuntimeException("No Java compiler available (this needs a JDK, not a JRE)");
+        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(null, null, null);
+
+        // Create a file object for the source code
+        JavaFileObject javaFileObject = new SimpleJavaFileObject(
+                URI.create("string:///" + className + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return sourceCode;
+            }
+        };
+
+        // The class files (including any for inner classes) are written to memory rather than disk
+        Map<String, ByteArrayOutputStream> output = new LinkedHashMap<>();
+        JavaFileManager fileManager = new ForwardingJavaFileManager<>(standardFileManager) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String name, JavaFileObject.Kind kind,
+                                                       FileObject sibling) {
+                return new SimpleJavaFileObject(URI.create("mem:///" + name.replace('.', '/') + kind.extension), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                        output.put(name, stream);
+                        return stream;
+                    }
+                };
+            }
+        };
+
+        DiagnosticCollector<JavaFileObject> diagnosticsCollector = new DiagnosticCollector<>();
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager,
+                diagnosticsCollector, null, null,
+                List.of(javaFileObject));
+
+        boolean success = task.call();
+        if (!success) {
+            StringBuilder sb = new StringBuilder();
+            List<Diagnostic<? extends JavaFileObject>> diagnostics = diagnosticsCollector.getDiagnostics();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+                if (diagnostic.getKind() != Diagnostic.Kind.NOTE) {
+                    // read error details from the diagnostic object
+                    sb.append(diagnostic.getMessage(null)).append("\n");
+                }
+            }
+            String error = String.format("Compilation error: %s", sb);
+            throw new RuntimeException(error);
+        }
+        Map<String, byte[]> classFiles = new LinkedHashMap<>();
+        output.forEach((name, stream) -> classFiles.put(name, stream.toByteArray()));
+        return classFiles;
+    }
+
+    private static Map<String, byte[]> readFromDisk(String key) {
+        File directory = cacheDirectory == null ? null : new File(cacheDirectory, key);
+        if (directory == null || !directory.isDirectory())
+            return null;
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".class"));
+        if (files == null || files.length == 0)
+            return null;
+        Map<String, byte[]> classFiles = new LinkedHashMap<>();
+        try {
+            for (File file : files)
+                classFiles.put(file.getName().substring(0, file.getName().length() - ".class".length()),
+                        Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            System.out.println("Could not read cached heuristic from " + directory + " : " + e.getMessage());
+            return null;
+        }
+        return classFiles;
+    }
+
+    private static void writeToDisk(String key, Map<String, byte[]> classFiles) {
+        if (cacheDirectory == null)
+            return;
+        // written to a temporary directory first, so that another process never sees half of it
+        File directory = new File(cacheDirectory, key);
+        File temp = new File(cacheDirectory, key + ".tmp" + ProcessHandle.current().pid());
+        try {
+            Files.createDirectories(temp.toPath());
+            for (Map.Entry<String, byte[]> entry : classFiles.entrySet())
+                Files.write(new File(temp, entry.getKey() + ".class").toPath(), entry.getValue());
+            if (!temp.renameTo(directory)) {
+                // most likely another process has just saved the same classes
+                for (File file : Objects.requireNonNull(temp.listFiles()))
+                    Files.deleteIfExists(file.toPath());
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (IOException e) {
+            System.out.println("Could not cache heuristic in " + cacheDirectory + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Describes everything other than the source that the compiled classes depend on: the JDK, and the classpath they
+     * are compiled against. Each classpath entry is described by its size and modification time (for a directory, those
+     * of every file in it); the jar that TAG itself was loaded from is hashed in full. This is worked out once per
+     * process, the first time it is needed.
+     */
+    static String environment() {
+        String result = environment;
+        if (result == null) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(System.getProperty("java.vm.vendor")).append(' ').append(Runtime.version()).append('\n');
+            Set<File> entries = new LinkedHashSet<>();
+            for (String entry : System.getProperty("java.class.path").split(File.pathSeparator))
+                if (!entry.isEmpty())
+                    entries.add(new File(entry).getAbsoluteFile());
+            File tag = tagLocation();
+            if (tag != null)
+                entries.add(tag);
+            for (File entry : entries)
+                describe(entry, entry.equals(tag), sb);
+            result = hash(sb.toString());
+            environment = result;
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the environment used in keys (null to work it out again); for tests, which cannot change the JDK or
+     * rebuild TAG.
+     */
+    static void setEnvironment(String description) {
+        environment = description;
+    }
+
+    private static File tagLocation() {
+        try {
+            return new File(CompiledClassCache.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                    .getAbsoluteFile();
+        } catch (Exception e) {
+            // no code source (or not a file); the classpath is all we can go on
+            return null;
+        }
+    }
+
+    private static void describe(File entry, boolean hashContents, StringBuilder sb) {
+        sb.append(entry.getPath());
+        if (entry.isDirectory()) {
+            sb.append('\n');
+            try (var paths = Files.walk(entry.toPath())) {
+                paths.filter(Files::isRegularFile).sorted().forEach(path -> {
+                    File file = path.toFile();
+                    sb.append(' ').append(entry.toPath().relativize(path)).append(' ').append(file.length())
+                            .append(' ').append(file.lastModified()).append('\n');
+                });
+            } catch (IOException | UncheckedIOException e) {
+                sb.append(" unreadable\n");
+            }
+        } else if (entry.isFile()) {
+            sb.append(' ').append(entry.length()).append(' ').append(entry.lastModified());
+            if (hashContents) {
+                try (InputStream in = new FileInputStream(entry)) {
+                    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                    byte[] buffer = new byte[1 << 16];
+                    for (int n = in.read(buffer); n >= 0; n = in.read(buffer))
+                        digest.update(buffer, 0, n);
+                    sb.append(' ').append(HexFormat.of().formatHex(digest.digest()));
+                } catch (IOException e) {
+                    sb.append(" unreadable");
+                } catch (NoSuchAlgorithmException e) {
+                    throw new AssertionError(e);
+                }
+            }
+            sb.append('\n');
+        } else {
+            sb.append(" missing\n");
+        }
+    }
+
+    static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);  // all JVMs have SHA-256
+        }
+    }
+
+    private static class ByteArrayClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classFiles;
+
+        ByteArrayClassLoader(Map<String, byte[]> classFiles, ClassLoader parent) {
+            super(parent);
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classFiles.get(name);
+            if (bytes == null)
+                throw new ClassNotFoundException(name);
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -5,7 +5,6 @@ import core.actions.AbstractAction;
 import core.interfaces.IActionFeatureVector;
 import core.interfaces.IActionHeuristic;
 import core.interfaces.IStateFeatureVector;
-import org.apache.spark.ml.linalg.Vectors;
 import org.apache.spark.ml.regression.DecisionTreeRegressionModel;
 
 import java.util.List;
@@ -26,7 +25,7 @@ public class DecisionTreeActionHeuristic extends AbstractDecisionTreeHeuristic i
     }
     @Override
     public double evaluateAction(AbstractAction action, AbstractGameState state, List<AbstractAction> contextActions) {
-        if (drModel == null) return 0;  // no model, no prediction (this is fine
+        if (tree == null) return 0;  // no model, no prediction (this is fine
         // get the features for the state and action
         int playerId = state.getCurrentPlayer();
         double[] stateFeatures = this.stateFeatures.doubleVector(state, playerId);
@@ -37,12 +36,12 @@ public class DecisionTreeActionHeuristic extends AbstractDecisionTreeHeuristic i
         System.arraycopy(actionFeatures, 0, features, stateFeatures.length, actionFeatures.length);
         // return the prediction from the model
 
-        return drModel.predict(Vectors.dense(features));
+        return tree.predict(features);
     }
 
     @Override
     public double[] evaluateAllActions(List<AbstractAction> actions, AbstractGameState state) {
-        if (drModel == null) return new double[actions.size()];  // no model, no prediction (this is fine)
+        if (tree == null) return new double[actions.size()];  // no model, no prediction (this is fine)
         // First we get the state features once
         int playerId = state.getCurrentPlayer();
         double[] stateFeatures = this.stateFeatures.doubleVector(state, playerId);
@@ -60,7 +59,7 @@ public class DecisionTreeActionHeuristic extends AbstractDecisionTreeHeuristic i
         // Then we return the predictions from the model
         double[] predictions = new double[actions.size()];
         for (int i = 0; i < actions.size(); i++) {
-            predictions[i] = drModel.predict(Vectors.dense(features[i]));
+            predictions[i] = tree.predict(features[i]);
         }
         return predictions;
     }
@@ -0,0 +1,139 @@
+package players.heuristics;
+
+import core.interfaces.IToJSON;
+import org.apache.spark.ml.regression.DecisionTreeRegressionModel;
+import org.apache.spark.ml.tree.*;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * A trained regression tree held as flat arrays, indexed by node. Nodes are in depth first order, so the root is node 0
+ * and the left child of an internal node is the next node; the arrays hold, for each node:
+ * <ul>
+ *     <li>feature: the index of the feature it splits on, or LEAF; a categorical split on feature f is held as
+ *     -(f + 2)</li>
+ *     <li>threshold: a feature vector goes left if its feature is at most this; for a leaf, this is its value</li>
+ *     <li>right: the index of the right child</li>
+ *     <li>leftCategories: for a categorical split, the feature values that go left (null otherwise)</li>
+ * </ul>
+ * This gives the same predictions as the Spark DecisionTreeRegressionModel it is built from, in a loop over primitive
+ * arrays that creates no objects. It can also be saved to and loaded from JSON, so that Spark is only needed to train
+ * the tree.
+ */
+public final class FlatDecisionTree implements IToJSON {
+
+    public static final int LEAF = -1;
+
+    private final int[] feature;
+    private final double[] threshold;
+    private final int[] right;
+    private final double[][] leftCategories;
+
+    private FlatDecisionTree(int size) {
+        feature = new int[size];
+        threshold = new double[size];
+        right = new int[size];
+        leftCategories = new double[size][];
+    }
+
+    public FlatDecisionTree(JSONObject json) {
+        this(((JSONArray) json.get("nodes")).size());
+        JSONArray nodes = (JSONArray) json.get("nodes");
+        for (int i = 0; i < nodes.size(); i++) {
+            JSONObject node = (JSONObject) nodes.get(i);
+            if (node.containsKey("value")) {
+                feature[i] = LEAF;
+                threshold[i] = ((Number) node.get("value")).doubleValue();
+                continue;
+            }
+            int f = ((Number) node.get("feature")).intValue();
+            right[i] = ((Number) node.get("right")).intValue();
+            if (node.get("categories") instanceof JSONArray categories) {
+                feature[i] = -(f + 2);
+                leftCategories[i] = new double[categories.size()];
+                for (int c = 0; c < categories.size(); c++)
+                    leftCategories[i][c] = ((Number) categories.get(c)).doubleValue();
+            } else {
+                feature[i] = f;
+                threshold[i] = ((Number) node.get("threshold")).doubleValue();
+            }
+        }
+    }
+
+    /**
+     * Flattens a trained Spark model
+     */
+    public static FlatDecisionTree from(DecisionTreeRegressionModel model) {
+        FlatDecisionTree tree = new FlatDecisionTree(model.numNodes());
+        tree.add(model.rootNode(), 0);
+        return tree;
+    }
+
+    // adds the subtree at the given index, and returns the index after it
+    private int add(Node node, int index) {
+        if (node instanceof InternalNode internal) {
+            Split split = internal.split();
+            if (split instanceof ContinuousSplit continuous) {
+                feature[index] = split.featureIndex();
+                threshold[index] = continuous.threshold();
+            } else {
+                feature[index] = -(split.featureIndex() + 2);
+                leftCategories[index] = ((CategoricalSplit) split).leftCategories();
+            }
+            int next = add(internal.leftChild(), index + 1);
+            right[index] = next;
+            return add(internal.rightChild(), next);
+        }
+        feature[index] = LEAF;
+        threshold[index] = node.prediction();
+        return index + 1;
+    }
+
+    public double predict(double[] features) {
+        int node = 0;
+        int f;
+        while ((f = feature[node]) != LEAF) {
+            boolean goLeft = f >= 0 ? features[f] <= threshold[node] : contains(leftCategories[node], features[-f - 2]);
+            node = goLeft ? node + 1 : right[node];
+        }
+        return threshold[node];
+    }
+
+    private static boolean contains(double[] categories, double x) {
+        for (double c : categories)
+            if (c == x) return true;
+        return false;
+    }
+
+    public int size() {
+        return feature.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public JSONObject toJSON() {
+        JSONArray nodes = new JSONArray();
+        for (int i = 0; i < feature.length; i++) {
+            JSONObject node = new JSONObject();
+            if (feature[i] == LEAF) {
+                node.put("value", threshold[i]);
+            } else {
+                if (feature[i] >= 0) {
+                    node.put("feature", feature[i]);
+                    node.put("threshold", threshold[i]);
+                } else {
+                    node.put("feature", -feature[i] - 2);
+                    JSONArray categories = new JSONArray();
+                    for (double c : leftCategories[i])
+                        categories.add(c);
+                    node.put("categories", categories);
+                }
+                node.put("right", right[i]);
+            }
+            nodes.add(node);
+        }
+        JSONObject json = new JSONObject();
+        json.put("nodes", nodes);
+        return json;
+    }
+}
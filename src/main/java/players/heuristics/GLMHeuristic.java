@@ -28,6 +28,8 @@ public abstract class GLMHeuristic implements ICoefficients, IHasName {
 
     // This is not actually used, but is available immediately after training
     protected GeneralizedLinearRegressionModel underlyingModel;
+    // The AIC of the fit, when trained without Spark (e.g. by GLMLearner)
+    protected double aic = Double.NaN;
 
     @Override
     public double[] coefficients() {
@@ -88,6 +90,20 @@ public abstract class GLMHeuristic implements ICoefficients, IHasName {
         return this;
     }
 
+    /**
+     * @return the AIC of the model on the data it was trained on (NaN if it was loaded rather than trained)
+     */
+    public double getAIC() {
+        if (underlyingModel != null)
+            return underlyingModel.summary().aic();
+        return aic;
+    }
+
+    public GLMHeuristic setAIC(double aic) {
+        this.aic = aic;
+        return this;
+    }
+
 
     @Override
     public String getName() {
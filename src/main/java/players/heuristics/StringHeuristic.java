@@ -7,18 +7,11 @@ import core.interfaces.IStateHeuristic;
 import games.loveletter.LoveLetterGameState;
 import games.tictactoe.TicTacToeGameState;
 
-import javax.tools.*;
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.MalformedURLException;
-import java.net.URI;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.List;
 
 public class StringHeuristic implements IStateHeuristic {
 
@@ -73,57 +66,18 @@ public class StringHeuristic implements IStateHeuristic {
         // Replace class name in the source code
         String sourceCode = str.replaceAll("public class .*? \\{", "public class " + className + " {");
 
-        // Compile source code
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        // Compile the source code (or find it already compiled, if we have seen this code before)
+        Class<?> dynamicClass = CompiledClassCache.loadClass(className, sourceCode);
+        System.out.println("Heuristic loaded: " + fileName);
 
-        // Create a file object for the source code
-        JavaFileObject javaFileObject = new SimpleJavaFileObject(
-                URI.create("string:///" + className + ".java"), JavaFileObject.Kind.SOURCE) {
-            @Override
-            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
-                return sourceCode;
-            }
-        };
-
-        // Compile the source code
-        DiagnosticCollector<JavaFileObject> diagnosticsCollector = new DiagnosticCollector<JavaFileObject>();
-
-        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager,
-                diagnosticsCollector, null, null,
-                List.of(javaFileObject));
-
-        boolean success = task.call();
-        if (!success) {
-            StringBuilder sb = new StringBuilder();
-            List<Diagnostic<? extends JavaFileObject>> diagnostics = diagnosticsCollector.getDiagnostics();
-            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
-                if (diagnostic.getKind() != Diagnostic.Kind.NOTE) {
-                    // read error details from the diagnostic object
-                    sb.append(diagnostic.getMessage(null)).append("\n");
-                }
-            }
-            String error = String.format("Compilation error: %s", sb);
-            throw new RuntimeException(error);
-        } else {
-            System.out.println("Heuristic loaded: " + fileName);
-        }
-
-        // Load the compiled class
         try {
-            URLClassLoader classLoader = URLClassLoader.newInstance(new URL[]{new File("").toURI().toURL()});
-
-            Class<?> dynamicClass = classLoader.loadClass(className);
-
             // Create an instance of the compiled class
             heuristicClass = dynamicClass.getDeclaredConstructor().newInstance();
 
             // Find and invoke the method using reflection
             heuristicFunction = dynamicClass.getMethod("evaluateState", AbstractGameState.class, int.class);
-
-            classLoader.close();
-        } catch (ClassNotFoundException | InvocationTargetException | InstantiationException | IllegalAccessException |
-                 NoSuchMethodException | IOException | NoClassDefFoundError e) {
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException |
+                 NoSuchMethodException | NoClassDefFoundError e) {
             throw new RuntimeException(e);
         }
     }
@@ -8,6 +8,7 @@ import org.apache.spark.ml.regression.DecisionTreeRegressor;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import players.heuristics.*;
+import utilities.JSONUtils;
 
 import java.io.BufferedWriter;
 import java.io.File;
@@ -93,6 +94,8 @@ public class DecisionTreeLearner extends ApacheLearner {
     public void writeToFile(String file) {
         try {
             drModel.write().overwrite().save(file);
+            // and the flattened tree, so that the heuristic can be loaded without Spark
+            JSONUtils.writeJSON(FlatDecisionTree.from(drModel).toJSON(), file + File.separator + AbstractDecisionTreeHeuristic.FLAT_TREE_FILE);
             BufferedWriter writer = new BufferedWriter(new java.io.FileWriter(file + File.separator + "Description.txt"));
             writer.write(DecisionTreeActionHeuristic.prettifyDecisionTreeDescription(drModel, descriptions));
             writer.close();
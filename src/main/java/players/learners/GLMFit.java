@@ -0,0 +1,283 @@
+package players.learners;
+
+import java.util.Arrays;
+
+/**
+ * Fits a Generalised Linear Model to data held in primitive arrays, using Iteratively Reweighted Least Squares (IRLS).
+ * This does the same job as Spark's GeneralizedLinearRegression for the families we use (with the same L2 penalty and
+ * the same definition of AIC), without needing a Spark session.
+ * <p>
+ * The data is the same as AbstractLearner.dataArray: one row per data point, with the bias term of 1.0 in column 0.
+ * The intercept (coefficient 0) is never penalised.
+ */
+public class GLMFit {
+
+    public enum Family {
+        GAUSSIAN, // identity link, as OLSLearner
+        BINOMIAL  // logit link, as LogisticLearner
+    }
+
+    static final double MU_EPSILON = 1e-10;
+
+    public final Family family;
+    public final double[] coefficients;
+    public final double deviance;
+    public final double aic;
+    public final int iterations;
+
+    private GLMFit(Family family, double[] coefficients, double deviance, double aic, int iterations) {
+        this.family = family;
+        this.coefficients = coefficients;
+        this.deviance = deviance;
+        this.aic = aic;
+        this.iterations = iterations;
+    }
+
+    /**
+     * @param x         - the data, with a bias column of 1.0 first
+     * @param y         - the target for each row (in [0, 1] for BINOMIAL)
+     * @param family    - GAUSSIAN or BINOMIAL
+     * @param regParam  - the L2 regularisation parameter (0 for none)
+     * @param maxIter   - the maximum number of IRLS iterations (only one is needed for GAUSSIAN)
+     * @param tolerance - iterations stop once no coefficient changes by more than this
+     */
+    public static GLMFit fit(double[][] x, double[] y, Family family, double regParam, int maxIter, double tolerance) {
+        int n = x.length;
+        int p = x[0].length;
+        double[] weights = new double[n];
+        double[] response = new double[n];
+        double[] beta = new double[p];
+        int iteration = 0;
+
+        if (family == Family.GAUSSIAN) {
+            Arrays.fill(weights, 1.0);
+            beta = solve(gram(x, weights, penalty(x, weights, y, regParam, true)), crossProduct(x, weights, y));
+            iteration = 1;
+        } else {
+            // start from mu = (y + 0.5) / 2, as R and Spark do
+            double[] eta = new double[n];
+            for (int i = 0; i < n; i++) {
+                double mu = (y[i] + 0.5) / 2.0;
+                eta[i] = Math.log(mu / (1.0 - mu));
+            }
+            while (iteration < maxIter) {
+                for (int i = 0; i < n; i++) {
+                    double mu = clampedMu(eta[i]);
+                    double w = mu * (1.0 - mu);
+                    weights[i] = w;
+                    response[i] = eta[i] + (y[i] - mu) / w;
+                }
+                double[] newBeta = solve(gram(x, weights, penalty(x, weights, response, regParam, false)),
+                        crossProduct(x, weights, response));
+                iteration++;
+                double maxChange = 0.0;
+                for (int j = 0; j < p; j++)
+                    maxChange = Math.max(maxChange, Math.abs(newBeta[j] - beta[j]));
+                beta = newBeta;
+                for (int i = 0; i < n; i++)
+                    eta[i] = dot(x[i], beta);
+                if (maxChange < tolerance)
+                    break;
+            }
+        }
+
+        double deviance = 0.0, aic;
+        if (family == Family.GAUSSIAN) {
+            for (int i = 0; i < n; i++) {
+                double r = y[i] - dot(x[i], beta);
+                deviance += r * r;
+            }
+            aic = n * (Math.log(deviance / n * 2.0 * Math.PI) + 1.0) + 2.0 + 2.0 * p;
+        } else {
+            double logLikelihood = 0.0;
+            for (int i = 0; i < n; i++) {
+                double mu = clampedMu(dot(x[i], beta));
+                deviance += 2.0 * (xLogXOverY(y[i], mu) + xLogXOverY(1.0 - y[i], 1.0 - mu));
+                // AIC treats each target as a single Bernoulli trial, so fractional targets are rounded
+                logLikelihood += Math.round(y[i]) == 1 ? Math.log(mu) : Math.log(1.0 - mu);
+            }
+            aic = -2.0 * logLikelihood + 2.0 * p;
+        }
+        return new GLMFit(family, beta, deviance, aic, iteration);
+    }
+
+    /**
+     * The penalty added to the diagonal of X'WX, following Spark's weighted least squares. If standardised (as Spark
+     * does for GAUSSIAN) the L2 penalty applies to the coefficients of standardised features, and is scaled by the
+     * standard deviation of the response, so this is regParam * sum(w) * variance(feature) / sd(response), all
+     * weighted by w. Otherwise (as Spark does in each IRLS step) it is just regParam * sum(w).
+     * The intercept is not penalised.
+     */
+    static double[] penalty(double[][] x, double[] weights, double[] response, double regParam, boolean standardise) {
+        int p = x[0].length;
+        double[] penalty = new double[p];
+        if (regParam <= 0.0)
+            return penalty;
+        if (!standardise) {
+            double wSum = 0.0;
+            for (double w : weights)
+                wSum += w;
+            Arrays.fill(penalty, 1, p, regParam * wSum);
+            return penalty;
+        }
+        double wSum = 0.0, ySum = 0.0, yySum = 0.0;
+        double[] sum = new double[p], sumSq = new double[p];
+        for (int i = 0; i < x.length; i++) {
+            double w = weights[i];
+            double[] row = x[i];
+            wSum += w;
+            ySum += w * response[i];
+            yySum += w * response[i] * response[i];
+            for (int j = 1; j < p; j++) {
+                double wx = w * row[j];
+                sum[j] += wx;
+                sumSq[j] += wx * row[j];
+            }
+        }
+        double yMean = ySum / wSum;
+        double ySd = Math.sqrt(Math.max(yySum / wSum - yMean * yMean, 0.0));
+        if (ySd == 0.0)
+            ySd = 1.0;
+        for (int j = 1; j < p; j++) {
+            double mean = sum[j] / wSum;
+            double variance = Math.max(sumSq[j] / wSum - mean * mean, 0.0);
+            penalty[j] = regParam * wSum * variance / ySd;
+        }
+        return penalty;
+    }
+
+    /**
+     * @return X'WX, plus the penalty on the diagonal
+     */
+    static double[][] gram(double[][] x, double[] weights, double[] penalty) {
+        int p = x[0].length;
+        double[][] gram = new double[p][p];
+        for (int i = 0; i < x.length; i++) {
+            double[] row = x[i];
+            double w = weights[i];
+            for (int j = 0; j < p; j++) {
+                double wx = w * row[j];
+                if (wx == 0.0) continue;  // the data is often sparse (one-hot encoded features)
+                double[] gramRow = gram[j];
+                for (int k = j; k < p; k++)
+                    gramRow[k] += wx * row[k];
+            }
+        }
+        for (int j = 0; j < p; j++) {
+            gram[j][j] += penalty[j];
+            for (int k = 0; k < j; k++)
+                gram[j][k] = gram[k][j];
+        }
+        return gram;
+    }
+
+    /**
+     * @return X'Wy
+     */
+    static double[] crossProduct(double[][] x, double[] weights, double[] y) {
+        int p = x[0].length;
+        double[] xty = new double[p];
+        for (int i = 0; i < x.length; i++) {
+            double wy = weights[i] * y[i];
+            double[] row = x[i];
+            for (int j = 0; j < p; j++)
+                xty[j] += row[j] * wy;
+        }
+        return xty;
+    }
+
+    /**
+     * Solves A x = b for a symmetric positive semi-definite A, by Cholesky decomposition. If A is singular (for
+     * example, if one feature is a copy of another) a small ridge is added to the diagonal until it is not.
+     */
+    static double[] solve(double[][] a, double[] b) {
+        return choleskySolve(factorise(a), b);
+    }
+
+    /**
+     * @return the Cholesky factor of A, with a small ridge added to the diagonal if A is singular
+     */
+    static double[][] factorise(double[][] a) {
+        double scale = 0.0;
+        for (int j = 0; j < a.length; j++)
+            scale = Math.max(scale, Math.abs(a[j][j]));
+        double ridge = 0.0;
+        while (true) {
+            double[][] l = cholesky(a, ridge);
+            if (l != null)
+                return l;
+            ridge = ridge == 0.0 ? Math.max(scale, 1.0) * 1e-10 : ridge * 10.0;
+        }
+    }
+
+    /**
+     * @return the lower triangular L with L L' = A + ridge * I, or null if that is not positive definite
+     */
+    static double[][] cholesky(double[][] a, double ridge) {
+        int p = a.length;
+        double[][] l = new double[p][p];
+        for (int j = 0; j < p; j++) {
+            double[] lj = l[j];
+            double d = a[j][j] + ridge;
+            for (int k = 0; k < j; k++)
+                d -= lj[k] * lj[k];
+            if (!(d > 1e-12 * (Math.abs(a[j][j]) + ridge + 1e-300)))
+                return null;
+            double diag = Math.sqrt(d);
+            lj[j] = diag;
+            for (int i = j + 1; i < p; i++) {
+                double[] li = l[i];
+                double s = a[i][j];
+                for (int k = 0; k < j; k++)
+                    s -= li[k] * lj[k];
+                li[j] = s / diag;
+            }
+        }
+        return l;
+    }
+
+    static double[] choleskySolve(double[][] l, double[] b) {
+        int p = b.length;
+        double[] z = forwardSolve(l, b);
+        double[] x = new double[p];
+        for (int i = p - 1; i >= 0; i--) {
+            double s = z[i];
+            for (int k = i + 1; k < p; k++)
+                s -= l[k][i] * x[k];
+            x[i] = s / l[i][i];
+        }
+        return x;
+    }
+
+    /**
+     * @return z with L z = b, for lower triangular L
+     */
+    static double[] forwardSolve(double[][] l, double[] b) {
+        int p = b.length;
+        double[] z = new double[p];
+        for (int i = 0; i < p; i++) {
+            double s = b[i];
+            double[] li = l[i];
+            for (int k = 0; k < i; k++)
+                s -= li[k] * z[k];
+            z[i] = s / li[i];
+        }
+        return z;
+    }
+
+    static double dot(double[] a, double[] b) {
+        double s = 0.0;
+        for (int j = 0; j < a.length; j++)
+            s += a[j] * b[j];
+        return s;
+    }
+
+    static double clampedMu(double eta) {
+        double mu = 1.0 / (1.0 + Math.exp(-eta));
+        return Math.min(Math.max(mu, MU_EPSILON), 1.0 - MU_EPSILON);
+    }
+
+    private static double xLogXOverY(double x, double y) {
+        return x <= 0.0 ? 0.0 : x * Math.log(x / y);
+    }
+}
@@ -0,0 +1,88 @@
+package players.learners;
+
+import core.interfaces.IActionFeatureVector;
+import core.interfaces.IStateFeatureVector;
+import players.heuristics.*;
+
+/**
+ * Learns a linear (GAUSSIAN) or logistic (BINOMIAL) model, as OLSLearner and LogisticLearner do, but fits it in
+ * process with GLMFit rather than with Spark. This avoids starting a Spark session, which takes several seconds and
+ * a lot of memory for data sets that are only a few thousand rows.
+ * <p>
+ * The heuristics returned are the same classes (and write the same JSON) as those from the Spark learners.
+ */
+public class GLMLearner extends AbstractLearner {
+
+    GLMFit.Family family = GLMFit.Family.GAUSSIAN;
+    double regParam = 0.1;
+    int maxIterations = 25;
+    double tolerance = 1e-6;
+
+    public GLMLearner() {
+        super();
+    }
+
+    public GLMLearner(double gamma, double regParam, Target target, GLMFit.Family family) {
+        this(gamma, regParam, target, family, null, null);
+    }
+
+    public GLMLearner(Target target, GLMFit.Family family, IStateFeatureVector stateFeatureVector) {
+        super(1.0, target, stateFeatureVector);
+        this.family = family;
+    }
+
+    public GLMLearner(Target target, GLMFit.Family family, IStateFeatureVector stateFeatureVector, IActionFeatureVector actionFeatureVector) {
+        super(1.0, target, stateFeatureVector, actionFeatureVector);
+        this.family = family;
+    }
+
+    public GLMLearner(double gamma, double regParam, Target target, GLMFit.Family family,
+                      IStateFeatureVector stateFeatureVector, IActionFeatureVector actionFeatureVector) {
+        super(gamma, target, stateFeatureVector, actionFeatureVector);
+        this.family = family;
+        this.regParam = regParam;
+    }
+
+    public GLMLearner setMaxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+        return this;
+    }
+
+    @Override
+    public Object learnFrom(String... files) {
+        loadData(files);
+        double[] y = new double[target.length];
+        for (int i = 0; i < y.length; i++)
+            y[i] = target[i][0];
+        GLMFit fit = GLMFit.fit(dataArray, y, family, regParam, maxIterations, tolerance);
+        return heuristicFrom(fit);
+    }
+
+    GLMHeuristic heuristicFrom(GLMFit fit) {
+        GLMHeuristic retValue;
+        if (family == GLMFit.Family.BINOMIAL) {
+            if (actionFeatureVector == null)
+                retValue = new LogisticStateHeuristic(stateFeatureVector, fit.coefficients, new WinOnlyHeuristic());
+            else
+                retValue = new LogisticActionHeuristic(actionFeatureVector, stateFeatureVector, fit.coefficients);
+        } else {
+            if (actionFeatureVector == null)
+                retValue = new LinearStateHeuristic(stateFeatureVector, fit.coefficients,
+                        switch (targetType) {
+                            case ORDINAL, ORD_MEAN, ORD_SCALE, ORD_MEAN_SCALE -> new OrdinalPosition();
+                            case SCORE -> new PureScoreHeuristic();
+                            case SCORE_DELTA -> new LeaderHeuristic();
+                            default -> new WinOnlyHeuristic();
+                        });
+            else
+                retValue = new LinearActionHeuristic(actionFeatureVector, stateFeatureVector, fit.coefficients);
+        }
+        retValue.setAIC(fit.aic);
+        return retValue;
+    }
+
+    @Override
+    public String name() {
+        return family == GLMFit.Family.BINOMIAL ? "Logistic" : "OLS";
+    }
+}
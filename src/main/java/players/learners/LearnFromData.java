@@ -147,13 +147,15 @@ public class LearnFromData {
         if (startingHeuristic instanceof GLMHeuristic glm) {
             AutomatedFeatures asf = (AutomatedFeatures) (learner.getActionFeatureVector() != null ? learner.getActionFeatureVector() : learner.getStateFeatureVector());
             String bestFeatureDescription = "";
-            double baseBIC = bicFromAic(glm.getModel().summary().aic(), asf.names().length, n);
+            double baseBIC = bicFromAic(glm.getAIC(), asf.names().length, n);
             double bestBIC = baseBIC;
             System.out.println("Starting modified BIC: " + baseBIC);
             List<String> excludedFeatures = new ArrayList<>();
             List<String> excludedBucketFeatures = new ArrayList<>();
             List<String> excludedInteractionFeatures = new ArrayList<>();
             List<String> featuresToKeep = new ArrayList<>();
+            // removals whose fitted BIC did not match their estimate; only ruled out until the model next changes
+            List<String> rejectedRemovals = new ArrayList<>();
             int iteration = 0;
             String dataDirectory = dataFiles[0].substring(0, dataFiles[0].lastIndexOf(File.separator));
             String outputFile = dataDirectory + File.separator + "ImproveModel_tmp.txt";
@@ -173,23 +175,22 @@ public class LearnFromData {
                 removeExcludedFeatures(excludedFeatures, asf);
             }
 
+            boolean retry = false;
             do {
                 bestFeatures = null;
+                bestFeatureDescription = "";
+                String removedFeature = null;
+                if (!retry)
+                    rejectedRemovals.clear();
+                retry = false;
                 if (debug)
                     System.out.printf("Iteration %d, current feature count %d / %d%n", iteration, asf.names().length, learner.featureCount());
                 baseBIC = bestBIC;  // reset baseline
-                for (int i = 0; i < asf.names().length; i++) {
 
+                // First consider more buckets for each RAW feature; these change the data, so each needs a full fit
+                for (int i = 0; i < asf.names().length; i++) {
                     String firstFeature = asf.names()[i];
-                    AutomatedFeatures.featureType type1 = asf.getFeatureType(i);
-
-                    if (type1 == RANGE) {
-                        int underlyingIndex = asf.getUnderlyingIndex(i);
-                        String underlyingFeature = asf.names()[underlyingIndex];
-                        if (!excludedBucketFeatures.contains(underlyingFeature))
-                            continue;  // we only consider RANGE features for interactions once the bucketing is fixed
-                    }
-                    if (type1 == AutomatedFeatures.featureType.RAW && !excludedBucketFeatures.contains(firstFeature)) {
+                    if (asf.getFeatureType(i) == RAW && !excludedBucketFeatures.contains(firstFeature)) {
                         // once a feature is below the base AIC, we save time by not checking it for bucketing again
                         AutomatedFeatures adjustedASF = asf.copy();
                         int underlyingIndex = asf.getUnderlyingIndex(i);
@@ -209,6 +210,17 @@ public class LearnFromData {
                             excludedBucketFeatures.add(firstFeature);
                         }
                     }
+                }
+
+                // Then interactions between features, and removal of features
+                List<Candidate> candidates = new ArrayList<>();
+                for (int i = 0; i < asf.names().length; i++) {
+                    if (asf.getFeatureType(i) == RANGE) {
+                        String underlyingFeature = asf.names()[asf.getUnderlyingIndex(i)];
+                        if (!excludedBucketFeatures.contains(underlyingFeature))
+                            continue;  // we only consider RANGE features for interactions once the bucketing is fixed
+                    }
+                    String firstFeature = asf.names()[i];
 
                     for (int j = i; j < asf.names().length; j++) {
                         String secondFeature = asf.names()[j];
@@ -234,64 +246,88 @@ public class LearnFromData {
                         // check that this is not already an interaction
                         if (asf.getColumnDetails().stream().anyMatch(r -> r.type() == INTERACTION &&
                                 r.name().equals(interactionName))) {
-                            //  System.out.println("Already an interaction: " + firstFeature + " : " + secondFeature);
                             continue;
                         }
-
-                        // Consider the interaction of features
-                        AutomatedFeatures adjustedASF = asf.copy();
-                        adjustedASF.addInteraction(i, j);
-                        FeatureAnalysisResult result = processNewFeature(adjustedASF, outputFile, rawData, learner, n);
-
-                        if (debug)
-                            System.out.printf("\tConsidered interaction: %s, new BIC: %.2f%n", interactionName, result.newBIC);
-//                        System.out.printf("\tCoefficients: %s%n",
-//                                result.newHeuristic.coefficients() != null ?
-//                                        Arrays.stream(result.newHeuristic.coefficients()).mapToObj(d -> String.format("%.2f", d)).collect(joining("|")) : "[]");
-
-                        if (result.newBIC < bestBIC) {
-                            bestBIC = result.newBIC;
-                            bestFeatures = result.adjustedASF;
-                            startingHeuristic = result.newHeuristic;
-                            bestFeatureDescription = interactionName;
-                        } else if (result.newBIC > baseBIC) {
-                            // if an interaction worsens the BIC, then we exclude it from future consideration
-                            // on the basis that this is *unlikely* to improve in future iterations [although it might]
-                            excludedInteractionFeatures.add(interactionName);
-                        }
+                        candidates.add(new Candidate(i, j, interactionName));
                     }
 
-                    // Then consider removing this feature (if it is not part of an interaction, and we have finished bucketing)
-                    String featureToRemove = asf.names()[i];
                     // we *can* remove interactions that are in other interactions (just not RANGE or RAW features)
-                    if (asf.getFeatureType(i) != INTERACTION && (featuresToKeep.contains(featureToRemove) || usedInInteraction(asf, featureToRemove)))
+                    // interactions are always reconsidered for removal, even if removing them damaged BIC before
+                    if (rejectedRemovals.contains(firstFeature) || (asf.getFeatureType(i) != INTERACTION &&
+                            (featuresToKeep.contains(firstFeature) || usedInInteraction(asf, firstFeature))))
                         continue; // we don't want to remove a RAW/RANGE feature that is part of an interaction, or that previous removal damaged BIC
+                    candidates.add(new Candidate(i, -1, firstFeature));
+                }
 
-                    AutomatedFeatures adjustedASF = asf.copy();
-                    adjustedASF.removeFeature(i);
-
-                    // we always use the data file from this iteration of building the model (as this has all the data)
-                    FeatureAnalysisResult result = processNewFeature(adjustedASF, outputFile, new String[0], learner, n);
+                // Each candidate is scored from the current model by a rank-one update (in parallel, but deterministically)
+                double[] candidateBIC = new double[candidates.size()];
+                StepwiseScorer scorer = StepwiseScorer.forLearner(learner, asf, rawData[0]);
+                int k = asf.names().length;
+                if (scorer != null) {
+                    IntStream.range(0, candidates.size()).parallel().forEach(c -> {
+                        Candidate candidate = candidates.get(c);
+                        candidateBIC[c] = candidate.isRemoval() ?
+                                bicFromAic(scorer.aicWithout(candidate.first()), k - 1, n) :
+                                bicFromAic(scorer.aicWithInteraction(candidate.first(), candidate.second()), k + 1, n);
+                    });
+                } else {
+                    // not a GLM we can score, so we fit the model for each candidate
+                    for (int c = 0; c < candidates.size(); c++)
+                        candidateBIC[c] = processNewFeature(candidates.get(c).applyTo(asf), outputFile, rawData, learner, n).newBIC;
+                }
 
+                double bestBeforeCandidates = bestBIC;
+                Candidate bestCandidate = null;
+                for (int c = 0; c < candidates.size(); c++) {
+                    Candidate candidate = candidates.get(c);
                     if (debug)
-                        System.out.printf("\tConsidered feature removal: %s, new BIC: %.2f%n", featureToRemove, result.newBIC);
-//                    System.out.printf("\tCoefficients: %s%n",
-//                            result.newHeuristic.coefficients() != null ?
-//                                    Arrays.stream(result.newHeuristic.coefficients()).mapToObj(d -> String.format("%.2f", d)).collect(joining("|")) : "[]");
-                    if (result.newBIC < bestBIC) {
+                        System.out.printf("\tConsidered %s: %s, new BIC: %.2f%n",
+                                candidate.isRemoval() ? "feature removal" : "interaction", candidate.name(), candidateBIC[c]);
+                    if (candidateBIC[c] < bestBIC) {
+                        bestBIC = candidateBIC[c];
+                        bestCandidate = candidate;
+                    } else if (candidate.isRemoval()) {
+                        if (candidateBIC[c] > baseBIC + bicMultiplier * k)
+                            featuresToKeep.add(candidate.name());
+                    } else if (candidateBIC[c] > baseBIC) {
+                        // if an interaction worsens the BIC, then we exclude it from future consideration
+                        // on the basis that this is *unlikely* to improve in future iterations [although it might]
+                        excludedInteractionFeatures.add(candidate.name());
+                    }
+                }
+
+                if (bestCandidate != null) {
+                    // the best candidate's BIC is only estimated, so we fit the model with it to confirm the improvement
+                    FeatureAnalysisResult result = processNewFeature(bestCandidate.applyTo(asf), outputFile, rawData, learner, n);
+                    if (result.newBIC < bestBeforeCandidates) {
                         bestBIC = result.newBIC;
                         bestFeatures = result.adjustedASF;
                         startingHeuristic = result.newHeuristic;
-                        bestFeatureDescription = String.format("Removed Feature %s", featureToRemove);
-                    } else if (result.newBIC > baseBIC + bicMultiplier * asf.names().length) {
-                        featuresToKeep.add(featureToRemove);
+                        if (bestCandidate.isRemoval()) {
+                            removedFeature = bestCandidate.name();
+                            bestFeatureDescription = String.format("Removed Feature %s", removedFeature);
+                        } else {
+                            bestFeatureDescription = bestCandidate.name();
+                        }
+                    } else {
+                        // the estimate was too optimistic; we rule the candidate out, and search again
+                        if (debug)
+                            System.out.printf("\tRejected %s, with fitted BIC: %.2f%n", bestCandidate.name(), result.newBIC);
+                        bestBIC = bestBeforeCandidates;
+                        if (bestCandidate.isRemoval()) {
+                            featuresToKeep.add(bestCandidate.name());
+                            rejectedRemovals.add(bestCandidate.name());
+                        }
+                        else
+                            excludedInteractionFeatures.add(bestCandidate.name());
+                        retry = bestFeatures == null;
                     }
                 }
 
-                if (bestFeatureDescription.startsWith("Removed Feature")) {
+                if (removedFeature != null) {
                     // If the best is a removal, we need to add to excludedFeatures so that we exclude it from future iterations
                     // otherwise processNewData will keep adding it back in
-                    excludedFeatures.add(bestFeatureDescription.substring(bestFeatureDescription.lastIndexOf("is ") + 3));
+                    excludedFeatures.add(removedFeature);
                 }
                 // We then also need to set up the data file to be used as the baseline for the next iteration
                 if (bestFeatures != null) {
@@ -324,9 +360,9 @@ public class LearnFromData {
                     startTime = System.currentTimeMillis();
                     bicMultiplier = bicMultiplier + baseBicMultiplier;
                     // then adjust current bestBIC to reflect the new multiplier
-                    bestBIC = bicFromAic(glm.getModel().summary().aic(), asf.names().length, n);
+                    bestBIC = bicFromAic(glm.getAIC(), asf.names().length, n);
                 }
-            } while (bestFeatures != null);
+            } while (bestFeatures != null || retry);
 
         } else {
             throw new RuntimeException("Invalid starting Model " + startingHeuristic.getClass());
@@ -361,6 +397,22 @@ public class LearnFromData {
         maxRecords = i;
     }
 
+    // An interaction between features first and second, or the removal of feature first (when second is -1)
+    private record Candidate(int first, int second, String name) {
+        boolean isRemoval() {
+            return second == -1;
+        }
+
+        AutomatedFeatures applyTo(AutomatedFeatures asf) {
+            AutomatedFeatures adjustedASF = asf.copy();
+            if (isRemoval())
+                adjustedASF.removeFeature(first);
+            else
+                adjustedASF.addInteraction(first, second);
+            return adjustedASF;
+        }
+    }
+
     private record FeatureAnalysisResult(
             AutomatedFeatures adjustedASF,
             GLMHeuristic newHeuristic,
@@ -383,7 +435,7 @@ public class LearnFromData {
             learner.setStateFeatureVector(localASF);
 
         GLMHeuristic newHeuristic = (GLMHeuristic) learner.learnFrom(outputFile);
-        double newBIC = bicFromAic(newHeuristic.getModel().summary().aic(), localASF.names().length, n);
+        double newBIC = bicFromAic(newHeuristic.getAIC(), localASF.names().length, n);
         return new FeatureAnalysisResult(localASF, newHeuristic, newBIC);
     }
 
@@ -0,0 +1,187 @@
+package players.learners;
+
+import evaluation.features.AutomatedFeatures;
+
+import java.util.Arrays;
+
+/**
+ * Estimates the AIC of a GLM after adding or removing one column, without refitting it. This is what makes the
+ * stepwise search in LearnFromData affordable: the model is fitted once per step, and the Cholesky factor of the
+ * (weighted, penalised) Gram matrix X'WX + P is kept, so that each candidate is scored by a rank-one update.
+ * <ul>
+ *     <li>Adding a column c: the deviance falls by (c'r)^2 / (c'Wc - c'WX (X'WX)^-1 X'Wc), where r is the residual
+ *     y - mu. For GAUSSIAN (without regularisation) this is exact; for BINOMIAL it is the score test.</li>
+ *     <li>Removing column j: the deviance rises by beta_j^2 / [(X'WX)^-1]_jj, the Wald statistic.</li>
+ * </ul>
+ * These are estimates once regularised, or for BINOMIAL, so the candidate chosen should still be fitted properly.
+ * Scoring only reads the scorer, so candidates can be scored in parallel.
+ */
+class StepwiseScorer {
+
+    final GLMFit.Family family;
+    final double[][] x;
+    final int n, p;
+    final double regParam;
+    final double[] weights;
+    final double[] residual;
+    final double[][] cholesky;
+    final double[] coefficients;
+    final double[] inverseDiagonal;
+    final double rss;
+    final double aic;
+    // used for the penalty of new columns
+    final double weightSum, responseSd;
+
+    /**
+     * @return a scorer for the GLM the learner fits, on the data in the file, or null if the learner is not a GLM
+     */
+    static StepwiseScorer forLearner(AbstractLearner learner, AutomatedFeatures features, String dataFile) {
+        GLMFit.Family family;
+        double regParam;
+        if (learner instanceof GLMLearner glm) {
+            family = glm.family;
+            regParam = glm.regParam;
+        } else if (learner instanceof OLSLearner ols) {
+            family = GLMFit.Family.GAUSSIAN;
+            regParam = ols.regParam;
+        } else if (learner instanceof LogisticLearner logistic) {
+            family = GLMFit.Family.BINOMIAL;
+            regParam = logistic.regParam;
+        } else {
+            return null;
+        }
+        if (learner.getActionFeatureVector() != null)
+            learner.setActionFeatureVector(features);
+        else
+            learner.setStateFeatureVector(features);
+        learner.loadData(dataFile);
+        if (!Arrays.asList(learner.header).containsAll(Arrays.asList(features.names())))
+            return null;  // columns would not line up with the features
+        double[] y = new double[learner.target.length];
+        for (int i = 0; i < y.length; i++)
+            y[i] = learner.target[i][0];
+        return new StepwiseScorer(learner.dataArray, y, family, regParam);
+    }
+
+    StepwiseScorer(double[][] x, double[] y, GLMFit.Family family, double regParam) {
+        this.family = family;
+        this.x = x;
+        this.n = x.length;
+        this.p = x[0].length;
+        this.regParam = regParam;
+        GLMFit fit = GLMFit.fit(x, y, family, regParam, 25, 1e-6);
+        coefficients = fit.coefficients;
+        aic = fit.aic;
+
+        weights = new double[n];
+        residual = new double[n];
+        double[] response = new double[n];
+        double sumSq = 0.0;
+        for (int i = 0; i < n; i++) {
+            double eta = GLMFit.dot(x[i], coefficients);
+            if (family == GLMFit.Family.GAUSSIAN) {
+                weights[i] = 1.0;
+                residual[i] = y[i] - eta;
+                response[i] = y[i];
+            } else {
+                double mu = GLMFit.clampedMu(eta);
+                weights[i] = mu * (1.0 - mu);
+                residual[i] = y[i] - mu;
+                response[i] = eta + residual[i] / weights[i];
+            }
+            sumSq += residual[i] * residual[i];
+        }
+        rss = sumSq;
+        boolean standardise = family == GLMFit.Family.GAUSSIAN;
+        cholesky = GLMFit.factorise(GLMFit.gram(x, weights, GLMFit.penalty(x, weights, response, regParam, standardise)));
+
+        double wSum = 0.0, ySum = 0.0, yySum = 0.0;
+        for (int i = 0; i < n; i++) {
+            wSum += weights[i];
+            ySum += weights[i] * response[i];
+            yySum += weights[i] * response[i] * response[i];
+        }
+        weightSum = wSum;
+        double sd = Math.sqrt(Math.max(yySum / wSum - (ySum / wSum) * (ySum / wSum), 0.0));
+        responseSd = !standardise || sd == 0.0 ? 1.0 : sd;
+
+        // the diagonal of (X'WX + P)^-1, from the columns of L^-1
+        inverseDiagonal = new double[p];
+        for (int j = 0; j < p; j++) {
+            double[] u = new double[p];
+            u[j] = 1.0 / cholesky[j][j];
+            double diag = u[j] * u[j];
+            for (int i = j + 1; i < p; i++) {
+                double s = 0.0;
+                double[] li = cholesky[i];
+                for (int k = j; k < i; k++)
+                    s -= li[k] * u[k];
+                u[i] = s / li[i];
+                diag += u[i] * u[i];
+            }
+            inverseDiagonal[j] = diag;
+        }
+    }
+
+    /**
+     * @param first  - index of a feature (column first + 1 of the data, as column 0 is the bias)
+     * @param second - index of another (or the same) feature
+     * @return the estimated AIC once the product of the two features is added to the model
+     */
+    double aicWithInteraction(int first, int second) {
+        double[] column = new double[n];
+        for (int i = 0; i < n; i++)
+            column[i] = x[i][first + 1] * x[i][second + 1];
+        return aicWithColumn(column);
+    }
+
+    /**
+     * @return the estimated AIC once the given column is added to the model
+     */
+    double aicWithColumn(double[] column) {
+        double[] xtc = new double[p];
+        double ctc = 0.0, score = 0.0, sum = 0.0, sumSq = 0.0;
+        for (int i = 0; i < n; i++) {
+            double c = column[i];
+            if (c == 0.0) continue;  // the data is often sparse (one-hot encoded features)
+            double wc = weights[i] * c;
+            double[] row = x[i];
+            for (int j = 0; j < p; j++)
+                xtc[j] += row[j] * wc;
+            ctc += wc * c;
+            score += c * residual[i];
+            sum += wc;
+            sumSq += wc * c;
+        }
+        double penalty = 0.0;
+        if (regParam > 0.0) {
+            double mean = sum / weightSum;
+            penalty = family == GLMFit.Family.GAUSSIAN ?
+                    regParam * weightSum * Math.max(sumSq / weightSum - mean * mean, 0.0) / responseSd :
+                    regParam * weightSum;
+        }
+        double[] v = GLMFit.forwardSolve(cholesky, xtc);
+        double schur = ctc + penalty - GLMFit.dot(v, v);
+        double devianceChange = 0.0;
+        if (schur > 1e-10 * (ctc + penalty))  // otherwise the column is (nearly) a combination of those in the model
+            devianceChange = -score * score / schur;
+        return estimatedAic(devianceChange, p + 1);
+    }
+
+    /**
+     * @param feature - index of a feature (column feature + 1 of the data, as column 0 is the bias)
+     * @return the estimated AIC once the feature is removed from the model
+     */
+    double aicWithout(int feature) {
+        double beta = coefficients[feature + 1];
+        return estimatedAic(beta * beta / inverseDiagonal[feature + 1], p - 1);
+    }
+
+    private double estimatedAic(double devianceChange, int parameters) {
+        if (family == GLMFit.Family.GAUSSIAN) {
+            double newRss = Math.max(rss + devianceChange, 1e-300);
+            return n * (Math.log(newRss / n * 2.0 * Math.PI) + 1.0) + 2.0 + 2.0 * parameters;
+        }
+        return aic + devianceChange + 2.0 * (parameters - p);
+    }
+}
@@ -0,0 +1,256 @@
+package players.mcts;
+
+import core.actions.AbstractAction;
+import core.interfaces.IActionKey;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds MAST statistics (visits and total value per action, one table per player).
+ * <p>
+ * Each table is an open-addressing hash table over primitive arrays, keyed by the int hash of the action (or
+ * IActionKey.hash() if an actionKey is provided). This means that updates and lookups do not allocate, and that
+ * decay happens in place. The cost is that two distinct actions with the same hash share statistics - which for
+ * a heuristic such as MAST is an acceptable trade-off.
+ * <p>
+ * In concurrent mode all updates are lock-free (using CAS on the underlying arrays), so that a single store can be
+ * shared by parallel searches, or by agents across games in a tournament (see shared()). A concurrent table does
+ * not resize; once it is full, statistics for new actions are silently dropped. decay() and clear() are not atomic
+ * with respect to concurrent updates, and should be called between searches.
+ */
+public class MASTStore {
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int EMPTY = 0;
+    private static final int ZERO_KEY = 0x7f4a7c15;  // used in place of a genuine hash of zero
+    private static final int DEFAULT_CAPACITY = 64;
+    public static final int DEFAULT_SHARED_CAPACITY = 1 << 16;
+
+    private static final Map<String, MASTStore> sharedStores = new ConcurrentHashMap<>();
+
+    protected final IActionKey actionKey;
+    protected final boolean concurrent;
+    protected final Table[] tables;
+
+    public MASTStore(int nPlayers, IActionKey actionKey) {
+        this(nPlayers, actionKey, false, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param nPlayers   number of players (one table each)
+     * @param actionKey  used to hash actions; if null then action.hashCode() is used
+     * @param concurrent if true then all updates are lock-free and thread-safe, and the tables do not resize
+     * @param capacity   initial capacity of each table (rounded up to a power of two); this is a hard limit if concurrent
+     */
+    public MASTStore(int nPlayers, IActionKey actionKey, boolean concurrent, int capacity) {
+        this.actionKey = actionKey;
+        this.concurrent = concurrent;
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        tables = new Table[nPlayers];
+        for (int p = 0; p < nPlayers; p++)
+            tables[p] = new Table(size);
+    }
+
+    /**
+     * Returns the process-wide concurrent store with the given name, creating it if needed.
+     * All agents that ask for the same name (and number of players) will share the same statistics across decisions
+     * and games. The name should identify the game (and the actionKey) as action hashes are not comparable across games.
+     */
+    public static MASTStore shared(String name, int nPlayers, IActionKey actionKey) {
+        return sharedStores.computeIfAbsent(name + "_" + nPlayers,
+                k -> new MASTStore(nPlayers, actionKey, true, DEFAULT_SHARED_CAPACITY));
+    }
+
+    public static void clearShared() {
+        sharedStores.clear();
+    }
+
+    protected int key(AbstractAction action) {
+        int key = actionKey == null ? action.hashCode() : actionKey.hash(action);
+        return key == EMPTY ? ZERO_KEY : key;
+    }
+
+    public void update(int player, AbstractAction action, double value) {
+        tables[player].add(key(action), value);
+    }
+
+    public int visits(int player, AbstractAction action) {
+        Table table = tables[player];
+        int slot = table.find(key(action));
+        return slot < 0 ? 0 : table.visits(slot);
+    }
+
+    public double totalValue(int player, AbstractAction action) {
+        Table table = tables[player];
+        int slot = table.find(key(action));
+        return slot < 0 ? 0.0 : table.value(slot);
+    }
+
+    /**
+     * @return the mean value of the action for the player, or defaultValue if it has never been visited
+     */
+    public double mean(int player, AbstractAction action, double defaultValue) {
+        Table table = tables[player];
+        int slot = table.find(key(action));
+        if (slot < 0) return defaultValue;
+        int visits = table.visits(slot);
+        return visits > 0 ? table.value(slot) / visits : defaultValue;
+    }
+
+    /**
+     * Decays all statistics in place by gamma (as Utils.decay does for a single Pair).
+     * A gamma of zero clears the store; a gamma of one (or more) has no effect.
+     */
+    public void decay(double gamma) {
+        if (gamma >= 1.0 || gamma < 0.0) return;
+        if (gamma == 0.0) {
+            clear();
+            return;
+        }
+        for (Table table : tables)
+            table.decay(gamma);
+    }
+
+    public void clear() {
+        for (Table table : tables)
+            table.clear();
+    }
+
+    public int size(int player) {
+        return tables[player].size;
+    }
+
+    public int getNPlayers() {
+        return tables.length;
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("MASTStore");
+        for (int p = 0; p < tables.length; p++)
+            sb.append(String.format(" P%d: %d actions", p, tables[p].size));
+        return sb.toString();
+    }
+
+    protected class Table {
+        int[] keys;
+        int[] visits;
+        long[] values;  // as raw double bits, so that CAS can be used in concurrent mode
+        int mask;
+        int size;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            visits = new int[capacity];
+            values = new long[capacity];
+            mask = capacity - 1;
+        }
+
+        private int startSlot(int key) {
+            int h = key * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        int find(int key) {
+            int[] k = keys;
+            for (int i = startSlot(key), probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                int current = concurrent ? (int) INTS.getVolatile(k, i) : k[i];
+                if (current == key) return i;
+                if (current == EMPTY) return -1;
+            }
+            return -1;
+        }
+
+        int visits(int slot) {
+            return concurrent ? (int) INTS.getVolatile(visits, slot) : visits[slot];
+        }
+
+        double value(int slot) {
+            return Double.longBitsToDouble(concurrent ? (long) LONGS.getVolatile(values, slot) : values[slot]);
+        }
+
+        void add(int key, double value) {
+            if (concurrent) {
+                int slot = findOrInsertConcurrently(key);
+                if (slot < 0) return; // table is full
+                INTS.getAndAdd(visits, slot, 1);
+                long oldBits, newBits;
+                do {
+                    oldBits = (long) LONGS.getVolatile(values, slot);
+                    newBits = Double.doubleToRawLongBits(Double.longBitsToDouble(oldBits) + value);
+                } while (!LONGS.compareAndSet(values, slot, oldBits, newBits));
+            } else {
+                if (size * 4 >= keys.length * 3)
+                    resize();
+                int slot = startSlot(key);
+                while (keys[slot] != key && keys[slot] != EMPTY)
+                    slot = (slot + 1) & mask;
+                if (keys[slot] == EMPTY) {
+                    keys[slot] = key;
+                    size++;
+                }
+                visits[slot]++;
+                values[slot] = Double.doubleToRawLongBits(Double.longBitsToDouble(values[slot]) + value);
+            }
+        }
+
+        private int findOrInsertConcurrently(int key) {
+            for (int i = startSlot(key), probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                int current = (int) INTS.getVolatile(keys, i);
+                if (current == key) return i;
+                if (current == EMPTY) {
+                    if (INTS.compareAndSet(keys, i, EMPTY, key)) {
+                        size++;  // approximate under contention; used for reporting only
+                        return i;
+                    }
+                    if ((int) INTS.getVolatile(keys, i) == key) return i;
+                }
+            }
+            return -1;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys, oldVisits = visits;
+            long[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            visits = new int[oldKeys.length * 2];
+            values = new long[oldKeys.length * 2];
+            mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == EMPTY) continue;
+                int slot = startSlot(oldKeys[i]);
+                while (keys[slot] != EMPTY)
+                    slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                visits[slot] = oldVisits[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        void decay(double gamma) {
+            for (int i = 0; i < keys.length; i++) {
+                int oldCount = visits[i];
+                if (oldCount == 0) continue;
+                int newCount = (int) (oldCount * gamma);
+                visits[i] = newCount;
+                values[i] = Double.doubleToRawLongBits(Double.longBitsToDouble(values[i]) * newCount / oldCount);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(keys, EMPTY);
+            Arrays.fill(visits, 0);
+            Arrays.fill(values, 0L);
+            size = 0;
+        }
+    }
+}
@@ -10,6 +10,14 @@ public class MCTSEnums {
         Closed_Loop, Open_Loop, Information_Set
     }
 
+    public enum Determinisation {
+        GameCopy, Resample, ParticleFilter
+        // Only relevant for Information_Set search
+        // GameCopy calls the game's copy(playerId) on every iteration
+        // Resample takes one observation per decision, and then re-samples just the hidden components on each iteration
+        // ParticleFilter maintains a pool of determinisations across decisions, filtered by the actions observed
+    }
+
     public enum MASTType {
         None, Rollout, Tree, Both
     }
@@ -51,6 +51,7 @@ public class MCTSMetrics implements IMetricsCollection {
                 records.put("copyCalls", mctsPlayer.root.copyCount / visits);
                 records.put("time", mctsPlayer.root.timeTaken);
                 records.put("initTime", mctsPlayer.root.initialisationTimeTaken);
+                records.put("playoutStepsPerSec", mctsPlayer.root.playout.stepsPerSecond());
                 return true;
             }
             return false;
@@ -85,6 +86,45 @@ public class MCTSMetrics implements IMetricsCollection {
             cols.put("copyCalls", Integer.class);
             cols.put("time", Double.class);
             cols.put("initTime", Double.class);
+            cols.put("playoutStepsPerSec", Double.class);
+            return cols;
+        }
+    }
+
+
+    /**
+     * Playout (rollout) speed of each MCTS player over the whole game, in steps per second.
+     */
+    public static class PlayoutSpeed extends AbstractMetric {
+
+        @Override
+        protected boolean _run(MetricsGameListener listener, Event e, Map<String, Object> records) {
+            boolean any = false;
+            for (int i = 0; i < e.state.getNPlayers(); i++) {
+                AbstractPlayer player = listener.getGame().getPlayers().get(i);
+                if (player instanceof MCTSPlayer mctsPlayer) {
+                    records.put("Player-" + i, mctsPlayer.getPlayoutStepsPerSecond());
+                    any = true;
+                } else {
+                    records.put("Player-" + i, 0.0);
+                }
+                records.put("PlayerName-" + i, player.toString());
+            }
+            return any;
+        }
+
+        @Override
+        public Set<IGameEvent> getDefaultEventTypes() {
+            return Collections.singleton(Event.GameEvent.GAME_OVER);
+        }
+
+        @Override
+        public Map<String, Class<?>> getColumns(int nPlayersPerGame, Set<String> playerNames) {
+            Map<String, Class<?>> cols = new HashMap<>();
+            for (int i = 0; i < nPlayersPerGame; i++) {
+                cols.put("Player-" + i, Double.class);
+                cols.put("PlayerName-" + i, String.class);
+            }
             return cols;
         }
     }
@@ -1,17 +1,18 @@
 package players.mcts;
 
-import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.interfaces.*;
 import evaluation.optimisation.TunableParameters;
 import org.jetbrains.annotations.NotNull;
 import players.PlayerParameters;
+import players.heuristics.GameDefaultHeuristic;
 import players.simple.RandomPlayer;
 import utilities.JSONUtils;
 
 import java.util.Arrays;
 import java.util.Random;
 
+import static players.mcts.MCTSEnums.Determinisation.GameCopy;
 import static players.mcts.MCTSEnums.Information.*;
 import static players.mcts.MCTSEnums.MASTType.*;
 import static players.mcts.MCTSEnums.OpponentTreePolicy.OneTree;
@@ -28,9 +29,12 @@ public class MCTSParams extends PlayerParameters {
     public boolean rolloutLengthPerPlayer = false;  // if true, then rolloutLength is multiplied by the number of players
     public int maxTreeDepth = 1000; // effectively no limit
     public MCTSEnums.Information information = Information_Set;  // this should be the default in TAG, given that most games have hidden information
+    public MCTSEnums.Determinisation determinisation = GameCopy;
+    public int particles = 50;  // only used with the ParticleFilter determinisation
     public MCTSEnums.MASTType MAST = None;
     public boolean useMAST = false;
     public double MASTGamma = 0.0;
+    public boolean MASTShared = false;  // if true, MAST statistics are held in a lock-free store shared by all agents (and games) in the process
     public double MASTDefaultValue = 0.0;
     public double MASTBoltzmann = 0.1;
     public double exp3Boltzmann = 0.1;
@@ -55,7 +59,7 @@ public class MCTSParams extends PlayerParameters {
     public boolean maintainMasterState = false;
     public boolean discardStateAfterEachIteration = true;  // default will remove reference to OpenLoopState in backup(). Saves memory!
     public MCTSEnums.RolloutTermination rolloutTermination = EXACT;
-    public IStateHeuristic heuristic = AbstractGameState::getHeuristicScore;
+    public IStateHeuristic heuristic = new GameDefaultHeuristic();
     public IActionKey MASTActionKey;
     public IStateKey MCGSStateKey;
     public boolean MCGSExpandAfterClash = true;
@@ -68,6 +72,8 @@ public class MCTSParams extends PlayerParameters {
     public int initialiseVisits = 0;  // This is the number of visits to initialise the MCTS tree with (using the actionHeuristic)
     public double progressiveWideningConstant = 0.0; //  Zero indicates switched off (well, less than 1.0)
     public double progressiveWideningExponent = 0.0;
+    public boolean progressiveWideningSampled = false;  // if true, PW considers a random sample of actions, and does not generate them all
+    public boolean recordRolloutActions = false;  // rollout actions are always recorded if MAST needs them; this forces it otherwise
     public double progressiveBias = 0.0;
     public boolean reuseTree = false;
     public MCTSEnums.BackupPolicy backupPolicy = MCTSEnums.BackupPolicy.MonteCarlo;
@@ -92,16 +98,21 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("opponentModelParams", ITunableParameters.class);
         addTunableParameter("opponentModel", new RandomPlayer());
         addTunableParameter("information", Information_Set, Arrays.asList(MCTSEnums.Information.values()));
+        addTunableParameter("determinisation", GameCopy, Arrays.asList(MCTSEnums.Determinisation.values()));
+        addTunableParameter("particles", 50, Arrays.asList(10, 20, 50, 100, 200));
         addTunableParameter("selectionPolicy", SIMPLE, Arrays.asList(MCTSEnums.SelectionPolicy.values()));
         addTunableParameter("treePolicy", UCB, Arrays.asList(MCTSEnums.TreePolicy.values()));
         addTunableParameter("opponentTreePolicy", OneTree, Arrays.asList(MCTSEnums.OpponentTreePolicy.values()));
         addTunableParameter("exploreEpsilon", 0.1);
-        addTunableParameter("heuristic", IStateHeuristic.class, AbstractGameState::getHeuristicScore);
+        addTunableParameter("heuristic", IStateHeuristic.class, new GameDefaultHeuristic());
         addTunableParameter("MAST", None, Arrays.asList(MCTSEnums.MASTType.values()));
         addTunableParameter("MASTGamma", 0.0, Arrays.asList(0.0, 0.5, 0.9, 1.0));
+        addTunableParameter("MASTShared", false);
         addTunableParameter("useMASTAsActionHeuristic", false);
         addTunableParameter("progressiveWideningConstant", 0.0, Arrays.asList(0.0, 1.0, 2.0, 4.0, 8.0, 16.0, 32.0));
         addTunableParameter("progressiveWideningExponent", 0.0, Arrays.asList(0.0, 0.1, 0.2, 0.3, 0.5));
+        addTunableParameter("progressiveWideningSampled", false);
+        addTunableParameter("recordRolloutActions", false);
         addTunableParameter("normaliseRewards", true);
         addTunableParameter("maintainMasterState", false);
         addTunableParameter("discardStateAfterEachIteration", true);
@@ -137,6 +148,8 @@ public class MCTSParams extends PlayerParameters {
         rolloutTermination = (MCTSEnums.RolloutTermination) getParameterValue("rolloutTermination");
         oppModelType = (MCTSEnums.Strategies) getParameterValue("oppModelType");
         information = (MCTSEnums.Information) getParameterValue("information");
+        determinisation = (MCTSEnums.Determinisation) getParameterValue("determinisation");
+        particles = (int) getParameterValue("particles");
         treePolicy = (MCTSEnums.TreePolicy) getParameterValue("treePolicy");
         selectionPolicy = (MCTSEnums.SelectionPolicy) getParameterValue("selectionPolicy");
         opponentTreePolicy = (MCTSEnums.OpponentTreePolicy) getParameterValue("opponentTreePolicy");
@@ -144,6 +157,7 @@ public class MCTSParams extends PlayerParameters {
         MASTBoltzmann = (double) getParameterValue("MASTBoltzmann");
         MAST = (MCTSEnums.MASTType) getParameterValue("MAST");
         MASTGamma = (double) getParameterValue("MASTGamma");
+        MASTShared = (boolean) getParameterValue("MASTShared");
         exp3Boltzmann = (double) getParameterValue("exp3Boltzmann");
         rolloutClass = (String) getParameterValue("rolloutClass");
         oppModelClass = (String) getParameterValue("oppModelClass");
@@ -152,6 +166,8 @@ public class MCTSParams extends PlayerParameters {
         omaVisits = (int) getParameterValue("omaVisits");
         progressiveWideningConstant = (double) getParameterValue("progressiveWideningConstant");
         progressiveWideningExponent = (double) getParameterValue("progressiveWideningExponent");
+        progressiveWideningSampled = (boolean) getParameterValue("progressiveWideningSampled");
+        recordRolloutActions = (boolean) getParameterValue("recordRolloutActions");
         normaliseRewards = (boolean) getParameterValue("normaliseRewards");
         maintainMasterState = (boolean) getParameterValue("maintainMasterState");
         paranoid = (boolean) getParameterValue("paranoid");
@@ -4,6 +4,9 @@ import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import core.determinisation.Determiniser;
+import core.determinisation.ParticleFilter;
+import core.interfaces.IDeterminiser;
 import core.interfaces.IActionHeuristic;
 import evaluation.listeners.IGameListener;
 import core.interfaces.IStateHeuristic;
@@ -11,7 +14,6 @@ import evaluation.metrics.Event;
 import llm.IHasStateHeuristic;
 import players.IAnyTimePlayer;
 import utilities.Pair;
-import utilities.Utils;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -28,9 +30,13 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
     protected boolean debug = false;
     protected SingleTreeNode root;
     protected Pair<Integer, AbstractAction> lastAction;
-    List<Map<Object, Pair<Integer, Double>>> MASTStats;
+    MASTStore MASTStats;
     protected Map<Object, Integer> oldGraphKeys = new HashMap<>();
     protected List<Object> recentlyRemovedKeys = new ArrayList<>();
+    protected ParticleFilter particleFilter;
+    // playout steps and time over the current game (see PlayoutEngine)
+    protected long playoutSteps;
+    protected long playoutNanos;
 
     public MCTSPlayer() {
         this(new MCTSParams());
@@ -65,6 +71,9 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         MASTStats = null;
         root = null;
         oldGraphKeys = new HashMap<>();
+        particleFilter = null;
+        playoutSteps = 0;
+        playoutNanos = 0;
         getParameters().getRolloutStrategy().initializePlayer(state);
         getParameters().getOpponentModel().initializePlayer(state);
     }
@@ -252,10 +261,19 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         } else {
             root = newRoot;
         }
-        if (MASTStats != null && getParameters().MASTGamma > 0.0)
-            root.MASTStatistics = MASTStats.stream()
-                    .map(m -> Utils.decay(m, getParameters().MASTGamma))
-                    .collect(Collectors.toList());
+        root.setDeterminiser(createDeterminiser(gameState));
+        MCTSParams params = getParameters();
+        if (params.MASTShared) {
+            // a single store for all agents with these parameters, which persists across decisions and games
+            String storeName = gameState.getGameType().name() + (params.MASTActionKey == null ? "" : "_" + params.MASTActionKey.getClass().getSimpleName());
+            root.MASTStatistics = MASTStore.shared(storeName, gameState.getNPlayers(), params.MASTActionKey);
+        } else if (MASTStats != null && params.MASTGamma > 0.0) {
+            // we retain the store from the last decision (decayed in place)
+            MASTStats.decay(params.MASTGamma);
+            root.MASTStatistics = MASTStats;
+        }
+        if (params.useMASTAsActionHeuristic && params.actionHeuristic instanceof IMASTUser)
+            ((IMASTUser) params.actionHeuristic).setMASTStats(root.MASTStatistics);
 
         if (getParameters().getRolloutStrategy() instanceof IMASTUser) {
             ((IMASTUser) getParameters().getRolloutStrategy()).setMASTStats(root.MASTStatistics);
@@ -265,6 +283,26 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         }
     }
 
+    /**
+     * @return the source of determinisations to use for this decision; or null to use the game's copy(playerId)
+     */
+    protected IDeterminiser createDeterminiser(AbstractGameState gameState) {
+        MCTSParams params = getParameters();
+        if (params.information != MCTSEnums.Information.Information_Set)
+            return null;
+        switch (params.determinisation) {
+            case Resample:
+                return new Determiniser(gameState, getPlayerID(), new Random(rnd.nextLong()));
+            case ParticleFilter:
+                if (particleFilter == null)
+                    particleFilter = new ParticleFilter(params.particles, getForwardModel(), new Random(rnd.nextLong()));
+                particleFilter.update(gameState, getPlayerID());
+                return particleFilter;
+            default:
+                return null;
+        }
+    }
+
     @Override
     public AbstractAction _getAction(AbstractGameState gameState, List<AbstractAction> actions) {
         // Search for best action from the root
@@ -273,6 +311,8 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         long timeTaken = System.nanoTime() - currentTimeNano;
 
         root.mctsSearch(timeTaken / 1000000);
+        playoutSteps += root.playout.getSteps();
+        playoutNanos += root.playout.getNanos();
 
         if (getParameters().actionHeuristic instanceof ITreeProcessor)
             ((ITreeProcessor) getParameters().actionHeuristic).process(root);
@@ -297,6 +337,13 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         return lastAction.b.copy();
     }
 
+    /**
+     * @return the number of playout (rollout) steps per second over all decisions in the current game
+     */
+    public double getPlayoutStepsPerSecond() {
+        return playoutNanos == 0 ? 0.0 : playoutSteps * 1e9 / playoutNanos;
+    }
+
     @Override
     public void finalizePlayer(AbstractGameState state) {
         getParameters().getRolloutStrategy().onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, state));
@@ -39,9 +39,7 @@ public class MultiTreeNode extends SingleTreeNode {
         this.rnd = rnd;
         mctsPlayer = player;
         // only root node maintains MAST statistics
-        MASTStatistics = new ArrayList<>();
-        for (int i = 0; i < state.getNPlayers(); i++)
-            MASTStatistics.add(new HashMap<>());
+        MASTStatistics = new MASTStore(state.getNPlayers(), params.MASTActionKey);
         if (params.useMASTAsActionHeuristic) {
             params.actionHeuristic = new MASTActionHeuristic(params.MASTActionKey, params.MASTDefaultValue);
             ((MASTActionHeuristic) params.actionHeuristic).setMASTStats(MASTStatistics);
@@ -78,7 +76,8 @@ public class MultiTreeNode extends SingleTreeNode {
 
         actionsInTree = new ArrayList<>();
         currentNodeTrajectory = new ArrayList<>();
-        actionsInRollout = new ArrayList<>();
+        playout.startPlayout();
+        actionsInRollout = playout.getActions();
         // Keep iterating while the state reached is not terminal and the depth of the tree is not exceeded
         do {
             if (debug)
@@ -100,11 +99,9 @@ public class MultiTreeNode extends SingleTreeNode {
                 // note that different players will enter rollout at different times, which is why
                 // we cannot have a simple rollout() method as in SingleTree search
                 AbstractPlayer agent = currentActor == decisionPlayer ? params.getRolloutStrategy() : params.getOpponentModel();
-                List<AbstractAction> availableActions = forwardModel.computeAvailableActions(currentState, mctsPlayer.getParameters().actionSpace);
-                if (availableActions.isEmpty())
+                AbstractAction chosen = playout.chooseAction(agent, currentState);
+                if (chosen == null)
                     throw new AssertionError("We should always have something to choose from");
-
-                AbstractAction chosen = agent.getAction(currentState, availableActions);
                 if (debug)
                     System.out.printf("Rollout action chosen for P%d - %s %n", currentActor, chosen);
 
@@ -127,6 +124,7 @@ public class MultiTreeNode extends SingleTreeNode {
             }
             // we terminate if the game is over, or if we have exceeded our rollout count
         } while (currentState.isNotTerminal() && !finishRollout(currentState));
+        playout.endPlayout();
 
         // Evaluate final state and return normalised score
         double[] finalValues = new double[state.getNPlayers()];
@@ -153,7 +151,7 @@ public class MultiTreeNode extends SingleTreeNode {
                 currentLocation[p].backUp(finalValues);
             }
         }
-        rolloutActionsTaken += actionsInRollout.size();
+        rolloutActionsTaken += playout.getLength();
         root.updateMASTStatistics(actionsInTree, actionsInRollout, finalValues);
     }
 
@@ -2,8 +2,11 @@ package players.mcts;
 
 import core.*;
 import core.actions.AbstractAction;
+import core.actions.LazyActionList;
 import core.interfaces.IActionHeuristic;
+import core.interfaces.IDeterminiser;
 import players.PlayerConstants;
+import players.PlayoutEngine;
 import utilities.*;
 
 import java.util.*;
@@ -52,6 +55,8 @@ public class SingleTreeNode {
     // the id of the player who makes the decision at this node
     protected int decisionPlayer;
     protected int redeterminisationPlayer = -1;
+    // if set (on the root only), this is used for Information_Set redeterminisation instead of state.copy(player)
+    protected IDeterminiser determiniser;
     protected int round, turn, turnOwner;
     boolean terminalNode;
     double timeTaken;
@@ -69,7 +74,7 @@ public class SingleTreeNode {
     // only ever have one position in the array populated: and similarly if we are using a SelfOnly tree).
     Map<AbstractAction, SingleTreeNode[]> children = new LinkedHashMap<>();
     Map<AbstractAction, ActionStats> actionValues = new HashMap<>();
-    List<Map<Object, Pair<Integer, Double>>> MASTStatistics; // a list of one Map per player. Action -> (visits, totValue)
+    MASTStore MASTStatistics; // one table per player. Action -> (visits, totValue)
     // ToDoubleBiFunction<AbstractAction, AbstractGameState> MASTFunction;
     // The total value of all trajectories through this node (one element per player)
     private Supplier<? extends SingleTreeNode> factory;
@@ -77,6 +82,8 @@ public class SingleTreeNode {
     protected List<SingleTreeNode> currentNodeTrajectory;
     protected List<Pair<Integer, AbstractAction>> actionsInTree;
     List<Pair<Integer, AbstractAction>> actionsInRollout;
+    // applies (and if needed records) the rollout actions; only the root node has one
+    protected PlayoutEngine playout;
 
     protected SingleTreeNode() {
     }
@@ -90,9 +97,7 @@ public class SingleTreeNode {
         retValue.forwardModel = player.getForwardModel();
         retValue.rnd = rnd;
         // only root node maintains MAST statistics
-        retValue.MASTStatistics = new ArrayList<>();
-        for (int i = 0; i < state.getNPlayers(); i++)
-            retValue.MASTStatistics.add(new HashMap<>());
+        retValue.MASTStatistics = new MASTStore(state.getNPlayers(), retValue.params.MASTActionKey);
         if (retValue.params.useMASTAsActionHeuristic) {
             retValue.params.actionHeuristic = new MASTActionHeuristic(retValue.params.MASTActionKey, retValue.params.MASTDefaultValue);
             ((MASTActionHeuristic) retValue.params.actionHeuristic).setMASTStats(retValue.MASTStatistics);
@@ -141,6 +146,7 @@ public class SingleTreeNode {
         } else { // this is the root node (possibly reused from previous tree)
             resetDepth(this);
             decisionPlayer = state.getCurrentPlayer();
+            playout = newPlayoutEngine();
         }
 
         // then set up available actions, and set openLoopState
@@ -157,9 +163,17 @@ public class SingleTreeNode {
         highReward = template.highReward;
         lowReward = template.lowReward;
         inheritedVisits = nVisits;
-        MASTStatistics = new ArrayList<>();
-        for (int i = 0; i < template.MASTStatistics.size(); i++)
-            MASTStatistics.add(new HashMap<>());
+        MASTStatistics = new MASTStore(template.MASTStatistics.getNPlayers(), params.MASTActionKey);
+        playout = newPlayoutEngine();
+    }
+
+    /**
+     * The rollout actions only need to be recorded if MAST uses them, or if this has been explicitly requested
+     * (for analysis or testing). Otherwise they are applied without being copied or stored.
+     */
+    protected PlayoutEngine newPlayoutEngine() {
+        boolean record = params.recordRolloutActions || (params.useMAST && params.MAST != MCTSEnums.MASTType.Tree);
+        return new PlayoutEngine(forwardModel, params.actionSpace, record);
     }
 
     protected void resetDepth(SingleTreeNode newRoot) {
@@ -197,7 +211,9 @@ public class SingleTreeNode {
     protected void setActionsFromOpenLoopState(AbstractGameState actionState) {
         openLoopState = actionState;
         if (actionState.getCurrentPlayer() == this.decisionPlayer && actionState.isNotTerminalForPlayer(decisionPlayer)) {
-            actionsFromOpenLoopState = forwardModel.computeAvailableActions(actionState, params.actionSpace);
+            actionsFromOpenLoopState = params.progressiveWideningSampled && params.progressiveWideningConstant >= 1.0
+                    ? sampleActionsToWiden(actionState)
+                    : forwardModel.computeAvailableActions(actionState, params.actionSpace);
             //      System.out.printf("Setting OLS actions for P%d (%d)%n%s%n", decisionPlayer, actionState.getCurrentPlayer(),
 //                actionsFromOpenLoopState.stream().map(a -> "\t" + a.toString() + "\n").collect(joining()));
             if (actionsFromOpenLoopState.size() != actionsFromOpenLoopState.stream().distinct().count())
@@ -336,7 +352,10 @@ public class SingleTreeNode {
                 case Information_Set:
                     if (redeterminisationPlayer == -1)
                         redeterminisationPlayer = decisionPlayer;
-                    setActionsFromOpenLoopState(state.copy(redeterminisationPlayer));
+                    if (determiniser != null && determiniser.getPlayerID() == redeterminisationPlayer)
+                        setActionsFromOpenLoopState(determiniser.determinise());
+                    else
+                        setActionsFromOpenLoopState(state.copy(redeterminisationPlayer));
                     copyCount++;
                     break;
             }
@@ -374,7 +393,7 @@ public class SingleTreeNode {
     protected void oneSearchIteration() {
         actionsInTree = new ArrayList<>();
         currentNodeTrajectory = new ArrayList<>();
-        actionsInRollout = new ArrayList<>();
+        actionsInRollout = playout.getActions();
 
         SingleTreeNode selected = treePolicy();
         if (selected == this && openLoopState.isNotTerminalForPlayer(decisionPlayer) && nVisits > 3 && !(this instanceof MCGSNode))
@@ -387,7 +406,7 @@ public class SingleTreeNode {
         int lastActorInTree = actionsInTree.isEmpty() ? decisionPlayer : actionsInTree.get(actionsInTree.size() - 1).a;
         double[] delta = selected.rollout(lastActorInTree);
         // Back up the value of the rollout through the tree
-        rolloutActionsTaken += actionsInRollout.size();
+        rolloutActionsTaken += playout.getLength();
 
         selected.backUp(delta);
         updateMASTStatistics(actionsInTree, actionsInRollout, delta);
@@ -503,6 +522,27 @@ public class SingleTreeNode {
         return cur;
     }
 
+    /**
+     * Used for sampled Progressive Widening. Rather than generating all the legal actions and then keeping the best
+     * few, we sample (at random) only as many as Progressive Widening will consider on this visit. This saves a lot
+     * of time in games with large action spaces that support lazy generation (see AbstractForwardModel.lazyAvailableActions).
+     * If the number to consider reaches the number available, then we use all of them as usual.
+     */
+    protected List<AbstractAction> sampleActionsToWiden(AbstractGameState actionState) {
+        LazyActionList lazyActions = forwardModel.lazyAvailableActions(actionState, params.actionSpace);
+        int actionsToConsider = Math.max(1, (int) Math.floor(params.progressiveWideningConstant * Math.pow(nVisits + 1, params.progressiveWideningExponent)));
+        if (actionsToConsider >= lazyActions.estimatedSize())
+            return lazyActions.toList();
+        Set<AbstractAction> sampled = new LinkedHashSet<>();
+        // duplicate samples are discarded, so we cap the attempts in case there are fewer legal actions than estimated
+        for (int attempt = 0; attempt < 3 * actionsToConsider && sampled.size() < actionsToConsider; attempt++) {
+            AbstractAction action = lazyActions.sample(rnd);
+            if (action == null) break;
+            sampled.add(action);
+        }
+        return new ArrayList<>(sampled);
+    }
+
     protected List<AbstractAction> actionsToConsider(List<AbstractAction> allAvailable) {
         if (!allAvailable.isEmpty() && params.progressiveWideningConstant >= 1.0) {
             int actionsToConsider = (int) Math.floor(params.progressiveWideningConstant * Math.pow(nVisits + 1, params.progressiveWideningExponent));
@@ -550,16 +590,16 @@ public class SingleTreeNode {
      * @param act - action to apply
      */
     protected void advanceState(AbstractGameState gs, AbstractAction act, boolean inRollout) {
-        // we execute a copy(), because this can change the action, so we then don't find the node later!
         if (inRollout) {
             lastTurnInRollout = gs.getTurnCounter();
             lastRoundInRollout = gs.getRoundCounter();
             lastActorInRollout = gs.getCurrentPlayer();
-            root.actionsInRollout.add(new Pair<>(lastActorInRollout, act));
+            root.playout.apply(gs, act);
         } else {
             root.actionsInTree.add(new Pair<>(gs.getCurrentPlayer(), act));
+            // we execute a copy(), because this can change the action, so we then don't find the node later!
+            forwardModel.next(gs, act.copy());
         }
-        forwardModel.next(gs, act.copy());
         root.fmCallsCount++;
         if (params.opponentTreePolicy != MultiTree &&
                 params.opponentTreePolicy.selfOnlyTree &&
@@ -579,17 +619,15 @@ public class SingleTreeNode {
         while (gs.getCurrentPlayer() != id && gs.isNotTerminalForPlayer(id) && !(inRollout && finishRollout(gs))) {
             //       AbstractGameState preGS = gs.copy();
             AbstractPlayer oppModel = params.getOpponentModel();
-            List<AbstractAction> availableActions = forwardModel.computeAvailableActions(gs, params.actionSpace);
-            if (availableActions.isEmpty())
-                throw new AssertionError("Should always have at least one action possible..." + (action != null ? " Last action: " + action : ""));
-            action = oppModel.getAction(gs, availableActions);
+            action = policyAction(oppModel, gs, action);
             if (inRollout) {
-                root.actionsInRollout.add(new Pair<>(gs.getCurrentPlayer(), action));
                 lastActorInRollout = gs.getCurrentPlayer();
                 lastRoundInRollout = gs.getRoundCounter();
                 lastTurnInRollout = gs.getTurnCounter();
+                root.playout.apply(gs, action);
+            } else {
+                forwardModel.next(gs, action.copy());
             }
-            forwardModel.next(gs, action);
             root.fmCallsCount++;
         }
     }
@@ -890,6 +928,7 @@ public class SingleTreeNode {
 
         // If rollouts are enabled, select actions for the rollout in line with the rollout policy
         AbstractGameState rolloutState = openLoopState;
+        root.playout.startPlayout();
         if (params.rolloutLength > 0 || params.rolloutTermination != EXACT) {
             // even if rollout length is zero, we may rollout a few actions to reach the end of our turn, or the start of our next turn
             if (params.information == Closed_Loop) {
@@ -902,15 +941,12 @@ public class SingleTreeNode {
 
             AbstractAction next = null;
             while (!finishRollout(rolloutState)) {
-                List<AbstractAction> availableActions = forwardModel.computeAvailableActions(rolloutState, params.actionSpace);
-                if (availableActions.isEmpty()) {
-                    throw new AssertionError("No actions available in rollout!" + (next != null ? " Last action: " + next : ""));
-                }
                 AbstractPlayer agent = rolloutState.getCurrentPlayer() == root.decisionPlayer ? params.getRolloutStrategy() : params.getOpponentModel();
-                next = agent.getAction(rolloutState, availableActions);
+                next = policyAction(agent, rolloutState, next);
                 advanceState(rolloutState, next, true);
             }
         }
+        root.playout.endPlayout();
         // Evaluate final state and return normalised score
         double[] retValue = new double[rolloutState.getNPlayers()];
 
@@ -922,6 +958,18 @@ public class SingleTreeNode {
         return retValue;
     }
 
+    /**
+     * The action chosen by a rollout or opponent policy (see PlayoutEngine.chooseAction()).
+     *
+     * @param lastAction - the previous action taken, used only for error reporting
+     */
+    protected AbstractAction policyAction(AbstractPlayer agent, AbstractGameState gs, AbstractAction lastAction) {
+        AbstractAction retValue = root.playout.chooseAction(agent, gs);
+        if (retValue == null)
+            throw new AssertionError("No actions available in rollout!" + (lastAction != null ? " Last action: " + lastAction : ""));
+        return retValue;
+    }
+
     /**
      * Checks if rollout is finished. Rollouts end on maximum length, or if game ended.
      *
@@ -934,7 +982,7 @@ public class SingleTreeNode {
         int currentActor = rollerState.getTurnOwner();
         int maxRollout = params.rolloutLengthPerPlayer ? params.rolloutLength * rollerState.getNPlayers() : params.rolloutLength;
         int rolloutDepth = switch (params.rolloutIncrementType) {
-            case TICK -> root.actionsInRollout.size();
+            case TICK -> root.playout.getLength();
             case TURN -> rollerState.getTurnCounter() - turnAtStartOfRollout;
             case ROUND -> rollerState.getRoundCounter() - roundAtStartOfRollout;
         };
@@ -1130,13 +1178,7 @@ public class SingleTreeNode {
 
     protected void MASTBackup(List<Pair<Integer, AbstractAction>> rolloutActions, double[] delta) {
         for (Pair<Integer, AbstractAction> pair : rolloutActions) {
-            AbstractAction action = pair.b;
-            int player = pair.a;
-            Object actionKey = params.MASTActionKey == null ? action.copy() : params.MASTActionKey.key(action);
-            Pair<Integer, Double> stats = MASTStatistics.get(player).getOrDefault(actionKey, new Pair<>(0, 0.0));
-            stats.a++;  // visits
-            stats.b += delta[player];   // value
-            MASTStatistics.get(player).put(actionKey, stats);
+            MASTStatistics.update(pair.a, pair.b, delta[pair.a]);
         }
     }
 
@@ -1243,6 +1285,10 @@ public class SingleTreeNode {
         redeterminisationPlayer = player;
     }
 
+    public void setDeterminiser(IDeterminiser determiniser) {
+        this.determiniser = determiniser;
+    }
+
     public Map<AbstractAction, SingleTreeNode[]> getChildren() {
         return children;
     }
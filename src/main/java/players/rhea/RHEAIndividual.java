@@ -21,11 +21,19 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
     double discountFactor;            // Discount factor for calculating rewards
     IStateHeuristic heuristic;
     AbstractPlayer rolloutPolicy;
-    private Random gen;               // Random generator
+    Random gen;                       // Random generator
 
     RHEAIndividual(int L, double discountFactor, AbstractForwardModel fm, AbstractGameState gs,
                    int playerID, Random gen, IStateHeuristic heuristic,
                    AbstractPlayer rolloutPolicy) {
+        this(L, discountFactor, gs, gen, heuristic, rolloutPolicy);
+        // Rollout with random actions and assign fitness value
+        rollout(fm, 0, playerID, true);
+    }
+
+    // An individual starting from a copy of gs, with no actions yet; rollout() from index 0 fills it in
+    RHEAIndividual(int L, double discountFactor, AbstractGameState gs, Random gen, IStateHeuristic heuristic,
+                   AbstractPlayer rolloutPolicy) {
         // Initialize
         this.gen = gen;
         this.discountFactor = discountFactor;
@@ -33,10 +41,7 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         gameStates = new AbstractGameState[L + 1];
         this.heuristic = heuristic;
         this.rolloutPolicy = rolloutPolicy;
-
-        // Rollout with random actions and assign fitness value
         gameStates[0] = gs.copy();
-        rollout(fm, 0, playerID, true);
     }
 
     // Copy constructor
@@ -68,6 +73,23 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
      * index of rollout
      */
     public Pair<Integer, Integer> mutate(AbstractForwardModel fm, int playerID, int mutationCount) {
+        int startIndex = chooseMutations(fm, mutationCount);
+
+        // Perform rollout and return number of FM calls taken.
+        if (gameStates[startIndex] == null) {
+            return new Pair<>(0, 0);
+        } else {
+            return rollout(fm, startIndex, playerID, true);
+        }
+    }
+
+    /**
+     * The first half of mutate(): changes the actions at mutationCount random positions, but does not roll out the
+     * individual from there.
+     *
+     * @return the index from which the individual needs to be rolled out again (if gameStates has a state there)
+     */
+    int chooseMutations(AbstractForwardModel fm, int mutationCount) {
         // Find index from which to mutate individual, random in range of currently valid length
         int startIndex = actions.length;
         for (int mutation = 0; mutation < mutationCount; mutation++) {
@@ -79,13 +101,7 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
                     startIndex = position;  // start the rollout from the first mutation
             }
         }
-
-        // Perform rollout and return number of FM calls taken.
-        if (gameStates[startIndex] == null) {
-            return new Pair<>(0, 0);
-        } else {
-            return rollout(fm, startIndex, playerID, true);
-        }
+        return startIndex;
     }
 
     /**
@@ -152,11 +168,12 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
                 while (gsCopy.isNotTerminal() && !(gsCopy.getCurrentPlayer() == playerID)) {
                     // now we fast forward through any opponent moves with a random OM
                     // TODO: Add in other opponent model options, and record other player moves for MAST
-                    List<AbstractAction> moves = fm.computeAvailableActions(gsCopy);
-                    if (moves.isEmpty()) {
+                    // the move is sampled without generating the full list where the game supports this
+                    AbstractAction move = fm.sampleAvailableAction(gsCopy, gsCopy.getCoreGameParameters().actionSpace, gen);
+                    if (move == null) {
                         throw new AssertionError("No moves found in state " + gsCopy);
                     }
-                    fm.next(gsCopy, moves.get(gen.nextInt(moves.size())));
+                    fm.next(gsCopy, move.copy());
                     fmCalls++;
                 }
                 oldGameStates[i+1] = gameStates[i+1];
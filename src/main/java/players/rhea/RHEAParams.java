@@ -1,10 +1,10 @@
 package players.rhea;
 
-import core.AbstractGameState;
 import core.interfaces.IStateHeuristic;
 import evaluation.optimisation.TunableParameters;
 import org.json.simple.JSONObject;
 import players.PlayerParameters;
+import players.heuristics.PureScoreHeuristic;
 
 import java.util.Arrays;
 
@@ -21,8 +21,9 @@ public class RHEAParams extends PlayerParameters
     public int tournamentSize = 4;
     public RHEAEnums.CrossoverType crossoverType = RHEAEnums.CrossoverType.UNIFORM;
     public boolean shiftLeft;
-    public IStateHeuristic heuristic = AbstractGameState::getGameScore;
+    public IStateHeuristic heuristic = new PureScoreHeuristic();
     public boolean useMAST;
+    public int threads = 1;  // if more than 1, the individuals of each generation are rolled out in parallel
 
 
     public RHEAParams() {
@@ -36,8 +37,9 @@ public class RHEAParams extends PlayerParameters
         addTunableParameter("crossoverType", RHEAEnums.CrossoverType.UNIFORM, Arrays.asList(RHEAEnums.CrossoverType.values()));
         addTunableParameter("shiftLeft", false, Arrays.asList(false, true));
         addTunableParameter("mutationCount", 1, Arrays.asList(1, 3, 10));
-        addTunableParameter("heuristic", (IStateHeuristic) AbstractGameState::getGameScore);
+        addTunableParameter("heuristic", IStateHeuristic.class, new PureScoreHeuristic());
         addTunableParameter("useMAST", false, Arrays.asList(false, true));
+        addTunableParameter("threads", 1);
     }
 
     @Override
@@ -54,6 +56,7 @@ public class RHEAParams extends PlayerParameters
         shiftLeft = (boolean) getParameterValue("shiftLeft");
         mutationCount = (int) getParameterValue("mutationCount");
         useMAST = (boolean) getParameterValue("useMAST");
+        threads = (int) getParameterValue("threads");
         heuristic = (IStateHeuristic) getParameterValue("heuristic");
         if (heuristic instanceof TunableParameters<?> tunableHeuristic) {
             for (String name : tunableHeuristic.getParameterNames()) {
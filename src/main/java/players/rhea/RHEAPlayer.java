@@ -5,18 +5,18 @@ import core.AbstractPlayer;
 import core.actions.AbstractAction;
 import players.IAnyTimePlayer;
 import players.PlayerConstants;
+import players.WorkerPool;
 import players.mcts.MASTPlayer;
+import players.mcts.MASTStore;
 import players.simple.RandomPlayer;
 import utilities.ElapsedCpuTimer;
 import utilities.Pair;
-import utilities.Utils;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     private static final AbstractPlayer randomPlayer = new RandomPlayer();
-    List<Map<Object, Pair<Integer, Double>>> MASTStatistics; // a list of one Map per player. Action -> (visits, totValue)
+    MASTStore MASTStatistics; // one table per player. Action -> (visits, totValue)
     protected List<RHEAIndividual> population = new ArrayList<>();
     // Budgets
     protected double timePerIteration = 0, timeTaken = 0, initTime = 0;
@@ -40,15 +40,13 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     }
     @Override
     public void initializePlayer(AbstractGameState state) {
-        MASTStatistics = new ArrayList<>();
-        for (int i = 0; i < state.getNPlayers(); i++)
-            MASTStatistics.add(new HashMap<>());
+        MASTStatistics = new MASTStore(state.getNPlayers(), null);
         population = new ArrayList<>();
     }
 
     @Override
     public AbstractAction _getAction(AbstractGameState stateObs, List<AbstractAction> possibleActions) {
-        ElapsedCpuTimer timer = new ElapsedCpuTimer();  // New timer for this game tick
+        ElapsedCpuTimer timer = new ElapsedCpuTimer(getParameters().threads > 1);  // New timer for this game tick
         timer.setMaxTimeMillis(parameters.budget);
         numIters = 0;
         fmCalls = 0;
@@ -59,13 +57,9 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
 
         if (params.useMAST) {
             if (MASTStatistics == null) {
-                MASTStatistics = new ArrayList<>();
-                for (int i = 0; i < stateObs.getNPlayers(); i++)
-                    MASTStatistics.add(new HashMap<>());
+                MASTStatistics = new MASTStore(stateObs.getNPlayers(), null);
             } else {
-                MASTStatistics = MASTStatistics.stream()
-                        .map(m -> Utils.decay(m, params.discountFactor))
-                        .collect(Collectors.toList());
+                MASTStatistics.decay(params.discountFactor);
             }
             mastPlayer = new MASTPlayer(null, 1.0, 0.0, System.currentTimeMillis(), 0.0);
             mastPlayer.setMASTStats(MASTStatistics);
@@ -73,7 +67,9 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         // Initialise individuals
         if (params.shiftLeft && !population.isEmpty()) {
             population.forEach(i -> i.value = Double.NEGATIVE_INFINITY);  // so that any we don't have time to shift are ignored when picking an action
-            for (RHEAIndividual genome : population) {
+            if (params.threads > 1) {
+                shiftInParallel(stateObs, timer);
+            } else for (RHEAIndividual genome : population) {
                 if (!budgetLeft(timer)) break;
                 System.arraycopy(genome.actions, 1, genome.actions, 0, genome.actions.length - 1);
                 // we shift all actions along, and then rollout with repair
@@ -82,6 +78,8 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
                 fmCalls += calls.a;
                 copyCalls += calls.b;
             }
+        } else if (params.threads > 1) {
+            createInParallel(stateObs, timer);
         } else {
             population = new ArrayList<>();
             for (int i = 0; i < params.populationSize; ++i) {
@@ -110,6 +108,115 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         return retValue;
     }
 
+    /*
+     * With more than one thread, the individuals of a generation are rolled out in parallel on a WorkerPool.
+     * Each individual is first given its own random streams for mutation and for its rollout policy, drawn from rnd in
+     * population order, so that the result does not depend on how the rollouts are scheduled. Everything else (choosing
+     * mutations, crossover, selection, MAST updates and counting FM and copy calls) is done on this thread, in
+     * population order, just as it is sequentially.
+     */
+
+    private void giveOwnStreams(RHEAIndividual individual) {
+        individual.gen = new Random(rnd.nextLong());
+        individual.rolloutPolicy = rolloutPolicy(rnd.nextLong());
+    }
+
+    private AbstractPlayer rolloutPolicy(long seed) {
+        if (getParameters().useMAST) {
+            MASTPlayer player = new MASTPlayer(null, 1.0, 0.0, seed, 0.0);
+            player.setMASTStats(MASTStatistics);
+            return player;
+        }
+        return new RandomPlayer(new Random(seed));
+    }
+
+    /**
+     * Rolls out each individual from its start index (none are rolled out where this is negative)
+     *
+     * @return the (FM calls, copy calls) of each rollout
+     */
+    private List<Pair<Integer, Integer>> rollOutInParallel(List<RHEAIndividual> individuals, int[] startIndex) {
+        List<Pair<Integer, Integer>> calls = new ArrayList<>(Collections.nCopies(individuals.size(), null));
+        WorkerPool.forEach(getParameters().threads, calls.size(), i -> calls.set(i, startIndex[i] < 0 ? new Pair<>(0, 0) :
+                individuals.get(i).rollout(getForwardModel(), startIndex[i], getPlayerID(), true)));
+        return calls;
+    }
+
+    /*
+     * Sequentially, each new (or shifted) individual is only rolled out while there is budget left. In parallel they
+     * are rolled out in batches of one per thread, and the budget is checked before each batch, so that a time budget
+     * is overrun by at most one batch. Within a batch only those individuals that would have been reached sequentially
+     * are counted; for a budget in FM or copy calls, that gives exactly the same counts as rolling them out one at a
+     * time would. For a time budget the time has been spent by then, so all of the batch is kept.
+     * The random streams of all the individuals are drawn before the first batch, so that rnd is used in the same way
+     * whatever the number of threads.
+     */
+    private boolean keep(ElapsedCpuTimer timer) {
+        return getParameters().budgetType == PlayerConstants.BUDGET_TIME || budgetLeft(timer);
+    }
+
+    private void createInParallel(AbstractGameState stateObs, ElapsedCpuTimer timer) {
+        RHEAParams params = getParameters();
+        List<RHEAIndividual> created = new ArrayList<>();
+        for (int i = 0; i < params.populationSize; ++i)
+            created.add(new RHEAIndividual(params.horizon, params.discountFactor, stateObs, new Random(rnd.nextLong()),
+                    params.heuristic, rolloutPolicy(rnd.nextLong())));
+        population = new ArrayList<>();
+        for (int from = 0; from < created.size() && budgetLeft(timer); from += params.threads) {
+            List<RHEAIndividual> batch = created.subList(from, Math.min(created.size(), from + params.threads));
+            rollOutInParallel(batch, new int[batch.size()]);
+            for (RHEAIndividual individual : batch) {
+                if (!keep(timer)) return;
+                population.add(individual);
+                fmCalls += individual.length;
+                copyCalls += individual.length;
+            }
+        }
+    }
+
+    private void shiftInParallel(AbstractGameState stateObs, ElapsedCpuTimer timer) {
+        RHEAParams params = getParameters();
+        population.forEach(this::giveOwnStreams);
+        for (int from = 0; from < population.size() && budgetLeft(timer); from += params.threads) {
+            List<RHEAIndividual> batch = population.subList(from, Math.min(population.size(), from + params.threads));
+            for (RHEAIndividual genome : batch) {
+                System.arraycopy(genome.actions, 1, genome.actions, 0, genome.actions.length - 1);
+                genome.gameStates[0] = stateObs.copy();
+            }
+            List<Pair<Integer, Integer>> calls = rollOutInParallel(batch, new int[batch.size()]);
+            for (int i = 0; i < calls.size(); i++) {
+                if (!keep(timer)) {
+                    batch.get(i).value = Double.NEGATIVE_INFINITY;
+                    continue;
+                }
+                fmCalls += calls.get(i).a;
+                copyCalls += calls.get(i).b;
+            }
+        }
+    }
+
+    private void mutateInParallel() {
+        RHEAParams params = getParameters();
+        int[] startIndex = new int[population.size()];
+        for (int i = 0; i < startIndex.length; i++) {
+            RHEAIndividual individual = population.get(i);
+            giveOwnStreams(individual);
+            startIndex[i] = individual.chooseMutations(getForwardModel(), params.mutationCount);
+            if (individual.gameStates[startIndex[i]] == null)
+                startIndex[i] = -1;  // as in RHEAIndividual.mutate()
+        }
+        List<Pair<Integer, Integer>> calls = rollOutInParallel(population, startIndex);
+        for (int i = 0; i < calls.size(); i++) {
+            RHEAIndividual individual = population.get(i);
+            fmCalls += calls.get(i).a;
+            copyCalls += calls.get(i).b;
+            repairCount += individual.repairCount;
+            nonRepairCount += individual.nonRepairCount;
+            if (params.useMAST)
+                MASTBackup(individual.actions, individual.value, getPlayerID());
+        }
+    }
+
     private boolean budgetLeft(ElapsedCpuTimer timer) {
         RHEAParams params = getParameters();
         if (params.budgetType == PlayerConstants.BUDGET_TIME) {
@@ -252,7 +359,9 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
             population.add(child);
         }
 
-        for (RHEAIndividual individual : population) {
+        if (params.threads > 1) {
+            mutateInParallel();
+        } else for (RHEAIndividual individual : population) {
             Pair<Integer, Integer> calls = individual.mutate(getForwardModel(), getPlayerID(), params.mutationCount);
             fmCalls += calls.a;
             copyCalls += calls.b;
@@ -279,14 +388,10 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
 
 
     protected void MASTBackup(AbstractAction[] rolloutActions, double delta, int player) {
-        for (int i = 0; i < rolloutActions.length; i++) {
-            AbstractAction action = rolloutActions[i];
+        for (AbstractAction action : rolloutActions) {
             if (action == null)
                 break;
-            Pair<Integer, Double> stats = MASTStatistics.get(player).getOrDefault(action, new Pair<>(0, 0.0));
-            stats.a++;  // visits
-            stats.b += delta;   // value
-            MASTStatistics.get(player).put(action.copy(), stats);
+            MASTStatistics.update(player, action, delta);
         }
     }
 
@@ -1,20 +1,20 @@
 package players.rmhc;
 
-import core.AbstractGameState;
 import core.interfaces.IStateHeuristic;
 import players.PlayerParameters;
 import java.util.*;
+import players.heuristics.GameDefaultHeuristic;
 
 
 public class RMHCParams extends PlayerParameters {
     public int horizon = 10;
     public double discountFactor = 0.9;
-    public IStateHeuristic heuristic = AbstractGameState::getHeuristicScore;
+    public IStateHeuristic heuristic = new GameDefaultHeuristic();
 
     public RMHCParams() {
         addTunableParameter("horizon", 10, Arrays.asList(1, 3, 5, 10, 20, 30));
         addTunableParameter("discountFactor", 0.9, Arrays.asList(0.5, 0.8, 0.9, 0.95, 0.99, 0.999, 1.0));
-        addTunableParameter("heuristic", (IStateHeuristic) AbstractGameState::getHeuristicScore);
+        addTunableParameter("heuristic", IStateHeuristic.class, new GameDefaultHeuristic());
     }
 
     @Override
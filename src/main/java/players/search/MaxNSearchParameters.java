@@ -19,6 +19,7 @@ public class MaxNSearchParameters extends PlayerParameters {
     protected boolean alphaBetaPruning = true;
     protected boolean iterativeDeepening = false;
     protected boolean expandByEstimatedValue = false;
+    protected int threads = 1;  // if more than 1, the actions at the root are searched in parallel (see MaxNSearchPlayer)
 
     public MaxNSearchParameters() {
         this.addTunableParameter("searchDepth", 1);
@@ -28,6 +29,7 @@ public class MaxNSearchParameters extends PlayerParameters {
         this.addTunableParameter("iterativeDeepening", false);
         this.addTunableParameter("alphaBetaPruning", true);
         this.addTunableParameter("expandByEstimatedValue", false);
+        this.addTunableParameter("threads", 1);
     }
 
     @Override
@@ -40,6 +42,7 @@ public class MaxNSearchParameters extends PlayerParameters {
         iterativeDeepening = (boolean) getParameterValue("iterativeDeepening");
         alphaBetaPruning = (boolean) getParameterValue("alphaBetaPruning");
         expandByEstimatedValue = (boolean) getParameterValue("expandByEstimatedValue");
+        threads = (int) getParameterValue("threads");
         if (heuristic == null) {
             heuristic = new GameDefaultHeuristic();
         }
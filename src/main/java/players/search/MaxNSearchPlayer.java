@@ -5,6 +5,7 @@ import core.actions.AbstractAction;
 import players.mcts.ActionStats;
 import core.interfaces.IStateHeuristic;
 import llm.IHasStateHeuristic;
+import players.WorkerPool;
 
 import java.util.*;
 
@@ -36,6 +37,7 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
 
     private long startTime;
     private SearchResult rootResult;
+    private AbstractGameState rootState;
 
     protected List<Map<AbstractAction, ActionStats>> actionValueEstimates;
 
@@ -57,6 +59,7 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
         // - TURN: only when turn number has changed as a result of applying the action
         startTime = System.currentTimeMillis();
         rootResult = null;
+        rootState = gs;
         actionValueEstimates = new ArrayList<>();
         if (getParameters().iterativeDeepening) {
             // we do a depth D = 1 search, then D = 2 and so on until we reach maxDepth or exhaust budget
@@ -104,6 +107,14 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
      */
     protected SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth,
                                   double alpha, double beta) {
+        if (state == rootState && independentAtRoot())
+            return expandInParallel(state, actions, searchDepth);
+        return expand(state, actions, searchDepth, alpha, beta, getRnd());
+    }
+
+    // rnd is used to break ties below this node (getRnd(), or the Random of the root action this node is below)
+    private SearchResult expand(AbstractGameState state, List<AbstractAction> actions, int searchDepth,
+                                double alpha, double beta, Random rnd) {
         MaxNSearchParameters params = getParameters();
         // if we have reached the end of the search, or the state is terminal, we evaluate the state
         if (searchDepth == 0 || !state.isNotTerminal()) {
@@ -135,7 +146,7 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
                     .getOrDefault(a, new ActionStats(state.getNPlayers()))
                     .totValue[state.getCurrentPlayer()]));
         } else {
-            Collections.shuffle(actions, getRnd());
+            Collections.shuffle(actions, rnd);
         }
         Map<AbstractAction, ActionStats> statsMap = actionValueEstimates.get(searchDepth - 1);
         Map<AbstractAction, double[]> actionValues = new HashMap<>();
@@ -154,7 +165,7 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
 
             // recurse - we are here just interested in the value of stateCopy, and hence of taking action
             // We are not interested in the best action from stateCopy
-            SearchResult result = expand(stateCopy, nextActions, newDepth, alpha, beta);
+            SearchResult result = expand(stateCopy, nextActions, newDepth, alpha, beta, rnd);
             if (params.expandByEstimatedValue) {
                 // we store the value estimates for each action
                 if (!statsMap.containsKey(action)) {
@@ -198,6 +209,85 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
         return new SearchResult(bestAction, bestValues, alpha, beta, actionValues);
     }
 
+    /**
+     * Where possible the actions at the root are searched independently of each other, so that they can be split
+     * between threads: each thread takes some of them, and applies each in turn to one scratch copy of the root state
+     * (reusing it with copyInto() where the game supports that). Below the root the search is as usual, on that thread.
+     * The best action is then picked from the results in order. This is done with a single thread too (which then
+     * takes all of the actions), so that the decision is the same whatever the number of threads. (In games with
+     * chance, copies made further down are seeded from their parent copy's unseeded redeterminisationRnd, so a search
+     * deeper than one action is not reproducible there, with any number of threads.)
+     * <p>
+     * This is not possible with alpha-beta pruning (where each action's search depends on those before it), nor with
+     * expandByEstimatedValue (which records statistics from all of the tree in shared maps).
+     */
+    private boolean independentAtRoot() {
+        MaxNSearchParameters params = getParameters();
+        return !(params.paranoid && params.alphaBetaPruning) && !params.expandByEstimatedValue;
+    }
+
+    private SearchResult expandInParallel(AbstractGameState state, List<AbstractAction> actions, int searchDepth) {
+        MaxNSearchParameters params = getParameters();
+        if (searchDepth == 0 || !state.isNotTerminal())
+            return expand(state, actions, searchDepth, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, getRnd());
+        Collections.shuffle(actions, getRnd());
+        int nActions = actions.size();
+        // Ties below the root are broken with a Random for each action, drawn here in order. Where the search does not
+        // go below the children of the root (as for OSLA) none are needed, and getRnd() is used just as sequentially.
+        boolean deeper = searchDepth > 1 || params.searchUnit != MaxNSearchParameters.SearchUnit.ACTION;
+        long[] seeds = new long[nActions];
+        if (deeper)
+            for (int i = 0; i < nActions; i++)
+                seeds[i] = getRnd().nextLong();
+
+        // as are the seeds for the copies of the state, as state.copy() would draw them sequentially
+        long[] copySeeds = new long[nActions];
+        for (int i = 0; i < nActions; i++)
+            copySeeds[i] = state.nextCopySeed();
+
+        SearchResult[] results = new SearchResult[nActions];
+        WorkerPool.forEachRange(params.threads, nActions, (from, to) -> {
+            AbstractGameState stateCopy = null;
+            for (int i = from; i < to; i++) {
+                if (System.currentTimeMillis() - startTime > params.budget)
+                    return;  // out of time - the actions searched so far will be used
+                stateCopy = state.copyInto(stateCopy, -1, copySeeds[i]);
+                // the action is copied, as other threads apply the same list of actions
+                getForwardModel().next(stateCopy, actions.get(i).copy());
+                List<AbstractAction> nextActions = getForwardModel().computeAvailableActions(stateCopy);
+                int newDepth = switch (params.searchUnit) {
+                    case ACTION -> searchDepth - 1;
+                    case MACRO_ACTION ->
+                            state.getCurrentPlayer() != stateCopy.getCurrentPlayer() ? searchDepth - 1 : searchDepth;
+                    case TURN -> state.getTurnCounter() != stateCopy.getTurnCounter() ? searchDepth - 1 : searchDepth;
+                };
+                results[i] = expand(stateCopy, nextActions, newDepth, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                        deeper ? new Random(seeds[i]) : getRnd());
+            }
+        });
+
+        double[] bestValues = new double[state.getNPlayers()];
+        double bestValue = Double.NEGATIVE_INFINITY;
+        AbstractAction bestAction = null;
+        Map<AbstractAction, double[]> actionValues = new HashMap<>();
+        for (int i = 0; i < nActions; i++) {
+            if (results[i] == null)
+                continue;
+            actionValues.put(actions.get(i), results[i].value);
+            if (results[i].value[state.getCurrentPlayer()] > bestValue) {
+                bestAction = actions.get(i);
+                bestValue = results[i].value[state.getCurrentPlayer()];
+                bestValues = results[i].value;
+            }
+        }
+        if (actionValues.isEmpty())
+            bestAction = actions.get(0);  // out of time before any action was searched
+        if (bestAction == null) {
+            throw new AssertionError("No best action found");
+        }
+        return new SearchResult(bestAction, bestValues, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, actionValues);
+    }
+
     @Override
     public MaxNSearchPlayer copy() {
         MaxNSearchPlayer retValue = new MaxNSearchPlayer((MaxNSearchParameters) getParameters().shallowCopy());
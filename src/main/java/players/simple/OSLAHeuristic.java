@@ -4,6 +4,7 @@ import core.*;
 import core.interfaces.*;
 import evaluation.optimisation.TunableParameters;
 import org.json.simple.JSONObject;
+import players.heuristics.GameDefaultHeuristic;
 
 
 /**
@@ -12,10 +13,10 @@ import org.json.simple.JSONObject;
 public class OSLAHeuristic extends TunableParameters {
 
     int plyDepth = 1;
-    private IStateHeuristic heuristic = AbstractGameState::getHeuristicScore;
+    private IStateHeuristic heuristic = new GameDefaultHeuristic();
 
     public OSLAHeuristic() {
-        addTunableParameter("heuristic", (IStateHeuristic) AbstractGameState::getHeuristicScore);
+        addTunableParameter("heuristic", IStateHeuristic.class, new GameDefaultHeuristic());
         _reset();
     }
 
@@ -4,6 +4,7 @@ import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
+import players.WorkerPool;
 
 import java.util.List;
 import java.util.Random;
@@ -14,6 +15,8 @@ public class OSLAPlayer extends AbstractPlayer {
 
     // Heuristic used for the agent
     IStateHeuristic heuristic;
+    // If more than 1, the actions are tried in parallel
+    int threads = 1;
 
     public OSLAPlayer(Random random) {
         super(null, "SuperOSLA");
@@ -34,8 +37,20 @@ public class OSLAPlayer extends AbstractPlayer {
         setName("OSLA");
     }
 
+    /**
+     * With more than one thread, the available actions are split between the threads. Each thread applies its actions
+     * to one scratch copy of the state in turn (reusing it with copyInto() where the game supports that).
+     * The choice made is the same as with one thread, given the same rnd.
+     */
+    public OSLAPlayer setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
     @Override
     public AbstractAction _getAction(AbstractGameState gs, List<AbstractAction> actions) {
+        if (threads > 1)
+            return getActionInParallel(gs, actions);
         double maxQ = Double.NEGATIVE_INFINITY;
         AbstractAction bestAction = null;
         double[] valState = new double[actions.size()];
@@ -63,9 +78,44 @@ public class OSLAPlayer extends AbstractPlayer {
         return bestAction;
     }
 
+    private AbstractAction getActionInParallel(AbstractGameState gs, List<AbstractAction> actions) {
+        double[] valState = new double[actions.size()];
+        int playerID = gs.getCurrentPlayer();
+        // the noise for each action is drawn here, in the same order as above, so that ties are broken in the same way
+        double[] random = new double[actions.size()];
+        // and so is the seed for each copy's rnd (as gs.copy() would draw it), so stochastic actions have the same outcomes
+        long[] seeds = new long[actions.size()];
+        for (int actionIndex = 0; actionIndex < actions.size(); actionIndex++) {
+            random[actionIndex] = rnd.nextDouble();
+            seeds[actionIndex] = gs.nextCopySeed();
+        }
+
+        WorkerPool.forEachRange(threads, actions.size(), (from, to) -> {
+            AbstractGameState gsCopy = null;
+            for (int actionIndex = from; actionIndex < to; actionIndex++) {
+                gsCopy = gs.copyInto(gsCopy, -1, seeds[actionIndex]);
+                // the action is copied, as other threads apply the same list of actions
+                getForwardModel().next(gsCopy, actions.get(actionIndex).copy());
+                valState[actionIndex] = heuristic != null ? heuristic.evaluateState(gsCopy, playerID) : gsCopy.getHeuristicScore(playerID);
+            }
+        });
+
+        double maxQ = Double.NEGATIVE_INFINITY;
+        AbstractAction bestAction = null;
+        for (int actionIndex = 0; actionIndex < actions.size(); actionIndex++) {
+            double Q = noise(valState[actionIndex], getParameters().noiseEpsilon, random[actionIndex]);
+            if (Q > maxQ || bestAction == null) {
+                maxQ = Q;
+                bestAction = actions.get(actionIndex);
+            }
+        }
+        return bestAction;
+    }
+
     @Override
     public OSLAPlayer copy() {
         OSLAPlayer retValue = new OSLAPlayer(heuristic, new Random(rnd.nextInt()));
+        retValue.threads = threads;
         retValue.setForwardModel(getForwardModel());
         return retValue;
     }
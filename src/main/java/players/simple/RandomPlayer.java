@@ -1,8 +1,10 @@
 package players.simple;
 
+import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import core.actions.ActionSpace;
 
 import java.util.List;
 import java.util.Random;
@@ -28,6 +30,20 @@ public class RandomPlayer extends AbstractPlayer {
         return actions.get(randomAction);
     }
 
+    /**
+     * Equivalent to getAction() on the full list of available actions, but samples the action directly from the
+     * forward model. For games that support lazy action generation this avoids generating all the actions.
+     *
+     * @return the chosen action, or null if there are no actions available
+     */
+    public AbstractAction sampleAction(AbstractGameState gameState, AbstractForwardModel model, ActionSpace actionSpace) {
+        if (!decorators.isEmpty()) {
+            List<AbstractAction> actions = model.computeAvailableActions(gameState, actionSpace);
+            return actions.isEmpty() ? null : getAction(gameState, actions);
+        }
+        return model.sampleAvailableAction(gameState, actionSpace, rnd);
+    }
+
     @Override
     public RandomPlayer copy() {
         RandomPlayer retValue = new RandomPlayer(new Random(rnd.nextInt()));
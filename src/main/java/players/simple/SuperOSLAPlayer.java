@@ -22,10 +22,18 @@ public class SuperOSLAPlayer extends MaxNSearchPlayer {
         setName("OSLA");
     }
 
+    /**
+     * As above, but tries the actions in parallel on the given number of threads (with the same result)
+     */
+    public SuperOSLAPlayer(IStateHeuristic heuristic, int threads) {
+        this(heuristic);
+        getParameters().setParameterValue("threads", threads);
+    }
+
     private static MaxNSearchParameters constructParameters(IStateHeuristic heuristic) {
         MaxNSearchParameters params = new MaxNSearchParameters();
-        params.setParameterValue("BUDGET_TYPE", "BUDGET_TIME");
-        params.setParameterValue("BUDGET", 100); // 100ms as timeout
+        params.setParameterValue("budgetType", "BUDGET_TIME");
+        params.setParameterValue("budget", 100); // 100ms as timeout
         params.setParameterValue("searchDepth", 1);
         params.setParameterValue("searchUnit", "ACTION");
         if (heuristic != null)
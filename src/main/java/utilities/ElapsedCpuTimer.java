@@ -17,8 +17,16 @@ public class ElapsedCpuTimer {
     protected long oldTime;
     protected long maxTime;
     protected int nIters;
+    // The CPU time of the current thread does not include any time spent by worker threads, so a search that is
+    // spread over several threads (and mostly waits on this one) measures wall clock time instead
+    protected final boolean wallClock;
 
     public ElapsedCpuTimer() {
+        this(false);
+    }
+
+    public ElapsedCpuTimer(boolean wallClock) {
+        this.wallClock = wallClock;
         reset();
     }
 
@@ -85,7 +93,7 @@ public class ElapsedCpuTimer {
 
     public ElapsedCpuTimer copy()
     {
-        ElapsedCpuTimer newCpuTimer = new ElapsedCpuTimer();
+        ElapsedCpuTimer newCpuTimer = new ElapsedCpuTimer(wallClock);
         newCpuTimer.maxTime = this.maxTime;
         newCpuTimer.oldTime = this.oldTime;
         newCpuTimer.bean = this.bean;
@@ -106,7 +114,7 @@ public class ElapsedCpuTimer {
     }
 
     protected long getCpuTime() {
-        if(OS_WIN)
+        if(OS_WIN || wallClock)
             return System.nanoTime();
 
         if (bean.isCurrentThreadCpuTimeSupported()) {
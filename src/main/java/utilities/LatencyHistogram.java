@@ -0,0 +1,129 @@
+package utilities;
+
+import org.json.simple.JSONObject;
+
+/**
+ * A histogram of latencies (in nanoseconds), in the style of an HdrHistogram: each power of two is split into
+ * SUB_BUCKETS equal buckets, so that any recorded value is known to within about 3%, and percentiles can be read off
+ * in constant memory however many values are recorded.
+ * <p>
+ * Alongside each latency it also records the number of bytes allocated by the call being measured.
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+    private long count;
+    private double total;
+    private long min = Long.MAX_VALUE, max;
+    private double totalAllocated;
+    private long maxAllocated;
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long lowestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * @param nanos          - time taken by the call
+     * @param allocatedBytes - bytes allocated during the call (0 if not known)
+     */
+    public void record(long nanos, long allocatedBytes) {
+        nanos = Math.max(0, nanos);
+        counts[bucket(nanos)]++;
+        count++;
+        total += nanos;
+        min = Math.min(min, nanos);
+        max = Math.max(max, nanos);
+        totalAllocated += allocatedBytes;
+        maxAllocated = Math.max(maxAllocated, allocatedBytes);
+    }
+
+    /**
+     * Adds all the values recorded in another histogram to this one
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++)
+            counts[i] += other.counts[i];
+        count += other.count;
+        total += other.total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        totalAllocated += other.totalAllocated;
+        maxAllocated = Math.max(maxAllocated, other.maxAllocated);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : total / count;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMeanAllocatedBytes() {
+        return count == 0 ? 0.0 : totalAllocated / count;
+    }
+
+    public long getMaxAllocatedBytes() {
+        return maxAllocated;
+    }
+
+    /**
+     * @param percentile - in the range 0 to 100
+     * @return the highest value in the bucket that holds the given percentile (so within one bucket width of the true
+     * value), and never more than the maximum recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target)
+                return Math.min(max, lowestValueIn(i + 1) - 1);
+        }
+        return max;
+    }
+
+    @SuppressWarnings("unchecked")
+    public JSONObject toJSON() {
+        JSONObject json = new JSONObject();
+        json.put("count", count);
+        json.put("meanNs", getMean());
+        json.put("minNs", getMin());
+        json.put("p50Ns", getValueAtPercentile(50));
+        json.put("p90Ns", getValueAtPercentile(90));
+        json.put("p99Ns", getValueAtPercentile(99));
+        json.put("maxNs", max);
+        json.put("meanAllocatedBytes", getMeanAllocatedBytes());
+        json.put("maxAllocatedBytes", maxAllocated);
+        // the non-empty buckets, by the lowest value in each
+        JSONObject buckets = new JSONObject();
+        for (int i = 0; i < counts.length; i++)
+            if (counts[i] > 0)
+                buckets.put(String.valueOf(lowestValueIn(i)), counts[i]);
+        json.put("buckets", buckets);
+        return json;
+    }
+}
@@ -0,0 +1,262 @@
+package utilities;
+
+import java.util.*;
+
+/**
+ * An immutable hash map, which is changed by creating a new version that shares almost all its structure with the old
+ * one: a hash array mapped trie (HAMT). Each level of the trie uses 5 bits of the key hash to pick one of up to 32
+ * children, held in an array sized to the children present (found with a bitmap). A put or remove copies only the
+ * nodes on the path to the key, so is O(log32 n); everything else is shared between the old and new versions.
+ * <p>
+ * Keys must not be null, and must not change their hashCode() while in the map. Being immutable, a map can be shared
+ * freely between game state copies and across threads. See SharedMap for a java.util.Map view over one.
+ */
+public final class PersistentHashMap<K, V> implements Iterable<Map.Entry<K, V>> {
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+    private static final Object NOT_FOUND = new Object();
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(Object key) {
+        return root != null && root.find(0, hash(key), key) != NOT_FOUND;
+    }
+
+    public V get(Object key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        if (root == null) return defaultValue;
+        Object v = root.find(0, hash(key), key);
+        return v == NOT_FOUND ? defaultValue : (V) v;
+    }
+
+    /**
+     * @return a new map with the given key mapped to the given value (or this map, if it already was)
+     */
+    public PersistentHashMap<K, V> put(K key, V value) {
+        Objects.requireNonNull(key, "PersistentHashMap does not allow null keys");
+        boolean[] added = new boolean[1];
+        Node newRoot = (root == null ? BitmapNode.EMPTY : root).put(0, hash(key), key, value, added);
+        if (newRoot == root) return this;
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @return a new map without the given key (or this map, if it did not contain it)
+     */
+    public PersistentHashMap<K, V> remove(Object key) {
+        if (root == null) return this;
+        Node newRoot = root.remove(0, hash(key), key);
+        if (newRoot == root) return this;
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        List<Map.Entry<K, V>> entries = new ArrayList<>(size);
+        if (root != null) root.collect(entries);
+        return Collections.unmodifiableList(entries).iterator();
+    }
+
+    private interface Node {
+        Object find(int shift, int hash, Object key);
+
+        Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+        // returns null if the node is left empty
+        Node remove(int shift, int hash, Object key);
+
+        <K, V> void collect(List<Map.Entry<K, V>> entries);
+    }
+
+    /**
+     * Up to 32 entries, one for each value of the 5 bits of the hash used at this level. Each entry is held as a pair
+     * in the array: a key and its value, or null and a child node for keys that share those bits.
+     */
+    private static final class BitmapNode implements Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if ((bitmap & bit) == 0) return NOT_FOUND;
+            int idx = index(bit);
+            Object k = array[2 * idx];
+            if (k == null) return ((Node) array[2 * idx + 1]).find(shift + 5, hash, key);
+            return key.equals(k) ? array[2 * idx + 1] : NOT_FOUND;
+        }
+
+        @Override
+        public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            int idx = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, 2 * idx);
+                newArray[2 * idx] = key;
+                newArray[2 * idx + 1] = value;
+                System.arraycopy(array, 2 * idx, newArray, 2 * idx + 2, array.length - 2 * idx);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            Object k = array[2 * idx];
+            Object v = array[2 * idx + 1];
+            if (k == null) {
+                Node child = ((Node) v).put(shift + 5, hash, key, value, added);
+                return child == v ? this : withEntry(idx, null, child);
+            }
+            if (key.equals(k))
+                return v == value ? this : withEntry(idx, k, value);
+            // two different keys in the same slot: push both down a level
+            added[0] = true;
+            return withEntry(idx, null, pair(shift + 5, hash(k), k, v, hash, key, value));
+        }
+
+        private BitmapNode withEntry(int idx, Object key, Object value) {
+            Object[] newArray = array.clone();
+            newArray[2 * idx] = key;
+            newArray[2 * idx + 1] = value;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private static Node pair(int shift, int hash1, Object key1, Object value1, int hash2, Object key2, Object value2) {
+            if (shift > 30 || hash1 == hash2)
+                return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+            boolean[] ignored = new boolean[1];
+            return EMPTY.put(shift, hash1, key1, value1, ignored).put(shift, hash2, key2, value2, ignored);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if ((bitmap & bit) == 0) return this;
+            int idx = index(bit);
+            Object k = array[2 * idx];
+            Object v = array[2 * idx + 1];
+            if (k == null) {
+                Node child = ((Node) v).remove(shift + 5, hash, key);
+                if (child == v) return this;
+                if (child != null) return withEntry(idx, null, child);
+            } else if (!key.equals(k)) {
+                return this;
+            }
+            if (bitmap == bit) return null;
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, 2 * idx);
+            System.arraycopy(array, 2 * idx + 2, newArray, 2 * idx, newArray.length - 2 * idx);
+            return new BitmapNode(bitmap & ~bit, newArray);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K, V> void collect(List<Map.Entry<K, V>> entries) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) ((Node) array[i + 1]).collect(entries);
+                else entries.add(new AbstractMap.SimpleImmutableEntry<>((K) array[i], (V) array[i + 1]));
+            }
+        }
+    }
+
+    /**
+     * Keys whose hashes are identical, held as a flat array of key, value pairs.
+     */
+    private static final class CollisionNode implements Node {
+        final int hash;
+        final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2)
+                if (key.equals(array[i])) return i;
+            return -1;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            return i < 0 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // a different hash ending up here: split into a bitmap node holding this one
+                BitmapNode parent = new BitmapNode(1 << ((this.hash >>> shift) & 31), new Object[]{null, this});
+                return parent.put(shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) return this;
+                Object[] newArray = array.clone();
+                newArray[i + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+            Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            if (i < 0) return this;
+            if (array.length == 2) return null;
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, newArray.length - i);
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K, V> void collect(List<Map.Entry<K, V>> entries) {
+            for (int i = 0; i < array.length; i += 2)
+                entries.add(new AbstractMap.SimpleImmutableEntry<>((K) array[i], (V) array[i + 1]));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package utilities;
+
+import java.util.*;
+
+/**
+ * An immutable list, which is changed by creating a new version that shares almost all its structure with the old one.
+ * <p>
+ * Elements are held in a sequence of small arrays (leaves) of at most MAX_LEAF elements each. Changing an element,
+ * inserting or removing one anywhere in the list copies only the leaf it is in and the array of leaves (so is
+ * O(MAX_LEAF + size / MAX_LEAF)); every other leaf is shared by the old and new versions. Inserting at the front is as
+ * cheap as at the back, which suits decks of cards.
+ * <p>
+ * Being immutable, a vector can be shared freely between game state copies and across threads. See SharedList for
+ * a java.util.List view over one.
+ */
+public final class PersistentVector<E> implements Iterable<E> {
+
+    static final int MAX_LEAF = 32;
+    private static final Object[][] NO_LEAVES = new Object[0][];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(NO_LEAVES, 0);
+
+    // Never modified once the vector is created; each leaf is exactly the size of the elements in it (never empty)
+    private final Object[][] leaves;
+    private final int size;
+
+    private PersistentVector(Object[][] leaves, int size) {
+        this.leaves = leaves;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * @return a vector with the given elements, in iteration order
+     */
+    public static <E> PersistentVector<E> of(Collection<? extends E> elements) {
+        Object[] all = elements.toArray();
+        if (all.length == 0) return empty();
+        Object[][] leaves = new Object[(all.length + MAX_LEAF - 1) / MAX_LEAF][];
+        for (int i = 0; i < leaves.length; i++)
+            leaves[i] = Arrays.copyOfRange(all, i * MAX_LEAF, Math.min(all.length, (i + 1) * MAX_LEAF));
+        return new PersistentVector<>(leaves, all.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index, size);
+        for (Object[] leaf : leaves) {
+            if (index < leaf.length) return (E) leaf[index];
+            index -= leaf.length;
+        }
+        throw new AssertionError("Unreachable");
+    }
+
+    /**
+     * @return a new vector with the element at the given index replaced
+     */
+    public PersistentVector<E> set(int index, E element) {
+        checkIndex(index, size);
+        int leafIdx = 0;
+        while (index >= leaves[leafIdx].length) index -= leaves[leafIdx++].length;
+        Object[][] newLeaves = leaves.clone();
+        newLeaves[leafIdx] = leaves[leafIdx].clone();
+        newLeaves[leafIdx][index] = element;
+        return new PersistentVector<>(newLeaves, size);
+    }
+
+    /**
+     * @return a new vector with the element inserted at the given index (0 to size, inclusive)
+     */
+    public PersistentVector<E> insert(int index, E element) {
+        checkIndex(index, size + 1);
+        if (leaves.length == 0)
+            return new PersistentVector<>(new Object[][]{{element}}, 1);
+        // insert into the leaf holding index, or at the end of the last leaf
+        int leafIdx = 0;
+        while (leafIdx < leaves.length - 1 && index > leaves[leafIdx].length) index -= leaves[leafIdx++].length;
+        Object[] leaf = leaves[leafIdx];
+        Object[] grown = new Object[leaf.length + 1];
+        System.arraycopy(leaf, 0, grown, 0, index);
+        grown[index] = element;
+        System.arraycopy(leaf, index, grown, index + 1, leaf.length - index);
+
+        Object[][] newLeaves;
+        if (grown.length <= MAX_LEAF) {
+            newLeaves = leaves.clone();
+            newLeaves[leafIdx] = grown;
+        } else {
+            // split the full leaf in two
+            int half = grown.length / 2;
+            newLeaves = new Object[leaves.length + 1][];
+            System.arraycopy(leaves, 0, newLeaves, 0, leafIdx);
+            newLeaves[leafIdx] = Arrays.copyOfRange(grown, 0, half);
+            newLeaves[leafIdx + 1] = Arrays.copyOfRange(grown, half, grown.length);
+            System.arraycopy(leaves, leafIdx + 1, newLeaves, leafIdx + 2, leaves.length - leafIdx - 1);
+        }
+        return new PersistentVector<>(newLeaves, size + 1);
+    }
+
+    public PersistentVector<E> append(E element) {
+        return insert(size, element);
+    }
+
+    /**
+     * @return a new vector without the element at the given index
+     */
+    public PersistentVector<E> remove(int index) {
+        checkIndex(index, size);
+        if (size == 1) return empty();
+        int leafIdx = 0;
+        while (index >= leaves[leafIdx].length) index -= leaves[leafIdx++].length;
+        Object[] leaf = leaves[leafIdx];
+        Object[][] newLeaves;
+        if (leaf.length == 1) {
+            newLeaves = new Object[leaves.length - 1][];
+            System.arraycopy(leaves, 0, newLeaves, 0, leafIdx);
+            System.arraycopy(leaves, leafIdx + 1, newLeaves, leafIdx, leaves.length - leafIdx - 1);
+        } else {
+            Object[] shrunk = new Object[leaf.length - 1];
+            System.arraycopy(leaf, 0, shrunk, 0, index);
+            System.arraycopy(leaf, index + 1, shrunk, index, leaf.length - index - 1);
+            newLeaves = leaves.clone();
+            newLeaves[leafIdx] = shrunk;
+        }
+        return new PersistentVector<>(newLeaves, size - 1);
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + bound);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            int leaf, pos;
+
+            @Override
+            public boolean hasNext() {
+                return leaf < leaves.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (leaf >= leaves.length) throw new NoSuchElementException();
+                E e = (E) leaves[leaf][pos++];
+                if (pos == leaves[leaf].length) {
+                    leaf++;
+                    pos = 0;
+                }
+                return e;
+            }
+        };
+    }
+
+    public Object[] toArray() {
+        Object[] all = new Object[size];
+        int i = 0;
+        for (Object[] leaf : leaves) {
+            System.arraycopy(leaf, 0, all, i, leaf.length);
+            i += leaf.length;
+        }
+        return all;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
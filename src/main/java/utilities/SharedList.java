@@ -0,0 +1,85 @@
+package utilities;
+
+import java.util.*;
+
+/**
+ * A java.util.List over a PersistentVector, so that copy() is O(1): the copy and the original share the same vector,
+ * and each change made to either afterwards copies only the part of the vector it touches.
+ * <p>
+ * Only the list is shared, not its elements. Elements are shared between copies as they are, so this is only a
+ * replacement for a deep copy where the elements are immutable (or are never modified while they are in the list).
+ */
+public class SharedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private PersistentVector<E> vector;
+
+    public SharedList() {
+        this.vector = PersistentVector.empty();
+    }
+
+    public SharedList(Collection<? extends E> elements) {
+        this.vector = PersistentVector.of(elements);
+    }
+
+    private SharedList(PersistentVector<E> vector) {
+        this.vector = vector;
+    }
+
+    /**
+     * @return a list with the same elements, sharing all structure with this one, in constant time
+     */
+    public SharedList<E> copy() {
+        return new SharedList<>(vector);
+    }
+
+    /**
+     * Replaces the contents of this list with the given elements, building the new vector in one go rather than with
+     * one change per element (e.g. after shuffling the elements elsewhere).
+     */
+    public void setAll(Collection<? extends E> elements) {
+        vector = PersistentVector.of(elements);
+        modCount++;
+    }
+
+    @Override
+    public E get(int index) {
+        return vector.get(index);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E old = vector.get(index);
+        vector = vector.set(index, element);
+        return old;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        vector = vector.insert(index, element);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E old = vector.get(index);
+        vector = vector.remove(index);
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        vector = PersistentVector.empty();
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return vector.size();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return vector.toArray();
+    }
+}
@@ -0,0 +1,118 @@
+package utilities;
+
+import java.util.*;
+
+/**
+ * A java.util.Map over a PersistentHashMap, so that copy() is O(1): the copy and the original share the same trie,
+ * and each change made to either afterwards copies only the path to the key changed.
+ * <p>
+ * Only the map is shared, not its keys and values, so this is only a replacement for a deep copy where these are
+ * immutable (or are never modified while they are in the map). Null keys are not allowed.
+ */
+public class SharedMap<K, V> extends AbstractMap<K, V> {
+
+    private PersistentHashMap<K, V> map;
+
+    public SharedMap() {
+        this.map = PersistentHashMap.empty();
+    }
+
+    public SharedMap(Map<? extends K, ? extends V> entries) {
+        this();
+        putAll(entries);
+    }
+
+    private SharedMap(PersistentHashMap<K, V> map) {
+        this.map = map;
+    }
+
+    /**
+     * @return a map with the same entries, sharing all structure with this one, in constant time
+     */
+    public SharedMap<K, V> copy() {
+        return new SharedMap<>(map);
+    }
+
+    @Override
+    public V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        return map.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        V old = map.get(key);
+        map = map.put(key, value);
+        return old;
+    }
+
+    @Override
+    public V remove(Object key) {
+        V old = map.get(key);
+        map = map.remove(key);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        map = PersistentHashMap.empty();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                Iterator<Entry<K, V>> entries = map.iterator();
+                return new Iterator<>() {
+                    Entry<K, V> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        Entry<K, V> e = entries.next();
+                        last = e;
+                        // writes through to the map
+                        return new SimpleEntry<>(e) {
+                            @Override
+                            public V setValue(V value) {
+                                SharedMap.this.put(getKey(), value);
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) throw new IllegalStateException();
+                        SharedMap.this.remove(last.getKey());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package utilities;
+
+/**
+ * Pseudo-random 64-bit keys for Zobrist hashing.
+ * <p>
+ * Rather than holding tables of random numbers, each key is derived by a fixed mixing function (SplitMix64) from the
+ * integers that identify the feature (for example, a board's component ID, a cell index, and the component ID of
+ * what is in that cell). Keys are therefore identical across copies of a state and across runs, and nothing needs
+ * to be allocated or sized in advance.
+ */
+public final class Zobrist {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private Zobrist() {
+    }
+
+    public static long key(int a) {
+        return mix(a * GOLDEN_GAMMA + GOLDEN_GAMMA);
+    }
+
+    public static long key(int a, int b) {
+        return mix(key(a) + b * GOLDEN_GAMMA);
+    }
+
+    public static long key(int a, int b, int c) {
+        return mix(key(a, b) + c * GOLDEN_GAMMA);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
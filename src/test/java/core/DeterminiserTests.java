@@ -0,0 +1,193 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.components.Deck;
+import core.determinisation.Determiniser;
+import core.determinisation.ParticleFilter;
+import games.GameType;
+import games.dominion.DominionConstants.DeckType;
+import games.dominion.DominionFGParameters;
+import games.dominion.DominionForwardModel;
+import games.dominion.DominionGameState;
+import games.dominion.cards.CardType;
+import games.dominion.cards.DominionCard;
+import org.junit.Before;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.mcts.MCTSEnums;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static org.junit.Assert.*;
+
+public class DeterminiserTests {
+
+    List<AbstractPlayer> players = Arrays.asList(new RandomPlayer(new Random(1)),
+            new RandomPlayer(new Random(2)),
+            new RandomPlayer(new Random(3)));
+
+    Game game = new Game(GameType.Dominion, players, new DominionForwardModel(), new DominionGameState(new DominionFGParameters(), players.size()));
+    DominionGameState state = (DominionGameState) game.getGameState();
+    DominionForwardModel fm = new DominionForwardModel();
+    Random rnd = new Random(42);
+
+    @Before
+    public void setup() {
+        state.addCard(CardType.SMITHY, 0, DeckType.HAND);
+        state.addCard(CardType.GOLD, 1, DeckType.HAND);
+        state.addCard(CardType.PROVINCE, 2, DeckType.HAND);
+        state.addCard(CardType.MARKET, 1, DeckType.DRAW);
+        state.addCard(CardType.FESTIVAL, 2, DeckType.DRAW);
+    }
+
+    private Map<CardType, Long> hiddenCards(DominionGameState dgs) {
+        List<DominionCard> retValue = new ArrayList<>();
+        for (int p = 1; p < dgs.getNPlayers(); p++) {
+            retValue.addAll(dgs.getDeck(DeckType.HAND, p).getComponents());
+            retValue.addAll(dgs.getDeck(DeckType.DRAW, p).getComponents());
+        }
+        retValue.addAll(dgs.getDeck(DeckType.DRAW, 0).getComponents());
+        return retValue.stream().collect(groupingBy(DominionCard::cardType, counting()));
+    }
+
+    @Test
+    public void determinisationsKeepVisibleInformation() {
+        Determiniser determiniser = new Determiniser(state, 0, rnd);
+        for (int i = 0; i < 10; i++) {
+            DominionGameState sample = (DominionGameState) determiniser.determinise();
+            assertEquals(state.getDeck(DeckType.HAND, 0), sample.getDeck(DeckType.HAND, 0));
+            for (int p = 0; p < state.getNPlayers(); p++) {
+                for (DeckType deckType : List.of(DeckType.HAND, DeckType.DRAW, DeckType.DISCARD, DeckType.TABLE))
+                    assertEquals(state.getDeck(deckType, p).getSize(), sample.getDeck(deckType, p).getSize());
+                assertEquals(state.getDeck(DeckType.DISCARD, p), sample.getDeck(DeckType.DISCARD, p));
+            }
+            assertEquals(hiddenCards(state), hiddenCards(sample));
+            assertTrue(determiniser.isConsistent(sample));
+        }
+    }
+
+    @Test
+    public void determinisationsShuffleHiddenCards() {
+        Determiniser determiniser = new Determiniser(state, 0, rnd);
+        boolean gold = false, notGold = false;
+        for (int i = 0; i < 50; i++) {
+            DominionGameState sample = (DominionGameState) determiniser.determinise();
+            if (sample.getDeck(DeckType.HAND, 1).stream().anyMatch(c -> c.cardType() == CardType.GOLD))
+                gold = true;
+            else
+                notGold = true;
+        }
+        assertTrue(gold);
+        assertTrue(notGold);
+    }
+
+    @Test
+    public void determinisationsAreIndependentOfEachOther() {
+        Determiniser determiniser = new Determiniser(state, 0, rnd);
+        DominionGameState first = (DominionGameState) determiniser.determinise();
+        DominionGameState second = (DominionGameState) determiniser.determinise();
+        Deck<DominionCard> hand = first.getDeck(DeckType.HAND, 1);
+        List<DominionCard> before = new ArrayList<>(second.getDeck(DeckType.HAND, 1).getComponents());
+        hand.clear();
+        assertEquals(before, second.getDeck(DeckType.HAND, 1).getComponents());
+        assertFalse(determiniser.isConsistent(first));
+    }
+
+    @Test
+    public void ownHandChangeIsInconsistent() {
+        Determiniser determiniser = new Determiniser(state, 0, rnd);
+        DominionGameState sample = (DominionGameState) determiniser.determinise();
+        assertTrue(determiniser.isConsistent(sample));
+        sample.getDeck(DeckType.HAND, 0).setComponent(0, DominionCard.create(CardType.PROVINCE));
+        assertFalse(determiniser.isConsistent(sample));
+    }
+
+    // exposes the particles, so that tests can see which of them an update keeps
+    static class Particles extends ParticleFilter {
+        Particles(int capacity) {
+            super(capacity, new DominionForwardModel(), new Random(42));
+        }
+
+        List<AbstractGameState> get() {
+            return particles;
+        }
+    }
+
+    private void take(String action) {
+        AbstractAction chosen = fm.computeAvailableActions(state).stream()
+                .filter(a -> a.toString().startsWith(action))
+                .findFirst().orElseThrow();
+        fm.next(state, chosen);
+    }
+
+    private boolean hasInHand(AbstractGameState particle, int player, CardType cardType) {
+        return ((DominionGameState) particle).getDeck(DeckType.HAND, player).stream().anyMatch(c -> c.cardType() == cardType);
+    }
+
+    @Test
+    public void particlesSurviveObservedActions() {
+        ParticleFilter filter = new ParticleFilter(20, fm, rnd);
+        filter.update(state, 0);
+        assertEquals(20, filter.size());
+        assertEquals(0, filter.getSurvivors());
+
+        // ending the action phase reveals nothing, so every particle is consistent with it
+        take("End Phase");
+        DominionGameState observation = (DominionGameState) state.copy(0);
+        filter.update(observation, 0);
+        assertEquals(20, filter.size());
+        assertEquals(20, filter.getSurvivors());
+        assertEquals(0, filter.getReplacements());
+        for (int i = 0; i < 20; i++) {
+            AbstractGameState particle = filter.determinise();
+            assertEquals(observation.getCurrentPlayer(), particle.getCurrentPlayer());
+            assertEquals(observation.getGamePhase(), particle.getGamePhase());
+            assertEquals(((DominionGameState) particle).getDeck(DeckType.HAND, 0), observation.getDeck(DeckType.HAND, 0));
+        }
+    }
+
+    @Test
+    public void particlesThatContradictObservedActionsAreRemoved() {
+        // player 1 draws their Market into hand; player 0 cannot see whether it is there or in the draw pile
+        Deck<DominionCard> drawPile = state.getDeck(DeckType.DRAW, 1);
+        DominionCard market = drawPile.stream().filter(c -> c.cardType() == CardType.MARKET).findFirst().orElseThrow();
+        drawPile.remove(market);
+        state.getDeck(DeckType.HAND, 1).add(market);
+        take("End Phase");
+        take("End Phase");
+        assertEquals(1, state.getCurrentPlayer());
+
+        Particles filter = new Particles(20);
+        filter.update(state.copy(0), 0);
+        List<AbstractGameState> withMarket = filter.get().stream()
+                .filter(p -> hasInHand(p, 1, CardType.MARKET)).toList();
+        assertTrue(withMarket.size() > 0 && withMarket.size() < 20);
+
+        // playing the Market rules out every particle without one in player 1's hand, and only those
+        take("MARKET");
+        filter.update(state.copy(0), 0);
+        assertEquals(withMarket.size(), filter.getSurvivors());
+        assertEquals(withMarket, filter.get().subList(0, withMarket.size()));
+    }
+
+    @Test
+    public void mctsSearchUsesDeterminisers() {
+        for (MCTSEnums.Determinisation determinisation : MCTSEnums.Determinisation.values()) {
+            MCTSParams params = new MCTSParams();
+            params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+            params.budget = 50;
+            params.determinisation = determinisation;
+            params.particles = 10;
+            List<AbstractPlayer> mctsPlayers = List.of(new MCTSPlayer(params), new RandomPlayer(new Random(2)));
+            Game mctsGame = GameType.LoveLetter.createGameInstance(2, 99);
+            mctsGame.reset(mctsPlayers);
+            mctsGame.run();
+            assertFalse(mctsGame.getGameState().isNotTerminal());
+        }
+    }
+}
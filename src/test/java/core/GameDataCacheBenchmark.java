@@ -0,0 +1,48 @@
+package core;
+
+import games.GameType;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures how many games can be set up per second (creating the game and resetting it, as a tournament does for
+ * each game it plays), with the GameDataCache enabled and disabled.
+ * <p>
+ * Usage: GameDataCacheBenchmark [setups per game and setting]
+ */
+public class GameDataCacheBenchmark {
+
+    public static void main(String[] args) {
+        int setups = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        GameType[] games = {GameType.Pandemic, GameType.TerraformingMars, GameType.Battlelore, GameType.Descent2e};
+
+        // the first rounds warm up the JIT compiler
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+            for (GameType gameType : games) {
+                double without = run(gameType, false, setups);
+                double with = run(gameType, true, setups);
+                if (report)
+                    System.out.printf("%-18s setups/s without cache: %8.1f   with cache: %8.1f   (x%.1f)%n",
+                            gameType.name(), without, with, with / without);
+            }
+        }
+        GameDataCache.setEnabled(true);
+    }
+
+    private static double run(GameType gameType, boolean cache, int setups) {
+        GameDataCache.setEnabled(cache);
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < 2; p++)
+            players.add(new RandomPlayer(new Random(p)));
+        long start = System.nanoTime();
+        for (int i = 0; i < setups; i++) {
+            Game game = gameType.createGameInstance(2, i);
+            game.reset(players, i);
+        }
+        return setups * 1e9 / (System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,72 @@
+package core;
+
+import core.components.Deck;
+import games.GameType;
+import org.json.simple.JSONArray;
+import org.junit.After;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GameDataCacheTest {
+
+    @After
+    public void restore() {
+        GameDataCache.setEnabled(true);
+    }
+
+    @Test
+    public void filesAreParsedOnce() throws Exception {
+        Object first = GameDataCache.parseJSON("data/pandemic/decks.json");
+        assertTrue(first instanceof JSONArray);
+        assertSame(first, GameDataCache.parseJSON("data/pandemic/decks.json"));
+    }
+
+    @Test
+    public void disablingTheCacheParsesAgain() throws Exception {
+        GameDataCache.setEnabled(false);
+        Object first = GameDataCache.parseJSON("data/pandemic/decks.json");
+        Object second = GameDataCache.parseJSON("data/pandemic/decks.json");
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void templatesAreHandedOutAsCopies() {
+        AbstractGameData data1 = new AbstractGameData();
+        data1.load("data/pandemic/");
+        AbstractGameData data2 = new AbstractGameData();
+        data2.load("data/pandemic/");
+        Deck<?> cities1 = data1.findDeck("Cities");
+        Deck<?> cities2 = data2.findDeck("Cities");
+        assertNotNull(cities1);
+        assertNotSame(cities1, cities2);
+        int size = cities2.getSize();
+        cities1.draw();
+        assertEquals(size, cities2.getSize());
+        assertEquals(size, data1.findDeck("Cities").getSize());
+    }
+
+    @Test
+    public void gamesRunWithAndWithoutTheCache() {
+        for (boolean enabled : new boolean[]{true, false}) {
+            GameDataCache.setEnabled(enabled);
+            for (GameType gameType : new GameType[]{GameType.Pandemic, GameType.Battlelore, GameType.Descent2e}) {
+                for (long seed = 0; seed < 2; seed++) {
+                    Game game = gameType.createGameInstance(2, seed);
+                    List<AbstractPlayer> players = new ArrayList<>();
+                    for (int p = 0; p < 2; p++)
+                        players.add(new RandomPlayer(new Random(seed + p)));
+                    game.reset(players, seed);
+                    for (int i = 0; i < 100 && game.getGameState().isNotTerminal(); i++)
+                        game.oneAction();
+                }
+            }
+        }
+    }
+}
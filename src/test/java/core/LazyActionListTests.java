@@ -0,0 +1,135 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import core.actions.LazyActionList;
+import core.actions.LogEvent;
+import games.GameType;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class LazyActionListTests {
+
+    AbstractAction a = new LogEvent("A"), b = new LogEvent("B"), c = new LogEvent("C"), d = new LogEvent("D");
+
+    @Test
+    public void listKeepsOrderAndAppliesFilter() {
+        int[] generated = {0};
+        LazyActionList list = new LazyActionList()
+                .add(a)
+                .addGroup(2, () -> {
+                    generated[0]++;
+                    return new ArrayList<>(List.of(b, c));
+                })
+                .addAll(List.of(d))
+                .withFilter(x -> x == c ? null : x);
+        assertEquals(4, list.estimatedSize());
+        assertEquals(0, generated[0]);
+        assertEquals(List.of(a, b, d), list.toList());
+        assertEquals(List.of(a, b, d), list.toList());
+        assertEquals(1, generated[0]);
+    }
+
+    @Test
+    public void samplingIsUniformOverLegalActionsAndLazy() {
+        int[] generated = {0};
+        LazyActionList list = new LazyActionList()
+                .add(a)
+                .addGroup(3, () -> {
+                    generated[0]++;
+                    return new ArrayList<>(List.of(b, c, d));
+                })
+                .withFilter(x -> x == d ? null : x);
+        Random rnd = new Random(7);
+        // the first few samples should mostly not need the group to be generated
+        Map<AbstractAction, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 3000; i++)
+            counts.merge(list.sample(rnd), 1, Integer::sum);
+        assertEquals(1, generated[0]);
+        assertEquals(3, counts.size());
+        assertFalse(counts.containsKey(d));
+        for (int count : counts.values())
+            assertEquals(1000, count, 100);
+        assertEquals(3, list.estimatedSize());
+    }
+
+    @Test
+    public void emptyAndFullyIllegalListsSampleNull() {
+        Random rnd = new Random(1);
+        assertNull(new LazyActionList().sample(rnd));
+        assertNull(new LazyActionList().addAll(List.of(a, b)).withFilter(x -> null).sample(rnd));
+        assertNull(new LazyActionList().addGroup(5, ArrayList::new).add(a).withFilter(x -> null).sample(rnd));
+    }
+
+    @Test
+    public void singleGroupSampleMatchesRandomPlayer() {
+        List<AbstractAction> actions = List.of(a, b, c, d);
+        Random first = new Random(3), second = new Random(3);
+        LazyActionList list = new LazyActionList().addAll(actions);
+        for (int i = 0; i < 100; i++)
+            assertSame(actions.get(first.nextInt(actions.size())), list.sample(second));
+    }
+
+    private void checkLazyActionsMatchFullList(GameType gameType, int nPlayers, int maxActions) {
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < nPlayers; p++)
+            players.add(new RandomPlayer(new Random(p + 10)));
+        Game game = gameType.createGameInstance(nPlayers, 42);
+        game.reset(players);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        Random rnd = new Random(5);
+        for (int i = 0; i < maxActions && state.isNotTerminal(); i++) {
+            List<AbstractAction> full = fm.computeAvailableActions(state);
+            LazyActionList lazy = fm.lazyAvailableActions(state, ActionSpace.Default);
+            assertTrue(lazy.estimatedSize() >= full.size());
+            for (int s = 0; s < 5; s++) {
+                AbstractAction sample = fm.sampleAvailableAction(state, ActionSpace.Default, rnd);
+                assertTrue(sample + " is not legal", full.contains(sample));
+            }
+            assertEquals(full, fm.lazyAvailableActions(state, ActionSpace.Default).toList());
+            game.oneAction();
+        }
+    }
+
+    @Test
+    public void catanLazyActionsMatchFullList() {
+        checkLazyActionsMatchFullList(GameType.Catan, 3, 300);
+    }
+
+    @Test
+    public void terraformingMarsLazyActionsMatchFullList() {
+        checkLazyActionsMatchFullList(GameType.TerraformingMars, 2, 300);
+    }
+
+    @Test
+    public void sampledProgressiveWidening() {
+        MCTSParams params = new MCTSParams();
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 100;
+        params.rolloutLength = 10;
+        params.progressiveWideningConstant = 2.0;
+        params.progressiveWideningExponent = 0.3;
+        params.progressiveWideningSampled = true;
+        params.actionHeuristic = (action, state, actions) -> 0.0;
+        MCTSPlayer player = new MCTSPlayer(params);
+        Game game = GameType.Catan.createGameInstance(3, 11);
+        game.reset(List.of(player, new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))));
+        AbstractGameState state = game.getGameState();
+        for (int i = 0; i < 100 && state.isNotTerminal(); i++) {
+            List<AbstractAction> full = game.getForwardModel().computeAvailableActions(state);
+            if (state.getCurrentPlayer() == 0) {
+                AbstractAction chosen = player.getAction(state.copy(0), full);
+                assertTrue(full.contains(chosen));
+            }
+            game.oneAction();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package core;
+
+import games.GameType;
+import org.junit.Test;
+import players.python.PythonAgent;
+import players.simple.RandomPlayer;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PyTAGVectorEnvTests {
+
+    private int randomLegalAction(IntBuffer masks, int env, int actionSize, Random rnd) {
+        int[] legal = new int[actionSize];
+        int n = 0;
+        for (int a = 0; a < actionSize; a++)
+            if (masks.get(env * actionSize + a) == 1)
+                legal[n++] = a;
+        assertTrue("No legal actions in environment " + env, n > 0);
+        return legal[rnd.nextInt(n)];
+    }
+
+    private void playEpisodes(boolean parallel) throws Exception {
+        int nEnvs = 4;
+        PyTAGVectorEnv env = new PyTAGVectorEnv(GameType.TicTacToe, null,
+                List.of(new PythonAgent(), new RandomPlayer(new Random(2))), nEnvs, 7, true, parallel);
+        int obsSize = env.getObservationSpace();
+        int actionSize = env.getActionSpace();
+        assertEquals(9, actionSize);
+        assertEquals(nEnvs * obsSize * Double.BYTES, env.getObservations().capacity());
+        assertTrue(env.getObservations().isDirect());
+
+        env.reset();
+        DoubleBuffer obs = env.getObservations().asDoubleBuffer();
+        IntBuffer masks = env.getActionMasks().asIntBuffer();
+        for (int i = 0; i < nEnvs; i++) {
+            // the buffers hold the same data as the single environment API
+            PyTAG single = env.getEnv(i);
+            assertArrayEquals(single.getActionMask(), slice(masks, i * actionSize, actionSize));
+            double[] expectedObs = single.getObservationVector();
+            for (int f = 0; f < obsSize; f++)
+                assertEquals(expectedObs[f], obs.get(i * obsSize + f), 1e-9);
+            assertEquals(0, env.getPlayerIDs().asIntBuffer().get(i));
+        }
+
+        Random rnd = new Random(3);
+        int finished = 0;
+        for (int step = 0; step < 100; step++) {
+            int[] actions = new int[nEnvs];
+            for (int i = 0; i < nEnvs; i++)
+                actions[i] = randomLegalAction(masks, i, actionSize, rnd);
+            env.step(actions);
+            for (int i = 0; i < nEnvs; i++) {
+                if (env.getDones().get(i) == 1) {
+                    finished++;
+                    // auto-reset: the new episode starts with an empty board
+                    assertFalse(env.getEnv(i).isDone());
+                    for (int a = 0; a < actionSize; a++)
+                        assertEquals(1, masks.get(i * actionSize + a));
+                }
+                assertArrayEquals(env.getEnv(i).getActionMask(), slice(masks, i * actionSize, actionSize));
+            }
+        }
+        assertTrue(finished > 10);
+    }
+
+    private int[] slice(IntBuffer buffer, int offset, int length) {
+        int[] retValue = new int[length];
+        buffer.get(offset, retValue);
+        return retValue;
+    }
+
+    @Test
+    public void sequentialEnvironments() throws Exception {
+        playEpisodes(false);
+    }
+
+    @Test
+    public void parallelEnvironments() throws Exception {
+        playEpisodes(true);
+    }
+
+    @Test
+    public void observationsOfPartiallyObservableGame() throws Exception {
+        // the buffer holds the current player's observation, from their copy of the state, as in the single environment
+        PyTAG env = new PyTAG(GameType.LoveLetter, null,
+                List.of(new PythonAgent(), new RandomPlayer(new Random(2))), 5, true);
+        env.reset();
+        DoubleBuffer buffer = DoubleBuffer.allocate(env.getObservationSpace());
+        Random rnd = new Random(3);
+        for (int step = 0; step < 50 && !env.isDone(); step++) {
+            env.writeObservation(buffer, 0);
+            assertArrayEquals(env.getObservationVector(), buffer.array(), 1e-9);
+            env.step(env.sampleRNDAction(env.getActionMask(), rnd));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongNumberOfActions() throws Exception {
+        PyTAGVectorEnv env = new PyTAGVectorEnv(GameType.TicTacToe, null,
+                List.of(new PythonAgent(), new RandomPlayer(new Random(2))), 2, 7, true, false);
+        env.reset();
+        env.step(new int[]{0});
+    }
+}
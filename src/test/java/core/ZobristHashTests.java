@@ -0,0 +1,133 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.components.BoardNode;
+import core.components.GridBoard;
+import core.interfaces.IGridGameState;
+import core.interfaces.IZobristHashable;
+import evaluation.features.ZobristStateKey;
+import games.GameType;
+import games.dotsboxes.DBEdgeAndScoreKey;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.mcts.MCTSEnums;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class ZobristHashTests {
+
+    private long fullRecompute(GridBoard board) {
+        board.getGridValues();  // invalidates the incremental hash
+        return board.getZobristHash();
+    }
+
+    @Test
+    public void gridBoardHashIsIncremental() {
+        BoardNode empty = new BoardNode("empty"), x = new BoardNode("x"), o = new BoardNode("o");
+        GridBoard board = new GridBoard(3, 3, empty);
+        long start = board.getZobristHash();
+        board.setElement(1, 1, x);
+        long afterX = board.getZobristHash();
+        assertNotEquals(start, afterX);
+        board.setElement(0, 2, o);
+        assertEquals(fullRecompute(board), board.getZobristHash());
+        board.setElement(0, 2, empty);
+        assertEquals(afterX, board.getZobristHash());
+        board.setElement(1, 1, empty);
+        assertEquals(start, board.getZobristHash());
+
+        // and copies keep (and then maintain independently) the hash
+        board.setElement(2, 0, x);
+        GridBoard copy = board.copy();
+        assertEquals(board.getZobristHash(), copy.getZobristHash());
+        copy.setElement(2, 2, o);
+        assertNotEquals(board.getZobristHash(), copy.getZobristHash());
+        assertEquals(fullRecompute(copy), copy.getZobristHash());
+    }
+
+    private Game play(GameType gameType, int nPlayers, long seed) {
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < nPlayers; p++)
+            players.add(new RandomPlayer(new Random(seed + p)));
+        Game game = gameType.createGameInstance(nPlayers, seed);
+        game.reset(players);
+        return game;
+    }
+
+    @Test
+    public void ticTacToeTranspositionsHaveTheSameKey() {
+        Game game = play(GameType.TicTacToe, 2, 1);
+        AbstractGameState start = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        List<AbstractAction> actions = fm.computeAvailableActions(start);
+        // play (a, b, c) and (c, b, a): the same final position
+        AbstractGameState first = start.copy();
+        AbstractGameState second = start.copy();
+        for (int i : new int[]{0, 1, 2})
+            fm.next(first, actions.get(i));
+        for (int i : new int[]{2, 1, 0})
+            fm.next(second, actions.get(i));
+        ZobristStateKey key = new ZobristStateKey();
+        assertEquals(key.getKey(first), key.getKey(second));
+        assertNotEquals(key.getKey(first), key.getKey(start));
+        assertNotEquals(key.getKey(first, 0), key.getKey(first, 1));
+    }
+
+    private void checkAgainstReference(GameType gameType, int nPlayers,
+                                       Function<AbstractGameState, Object> referenceKey) {
+        for (long seed = 0; seed < 20; seed++) {
+            // component IDs (which the hash uses) are only fixed within one game, so we compare within each game
+            Map<Object, Long> reference = new HashMap<>();
+            Game game = play(gameType, nPlayers, seed);
+            AbstractGameState state = game.getGameState();
+            while (state.isNotTerminal()) {
+                long hash = ((IZobristHashable) state).getZobristHash();
+                Long previous = reference.putIfAbsent(referenceKey.apply(state), hash);
+                if (previous != null)
+                    assertEquals((long) previous, hash);
+                // copies must agree
+                assertEquals(hash, ((IZobristHashable) state.copy()).getZobristHash());
+                game.oneAction();
+            }
+            // and distinct positions should (almost certainly) have distinct hashes
+            assertEquals(reference.size(), new HashSet<>(reference.values()).size());
+        }
+    }
+
+    @Test
+    public void dotsAndBoxesHashMatchesEdgeAndScoreKey() {
+        DBEdgeAndScoreKey edgeKey = new DBEdgeAndScoreKey();
+        checkAgainstReference(GameType.DotsAndBoxes, 2, edgeKey::getKey);
+    }
+
+    @Test
+    public void connect4HashMatchesBoard() {
+        checkAgainstReference(GameType.Connect4, 2, s -> {
+            StringBuilder sb = new StringBuilder().append(s.getCurrentPlayer()).append("|");
+            for (BoardNode node : ((IGridGameState) s).getGridBoard().flattenGrid())
+                sb.append(node.getComponentName()).append(",");
+            return sb.toString();
+        });
+    }
+
+    @Test
+    public void mcgsRunsWithZobristKey() {
+        MCTSParams params = new MCTSParams();
+        // there is no default, as the fallback to hashCode() is unsafe for games without a Zobrist hash
+        assertNull(params.MCGSStateKey);
+        params.MCGSStateKey = new ZobristStateKey();
+        params.opponentTreePolicy = MCTSEnums.OpponentTreePolicy.MCGS;
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 200;
+        Game game = GameType.TicTacToe.createGameInstance(2, 3);
+        game.reset(List.of(new MCTSPlayer(params), new RandomPlayer(new Random(4))));
+        game.run();
+        assertFalse(game.getGameState().isNotTerminal());
+    }
+}
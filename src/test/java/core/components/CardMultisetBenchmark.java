@@ -0,0 +1,66 @@
+package core.components;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import games.GameType;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures how many game states can be copied per second, both fully (copy()) and with hidden information
+ * redeterminised for one player (copy(playerId), as used by the search players), for the games whose hidden piles are
+ * held as CardMultisets. The states are taken from random games, at every decision. The action history is not
+ * copied (as in competition mode), as it grows through the game and would otherwise dominate the time taken.
+ * <p>
+ * Usage: CardMultisetBenchmark [copies of each state]
+ */
+public class CardMultisetBenchmark {
+
+    public static void main(String[] args) {
+        int copies = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        GameType[] games = {GameType.SushiGo, GameType.LoveLetter};
+
+        // the first rounds warm up the JIT compiler
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+            for (GameType gameType : games) {
+                List<AbstractGameState> states = states(gameType, 4);
+                double full = run(states, -1, copies);
+                double redeterminised = run(states, 0, copies);
+                if (report)
+                    System.out.printf("%-12s copies/s copy(): %10.0f   copy(playerId): %10.0f%n",
+                            gameType.name(), full, redeterminised);
+            }
+        }
+    }
+
+    private static List<AbstractGameState> states(GameType gameType, int nPlayers) {
+        List<AbstractGameState> states = new ArrayList<>();
+        for (int seed = 0; seed < 5; seed++) {
+            List<AbstractPlayer> players = new ArrayList<>();
+            for (int p = 0; p < nPlayers; p++)
+                players.add(new RandomPlayer(new Random(seed * nPlayers + p)));
+            Game game = gameType.createGameInstance(nPlayers, seed);
+            game.reset(players, seed);
+            while (game.getGameState().isNotTerminal()) {
+                states.add(game.getGameState().copy());
+                game.oneAction();
+            }
+            game.getCoreParameters().competitionMode = true;
+        }
+        return states;
+    }
+
+    private static double run(List<AbstractGameState> states, int playerId, int copies) {
+        long start = System.nanoTime();
+        for (int i = 0; i < copies; i++) {
+            for (AbstractGameState state : states)
+                state.copy(playerId);
+        }
+        return (double) copies * states.size() * 1e9 / (System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,85 @@
+package core.components;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CardMultisetTest {
+
+    enum Fruit {Apple, Banana, Cherry}
+
+    @Test
+    public void countsAndSize() {
+        CardMultiset pile = CardMultiset.of("pile", Fruit.class);
+        assertEquals(3, pile.getNTypes());
+        assertTrue(pile.isEmpty());
+        pile.add(Fruit.Apple);
+        pile.add(Fruit.Cherry.ordinal(), 4);
+        assertEquals(5, pile.getSize());
+        assertEquals(1, pile.count(Fruit.Apple));
+        assertEquals(0, pile.count(Fruit.Banana));
+        assertEquals(4, pile.count(2));
+
+        assertTrue(pile.remove(Fruit.Apple));
+        assertFalse(pile.remove(Fruit.Apple));
+        assertEquals(4, pile.getSize());
+
+        CardMultiset other = CardMultiset.of("other", Fruit.class);
+        other.add(Fruit.Banana, 2);
+        pile.addAll(other);
+        assertArrayEquals(new int[]{0, 2, 4}, pile.getCounts());
+        assertEquals(6, pile.getSize());
+        assertEquals(2, other.getSize());
+
+        pile.clear();
+        assertTrue(pile.isEmpty());
+        assertArrayEquals(new int[]{0, 0, 0}, pile.getCounts());
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        CardMultiset pile = CardMultiset.of("pile", Fruit.class);
+        pile.add(Fruit.Banana, 3);
+        CardMultiset copy = pile.copy();
+        assertEquals(pile, copy);
+        assertEquals(pile.getComponentID(), copy.getComponentID());
+
+        copy.remove(Fruit.Banana);
+        assertEquals(3, pile.count(Fruit.Banana));
+        assertEquals(2, copy.count(Fruit.Banana));
+        assertNotEquals(pile, copy);
+    }
+
+    @Test
+    public void drawingEmptiesThePileWithoutReplacement() {
+        CardMultiset pile = CardMultiset.of("pile", Fruit.class);
+        pile.add(Fruit.Apple, 2);
+        pile.add(Fruit.Cherry, 3);
+        Random rnd = new Random(5);
+        int[] drawn = new int[3];
+        for (int i = 0; i < 5; i++)
+            drawn[pile.draw(rnd, Fruit.values()).ordinal()]++;
+        assertArrayEquals(new int[]{2, 0, 3}, drawn);
+        assertTrue(pile.isEmpty());
+        assertEquals(-1, pile.draw(rnd));
+        assertNull(pile.draw(rnd, Fruit.values()));
+    }
+
+    @Test
+    public void drawsAreInProportionToCounts() {
+        Random rnd = new Random(11);
+        int[] drawn = new int[3];
+        int trials = 30000;
+        for (int i = 0; i < trials; i++) {
+            CardMultiset pile = new CardMultiset("pile", 3);
+            pile.add(0, 1);
+            pile.add(1, 2);
+            pile.add(2, 3);
+            drawn[pile.draw(rnd)]++;
+        }
+        for (int type = 0; type < 3; type++)
+            assertEquals((type + 1) / 6.0, drawn[type] / (double) trials, 0.01);
+    }
+}
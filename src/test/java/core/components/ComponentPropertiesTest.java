@@ -0,0 +1,58 @@
+package core.components;
+
+import core.properties.PropertyInt;
+import core.properties.PropertyString;
+import org.junit.Test;
+import utilities.Hash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ComponentPropertiesTest {
+
+    @Test
+    public void propertiesCanBeAddedReplacedAndRead() {
+        Card card = new Card("test");
+        card.setProperty(new PropertyInt("cost", 3));
+        card.setProperty(new PropertyString("colour", "red"));
+        assertEquals(2, card.getNumProperties());
+        assertEquals(3, ((PropertyInt) card.getProperty("cost")).value);
+        assertEquals("red", ((PropertyString) card.getProperty(Hash.GetInstance().hash("colour"))).value);
+        assertNull(card.getProperty("missing"));
+
+        card.setProperty(new PropertyInt("cost", 5));
+        assertEquals(2, card.getNumProperties());
+        assertEquals(5, ((PropertyInt) card.getProperty("cost")).value);
+        assertEquals(List.of(Hash.GetInstance().hash("cost"), Hash.GetInstance().hash("colour")),
+                new ArrayList<>(card.getProperties().keySet()));
+    }
+
+    @Test
+    public void copiesHaveTheirOwnProperties() {
+        Card card = new Card("test");
+        card.setProperty(new PropertyInt("cost", 3));
+        Card copy = card.copy();
+        assertEquals(3, ((PropertyInt) copy.getProperty("cost")).value);
+        assertNotSame(card.getProperty("cost"), copy.getProperty("cost"));
+        assertSame(card.propertyLayout, copy.propertyLayout);
+
+        ((PropertyInt) copy.getProperty("cost")).value = 4;
+        copy.setProperty(new PropertyString("colour", "blue"));
+        assertEquals(3, ((PropertyInt) card.getProperty("cost")).value);
+        assertNull(card.getProperty("colour"));
+        assertEquals(1, card.getNumProperties());
+    }
+
+    @Test
+    public void componentsWithTheSamePropertiesShareALayout() {
+        Card a = new Card("a");
+        Card b = new Card("b");
+        for (Card c : List.of(a, b)) {
+            c.setProperty(new PropertyInt("cost", 1));
+            c.setProperty(new PropertyString("colour", "green"));
+        }
+        assertSame(a.propertyLayout, b.propertyLayout);
+    }
+}
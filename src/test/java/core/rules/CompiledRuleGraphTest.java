@@ -0,0 +1,109 @@
+package core.rules;
+
+import core.AbstractGameState;
+import core.AbstractGameStateWithTurnOrder;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.pandemic.PandemicForwardModel;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CompiledRuleGraphTest {
+
+    private Game pandemic(long seed, boolean compiled) {
+        Game game = GameType.Pandemic.createGameInstance(2, seed);
+        if (!compiled)
+            ((AbstractRuleBasedForwardModel) game.getForwardModel()).compiled = null;
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(new RandomPlayer(new Random(seed)));
+        players.add(new RandomPlayer(new Random(seed + 1)));
+        game.reset(players, seed);
+        return game;
+    }
+
+    @Test
+    public void rulesAreCompiledFromTheRoot() {
+        PandemicForwardModel fm = (PandemicForwardModel) pandemic(1, true).getForwardModel();
+        CompiledRuleGraph graph = fm.compiled;
+        assertNotNull(graph);
+        assertSame(fm.root, graph.getNode(CompiledRuleGraph.ROOT));
+        // 12 rules and 6 conditions
+        assertEquals(18, graph.size());
+        assertTrue(graph.requiresAction(CompiledRuleGraph.ROOT));
+    }
+
+    @Test
+    public void copiesShareTheCompiledGraph() {
+        PandemicForwardModel fm = (PandemicForwardModel) pandemic(1, true).getForwardModel();
+        PandemicForwardModel copy = fm.copy();
+        assertSame(fm.compiled, copy.compiled);
+        assertSame(fm.root, copy.root);
+    }
+
+    @Test
+    public void cursorIsKeptInTheGameState() {
+        Game game = pandemic(2, true);
+        AbstractGameStateWithTurnOrder state = (AbstractGameStateWithTurnOrder) game.getGameState();
+        assertEquals(CompiledRuleGraph.ROOT, state.getRuleCursor());
+        for (int i = 0; i < 20 && state.isNotTerminal(); i++) {
+            game.oneAction();
+            AbstractGameStateWithTurnOrder copy = (AbstractGameStateWithTurnOrder) state.copy();
+            assertEquals(state.getRuleCursor(), copy.getRuleCursor());
+            assertTrue(state.getRuleCursor() >= 0);
+        }
+    }
+
+    @Test
+    public void gamesRunToTheEndWithEitherForm() {
+        for (long seed = 0; seed < 5; seed++) {
+            for (boolean compiled : new boolean[]{true, false}) {
+                Game game = pandemic(seed, compiled);
+                game.run();
+                assertFalse(game.getGameState().isNotTerminal());
+                assertTrue(game.getTick() > 0);
+            }
+        }
+    }
+
+    @Test
+    public void compilingDoesNotChangeTheGame() {
+        // Two copies of the same seeded game, one run with the compiled graph and one without, are played in lock step
+        // with the same random moves. (Separate games cannot be compared, as Pandemic's actions come out of HashSets
+        // keyed on component IDs, which differ from one game to the next.)
+        for (long seed = 0; seed < 5; seed++) {
+            Game game = pandemic(seed, true);
+            AbstractRuleBasedForwardModel compiledFM = (AbstractRuleBasedForwardModel) game.getForwardModel();
+            AbstractRuleBasedForwardModel uncompiledFM = ((PandemicForwardModel) compiledFM).copy();
+            uncompiledFM.compiled = null;
+            AbstractGameState compiled = game.getGameState().copy();
+            AbstractGameState uncompiled = game.getGameState().copy();
+            compiled.getRnd().setSeed(seed);
+            uncompiled.getRnd().setSeed(seed);
+
+            Random rnd = new Random(seed);
+            int steps = 0;
+            while (compiled.isNotTerminal()) {
+                List<AbstractAction> actions = compiledFM.computeAvailableActions(compiled);
+                assertEquals(actions, uncompiledFM.computeAvailableActions(uncompiled));
+                int choice = rnd.nextInt(actions.size());
+                compiledFM.next(compiled, actions.get(choice));
+                uncompiledFM.next(uncompiled, uncompiledFM.computeAvailableActions(uncompiled).get(choice));
+                assertEquals(compiled.getCurrentPlayer(), uncompiled.getCurrentPlayer());
+                steps++;
+            }
+            assertTrue(steps > 10);
+            assertFalse(uncompiled.isNotTerminal());
+            assertEquals(uncompiled.getHistory(), compiled.getHistory());
+            assertArrayEquals(uncompiled.getPlayerResults(), compiled.getPlayerResults());
+            assertEquals(uncompiled.getGameScore(0), compiled.getGameScore(0), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package evaluation;
+
+import core.AbstractPlayer;
+import evaluation.optimisation.NTBEA;
+import evaluation.optimisation.NTBEAParameters;
+import evaluation.optimisation.ntbea.functions.TestFunction001;
+import evaluation.optimisation.ntbea.functions.FunctionSearchSpace;
+import evaluation.tournaments.RoundRobinTournament;
+import games.GameType;
+import org.json.simple.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import players.simple.RandomPlayer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class CheckpointTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    Map<RunArg, Object> config;
+    List<AbstractPlayer> agents;
+
+    @Before
+    public void setup() {
+        agents = List.of(new RandomPlayer(), new RandomPlayer(), new RandomPlayer());
+        config = RunArg.parseConfig(new String[]{}, Collections.singletonList(RunArg.Usage.RunGames));
+        config.put(RunArg.matchups, 30);
+        config.put(RunArg.mode, "random");
+        config.put(RunArg.verbose, false);
+        config.put(RunArg.listener, new ArrayList<String>());
+        config.put(RunArg.checkpoint, true);
+        config.put(RunArg.destDir, folder.getRoot().getAbsolutePath());
+    }
+
+    @SuppressWarnings("unchecked")
+    private JSONObject record(int i) {
+        JSONObject record = new JSONObject();
+        record.put("index", i);
+        return record;
+    }
+
+    @Test
+    public void recordsAreReadBackInOrder() throws Exception {
+        String file = new File(folder.getRoot(), "test.jsonl").getAbsolutePath();
+        Checkpoint checkpoint = new Checkpoint(file, false);
+        for (int i = 0; i < 5; i++)
+            checkpoint.append(record(i));
+        checkpoint.close();
+        // simulate a crash part way through writing the next record
+        try (FileWriter writer = new FileWriter(file, true)) {
+            writer.write("{\"index\":");
+        }
+
+        Checkpoint resumed = new Checkpoint(file, true);
+        assertEquals(5, resumed.getRecords().size());
+        for (int i = 0; i < 3; i++)
+            assertEquals((long) i, resumed.next().get("index"));
+        resumed.discardRemaining();
+        assertFalse(resumed.hasNext());
+        resumed.append(record(10));
+        resumed.close();
+
+        Checkpoint again = new Checkpoint(file, true);
+        assertEquals(4, again.getRecords().size());
+        assertEquals(10L, again.getRecords().get(3).get("index"));
+        again.close();
+
+        assertTrue(new Checkpoint(file, false).getRecords().isEmpty());
+        assertEquals(0, Files.size(new File(file).toPath()));
+    }
+
+    @Test
+    public void tournamentResumesFromPartialCheckpoint() throws Exception {
+        RoundRobinTournament full = new RoundRobinTournament(agents, GameType.Poker, 3, null, config);
+        full.run();
+        File file = new File(folder.getRoot(), "Checkpoint_Poker_3p.jsonl");
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(31, lines.size());  // header plus one line per game
+
+        // a complete checkpoint gives exactly the same results without playing any games
+        config.put(RunArg.resume, true);
+        config.put(RunArg.seed, 12345L);  // ignored, the checkpoint seed is used
+        RoundRobinTournament replay = new RoundRobinTournament(agents, GameType.Poker, 3, null, config);
+        replay.run();
+        for (int i = 0; i < agents.size(); i++) {
+            assertEquals(full.getNGamesPlayed()[i], replay.getNGamesPlayed()[i]);
+            assertEquals(full.getWinRate(i), replay.getWinRate(i), 1e-9);
+            assertEquals(full.getOrdinalRank(i), replay.getOrdinalRank(i), 1e-9);
+        }
+        assertEquals(lines, Files.readAllLines(file.toPath()));
+
+        // cut the checkpoint short, as if the run had died after 12 games
+        Files.write(file.toPath(), lines.subList(0, 13));
+        RoundRobinTournament resumed = new RoundRobinTournament(agents, GameType.Poker, 3, null, config);
+        resumed.run();
+        List<String> resumedLines = Files.readAllLines(file.toPath());
+        assertEquals(31, resumedLines.size());
+        assertEquals(lines.subList(0, 13), resumedLines.subList(0, 13));
+        for (int i = 0; i < agents.size(); i++)
+            assertEquals(full.getNGamesPlayed()[i], resumed.getNGamesPlayed()[i]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkpointMustMatchTournament() {
+        new RoundRobinTournament(agents, GameType.Poker, 3, null, config).run();
+        config.put(RunArg.resume, true);
+        config.put(RunArg.matchups, 60);
+        new RoundRobinTournament(agents, GameType.Poker, 3, null, config);
+    }
+
+    private NTBEAParameters ntbeaParams(int seed, boolean resume) {
+        NTBEAParameters params = new NTBEAParameters();
+        params.iterationsPerRun = 40;
+        params.repeats = 2;
+        params.evalGames = 0;
+        params.tournamentGames = 0;
+        params.seed = seed;
+        params.logFile = "";
+        params.destDir = folder.getRoot().getAbsolutePath();
+        params.checkpoint = true;
+        params.resume = resume;
+        params.searchSpace = new FunctionSearchSpace(10, new TestFunction001());
+        return params;
+    }
+
+    @Test
+    public void ntbeaResumesFromPartialCheckpoint() throws Exception {
+        int[] full = new NTBEA(ntbeaParams(42, false), new TestFunction001(), 10).run().b;
+        File file = new File(folder.getRoot(), "NTBEA_Checkpoint.jsonl");
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(81, lines.size());  // header plus one line per trial
+
+        // cut the checkpoint short part way through the second iteration; the seed is taken from the checkpoint
+        Files.write(file.toPath(), lines.subList(0, 53));
+        int[] resumed = new NTBEA(ntbeaParams(7, true), new TestFunction001(), 10).run().b;
+        assertEquals(lines, Files.readAllLines(file.toPath()));
+        assertArrayEquals(full, resumed);
+    }
+}
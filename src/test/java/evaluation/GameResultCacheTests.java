@@ -0,0 +1,175 @@
+package evaluation;
+
+import core.AbstractParameters;
+import core.AbstractPlayer;
+import core.Game;
+import core.interfaces.IStateHeuristic;
+import evaluation.tournaments.RoundRobinTournament;
+import games.GameType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import players.ensemble.EnsembleMCTSPlayer;
+import players.heuristics.GameDefaultHeuristic;
+import players.heuristics.PureScoreHeuristic;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import players.rhea.RHEAParams;
+import players.rhea.RHEAPlayer;
+import players.simple.RandomPlayer;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class GameResultCacheTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MCTSPlayer mcts(int budget) {
+        MCTSParams params = new MCTSParams();
+        params.budget = budget;
+        return new MCTSPlayer(params);
+    }
+
+    @Test
+    public void keyDependsOnEverythingThatDeterminesTheGame() {
+        AbstractParameters params = GameType.TicTacToe.createParameters(1);
+        List<AbstractPlayer> players = List.of(mcts(100), new RandomPlayer());
+        String key = GameResultCache.key(GameType.TicTacToe, params, players, 42);
+
+        assertEquals(key, GameResultCache.key(GameType.TicTacToe, GameType.TicTacToe.createParameters(2),
+                List.of(mcts(100), new RandomPlayer()), 42));
+        assertNotEquals(key, GameResultCache.key(GameType.TicTacToe, params, players, 43));
+        assertNotEquals(key, GameResultCache.key(GameType.TicTacToe, params, List.of(new RandomPlayer(), mcts(100)), 42));
+        assertNotEquals(key, GameResultCache.key(GameType.TicTacToe, params, List.of(mcts(200), new RandomPlayer()), 42));
+        assertNotEquals(key, GameResultCache.key(GameType.Connect4, GameType.Connect4.createParameters(1), players, 42));
+        assertNotEquals(key, GameResultCache.key(GameType.TicTacToe, params, players, 42, "heuristic"));
+    }
+
+    private List<AbstractPlayer> mctsWithHeuristic(IStateHeuristic heuristic) {
+        MCTSParams params = new MCTSParams();
+        params.setParameterValue("heuristic", heuristic);
+        return List.of(new MCTSPlayer(params), new RandomPlayer());
+    }
+
+    @Test
+    public void playersWithDifferentHeuristicsDoNotShareAKey() {
+        AbstractParameters params = GameType.TicTacToe.createParameters(1);
+        String plain = GameResultCache.key(GameType.TicTacToe, params, mctsWithHeuristic(new GameDefaultHeuristic()), 42);
+        String score = GameResultCache.key(GameType.TicTacToe, params, mctsWithHeuristic(new PureScoreHeuristic()), 42);
+        assertNotNull(plain);
+        assertNotNull(score);
+        assertNotEquals(plain, score);
+
+        // two lambdas of the same type from the same class cannot be told apart, so neither can be cached
+        String first = GameResultCache.key(GameType.TicTacToe, params,
+                mctsWithHeuristic((state, playerId) -> state.getGameScore(playerId)), 42);
+        String second = GameResultCache.key(GameType.TicTacToe, params,
+                mctsWithHeuristic((state, playerId) -> -state.getGameScore(playerId)), 42);
+        assertNull(first);
+        assertNull(second);
+    }
+
+    @Test
+    public void unkeyedGamesAreNotCached() throws Exception {
+        String dir = folder.newFolder("unkeyed").getAbsolutePath();
+        Map<RunArg, Object> config = RunArg.parseConfig(new String[]{}, Collections.singletonList(RunArg.Usage.RunGames));
+        config.put(RunArg.matchups, 4);
+        config.put(RunArg.mode, "exhaustive");
+        config.put(RunArg.seed, 17L);
+        config.put(RunArg.verbose, false);
+        config.put(RunArg.destDir, folder.getRoot().getAbsolutePath());
+        config.put(RunArg.listener, new ArrayList<String>());
+        config.put(RunArg.resultCache, dir);
+        MCTSParams params = new MCTSParams();
+        params.budget = 20;
+        params.setParameterValue("heuristic", (IStateHeuristic) (state, playerId) -> state.getGameScore(playerId));
+        List<AbstractPlayer> agents = List.of(new MCTSPlayer(params), new RandomPlayer());
+        new RoundRobinTournament(agents, GameType.TicTacToe, 2, null, config).run();
+        GameResultCache cache = GameResultCache.forDirectory(dir);
+        assertEquals(0, cache.getHits() + cache.getMisses());
+        assertEquals(0, Objects.requireNonNull(new File(dir).listFiles()).length);
+    }
+
+    private static String keyWithLambdas() {
+        // the MCTS, RHEA and ensemble parameters all hold lambdas or method references (heuristics, for example)
+        return GameResultCache.key(GameType.TicTacToe, GameType.TicTacToe.createParameters(1),
+                List.of(new MCTSPlayer(), new RHEAPlayer(new RHEAParams()), new EnsembleMCTSPlayer()), 42);
+    }
+
+    // prints keyWithLambdas() for keyIsStableAcrossProcesses(), from a new JVM
+    public static class KeyPrinter {
+        public static void main(String[] args) {
+            System.out.println(keyWithLambdas());
+        }
+    }
+
+    @Test
+    public void keyIsStableAcrossProcesses() throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), KeyPrinter.class.getName())
+                .redirectErrorStream(true).start();
+        String[] output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim().split("\\R");
+        assertEquals(0, process.waitFor());
+        assertNotNull(keyWithLambdas());
+        assertEquals(keyWithLambdas(), output[output.length - 1]);
+    }
+
+    @Test
+    public void entriesAreReadBackFromDisk() throws Exception {
+        String dir = folder.newFolder("cache").getAbsolutePath();
+        Game game = GameType.TicTacToe.createGameInstance(2, 3);
+        game.reset(List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))));
+        game.run();
+        GameResultCache.Entry entry = GameResultCache.Entry.fromGame(game, new double[]{0.5, -0.5});
+
+        new GameResultCache(dir).put("abc", entry);
+        GameResultCache fresh = new GameResultCache(dir);
+        assertNull(fresh.get("xyz"));
+        GameResultCache.Entry retrieved = fresh.get("abc");
+        assertNotNull(retrieved);
+        assertArrayEquals(entry.results, retrieved.results);
+        assertArrayEquals(entry.scores, retrieved.scores, 1e-9);
+        assertArrayEquals(entry.ordinals, retrieved.ordinals);
+        assertArrayEquals(entry.teams, retrieved.teams);
+        assertArrayEquals(entry.values, retrieved.values, 1e-9);
+        assertEquals(1, fresh.getHits());
+        assertEquals(1, fresh.getMisses());
+    }
+
+    @Test
+    public void repeatedTournamentIsServedFromCache() throws Exception {
+        String dir = folder.newFolder("tournament").getAbsolutePath();
+        Map<RunArg, Object> config = RunArg.parseConfig(new String[]{}, Collections.singletonList(RunArg.Usage.RunGames));
+        config.put(RunArg.matchups, 20);
+        config.put(RunArg.mode, "exhaustive");
+        config.put(RunArg.seed, 17L);
+        config.put(RunArg.verbose, false);
+        config.put(RunArg.destDir, folder.getRoot().getAbsolutePath());
+        config.put(RunArg.listener, new ArrayList<String>());
+        config.put(RunArg.resultCache, dir);
+
+        List<AbstractPlayer> agents = List.of(mcts(20), new RandomPlayer());
+        RoundRobinTournament first = new RoundRobinTournament(agents, GameType.TicTacToe, 2, null, config);
+        first.run();
+        GameResultCache cache = GameResultCache.forDirectory(dir);
+        int missesAfterFirst = cache.getMisses();
+        int hitsAfterFirst = cache.getHits();
+        assertTrue(missesAfterFirst > 0);
+
+        RoundRobinTournament second = new RoundRobinTournament(agents, GameType.TicTacToe, 2, null, config);
+        second.run();
+        assertEquals(missesAfterFirst, cache.getMisses());
+        assertEquals(hitsAfterFirst + 20, cache.getHits());
+        for (int i = 0; i < agents.size(); i++) {
+            assertEquals(first.getNGamesPlayed()[i], second.getNGamesPlayed()[i]);
+            assertEquals(first.getWinRate(i), second.getWinRate(i), 1e-9);
+            assertEquals(first.getOrdinalRank(i), second.getOrdinalRank(i), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package evaluation;
+
+import core.AbstractPlayer;
+import core.Game;
+import evaluation.listeners.IGameListener;
+import evaluation.listeners.ProfilingListener;
+import games.GameType;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import players.simple.OSLAPlayer;
+import players.simple.RandomPlayer;
+import utilities.LatencyHistogram;
+
+import java.io.File;
+import java.io.FileReader;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ProfilingListenerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void histogramPercentilesAreWithinABucket() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++)
+            h.record(i * 1000L, i);
+        assertEquals(1000, h.getCount());
+        assertEquals(500500.0, h.getMean(), 1e-6);
+        assertEquals(1000, h.getMin());
+        assertEquals(1000000, h.getMax());
+        assertEquals(500000, h.getValueAtPercentile(50), 500000 / 32.0);
+        assertEquals(990000, h.getValueAtPercentile(99), 990000 / 32.0);
+        assertEquals(1000000, h.getValueAtPercentile(100));
+        assertEquals(500.5, h.getMeanAllocatedBytes(), 1e-6);
+        assertEquals(1000, h.getMaxAllocatedBytes());
+    }
+
+    @Test
+    public void profileIsRecordedByActionPhaseGameAndPlayer() throws Exception {
+        ProfilingListener profiler = new ProfilingListener();
+        profiler.setOutputDirectory(folder.getRoot().getAbsolutePath());
+        List<AbstractPlayer> players = List.of(new OSLAPlayer(new Random(1)), new RandomPlayer(new Random(2)));
+        List<IGameListener> listeners = Collections.singletonList(profiler);
+        int ticks = 0;
+        for (int i = 0; i < 3; i++) {
+            Game game = Game.runOne(GameType.TicTacToe, null, players, i, false, listeners, null, 0);
+            ticks += game.getTick();
+            assertTrue(game.isProfilingAllocations());
+        }
+        profiler.report();
+
+        Map<String, Map<String, LatencyHistogram>> histograms = profiler.getHistograms();
+        assertEquals(Set.of(ProfilingListener.NEXT, ProfilingListener.COMPUTE_ACTIONS, ProfilingListener.COPY, ProfilingListener.AGENT),
+                histograms.keySet());
+        assertEquals(Set.of("SetGridValueAction"), histograms.get(ProfilingListener.NEXT).keySet());
+        assertEquals(ticks, histograms.get(ProfilingListener.NEXT).get("SetGridValueAction").getCount());
+        assertEquals(ticks, histograms.get(ProfilingListener.COPY).get("TicTacToe").getCount());
+        assertEquals(2, histograms.get(ProfilingListener.AGENT).size());
+        assertTrue(histograms.get(ProfilingListener.COPY).get("TicTacToe").getMeanAllocatedBytes() > 0);
+
+        JSONObject json = (JSONObject) new JSONParser().parse(new FileReader(new File(folder.getRoot(), "Profile.json")));
+        assertEquals((long) ticks, ((JSONObject) ((JSONObject) json.get(ProfilingListener.NEXT)).get("SetGridValueAction")).get("count"));
+        assertTrue(new File(folder.getRoot(), "Profile.csv").exists());
+    }
+}
@@ -109,6 +109,47 @@ public class RunGamesTest {
             assertEquals(150, tournament.getNGamesPlayed()[i]);
     }
 
+    @Test
+    public void racingModeStopsOnceTheBestAgentIsClear() {
+        MCTSPlayer mcts = new MCTSPlayer();
+        agents = new ArrayList<>();
+        agents.add(mcts);
+        for (int i = 0; i < 7; i++)
+            agents.add(new RandomPlayer(new Random(i)));
+        config.put(RunArg.mode, "racing");
+        config.put(RunArg.matchups, 1000);
+        config.put(RunArg.budget, 200);
+        config.put(RunArg.seed, 42L);
+        tournament = new RoundRobinTournament(agents, GameType.TicTacToe, 2, null, config);
+        tournament.run();
+
+        // MCTS beats random play at TicTacToe comfortably, so the random players are dropped well before the budget is used
+        assertEquals(Collections.singletonList(0), tournament.getContenders());
+        int totalGames = Arrays.stream(tournament.getNGamesPlayed()).sum() / 2;
+        assertTrue(totalGames < 200);
+        for (int i = 1; i < agents.size(); i++)
+            assertTrue(tournament.getNGamesPlayed()[i] <= tournament.getNGamesPlayed()[0]);
+    }
+
+    @Test
+    public void racingModeKeepsEveryAgentUntilTheMinimumGamesArePlayed() {
+        MCTSPlayer mcts = new MCTSPlayer();
+        agents = new ArrayList<>();
+        agents.add(mcts);
+        for (int i = 0; i < 3; i++)
+            agents.add(new RandomPlayer(new Random(i)));
+        config.put(RunArg.mode, "racing");
+        config.put(RunArg.matchups, 60);
+        config.put(RunArg.budget, 200);
+        config.put(RunArg.seed, 42L);
+        config.put(RunArg.racingMinGames, 1000);
+        tournament = new RoundRobinTournament(agents, GameType.TicTacToe, 2, null, config);
+        tournament.run();
+
+        // no agent reaches the minimum within the budget, so none can be dropped
+        assertEquals(Arrays.asList(0, 1, 2, 3), tournament.getContenders());
+    }
+
     @Test
     public void oneVsAll2Agents() {
         agents = agents.subList(0, 2);  // only two agents
@@ -0,0 +1,81 @@
+package games.backgammon;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures how many Backgammon and XII Scripta states can be copied per second, and how many steps of random rollouts
+ * (computing the available actions, then applying one) can be run per second from them. The states are taken from
+ * random games, at every decision; the action history is not copied (as in competition mode).
+ * The total number of actions in those games is also printed, as a check that the rules have not changed.
+ * <p>
+ * Usage: BGBenchmark [rollout length]
+ */
+public class BGBenchmark {
+
+    public static void main(String[] args) {
+        int rolloutLength = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        GameType[] games = {GameType.Backgammon, GameType.XIIScripta};
+
+        // the first rounds warm up the JIT compiler
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+            for (GameType gameType : games) {
+                Game game = gameType.createGameInstance(2, 0);
+                List<AbstractGameState> states = states(game);
+                double copies = copies(states);
+                double steps = rollouts(states, game.getForwardModel(), rolloutLength);
+                if (report)
+                    System.out.printf("%-12s actions: %6d   copies/s: %10.0f   rollout steps/s: %10.0f%n",
+                            gameType.name(), states.size(), copies, steps);
+            }
+        }
+    }
+
+    private static List<AbstractGameState> states(Game game) {
+        List<AbstractGameState> states = new ArrayList<>();
+        for (int seed = 0; seed < 5; seed++) {
+            List<AbstractPlayer> players = List.of(new RandomPlayer(new Random(2L * seed)), new RandomPlayer(new Random(2L * seed + 1)));
+            game.reset(players, seed);
+            while (game.getGameState().isNotTerminal()) {
+                states.add(game.getGameState().copy());
+                game.oneAction();
+            }
+        }
+        game.getCoreParameters().competitionMode = true;
+        return states;
+    }
+
+    private static double copies(List<AbstractGameState> states) {
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            for (AbstractGameState state : states)
+                state.copy();
+        }
+        return 20.0 * states.size() * 1e9 / (System.nanoTime() - start);
+    }
+
+    private static double rollouts(List<AbstractGameState> states, AbstractForwardModel fm, int rolloutLength) {
+        Random rnd = new Random(42);
+        long steps = 0;
+        long start = System.nanoTime();
+        for (AbstractGameState state : states) {
+            AbstractGameState rolloutState = state.copy();
+            for (int i = 0; i < rolloutLength && rolloutState.isNotTerminal(); i++) {
+                List<AbstractAction> actions = fm.computeAvailableActions(rolloutState);
+                fm.next(rolloutState, actions.get(rnd.nextInt(actions.size())));
+                steps++;
+            }
+        }
+        return steps * 1e9 / (System.nanoTime() - start);
+    }
+}
@@ -4,11 +4,11 @@ package games.backgammon;
 import core.CoreConstants;
 import core.actions.AbstractAction;
 import core.actions.DoNothing;
-import core.components.Token;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -29,7 +29,7 @@ public class BasicMoves {
 
     @Test
     public void testInitialSetupByRaceTrack() {
-        assertEquals(25, gameState.counters.size());
+        assertEquals(25, gameState.getNSpaces());
         for (int i = 0; i < 24; i++) {
             int physicalRefP0 = gameState.getPhysicalSpace(0, i);
             int physicalRefP1 = gameState.getPhysicalSpace(1, i);
@@ -69,7 +69,7 @@ public class BasicMoves {
 
     @Test
     public void testInitialSetupByClassicNumbering() {
-        assertEquals(25, gameState.counters.size());
+        assertEquals(25, gameState.getNSpaces());
         for (int i = 1; i <= 24; i++) {
             System.out.printf("Checking point %d, P0: %d, P1: %d%n", i,
                     gameState.getPiecesOnPoint(0, i),
@@ -215,8 +215,7 @@ public class BasicMoves {
     @Test
     public void mustMoveFromBarFirst() {
         // set a piece on the bar (technically this means we have 16 pieces)
-        gameState.counters.get(0).add(new Token("White"));
-        gameState.counters.get(0).get(0).setOwnerId(0);
+        gameState.pieces[0][0]++;
         gameState.setDiceValues(new int[]{2, 3});
         var availableActions = forwardModel.computeAvailableActions(gameState);
         assertTrue(availableActions.contains(new MovePiece(0, 23)));
@@ -240,10 +239,7 @@ public class BasicMoves {
 
     @Test
     public void turnSkippedIfPiecesOnBarAndNoMovePossible() {
-        gameState.counters.get(0).add(new Token("White"));
-        gameState.counters.get(0).get(0).setOwnerId(0);
-        gameState.counters.get(0).add(new Token("White"));
-        gameState.counters.get(0).get(1).setOwnerId(0);
+        gameState.pieces[0][0] += 2;
         gameState.setDiceValues(new int[]{2, 3});
 
         gameState.movePiece(1, 12, 22);
@@ -409,5 +405,18 @@ public class BasicMoves {
             assertEquals(2, gameState.getAvailableDiceValues().length);
         }
     }
-}
 
+    @Test
+    public void cachedMovesAreTheSameAsNewlyGenerated() {
+        Random rnd = new Random(42);
+        for (int move = 0; move < 500 && gameState.isNotTerminal(); move++) {
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(gameState);
+            // a new forward model has an empty cache, so generates the moves afresh
+            assertEquals(new BGForwardModel().computeAvailableActions(gameState), actions);
+            // and a copy of the state is in the same position, so gets the cached moves
+            assertSame(actions, forwardModel.computeAvailableActions(gameState.copy()));
+            forwardModel.next(gameState, actions.get(rnd.nextInt(actions.size())));
+        }
+        assertTrue(forwardModel.moveCache.size() > 0);
+    }
+}
@@ -33,7 +33,7 @@ public class XIITests {
 
     @Test
     public void testPhysicalSpacesMatchTracker() {
-        assertEquals(37, gameState.counters.size());
+        assertEquals(37, gameState.getNSpaces());
         assertEquals(36, gameState.playerTrackMapping[0].length);
         for (int i = 0; i < 36; i++) {
             assertEquals(36 - i, gameState.getPhysicalSpace(0, i));
@@ -44,7 +44,7 @@ public class XIITests {
     @Test
     public void testPhysicalSpacesMatchTrackerHalfA() {
         initialiseHalfA();
-        assertEquals(37, gameState.counters.size());
+        assertEquals(37, gameState.getNSpaces());
         assertEquals(30, gameState.playerTrackMapping[0].length);
         assertEquals(30, gameState.playerTrackMapping[1].length);
         for (int i = 0; i < 36; i++) {
@@ -211,7 +211,7 @@ public class XIITests {
         for (int i = 0; i < piecesOnBar - 1; i++) {
             gameState.movePiece(0, 0, 28);
         }
-        gameState.movedThisTurn.clear();
+        gameState.clearMovedThisTurn();
         gameState.setDiceValues(new int[]{2, 3});
         var availableActions = forwardModel.computeAvailableActions(gameState);
         assertTrue(availableActions.contains(new MovePiece(0, 35)));
@@ -236,7 +236,7 @@ public class XIITests {
         gameState.movePiece(0, 0, 36);
         gameState.movePiece(0, 0, 31);
         gameState.movePiece(0, 0, 31);
-        gameState.movedThisTurn.clear();
+        gameState.clearMovedThisTurn();
 
         gameState.setDiceValues(new int[]{2, 3});
         var availableActions = forwardModel.computeAvailableActions(gameState);
@@ -259,7 +259,7 @@ public class XIITests {
         gameState.movePiece(0, 0, 36);
         gameState.movePiece(0, 0, 31);
         gameState.movePiece(0, 0, 31);
-        gameState.movedThisTurn.clear();
+        gameState.clearMovedThisTurn();
 
         gameState.setDiceValues(new int[]{5, 5});
         var availableActions = forwardModel.computeAvailableActions(gameState);
@@ -290,7 +290,7 @@ public class XIITests {
             gameState.movePiece(0, 0, 3);
         }
         gameState.movePiece(0, 0, 7);
-        gameState.movedThisTurn.clear();
+        gameState.clearMovedThisTurn();
         gameState.setDiceValues(new int[]{5, 6});
         var availableActions = forwardModel.computeAvailableActions(gameState);
         assertTrue(availableActions.contains(new MovePiece(7, 1)));
@@ -357,4 +357,25 @@ public class TestCantStop {
     }
 
 
+
+    @Test
+    public void copyIntoReusesTheTargetState() {
+        CantStopGameState state = (CantStopGameState) cantStop.getGameState();
+        CantStopGameState scratch = (CantStopGameState) state.copy();
+        // move the game on, so that the scratch state is out of date
+        fm.next(state, new RollDice());
+        List<AbstractAction> allocations = fm.computeAvailableActions(state);
+        fm.next(state, allocations.get(0));
+        assertNotEquals(state, scratch);
+
+        assertSame(scratch, state.copyInto(scratch));
+        assertEquals(state.copy(), scratch);
+        assertEquals(state.getMarkersMoved(), scratch.getMarkersMoved());
+
+        // and the copy is independent of the original
+        fm.next(scratch, new Pass(false));
+        assertNotEquals(state.getCurrentPlayer(), scratch.getCurrentPlayer());
+        assertEquals(0, state.getCurrentPlayer());
+        assertFalse(state.getMarkersMoved().isEmpty());
+    }
 }
@@ -0,0 +1,89 @@
+package games.descent;
+
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+import core.components.BoardNode;
+import core.components.GridBoard;
+import core.properties.PropertyInt;
+import games.descent2e.DescentForwardModel;
+import games.descent2e.DescentGameState;
+import games.descent2e.DescentHelper;
+import games.descent2e.DescentParameters;
+import org.junit.Before;
+import org.junit.Test;
+import utilities.LineOfSight;
+import utilities.Vector2D;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static core.CoreConstants.playersHash;
+import static org.junit.Assert.*;
+
+public class LineOfSightTests {
+
+    DescentGameState state;
+    DescentForwardModel fm = new DescentForwardModel();
+    Random rnd = new Random(57);
+
+    @Before
+    public void setup() {
+        state = new DescentGameState(new DescentParameters(), 2);
+        fm.setup(state);
+    }
+
+    // Line of sight traced directly along the board, one cell at a time
+    private boolean referenceLineOfSight(GridBoard board, Vector2D startPoint, Vector2D endPoint) {
+        List<Vector2D> points = LineOfSight.bresenhamsLineAlgorithm(startPoint, endPoint);
+        int start = ((PropertyInt) board.getElement(startPoint).getProperty(playersHash)).value;
+        int target = ((PropertyInt) board.getElement(endPoint).getProperty(playersHash)).value;
+        for (int i = 1; i < points.size(); i++) {
+            BoardNode current = board.getElement(points.get(i));
+            if (current == null)
+                return false;
+            int owner = ((PropertyInt) current.getProperty(playersHash)).value;
+            if (owner != -1 && i != points.size() - 1 && owner != target && owner != start)
+                return false;
+            if (!board.getElement(points.get(i - 1)).getNeighbours().containsKey(current))
+                return false;
+        }
+        return true;
+    }
+
+    private void checkAllPairs(DescentGameState dgs) {
+        GridBoard board = dgs.getMasterBoard();
+        List<Vector2D> cells = new ArrayList<>();
+        for (int y = 0; y < board.getHeight(); y++)
+            for (int x = 0; x < board.getWidth(); x++)
+                if (board.getElement(x, y) != null)
+                    cells.add(new Vector2D(x, y));
+        int visible = 0;
+        for (Vector2D from : cells) {
+            for (Vector2D to : cells) {
+                boolean expected = referenceLineOfSight(board, from, to);
+                assertEquals(from + " to " + to, expected, DescentHelper.hasLineOfSight(dgs, from, to));
+                if (expected) visible++;
+            }
+        }
+        assertTrue(visible > cells.size());
+    }
+
+    @Test
+    public void lineOfSightMatchesTheBoardAsFiguresMove() {
+        checkAllPairs(state);
+        for (int i = 0; i < 60 && state.isNotTerminal(); i++) {
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            fm.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+        checkAllPairs(state);
+        checkAllPairs((DescentGameState) state.copy());
+    }
+
+    @Test
+    public void geometryIsSharedBetweenCopies() {
+        AbstractGameState copy = state.copy();
+        assertSame(state.getBoardGeometry(), ((DescentGameState) copy).getBoardGeometry());
+        assertSame(state.getBoardGeometry(), ((DescentGameState) copy.copy(0)).getBoardGeometry());
+    }
+}
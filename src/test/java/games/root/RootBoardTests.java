@@ -0,0 +1,115 @@
+package games.root;
+
+import core.AbstractPlayer;
+import core.Game;
+import games.GameType;
+import games.root.components.RootBoardNodeWithRootEdges;
+import games.root.components.RootGraphBoard;
+import org.junit.Before;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RootBoardTests {
+
+    Game game;
+    RootGameState state;
+
+    @Before
+    public void setup() {
+        game = GameType.Root.createGameInstance(4, 3);
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < 4; p++)
+            players.add(new RandomPlayer(new Random(3 + p)));
+        game.reset(players, 3);
+        state = (RootGameState) game.getGameState();
+    }
+
+    @Test
+    public void topologyIsSharedBetweenCopies() {
+        RootGraphBoard board = state.getGameMap();
+        RootGraphBoard copy = board.copy();
+        assertSame(board.getTopology(), copy.getTopology());
+        assertEquals(board.getBoardNodes().size(), copy.getBoardNodes().size());
+        for (RootBoardNodeWithRootEdges node : board.getBoardNodes()) {
+            RootBoardNodeWithRootEdges copyNode = copy.getNodeByID(node.getComponentID());
+            assertNotSame(node, copyNode);
+            assertEquals(node, copyNode);
+            // neighbours of a copied node are the nodes of the copied board
+            List<Integer> ids = new ArrayList<>(), copyIds = new ArrayList<>();
+            for (RootBoardNodeWithRootEdges n : node.getNeighbours()) ids.add(n.getComponentID());
+            for (RootBoardNodeWithRootEdges n : copyNode.getNeighbours()) {
+                assertSame(n, copy.getNodeByID(n.getComponentID()));
+                copyIds.add(n.getComponentID());
+            }
+            assertEquals(ids, copyIds);
+        }
+    }
+
+    @Test
+    public void neighboursAreSymmetric() {
+        RootGraphBoard board = state.getGameMap();
+        for (RootBoardNodeWithRootEdges node : board.getBoardNodes()) {
+            assertFalse(node.getNeighbours().isEmpty());
+            for (RootBoardNodeWithRootEdges n : node.getNeighbours()) {
+                assertTrue(n.isNeighbour(node));
+                assertSame(n, node.getNeighbour(node.getRootEdge(n)));
+            }
+        }
+    }
+
+    @Test
+    public void clearingSetsMatchTheNodes() {
+        RootGraphBoard board = state.getGameMap();
+        int nonForest = 0;
+        for (RootBoardNodeWithRootEdges node : board.getBoardNodes())
+            if (node.getClearingType() != RootParameters.ClearingTypes.Forrest) nonForest++;
+        assertEquals(nonForest, board.getNonForrestBoardNodes().size());
+        assertEquals(12, nonForest);
+        int byType = 0;
+        for (RootParameters.ClearingTypes type : new RootParameters.ClearingTypes[]{RootParameters.ClearingTypes.Fox,
+                RootParameters.ClearingTypes.Mouse, RootParameters.ClearingTypes.Rabbit}) {
+            for (RootBoardNodeWithRootEdges node : board.getNodesOfType(type))
+                assertEquals(type, node.getClearingType());
+            byType += board.getNodesOfType(type).size();
+        }
+        assertEquals(nonForest, byType);
+        assertEquals(nonForest, board.getNodesOfType(RootParameters.ClearingTypes.Bird).size());
+    }
+
+    @Test
+    public void copiesHaveIndependentClearings() {
+        RootGraphBoard board = state.getGameMap();
+        RootGraphBoard copy = board.copy();
+        RootBoardNodeWithRootEdges node = board.getNonForrestBoardNodes().iterator().next();
+        int warriors = node.getWarrior(RootParameters.Factions.WoodlandAlliance);
+        copy.getNodeByID(node.getComponentID()).addWoodlandWarrior();
+        copy.getNodeByID(node.getComponentID()).setSympathy();
+        assertEquals(warriors, node.getWarrior(RootParameters.Factions.WoodlandAlliance));
+        assertEquals(warriors + 1, copy.getNodeByID(node.getComponentID()).getWarrior(RootParameters.Factions.WoodlandAlliance));
+        assertEquals(board.getSympatheticClearings().size() + (node.getSympathy() ? 0 : 1), copy.getSympatheticClearings().size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void pathsCannotChangeOnceFixed() {
+        RootGraphBoard board = state.getGameMap();
+        List<RootBoardNodeWithRootEdges> nodes = new ArrayList<>(board.getBoardNodes());
+        board.addConnection(nodes.get(0), nodes.get(1));
+    }
+
+    @Test
+    public void gamesRunToTheEnd() {
+        for (long seed = 0; seed < 3; seed++) {
+            Game g = GameType.Root.createGameInstance(4, seed);
+            List<AbstractPlayer> players = new ArrayList<>();
+            for (int p = 0; p < 4; p++)
+                players.add(new RandomPlayer(new Random(seed + p)));
+            g.reset(players, seed);
+            g.run();
+            assertFalse(g.getGameState().isNotTerminal());
+        }
+    }
+}
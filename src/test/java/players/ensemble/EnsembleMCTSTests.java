@@ -0,0 +1,150 @@
+package players.ensemble;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import games.sushigo.SGGameState;
+import games.sushigo.cards.SGCard;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EnsembleMCTSTests {
+
+    private EnsembleMCTSPlayer ensemble(int threads, boolean reuseTrees) {
+        EnsembleMCTSParams params = new EnsembleMCTSParams();
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_ITERATIONS);
+        params.setParameterValue("budget", 400);
+        params.setParameterValue("determinisations", 4);
+        params.setParameterValue("threads", threads);
+        params.setParameterValue("reuseTrees", reuseTrees);
+        return new EnsembleMCTSPlayer(params);
+    }
+
+    // states from a game between random players
+    private List<AbstractGameState> states(Game game) {
+        List<AbstractGameState> states = new ArrayList<>();
+        AbstractGameState state = game.getGameState().copy();
+        RandomPlayer random = new RandomPlayer(new Random(7));
+        while (state.isNotTerminal() && states.size() < 8) {
+            states.add(state.copy());
+            game.getForwardModel().next(state, random.getAction(state, game.getForwardModel().computeAvailableActions(state)));
+        }
+        return states;
+    }
+
+    private List<AbstractAction> decisions(Game game, AbstractPlayer player, List<AbstractGameState> states) {
+        player.setForwardModel(game.getForwardModel());
+        player.getRnd().setSeed(42);
+        List<AbstractAction> decisions = new ArrayList<>();
+        for (AbstractGameState state : states)
+            decisions.add(player.getAction(state.copy(), game.getForwardModel().computeAvailableActions(state)));
+        return decisions;
+    }
+
+    @Test
+    public void sameDecisionsWithAnyNumberOfThreads() {
+        for (GameType gameType : List.of(GameType.TicTacToe, GameType.Connect4)) {
+            Game game = gameType.createGameInstance(2, 3);
+            game.reset(List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))));
+            List<AbstractGameState> states = states(game);
+            List<AbstractAction> sequential = decisions(game, ensemble(1, true), states);
+            assertEquals(sequential, decisions(game, ensemble(3, true), states));
+            assertEquals(sequential, decisions(game, ensemble(3, true).copy(), states));
+        }
+    }
+
+    @Test
+    public void eachTreeStopsAtItsShareOfTheBudget() {
+        Game game = GameType.TicTacToe.createGameInstance(2, 3);
+        AbstractGameState state = game.getGameState();
+        // with no rollouts, each iteration makes one FM call (to expand the tree) and two copies; a budget of 400 is
+        // shared between 4 trees
+        List<PlayerConstants> budgetTypes = List.of(PlayerConstants.BUDGET_ITERATIONS, PlayerConstants.BUDGET_FM_CALLS,
+                PlayerConstants.BUDGET_COPY_CALLS, PlayerConstants.BUDGET_FMANDCOPY_CALLS);
+        int[] iterations = {100, 100, 50, 34};
+        for (int b = 0; b < budgetTypes.size(); b++) {
+            EnsembleMCTSPlayer player = ensemble(1, false);
+            player.getParameters().setParameterValue("budgetType", budgetTypes.get(b));
+            player.getParameters().setParameterValue("rolloutLength", 0);
+            player.setForwardModel(game.getForwardModel());
+            player.getAction(state.copy(), game.getForwardModel().computeAvailableActions(state));
+            for (DeterminisationTree tree : player.trees) {
+                assertEquals(iterations[b], tree.iterations);
+                assertEquals(tree.iterations, tree.fmCalls);
+                assertEquals(2 * tree.iterations, tree.copyCalls);
+            }
+        }
+    }
+
+    private int maxTreesReused(boolean reuseTrees) {
+        EnsembleMCTSPlayer player = ensemble(2, reuseTrees);
+        Game game = GameType.TicTacToe.createGameInstance(2, 5);
+        game.reset(List.of(player, new RandomPlayer(new Random(6))));
+        int maxReused = 0;
+        while (game.getGameState().isNotTerminal()) {
+            boolean ourTurn = game.getGameState().getCurrentPlayer() == 0;
+            game.oneAction();
+            if (ourTurn)
+                maxReused = Math.max(maxReused, player.treesReused);
+        }
+        return maxReused;
+    }
+
+    @Test
+    public void treesAreKeptBetweenDecisions() {
+        // with no hidden information every tree stays consistent, as long as it has expanded the opponent's reply
+        assertTrue(maxTreesReused(true) > 0);
+        assertEquals(0, maxTreesReused(false));
+    }
+
+    private static List<String> hand(AbstractGameState state, int playerId) {
+        List<String> hand = new ArrayList<>();
+        for (SGCard card : ((SGGameState) state).getPlayerHands().get(playerId).getComponents())
+            hand.add(card.toString());
+        return hand;
+    }
+
+    @Test
+    public void keptTreesHoldTheRealHand() {
+        // In Sushi Go the hand passed to us in a tree is the sample of the hidden hand made when the tree was created,
+        // and ChooseCard (an index into the hand) is equal whatever is in it
+        EnsembleMCTSPlayer player = ensemble(1, true);
+        Game game = GameType.SushiGo.createGameInstance(3, 8);
+        game.reset(List.of(player, new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))));
+        int reused = 0;
+        while (game.getGameState().isNotTerminal()) {
+            // (the game does not ask for a decision when there is only one action)
+            boolean ourDecision = game.getGameState().getCurrentPlayer() == 0 &&
+                    game.getForwardModel().computeAvailableActions(game.getGameState()).size() > 1;
+            List<String> realHand = hand(game.getGameState(), 0);
+            game.oneAction();
+            if (ourDecision) {
+                reused += player.treesReused;
+                for (DeterminisationTree tree : player.trees)
+                    assertEquals(realHand, hand(tree.root.state, 0));
+            }
+        }
+        assertTrue(reused > 0);
+    }
+
+    @Test
+    public void completesAGameWithHiddenInformationOnATimeBudget() {
+        EnsembleMCTSParams params = new EnsembleMCTSParams();
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_TIME);
+        params.setParameterValue("budget", 20);
+        params.setParameterValue("threads", 2);
+        Game game = GameType.SushiGo.createGameInstance(3, 8);
+        game.reset(List.of(new EnsembleMCTSPlayer(params), new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))));
+        game.run();
+        assertFalse(game.getGameState().isNotTerminal());
+    }
+}
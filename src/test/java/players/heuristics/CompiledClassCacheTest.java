@@ -0,0 +1,187 @@
+package players.heuristics;
+
+import core.AbstractGameState;
+import games.tictactoe.TicTacToeForwardModel;
+import games.tictactoe.TicTacToeGameParameters;
+import games.tictactoe.TicTacToeGameState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+public class CompiledClassCacheTest {
+
+    File directory;
+
+    String source(double value) {
+        return """
+                import core.AbstractGameState;
+                public class AnyName {
+                    public double evaluateState(AbstractGameState gs, int playerId) {
+                        return helper();
+                    }
+                    private double helper() {
+                        java.util.function.DoubleSupplier s = () -> %s;
+                        return s.getAsDouble();
+                    }
+                }
+                """.formatted(value);
+    }
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("heuristicCache").toFile();
+        CompiledClassCache.clear();
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        CompiledClassCache.setCacheDirectory(null);
+        CompiledClassCache.setEnvironment(null);
+        CompiledClassCache.setMaxLoadedClasses(CompiledClassCache.DEFAULT_MAX_LOADED_CLASSES);
+        CompiledClassCache.clear();
+        try (var paths = Files.walk(directory.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private AbstractGameState state() {
+        TicTacToeGameState state = new TicTacToeGameState(new TicTacToeGameParameters(), 2);
+        new TicTacToeForwardModel().setup(state);
+        return state;
+    }
+
+    private StringHeuristic heuristic(String fileName, String className) {
+        return new StringHeuristic(new File(directory, fileName).getPath(), className);
+    }
+
+    private void write(String fileName, String code) throws IOException {
+        try (FileWriter writer = new FileWriter(new File(directory, fileName))) {
+            writer.write(code);
+        }
+    }
+
+    @Test
+    public void identicalSourceIsCompiledOnce() throws IOException {
+        write("A.java", source(0.25));
+        write("B.java", source(0.75));
+        int before = CompiledClassCache.getCompilations();
+        StringHeuristic h1 = heuristic("A.java", "CachedHeuristic");
+        StringHeuristic h2 = heuristic("A.java", "CachedHeuristic");
+        StringHeuristic h3 = heuristic("B.java", "CachedHeuristic");
+        assertEquals(before + 2, CompiledClassCache.getCompilations());
+        assertSame(h1.heuristicClass.getClass(), h2.heuristicClass.getClass());
+        assertNotSame(h1.heuristicClass, h2.heuristicClass);
+        // the same class name from different source is a different class
+        assertNotSame(h1.heuristicClass.getClass(), h3.heuristicClass.getClass());
+        AbstractGameState state = state();
+        assertEquals(0.25, h1.evaluateState(state, 0), 0.0);
+        assertEquals(0.75, h3.evaluateState(state, 0), 0.0);
+    }
+
+    @Test
+    public void compiledClassesAreReusedFromDisk() throws IOException {
+        File cache = new File(directory, "cache");
+        CompiledClassCache.setCacheDirectory(cache);
+        write("A.java", source(0.5));
+        int before = CompiledClassCache.getCompilations();
+        heuristic("A.java", "DiskHeuristic");
+        assertEquals(before + 1, CompiledClassCache.getCompilations());
+
+        // as if in a new process
+        CompiledClassCache.clear();
+        StringHeuristic fromDisk = heuristic("A.java", "DiskHeuristic");
+        assertEquals(before + 1, CompiledClassCache.getCompilations());
+        assertEquals(0.5, fromDisk.evaluateState(state(), 1), 0.0);
+        File[] entries = cache.listFiles();
+        assertNotNull(entries);
+        assertEquals(1, entries.length);
+        // the class and its lambda's class (if the compiler makes one) are both saved
+        assertTrue(new File(entries[0], "DiskHeuristic.class").exists());
+    }
+
+    @Test
+    public void cachedClassesAreNotReusedByADifferentBuild() throws IOException {
+        String environment = CompiledClassCache.environment();
+        assertEquals(environment, CompiledClassCache.environment());
+        File cache = new File(directory, "cache");
+        CompiledClassCache.setCacheDirectory(cache);
+        write("A.java", source(0.5));
+        int before = CompiledClassCache.getCompilations();
+        heuristic("A.java", "DiskHeuristic");
+
+        // as if in a new process, with TAG rebuilt (or run on another JDK)
+        CompiledClassCache.clear();
+        CompiledClassCache.setEnvironment(environment + " rebuilt");
+        heuristic("A.java", "DiskHeuristic");
+        assertEquals(before + 2, CompiledClassCache.getCompilations());
+        assertEquals(2, Objects.requireNonNull(cache.listFiles()).length);
+
+        // and the original build still finds its own classes
+        CompiledClassCache.clear();
+        CompiledClassCache.setEnvironment(environment);
+        heuristic("A.java", "DiskHeuristic");
+        assertEquals(before + 2, CompiledClassCache.getCompilations());
+    }
+
+    @Test
+    public void leastRecentlyUsedClassesAreDropped() throws IOException {
+        CompiledClassCache.setMaxLoadedClasses(2);
+        for (int i = 0; i < 3; i++)
+            write(i + ".java", source(i));
+        int before = CompiledClassCache.getCompilations();
+        heuristic("0.java", "BoundedHeuristic");
+        heuristic("1.java", "BoundedHeuristic");
+        heuristic("0.java", "BoundedHeuristic");
+        heuristic("2.java", "BoundedHeuristic");
+        assertEquals(before + 3, CompiledClassCache.getCompilations());
+        // 0 was used more recently than 1, so 1 is the one dropped
+        heuristic("0.java", "BoundedHeuristic");
+        assertEquals(before + 3, CompiledClassCache.getCompilations());
+        heuristic("1.java", "BoundedHeuristic");
+        assertEquals(before + 4, CompiledClassCache.getCompilations());
+
+        // with a cache directory, dropped classes are read back from it rather than compiled again
+        CompiledClassCache.setCacheDirectory(new File(directory, "cache"));
+        CompiledClassCache.clear();
+        heuristic("0.java", "BoundedHeuristic");
+        heuristic("1.java", "BoundedHeuristic");
+        heuristic("2.java", "BoundedHeuristic");
+        int compiled = CompiledClassCache.getCompilations();
+        StringHeuristic reloaded = heuristic("0.java", "BoundedHeuristic");
+        assertEquals(compiled, CompiledClassCache.getCompilations());
+        assertEquals(0.0, reloaded.evaluateState(state(), 0), 0.0);
+    }
+
+    @Test
+    public void droppedClassesCanBeUnloaded() throws IOException {
+        CompiledClassCache.setMaxLoadedClasses(1);
+        write("A.java", source(0.5));
+        write("B.java", source(0.75));
+        WeakReference<Class<?>> dropped = new WeakReference<>(heuristic("A.java", "UnloadedHeuristic").heuristicClass.getClass());
+        heuristic("B.java", "UnloadedHeuristic");
+        for (int i = 0; i < 20 && dropped.get() != null; i++)
+            System.gc();
+        assertNull(dropped.get());
+    }
+
+    @Test
+    public void compilationErrorsAreReported() throws IOException {
+        write("Bad.java", "public class Bad { public double evaluateState( }");
+        try {
+            heuristic("Bad.java", "BadHeuristic");
+            fail("Expected a compilation error");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().startsWith("Compilation error"));
+        }
+    }
+}
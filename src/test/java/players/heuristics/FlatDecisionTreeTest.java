@@ -0,0 +1,73 @@
+package players.heuristics;
+
+import games.loveletter.LoveLetterForwardModel;
+import games.loveletter.LoveLetterGameState;
+import games.loveletter.LoveLetterParameters;
+import games.loveletter.features.LLStateFeaturesReduced;
+import org.junit.Test;
+import utilities.JSONUtils;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class FlatDecisionTreeTest {
+
+    // x0 <= 1.5 ? (x2 in {0, 2} ? 10 : 20) : (x1 <= -0.5 ? 30 : 40)
+    String treeJSON = """
+            {"nodes" : [
+                {"feature" : 0, "threshold" : 1.5, "right" : 4},
+                {"feature" : 2, "categories" : [0.0, 2.0], "right" : 3},
+                {"value" : 10.0},
+                {"value" : 20.0},
+                {"feature" : 1, "threshold" : -0.5, "right" : 6},
+                {"value" : 30.0},
+                {"value" : 40.0}
+            ]}
+            """;
+
+    @Test
+    public void predictionsFollowTheSplits() {
+        FlatDecisionTree tree = new FlatDecisionTree(JSONUtils.fromString(treeJSON));
+        assertEquals(7, tree.size());
+        assertEquals(10.0, tree.predict(new double[]{1.5, 0.0, 2.0}), 0.0);
+        assertEquals(20.0, tree.predict(new double[]{-3.0, 0.0, 1.0}), 0.0);
+        assertEquals(30.0, tree.predict(new double[]{1.6, -0.5, 0.0}), 0.0);
+        assertEquals(40.0, tree.predict(new double[]{1.6, -0.4, 0.0}), 0.0);
+    }
+
+    @Test
+    public void jsonRoundTrip() {
+        FlatDecisionTree tree = new FlatDecisionTree(JSONUtils.fromString(treeJSON));
+        FlatDecisionTree copy = new FlatDecisionTree(JSONUtils.fromString(tree.toJSON().toJSONString()));
+        assertEquals(tree.toJSON(), copy.toJSON());
+        double[][] inputs = {{0, 0, 0}, {0, 0, 1}, {2, -1, 0}, {2, 1, 2}};
+        for (double[] input : inputs)
+            assertEquals(tree.predict(input), copy.predict(input), 0.0);
+    }
+
+    @Test
+    public void heuristicLoadsWithoutSpark() throws IOException {
+        // a tree on the first feature of the Love Letter state features
+        String json = """
+                {"nodes" : [
+                    {"feature" : 0, "threshold" : 0.5, "right" : 2},
+                    {"value" : -1.0},
+                    {"value" : 1.0}
+                ]}
+                """;
+        File file = File.createTempFile("FlatTree", ".json");
+        file.deleteOnExit();
+        JSONUtils.writeJSON(JSONUtils.fromString(json), file.getPath());
+
+        LLStateFeaturesReduced features = new LLStateFeaturesReduced();
+        DecisionTreeStateHeuristic heuristic = new DecisionTreeStateHeuristic(features, file.getPath(), null);
+        assertNotNull(heuristic.getTree());
+
+        LoveLetterGameState state = new LoveLetterGameState(new LoveLetterParameters(), 2);
+        new LoveLetterForwardModel().setup(state);
+        double expected = features.doubleVector(state, 0)[0] <= 0.5 ? -1.0 : 1.0;
+        assertEquals(expected, heuristic.evaluateState(state, 0), 0.0);
+    }
+}
@@ -0,0 +1,85 @@
+package players.learners;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GLMFitTest {
+
+    private double[][] data(int n, int p, long seed) {
+        Random rnd = new Random(seed);
+        double[][] x = new double[n][p];
+        for (int i = 0; i < n; i++) {
+            x[i][0] = 1.0;
+            for (int j = 1; j < p; j++)
+                x[i][j] = j % 2 == 0 ? rnd.nextInt(2) : rnd.nextGaussian() * j;
+        }
+        return x;
+    }
+
+    @Test
+    public void gaussianRecoversExactCoefficients() {
+        double[][] x = data(500, 5, 1);
+        double[] beta = {0.5, 1.0, -2.0, 0.25, 3.0};
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++)
+            y[i] = GLMFit.dot(x[i], beta);
+        GLMFit fit = GLMFit.fit(x, y, GLMFit.Family.GAUSSIAN, 0.0, 25, 1e-8);
+        assertArrayEquals(beta, fit.coefficients, 1e-8);
+    }
+
+    @Test
+    public void binomialSolvesTheScoreEquations() {
+        double[][] x = data(2000, 5, 2);
+        double[] beta = {-0.5, 0.3, 1.0, -0.2, 0.8};
+        Random rnd = new Random(3);
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++)
+            y[i] = rnd.nextDouble() < 1.0 / (1.0 + Math.exp(-GLMFit.dot(x[i], beta))) ? 1.0 : 0.0;
+        GLMFit fit = GLMFit.fit(x, y, GLMFit.Family.BINOMIAL, 0.0, 25, 1e-10);
+        assertTrue(fit.iterations < 25);
+        // at the maximum likelihood X'(y - mu) = 0
+        for (int j = 0; j < beta.length; j++) {
+            double score = 0.0;
+            for (int i = 0; i < x.length; i++)
+                score += x[i][j] * (y[i] - GLMFit.clampedMu(GLMFit.dot(x[i], fit.coefficients)));
+            assertEquals(0.0, score, 1e-6);
+        }
+        assertEquals(fit.deviance + 2.0 * beta.length, fit.aic, 1e-6);
+    }
+
+    @Test
+    public void regularisationShrinksCoefficients() {
+        double[][] x = data(300, 4, 4);
+        Random rnd = new Random(5);
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++)
+            y[i] = 2.0 * x[i][1] - x[i][2] + rnd.nextGaussian();
+        GLMFit plain = GLMFit.fit(x, y, GLMFit.Family.GAUSSIAN, 0.0, 25, 1e-8);
+        GLMFit ridge = GLMFit.fit(x, y, GLMFit.Family.GAUSSIAN, 0.5, 25, 1e-8);
+        double plainNorm = 0.0, ridgeNorm = 0.0;
+        for (int j = 1; j < 4; j++) {
+            plainNorm += plain.coefficients[j] * plain.coefficients[j];
+            ridgeNorm += ridge.coefficients[j] * ridge.coefficients[j];
+        }
+        assertTrue(ridgeNorm < plainNorm);
+        assertTrue(ridge.aic > plain.aic);
+    }
+
+    @Test
+    public void duplicateFeaturesDoNotBreakTheFit() {
+        double[][] x = data(200, 4, 6);
+        for (double[] row : x)
+            row[3] = row[1];
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++)
+            y[i] = 1.0 + 2.0 * x[i][1];
+        GLMFit fit = GLMFit.fit(x, y, GLMFit.Family.GAUSSIAN, 0.0, 25, 1e-8);
+        for (double c : fit.coefficients)
+            assertFalse(Double.isNaN(c));
+        assertEquals(2.0, fit.coefficients[1] + fit.coefficients[3], 1e-4);
+        assertEquals(0.0, fit.deviance, 1e-4);
+    }
+}
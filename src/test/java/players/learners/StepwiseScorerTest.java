@@ -0,0 +1,104 @@
+package players.learners;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StepwiseScorerTest {
+
+    private final Random rnd = new Random(11);
+
+    private double[][] data(int n, int p) {
+        double[][] x = new double[n][p];
+        for (int i = 0; i < n; i++) {
+            x[i][0] = 1.0;
+            for (int j = 1; j < p; j++)
+                x[i][j] = j % 3 == 0 ? rnd.nextInt(2) : rnd.nextGaussian();
+        }
+        return x;
+    }
+
+    private double[] target(double[][] x, GLMFit.Family family) {
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            double eta = 0.2 + x[i][1] - 0.5 * x[i][2] + 0.8 * x[i][1] * x[i][3];
+            y[i] = family == GLMFit.Family.GAUSSIAN ? eta + rnd.nextGaussian() :
+                    rnd.nextDouble() < 1.0 / (1.0 + Math.exp(-eta)) ? 1.0 : 0.0;
+        }
+        return y;
+    }
+
+    private double[][] withInteraction(double[][] x, int first, int second) {
+        double[][] result = new double[x.length][];
+        for (int i = 0; i < x.length; i++) {
+            result[i] = Arrays.copyOf(x[i], x[i].length + 1);
+            result[i][x[i].length] = x[i][first + 1] * x[i][second + 1];
+        }
+        return result;
+    }
+
+    private double[][] without(double[][] x, int feature) {
+        double[][] result = new double[x.length][x[0].length - 1];
+        for (int i = 0; i < x.length; i++)
+            for (int j = 0, k = 0; j < x[i].length; j++)
+                if (j != feature + 1) result[i][k++] = x[i][j];
+        return result;
+    }
+
+    @Test
+    public void gaussianEstimatesAreExactWithoutRegularisation() {
+        double[][] x = data(1000, 5);
+        double[] y = target(x, GLMFit.Family.GAUSSIAN);
+        StepwiseScorer scorer = new StepwiseScorer(x, y, GLMFit.Family.GAUSSIAN, 0.0);
+        for (int i = 0; i < 4; i++) {
+            for (int j = i; j < 4; j++) {
+                double fitted = GLMFit.fit(withInteraction(x, i, j), y, GLMFit.Family.GAUSSIAN, 0.0, 25, 1e-8).aic;
+                assertEquals(fitted, scorer.aicWithInteraction(i, j), 1e-6);
+            }
+            double fitted = GLMFit.fit(without(x, i), y, GLMFit.Family.GAUSSIAN, 0.0, 25, 1e-8).aic;
+            assertEquals(fitted, scorer.aicWithout(i), 1e-6);
+        }
+    }
+
+    @Test
+    public void binomialEstimatesRankCandidatesLikeFullFits() {
+        double[][] x = data(3000, 5);
+        double[] y = target(x, GLMFit.Family.BINOMIAL);
+        StepwiseScorer scorer = new StepwiseScorer(x, y, GLMFit.Family.BINOMIAL, 0.1);
+        double bestEstimate = Double.POSITIVE_INFINITY, bestFitted = Double.POSITIVE_INFINITY;
+        String bestByEstimate = "", bestByFit = "";
+        for (int i = 0; i < 4; i++) {
+            for (int j = i; j < 4; j++) {
+                double estimate = scorer.aicWithInteraction(i, j);
+                double fitted = GLMFit.fit(withInteraction(x, i, j), y, GLMFit.Family.BINOMIAL, 0.1, 25, 1e-8).aic;
+                // the score test is a close estimate of the change in deviance, though not exact
+                assertEquals(fitted, estimate, 0.25 * Math.abs(scorer.aic - fitted) + 2.0);
+                if (estimate < bestEstimate) {
+                    bestEstimate = estimate;
+                    bestByEstimate = i + ":" + j;
+                }
+                if (fitted < bestFitted) {
+                    bestFitted = fitted;
+                    bestByFit = i + ":" + j;
+                }
+            }
+        }
+        assertEquals("0:2", bestByFit);
+        assertEquals(bestByFit, bestByEstimate);
+    }
+
+    @Test
+    public void collinearColumnsDoNotImproveTheModel() {
+        double[][] x = data(500, 4);
+        double[] y = target(x, GLMFit.Family.GAUSSIAN);
+        StepwiseScorer scorer = new StepwiseScorer(x, y, GLMFit.Family.GAUSSIAN, 0.0);
+        double[] copy = new double[x.length];
+        for (int i = 0; i < x.length; i++)
+            copy[i] = x[i][2];
+        // one more parameter, and no change in fit
+        assertEquals(scorer.aic + 2.0, scorer.aicWithColumn(copy), 1e-6);
+    }
+}
@@ -0,0 +1,110 @@
+package players.mcts;
+
+import core.actions.AbstractAction;
+import core.interfaces.IActionKey;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MASTStoreTests {
+
+    AbstractAction left = new LMRAction("Left");
+    AbstractAction middle = new LMRAction("Middle");
+    AbstractAction right = new LMRAction("Right");
+
+    @Test
+    public void updatesAreRecordedPerPlayer() {
+        MASTStore store = new MASTStore(2, null);
+        store.update(0, left, 1.0);
+        store.update(0, left, 2.0);
+        store.update(1, left, -1.0);
+        assertEquals(2, store.visits(0, left));
+        assertEquals(3.0, store.totalValue(0, left), 1e-9);
+        assertEquals(1.5, store.mean(0, left, 0.0), 1e-9);
+        assertEquals(1, store.visits(1, left));
+        assertEquals(-1.0, store.mean(1, left, 0.0), 1e-9);
+        assertEquals(0, store.visits(0, middle));
+        assertEquals(0.7, store.mean(0, middle, 0.7), 1e-9);
+    }
+
+    @Test
+    public void decayMatchesUtilsDecay() {
+        MASTStore store = new MASTStore(1, null);
+        for (int i = 0; i < 10; i++)
+            store.update(0, left, 1.0);
+        store.update(0, right, 4.0);
+        store.decay(0.5);
+        assertEquals(5, store.visits(0, left));
+        assertEquals(5.0, store.totalValue(0, left), 1e-9);
+        assertEquals(0, store.visits(0, right));
+        assertEquals(0.0, store.totalValue(0, right), 1e-9);
+        store.decay(1.0);
+        assertEquals(5, store.visits(0, left));
+        store.decay(0.0);
+        assertEquals(0, store.visits(0, left));
+        assertEquals(0, store.size(0));
+    }
+
+    @Test
+    public void actionKeyIsUsedToGroupActions() {
+        IActionKey firstLetter = a -> a.toString().substring(0, 1);
+        MASTStore store = new MASTStore(1, firstLetter);
+        store.update(0, new LMRAction("Mid"), 1.0);
+        store.update(0, new LMRAction("Middle"), 3.0);
+        assertEquals(2, store.visits(0, middle));
+        assertEquals(2.0, store.mean(0, new LMRAction("M"), 0.0), 1e-9);
+    }
+
+    @Test
+    public void tableGrowsBeyondInitialCapacity() {
+        MASTStore store = new MASTStore(1, null, false, 4);
+        List<AbstractAction> actions = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            actions.add(new LMRAction("A" + i));
+        for (int i = 0; i < 1000; i++)
+            store.update(0, actions.get(i), i);
+        assertEquals(1000, store.size(0));
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i, store.mean(0, actions.get(i), -1.0), 1e-9);
+    }
+
+    @Test
+    public void concurrentUpdatesAreNotLost() throws InterruptedException {
+        MASTStore store = new MASTStore(1, null, true, 1024);
+        List<AbstractAction> actions = List.of(left, middle, right);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10000; i++)
+                    store.update(0, actions.get(i % 3), 1.0);
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        int total = 0;
+        for (AbstractAction action : actions) {
+            total += store.visits(0, action);
+            assertEquals(store.visits(0, action), store.totalValue(0, action), 1e-9);
+        }
+        assertEquals(40000, total);
+    }
+
+    @Test
+    public void sharedStoresAreReusedByName() {
+        MASTStore.clearShared();
+        MASTStore first = MASTStore.shared("Test", 2, null);
+        first.update(1, left, 1.0);
+        MASTStore second = MASTStore.shared("Test", 2, null);
+        assertSame(first, second);
+        assertTrue(second.isConcurrent());
+        assertEquals(1, second.visits(1, left));
+        assertNotSame(first, MASTStore.shared("Test", 3, null));
+        MASTStore.clearShared();
+    }
+}
@@ -68,6 +68,7 @@ public class MultiTreeMCTSTests {
         params.selectionPolicy = MCTSEnums.SelectionPolicy.SIMPLE;
         params.maintainMasterState = true;
         params.K = 1.0;
+        params.recordRolloutActions = true;  // MTNRollout checks the actions taken
     }
 
     public Game createTicTacToe(MCTSParams params, int gridSize) {
@@ -0,0 +1,134 @@
+package players.mcts;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import core.actions.DoNothing;
+import games.GameType;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.PlayoutEngine;
+import players.simple.RandomPlayer;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PlayoutEngineTests {
+
+    private Game ticTacToe() {
+        Game game = GameType.TicTacToe.createGameInstance(2, 5);
+        game.reset(List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))));
+        return game;
+    }
+
+    private void playOut(PlayoutEngine engine, AbstractGameState state) {
+        AbstractPlayer policy = new RandomPlayer(new Random(3));
+        engine.startPlayout();
+        while (state.isNotTerminal())
+            engine.apply(state, engine.chooseAction(policy, state));
+        engine.endPlayout();
+    }
+
+    @Test
+    public void actionsAreOnlyRecordedWhenAskedFor() {
+        Game game = ticTacToe();
+        AbstractForwardModel fm = game.getForwardModel();
+
+        PlayoutEngine fast = new PlayoutEngine(fm, null, false);
+        AbstractGameState state = game.getGameState().copy();
+        playOut(fast, state);
+        assertTrue(fast.getLength() >= 5);
+        assertTrue(fast.getActions().isEmpty());
+        assertEquals(fast.getLength(), fast.getSteps());
+
+        PlayoutEngine recording = new PlayoutEngine(fm, null, true);
+        state = game.getGameState().copy();
+        playOut(recording, state);
+        assertEquals(recording.getLength(), recording.getActions().size());
+        int firstLength = recording.getLength();
+        // the buffer is reused (and cleared) by the next playout, while the totals accumulate
+        List<?> buffer = recording.getActions();
+        playOut(recording, game.getGameState().copy());
+        assertSame(buffer, recording.getActions());
+        assertEquals(recording.getLength(), recording.getActions().size());
+        assertEquals(firstLength + recording.getLength(), recording.getSteps());
+        assertTrue(recording.stepsPerSecond() > 0.0);
+    }
+
+    // like TMAction, this records the player when it is executed
+    static class SelfChangingAction extends DoNothing {
+        int player = -1;
+
+        @Override
+        public boolean execute(AbstractGameState gs) {
+            player = gs.getCurrentPlayer();
+            return true;
+        }
+
+        @Override
+        public SelfChangingAction copy() {
+            SelfChangingAction retValue = new SelfChangingAction();
+            retValue.player = player;
+            return retValue;
+        }
+    }
+
+    @Test
+    public void actionsAreCopiedBeforeTheyAreApplied() {
+        Game game = ticTacToe();
+        for (boolean record : new boolean[]{false, true}) {
+            PlayoutEngine engine = new PlayoutEngine(game.getForwardModel(), null, record);
+            SelfChangingAction action = new SelfChangingAction();
+            engine.startPlayout();
+            engine.apply(game.getGameState().copy(), action);
+            engine.endPlayout();
+            assertEquals(-1, action.player);
+        }
+    }
+
+    @Test
+    public void noActionsGivesNull() {
+        Game game = ticTacToe();
+        game.run();
+        PlayoutEngine engine = new PlayoutEngine(game.getForwardModel(), null, false);
+        AbstractAction action = engine.chooseAction(new RandomPlayer(new Random(1)), game.getGameState());
+        assertNull(action);
+    }
+
+    private MCTSPlayer search(MCTSParams params) {
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 100;
+        params.rolloutLength = 10;
+        MCTSPlayer player = new MCTSPlayer(params);
+        Game game = GameType.Connect4.createGameInstance(2, 7);
+        game.reset(List.of(player, new RandomPlayer(new Random(4))));
+        AbstractGameState state = game.getGameState();
+        player.getAction(state.copy(0), game.getForwardModel().computeAvailableActions(state));
+        return player;
+    }
+
+    @Test
+    public void mctsOnlyRecordsRolloutsForMAST() {
+        MCTSPlayer plain = search(new MCTSParams());
+        assertFalse(plain.root.playout.isRecording());
+        assertTrue(plain.root.playout.getSteps() > 0);
+        assertEquals(plain.root.playout.getSteps(), plain.root.rolloutActionsTaken);
+        assertTrue(plain.getPlayoutStepsPerSecond() > 0.0);
+
+        MCTSParams MASTParams = new MCTSParams();
+        MASTParams.useMAST = true;
+        MASTParams.MAST = MCTSEnums.MASTType.Rollout;
+        MCTSPlayer MAST = search(MASTParams);
+        assertTrue(MAST.root.playout.isRecording());
+        assertTrue(MAST.root.MASTStatistics.size(0) + MAST.root.MASTStatistics.size(1) > 0);
+
+        MCTSParams treeMASTParams = new MCTSParams();
+        treeMASTParams.useMAST = true;
+        treeMASTParams.MAST = MCTSEnums.MASTType.Tree;
+        assertFalse(search(treeMASTParams).root.playout.isRecording());
+    }
+}
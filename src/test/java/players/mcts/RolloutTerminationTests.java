@@ -42,6 +42,7 @@ public class RolloutTerminationTests {
         params.selectionPolicy = MCTSEnums.SelectionPolicy.SIMPLE;
         params.discardStateAfterEachIteration = false;
         params.K = 1.0;
+        params.recordRolloutActions = true;  // the rollout checks need the actions taken
     }
 
     public Game createGame(MCTSParams params, GameType gameType) {
@@ -0,0 +1,112 @@
+package players.rhea;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import core.interfaces.IStateHeuristic;
+import games.GameType;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ParallelRHEATests {
+
+    private RHEAPlayer player(int threads, boolean shiftLeft, boolean useMAST) {
+        RHEAParams params = new RHEAParams();
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_FM_CALLS);
+        params.setParameterValue("budget", 2000);
+        params.setParameterValue("threads", threads);
+        params.setParameterValue("shiftLeft", shiftLeft);
+        params.setParameterValue("useMAST", useMAST);
+        RHEAPlayer player = new RHEAPlayer(params);
+        player.getRnd().setSeed(42);
+        return player;
+    }
+
+    // states from a game of Connect4 between random players, with player 0 (whom the agent plays) to move
+    private List<AbstractGameState> states(Game game) {
+        List<AbstractGameState> states = new ArrayList<>();
+        AbstractGameState state = game.getGameState().copy();
+        RandomPlayer random = new RandomPlayer(new Random(7));
+        while (state.isNotTerminal() && states.size() < 10) {
+            if (state.getCurrentPlayer() == 0)
+                states.add(state.copy());
+            game.getForwardModel().next(state, random.getAction(state, game.getForwardModel().computeAvailableActions(state)));
+        }
+        return states;
+    }
+
+    private Game connect4() {
+        Game game = GameType.Connect4.createGameInstance(2, 3);
+        game.reset(List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))));
+        return game;
+    }
+
+    private List<String> decisions(Game game, RHEAPlayer player, List<AbstractGameState> states) {
+        player.setForwardModel(game.getForwardModel());
+        List<String> decisions = new ArrayList<>();
+        for (AbstractGameState state : states) {
+            player.initializePlayer(state);
+            AbstractAction action = player._getAction(state, game.getForwardModel().computeAvailableActions(state));
+            assertTrue(player.fmCalls >= 2000);
+            assertTrue(player.numIters > 0);
+            decisions.add(action + " " + player.numIters + " " + player.fmCalls + " " + player.copyCalls);
+        }
+        return decisions;
+    }
+
+    @Test
+    public void decisionsAndBudgetDoNotDependOnTheNumberOfThreads() {
+        Game game = connect4();
+        List<AbstractGameState> states = states(game);
+        List<String> twoThreads = decisions(game, player(2, false, false), states);
+        assertEquals(twoThreads, decisions(game, player(4, false, false), states));
+        assertEquals(twoThreads, decisions(game, player(2, false, false), states));
+    }
+
+    @Test
+    public void timeBudgetIsNotOverrunByTheFirstGeneration() {
+        // each rollout of the first generation takes about 50ms, so rolling them all out would take a second
+        RHEAParams params = new RHEAParams();
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_TIME);
+        params.setParameterValue("budget", 100);
+        params.setParameterValue("threads", 2);
+        params.setParameterValue("populationSize", 40);
+        params.setParameterValue("horizon", 10);
+        params.setParameterValue("heuristic", (IStateHeuristic) (state, playerId) -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return 0.0;
+        });
+        RHEAPlayer player = new RHEAPlayer(params);
+        Game game = connect4();
+        player.setForwardModel(game.getForwardModel());
+        AbstractGameState state = game.getGameState().copy();
+        player.initializePlayer(state);
+        long start = System.currentTimeMillis();
+        player._getAction(state, game.getForwardModel().computeAvailableActions(state));
+        assertTrue(System.currentTimeMillis() - start < 500);
+        assertTrue(player.population.size() < 40);
+    }
+
+    @Test
+    public void parallelPlayerCompletesGames() {
+        for (boolean shiftLeft : new boolean[]{false, true}) {
+            Game game = connect4();
+            List<AbstractPlayer> players = List.of(player(4, shiftLeft, true), new RandomPlayer(new Random(3)));
+            game.reset(players);
+            game.run();
+            assertFalse(game.getGameState().isNotTerminal());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package players.simple;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import core.interfaces.IStateHeuristic;
+import games.GameType;
+import org.junit.Test;
+import players.search.MaxNSearchParameters;
+import players.search.MaxNSearchPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ParallelOSLATests {
+
+    // states from a game between random players
+    private List<AbstractGameState> states(Game game) {
+        List<AbstractGameState> states = new ArrayList<>();
+        AbstractGameState state = game.getGameState().copy();
+        RandomPlayer random = new RandomPlayer(new Random(7));
+        while (state.isNotTerminal() && states.size() < 12) {
+            states.add(state.copy());
+            game.getForwardModel().next(state, random.getAction(state, game.getForwardModel().computeAvailableActions(state)));
+        }
+        return states;
+    }
+
+    private Game game(GameType gameType) {
+        Game game = gameType.createGameInstance(2, 3);
+        game.reset(List.of(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))));
+        return game;
+    }
+
+    private List<AbstractAction> decisions(Game game, AbstractPlayer player, List<AbstractGameState> states) {
+        player.setForwardModel(game.getForwardModel());
+        player.getRnd().setSeed(42);
+        List<AbstractAction> decisions = new ArrayList<>();
+        for (AbstractGameState state : states)
+            decisions.add(player.getAction(state.copy(), game.getForwardModel().computeAvailableActions(state)));
+        return decisions;
+    }
+
+    @Test
+    public void oslaMakesTheSameDecisionsInParallel() {
+        for (GameType gameType : List.of(GameType.Connect4, GameType.TicTacToe)) {
+            Game game = game(gameType);
+            List<AbstractGameState> states = states(game);
+            List<AbstractAction> sequential = decisions(game, new OSLAPlayer(), states);
+            assertEquals(sequential, decisions(game, new OSLAPlayer().setThreads(3), states));
+            assertEquals(sequential, decisions(game, new OSLAPlayer().setThreads(3).copy(), states));
+        }
+    }
+
+    private SuperOSLAPlayer superOSLA(int threads) {
+        return superOSLA(null, threads);
+    }
+
+    private SuperOSLAPlayer superOSLA(IStateHeuristic heuristic, int threads) {
+        SuperOSLAPlayer player = new SuperOSLAPlayer(heuristic, threads);
+        player.getParameters().setParameterValue("budget", 100000);  // so that it never runs out of time
+        return player;
+    }
+
+    @Test
+    public void superOslaMakesTheSameDecisionsInParallel() {
+        for (GameType gameType : List.of(GameType.Connect4, GameType.TicTacToe)) {
+            Game game = game(gameType);
+            List<AbstractGameState> states = states(game);
+            List<AbstractAction> sequential = decisions(game, superOSLA(1), states);
+            assertEquals(sequential, decisions(game, superOSLA(3), states));
+        }
+    }
+
+    @Test
+    public void deeperParallelSearchIsReproducible() {
+        Game game = game(GameType.Connect4);
+        List<AbstractGameState> states = states(game);
+        List<List<AbstractAction>> runs = new ArrayList<>();
+        for (int threads : new int[]{2, 4}) {
+            MaxNSearchParameters params = new MaxNSearchParameters();
+            params.setParameterValue("searchDepth", 2);
+            params.setParameterValue("budget", 100000);
+            params.setParameterValue("threads", threads);
+            runs.add(decisions(game, new MaxNSearchPlayer(params), states));
+        }
+        assertEquals(runs.get(0), runs.get(1));
+    }
+
+    @Test
+    public void stochasticDecisionsAreTheSameInParallel() {
+        // Can't Stop rolls dice with each copy's rnd, and this heuristic draws on it too (as a rollout would), so the
+        // copies must be seeded in the same order however the actions are shared between threads
+        IStateHeuristic heuristic = (state, playerId) -> state.getRnd().nextDouble();
+        Game game = game(GameType.CantStop);
+        List<AbstractGameState> states = states(game);
+        List<AbstractAction> sequential = seededDecisions(game, new OSLAPlayer(heuristic), states);
+        assertEquals(sequential, seededDecisions(game, new OSLAPlayer(heuristic).setThreads(3), states));
+        assertEquals(sequential, seededDecisions(game, new OSLAPlayer(heuristic).setThreads(5), states));
+        List<AbstractAction> superSequential = seededDecisions(game, superOSLA(heuristic, 1), states);
+        assertEquals(superSequential, seededDecisions(game, superOSLA(heuristic, 3), states));
+        assertEquals(superSequential, seededDecisions(game, superOSLA(heuristic, 5), states));
+    }
+
+    @Test
+    public void deeperSearchIsTheSameWithOneThread() {
+        // below the root, ties are broken at random, and which of the tied actions is picked decides the values passed
+        // back up; so one thread must break them with the same Random for each root action as several threads do
+        for (GameType gameType : List.of(GameType.Connect4, GameType.TicTacToe)) {
+            Game game = game(gameType);
+            List<AbstractGameState> states = states(game);
+            List<AbstractAction> sequential = decisions(game, maxN(1), states);
+            assertEquals(sequential, decisions(game, maxN(3), states));
+        }
+    }
+
+    private MaxNSearchPlayer maxN(int threads) {
+        MaxNSearchParameters params = new MaxNSearchParameters();
+        params.setParameterValue("searchDepth", 2);
+        params.setParameterValue("budget", 100000);
+        params.setParameterValue("threads", threads);
+        return new MaxNSearchPlayer(params);
+    }
+
+    private List<AbstractAction> seededDecisions(Game game, AbstractPlayer player, List<AbstractGameState> states) {
+        player.setForwardModel(game.getForwardModel());
+        player.getRnd().setSeed(42);
+        List<AbstractAction> decisions = new ArrayList<>();
+        for (int i = 0; i < states.size(); i++) {
+            AbstractGameState state = states.get(i).copy();
+            state.setRedeterminisationSeed(i);
+            decisions.add(player.getAction(state, game.getForwardModel().computeAvailableActions(state)));
+        }
+        return decisions;
+    }
+
+    @Test
+    public void parallelOslaCompletesGamesWithCopyInto() {
+        // Can't Stop supports copyInto(), so each thread reuses a single scratch state
+        Game game = GameType.CantStop.createGameInstance(2, 3);
+        game.reset(List.of(new OSLAPlayer(new Random(4)).setThreads(4), new SuperOSLAPlayer(null, 4)));
+        game.run();
+        assertFalse(game.getGameState().isNotTerminal());
+    }
+}
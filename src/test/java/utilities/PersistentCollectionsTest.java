@@ -0,0 +1,228 @@
+package utilities;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.CoreConstants.VisibilityMode;
+import core.Game;
+import core.actions.AbstractAction;
+import core.components.Card;
+import core.components.Deck;
+import core.components.PartialObservableDeck;
+import games.GameType;
+import games.root.RootGameState;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class PersistentCollectionsTest {
+
+    // keys with only a few distinct hash codes, to exercise collisions and deeper tries
+    private static class BadHash {
+        final int id;
+
+        BadHash(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof BadHash && ((BadHash) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id % 7;
+        }
+    }
+
+    @Test
+    public void vectorMatchesArrayList() {
+        Random rnd = new Random(42);
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int op = rnd.nextInt(4);
+            if (op < 2 || expected.isEmpty()) {
+                int idx = rnd.nextInt(expected.size() + 1);
+                vector = vector.insert(idx, i);
+                expected.add(idx, i);
+            } else if (op == 2) {
+                int idx = rnd.nextInt(expected.size());
+                vector = vector.remove(idx);
+                expected.remove(idx);
+            } else {
+                int idx = rnd.nextInt(expected.size());
+                vector = vector.set(idx, -i);
+                expected.set(idx, -i);
+            }
+            assertEquals(expected.size(), vector.size());
+        }
+        assertArrayEquals(expected.toArray(), vector.toArray());
+        List<Integer> iterated = new ArrayList<>();
+        vector.forEach(iterated::add);
+        assertEquals(expected, iterated);
+        for (int i = 0; i < expected.size(); i++)
+            assertEquals(expected.get(i), vector.get(i));
+    }
+
+    @Test
+    public void vectorVersionsAreIndependent() {
+        PersistentVector<Integer> v1 = PersistentVector.of(Arrays.asList(1, 2, 3));
+        PersistentVector<Integer> v2 = v1.append(4).set(0, 10).remove(1);
+        assertEquals("[1, 2, 3]", v1.toString());
+        assertEquals("[10, 3, 4]", v2.toString());
+    }
+
+    @Test
+    public void mapMatchesHashMap() {
+        Random rnd = new Random(7);
+        PersistentHashMap<BadHash, Integer> map = PersistentHashMap.empty();
+        PersistentHashMap<Integer, Integer> intMap = PersistentHashMap.empty();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            int key = rnd.nextInt(300);
+            if (rnd.nextInt(3) == 0) {
+                map = map.remove(new BadHash(key));
+                intMap = intMap.remove(key);
+                expected.remove(key);
+            } else {
+                map = map.put(new BadHash(key), i);
+                intMap = intMap.put(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.size(), map.size());
+            assertEquals(expected.size(), intMap.size());
+        }
+        for (int key = 0; key < 300; key++) {
+            assertEquals(expected.get(key), map.get(new BadHash(key)));
+            assertEquals(expected.get(key), intMap.get(key));
+            assertEquals(expected.containsKey(key), intMap.containsKey(key));
+        }
+    }
+
+    @Test
+    public void sharedCopiesAreIndependent() {
+        SharedList<String> list = new SharedList<>(Arrays.asList("a", "b", "c"));
+        SharedList<String> listCopy = list.copy();
+        listCopy.add(0, "z");
+        list.remove("b");
+        assertEquals(Arrays.asList("a", "c"), list);
+        assertEquals(Arrays.asList("z", "a", "b", "c"), listCopy);
+
+        SharedMap<String, Integer> map = new SharedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        SharedMap<String, Integer> mapCopy = map.copy();
+        mapCopy.put("a", 10);
+        map.remove("b");
+        for (Map.Entry<String, Integer> e : mapCopy.entrySet())
+            e.setValue(e.getValue() + 1);
+        assertEquals(Collections.singletonMap("a", 1), map);
+        assertEquals(11, (int) mapCopy.get("a"));
+        assertEquals(3, (int) mapCopy.get("b"));
+    }
+
+    @Test
+    public void sharedDeckCopiesAreIndependent() {
+        Deck<Card> deck = new Deck<>("test", 0, VisibilityMode.VISIBLE_TO_ALL);
+        for (int i = 0; i < 40; i++)
+            deck.add(new Card("card" + i));
+        deck.setSharedComponents(true);
+        assertTrue(deck.hasSharedComponents());
+
+        Card top = deck.peek();
+        Deck<Card> copy = deck.copy();
+        assertTrue(copy.hasSharedComponents());
+        assertSame(deck.get(5), copy.get(5));
+        Card drawn = copy.draw();
+        copy.shuffle(new Random(3));
+        assertEquals(40, deck.getSize());
+        assertEquals(39, copy.getSize());
+        assertSame(top, deck.peek());
+        assertEquals(0, drawn.getOwnerId());
+
+        // moving a card to a deck with another owner copies it rather than changing the shared one
+        Deck<Card> other = new Deck<>("other", 1, VisibilityMode.VISIBLE_TO_ALL);
+        other.setSharedComponents(true);
+        other.add(drawn, 0);
+        assertEquals(1, other.peek().getOwnerId());
+        assertEquals(0, deck.peek().getOwnerId());
+    }
+
+    @Test
+    public void cardsDrawnFromASharedDeckCanJoinAnUnsharedOne() {
+        Deck<Card> deck = new Deck<>("test", 0, VisibilityMode.VISIBLE_TO_ALL);
+        for (int i = 0; i < 10; i++)
+            deck.add(new Card("card" + i));
+        deck.setSharedComponents(true);
+        Deck<Card> copy = deck.copy();
+
+        Deck<Card> hand = new Deck<>("hand", 1, VisibilityMode.VISIBLE_TO_ALL);
+        hand.add(copy.draw());
+        assertEquals(deck.peek(), hand.peek());
+        assertNotSame(deck.peek(), hand.peek());
+        assertEquals(1, hand.peek().getOwnerId());
+        assertEquals(0, deck.peek().getOwnerId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cardsWithAPlayerViewCannotBeShared() {
+        Deck<Card> deck = new Deck<>("test", 0, VisibilityMode.VISIBLE_TO_ALL);
+        deck.add(new Card("card") {
+            @Override
+            public Card copy(int playerId) {
+                return new Card("hidden");
+            }
+        });
+        deck.setSharedComponents(true);
+    }
+
+    @Test
+    public void sharedPartialObservableDeckCanBeShuffledAndCopied() {
+        PartialObservableDeck<Card> deck = new PartialObservableDeck<>("test", 0, 2, VisibilityMode.VISIBLE_TO_OWNER);
+        for (int i = 0; i < 20; i++)
+            deck.add(new Card("card" + i));
+        deck.setSharedComponents(true);
+        Card top = deck.peek();
+
+        PartialObservableDeck<Card> copy = deck.copy();
+        copy.shuffleAndKeepVisibility(new Random(3));
+        PartialObservableDeck<Card> copyOfCopy = copy.copy();
+        assertTrue(copyOfCopy.hasSharedComponents());
+        assertEquals(copy.getComponents(), copyOfCopy.getComponents());
+        assertNotEquals(deck.getComponents(), copy.getComponents());
+        assertSame(top, deck.peek());
+    }
+
+    @Test
+    public void rootCopiesDoNotChangeTheOriginal() {
+        Game game = GameType.Root.createGameInstance(4, 11);
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < 4; p++)
+            players.add(new RandomPlayer(new Random(11 + p)));
+        game.reset(players, 11);
+        RootGameState state = (RootGameState) game.getGameState();
+        for (int i = 0; i < 300 && state.isNotTerminal(); i++) {
+            RootGameState copy = (RootGameState) state.copy();
+            int[] handSizes = new int[4];
+            for (int p = 0; p < 4; p++) handSizes[p] = state.getPlayerHand(p).getSize();
+            int drawPile = state.getDrawPile().getSize();
+            int craftable = state.getCraftableItems().size();
+
+            // play the copy on a few steps, then check the original is unchanged
+            AbstractGameState advanced = copy;
+            for (int j = 0; j < 5 && advanced.isNotTerminal(); j++) {
+                List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(advanced);
+                game.getForwardModel().next(advanced, actions.get(j % actions.size()));
+            }
+            for (int p = 0; p < 4; p++) assertEquals(handSizes[p], state.getPlayerHand(p).getSize());
+            assertEquals(drawPile, state.getDrawPile().getSize());
+            assertEquals(craftable, state.getCraftableItems().size());
+
+            game.oneAction();
+        }
+    }
+}
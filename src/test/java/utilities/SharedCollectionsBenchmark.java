@@ -0,0 +1,105 @@
+package utilities;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import core.components.Component;
+import core.components.Deck;
+import games.GameType;
+import players.PlayerConstants;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures state copies and MCTS iterations per second on Root and Terraforming Mars. For Root this is run both with
+ * the card decks shared between copies, and with them turned back into deep copies; Terraforming Mars is measured
+ * only as it is (compare against an earlier build for its deep copies).
+ * <p>
+ * Usage: SharedCollectionsBenchmark [decisions per game] [MCTS iterations per decision]
+ */
+public class SharedCollectionsBenchmark {
+
+    public static void main(String[] args) {
+        int decisions = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        // the first rounds warm up the JIT compiler
+        for (int round = 0; round < 4; round++) {
+            boolean report = round == 3;
+            run(GameType.Root, 4, true, decisions, iterations, report);
+            run(GameType.Root, 4, false, decisions, iterations, report);
+            run(GameType.TerraformingMars, 2, true, decisions, iterations, report);
+        }
+    }
+
+    private static void run(GameType gameType, int nPlayers, boolean shared, int decisions, int iterations, boolean report) {
+        long seed = 42;
+        Game game = gameType.createGameInstance(nPlayers, seed);
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < nPlayers; p++)
+            players.add(new RandomPlayer(new Random(seed + p)));
+        game.reset(players, seed);
+        // move past the setup, so the states are typical of the game
+        for (int i = 0; i < 50 && game.getGameState().isNotTerminal(); i++)
+            game.oneAction();
+        AbstractGameState state = game.getGameState();
+        if (!shared)
+            unshare(state);
+
+        // copies per second
+        int copies = 50000;
+        long start = System.nanoTime();
+        for (int i = 0; i < copies; i++)
+            state.copy();
+        double copiesPerSecond = copies * 1e9 / (System.nanoTime() - start);
+
+        // MCTS iterations per second
+        MCTSParams params = new MCTSParams();
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = iterations;
+        params.rolloutLength = 0;
+        MCTSPlayer mcts = new MCTSPlayer(params);
+        mcts.setForwardModel(game.getForwardModel());
+        mcts.initializePlayer(state);
+        // only searches that complete are counted, as those in Terraforming Mars can fail on its rules
+        int done = 0, failed = 0;
+        long nanos = 0;
+        while (done + failed < decisions && state.isNotTerminal()) {
+            AbstractGameState observation = state.copy();
+            List<AbstractAction> actions = game.getForwardModel().computeAvailableActions(observation);
+            if (actions.size() < 2) {
+                // no search is done
+                game.oneAction();
+                continue;
+            }
+            start = System.nanoTime();
+            try {
+                mcts.getAction(observation, actions);
+                nanos += System.nanoTime() - start;
+                done++;
+            } catch (RuntimeException | AssertionError e) {
+                failed++;
+            }
+            game.oneAction();
+        }
+        double iterationsPerSecond = nanos == 0 ? 0 : (double) done * iterations * 1e9 / nanos;
+
+        if (report)
+            System.out.printf("%-18s %-7s copies/s: %10.0f   MCTS iterations/s: %8.0f   (%d searches failed)%n",
+                    gameType.name(), shared ? "shared" : "deep", copiesPerSecond, iterationsPerSecond, failed);
+    }
+
+    // Deep copies of the decks from now on: copies of an unshared deck are unshared too, so this holds for all copies
+    private static void unshare(AbstractGameState state) {
+        for (Component c : new ArrayList<>(state.getAllComponents().getComponentsMap().values())) {
+            if (c instanceof Deck && ((Deck<?>) c).hasSharedComponents())
+                ((Deck<?>) c).setSharedComponents(false);
+        }
+    }
+}